@@ -22,7 +22,7 @@ import com.ibm.cloud.objectstorage.SDKGlobalTime;
 import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.SignableRequest;
 import com.ibm.cloud.objectstorage.internal.SdkDigestInputStream;
-import com.ibm.cloud.objectstorage.internal.SdkThreadLocalsRegistry;
+import com.ibm.cloud.objectstorage.internal.SdkObjectPool;
 import com.ibm.cloud.objectstorage.util.Base64;
 import com.ibm.cloud.objectstorage.util.BinaryUtils;
 import com.ibm.cloud.objectstorage.util.SdkHttpUtils;
@@ -54,13 +54,12 @@ import javax.crypto.spec.SecretKeySpec;
 public abstract class AbstractAWSSigner implements Signer {
 
     public static final String EMPTY_STRING_SHA256_HEX;
-    private static final ThreadLocal<MessageDigest> SHA256_MESSAGE_DIGEST;
+    private static final SdkObjectPool<MessageDigest> SHA256_MESSAGE_DIGEST;
 
     static {
-        SHA256_MESSAGE_DIGEST = SdkThreadLocalsRegistry.register(
-                new ThreadLocal<MessageDigest>() {
+        SHA256_MESSAGE_DIGEST = new SdkObjectPool<MessageDigest>() {
                     @Override
-                    protected MessageDigest initialValue() {
+                    protected MessageDigest newInstance() {
                         try {
                             return MessageDigest.getInstance("SHA-256");
                         } catch (NoSuchAlgorithmException e) {
@@ -69,7 +68,12 @@ public abstract class AbstractAWSSigner implements Signer {
                                             + e.getMessage(), e);
                         }
                     }
-                });
+
+                    @Override
+                    protected void reset(MessageDigest messageDigest) {
+                        messageDigest.reset();
+                    }
+                };
         EMPTY_STRING_SHA256_HEX = BinaryUtils.toHex(doHash(""));
     }
 
@@ -122,14 +126,16 @@ public abstract class AbstractAWSSigner implements Signer {
 
     protected byte[] sign(byte[] data, byte[] key,
             SigningAlgorithm algorithm) throws SdkClientException {
+        Mac mac = algorithm.acquireMac();
         try {
-            Mac mac = algorithm.getMac();
             mac.init(new SecretKeySpec(key, algorithm.toString()));
             return mac.doFinal(data);
         } catch (Exception e) {
             throw new SdkClientException(
                     "Unable to calculate a request signature: "
                             + e.getMessage(), e);
+        } finally {
+            algorithm.releaseMac(mac);
         }
     }
 
@@ -150,20 +156,22 @@ public abstract class AbstractAWSSigner implements Signer {
     }
 
     private static byte[] doHash(String text) throws SdkClientException {
+        MessageDigest md = SHA256_MESSAGE_DIGEST.acquire();
         try {
-            MessageDigest md = getMessageDigestInstance();
             md.update(text.getBytes(UTF8));
             return md.digest();
         } catch (Exception e) {
             throw new SdkClientException(
                     "Unable to compute hash while signing request: "
                             + e.getMessage(), e);
+        } finally {
+            SHA256_MESSAGE_DIGEST.release(md);
         }
     }
 
     protected byte[] hash(InputStream input) throws SdkClientException {
+        MessageDigest md = SHA256_MESSAGE_DIGEST.acquire();
         try {
-            MessageDigest md = getMessageDigestInstance();
             @SuppressWarnings("resource")
             DigestInputStream digestInputStream = new SdkDigestInputStream(
                     input, md);
@@ -175,6 +183,8 @@ public abstract class AbstractAWSSigner implements Signer {
             throw new SdkClientException(
                     "Unable to compute hash while signing request: "
                             + e.getMessage(), e);
+        } finally {
+            SHA256_MESSAGE_DIGEST.release(md);
         }
     }
 
@@ -190,14 +200,16 @@ public abstract class AbstractAWSSigner implements Signer {
      *             If the hash cannot be computed.
      */
     public byte[] hash(byte[] data) throws SdkClientException {
+        MessageDigest md = SHA256_MESSAGE_DIGEST.acquire();
         try {
-            MessageDigest md =  getMessageDigestInstance();
             md.update(data);
             return md.digest();
         } catch (Exception e) {
             throw new SdkClientException(
                     "Unable to compute hash while signing request: "
                             + e.getMessage(), e);
+        } finally {
+            SHA256_MESSAGE_DIGEST.release(md);
         }
     }
     /**
@@ -494,16 +506,4 @@ public abstract class AbstractAWSSigner implements Signer {
      */
     protected abstract void addSessionCredentials(SignableRequest<?> request,
             AWSSessionCredentials credentials);
-
-
-    /**
-     * Returns the re-usable thread local version of MessageDigest.
-     * @return
-     */
-    private static MessageDigest getMessageDigestInstance() {
-        MessageDigest messageDigest = SHA256_MESSAGE_DIGEST.get();
-        messageDigest.reset();
-        return messageDigest;
-    }
-
 }
@@ -15,7 +15,7 @@
 package com.ibm.cloud.objectstorage.auth;
 
 import com.ibm.cloud.objectstorage.SdkClientException;
-import com.ibm.cloud.objectstorage.internal.SdkThreadLocalsRegistry;
+import com.ibm.cloud.objectstorage.internal.SdkObjectPool;
 import java.security.NoSuchAlgorithmException;
 import javax.crypto.Mac;
 
@@ -24,28 +24,47 @@ public enum SigningAlgorithm {
     HmacSHA1,
     HmacSHA256;
 
-    private final ThreadLocal<Mac> macReference;
+    private final SdkObjectPool<Mac> macPool;
 
     private SigningAlgorithm() {
-        final String algorithmName = this.toString();
-        macReference = SdkThreadLocalsRegistry.register(new ThreadLocal<Mac>() {
+        macPool = new SdkObjectPool<Mac>() {
             @Override
-            protected Mac initialValue() {
-                try {
-                    return Mac.getInstance(algorithmName);
-                } catch (NoSuchAlgorithmException e) {
-                    throw new SdkClientException("Unable to fetch Mac instance for Algorithm "
-                            + algorithmName + e.getMessage(),e);
-
-                }
+            protected Mac newInstance() {
+                return newMac();
             }
-        });
+        };
     }
 
     /**
-     * Returns the thread local reference for the crypto algorithm
+     * Returns a new Mac instance for the crypto algorithm, which is not shared
+     * with any other caller. The instance is not taken from the pool used by
+     * the signers, so callers need not give it back.
      */
     public Mac getMac() {
-        return macReference.get();
+        return newMac();
+    }
+
+    /**
+     * Returns a pooled Mac instance for the crypto algorithm, which must be
+     * given back with {@link #releaseMac(Mac)} once the caller is done with it.
+     */
+    Mac acquireMac() {
+        return macPool.acquire();
+    }
+
+    /**
+     * Returns a Mac instance obtained from {@link #acquireMac()} to the pool.
+     */
+    void releaseMac(Mac mac) {
+        macPool.release(mac);
+    }
+
+    private Mac newMac() {
+        try {
+            return Mac.getInstance(this.toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new SdkClientException("Unable to fetch Mac instance for Algorithm "
+                    + this + e.getMessage(),e);
+        }
     }
 }
@@ -16,6 +16,8 @@ package com.ibm.cloud.objectstorage.handlers;
 
 import com.ibm.cloud.objectstorage.auth.AWSCredentials;
 import com.ibm.cloud.objectstorage.client.builder.AdvancedConfig;
+import com.ibm.cloud.objectstorage.http.ByteArrayContent;
+import com.ibm.cloud.objectstorage.http.FileSegment;
 import java.net.URI;
 
 /**
@@ -102,6 +104,19 @@ public class HandlerContextKey<T> {
      */
     public static final HandlerContextKey<URI> CLIENT_ENDPOINT = new HandlerContextKey<URI>("ClientEndpoint");
 
+    /**
+     * The segment of a file the content of the request was opened on, if the content is read from
+     * the file unchanged.
+     */
+    public static final HandlerContextKey<FileSegment> FILE_SEGMENT = new HandlerContextKey<FileSegment>("FileSegment");
+
+    /**
+     * The byte array the content of the request was opened on, if the content is read from the
+     * array unchanged.
+     */
+    public static final HandlerContextKey<ByteArrayContent> BYTE_ARRAY_CONTENT =
+            new HandlerContextKey<ByteArrayContent>("ByteArrayContent");
+
     private final String name;
 
     public HandlerContextKey(String name) {
@@ -0,0 +1,118 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.http;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.annotation.NotThreadSafe;
+import com.ibm.cloud.objectstorage.annotation.SdkProtectedApi;
+import com.ibm.cloud.objectstorage.event.ProgressInputStream;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.internal.ReleasableInputStream;
+import com.ibm.cloud.objectstorage.util.BinaryUtils;
+
+/**
+ * Describes request content held in a byte array, so the HTTP client can
+ * write the array as is instead of copying it through the content stream,
+ * and the signer can hash it once for all the attempts of the request.
+ * <p>
+ * Set with {@link HandlerContextKey#BYTE_ARRAY_CONTENT} only when the
+ * content stream of the request returns exactly the bytes of the array. As
+ * with {@link FileSegment}, the array is only used while the stream is the
+ * request content, so wrappers added later, such as for chunked signing,
+ * disable it.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public class ByteArrayContent {
+    private final byte[] array;
+    private final InputStream content;
+    private String contentSha256;
+    private long bytesWritten;
+
+    /**
+     * @param array
+     *            The bytes to send, which must not change until the request
+     *            completes.
+     * @param content
+     *            The content stream of the request, which reads the same bytes.
+     */
+    public ByteArrayContent(byte[] array, InputStream content) {
+        this.array = array;
+        this.content = content;
+    }
+
+    /**
+     * Returns the byte array content of the request, or null if the request
+     * has none or its content is no longer read from the array unchanged.
+     */
+    public static ByteArrayContent of(Request<?> request) {
+        ByteArrayContent arrayContent = request.getHandlerContext(HandlerContextKey.BYTE_ARRAY_CONTENT);
+        if (arrayContent == null) {
+            return null;
+        }
+        // Only the wrappers added by the http client may be bypassed
+        boolean progressTracked = false;
+        InputStream content = request.getContent();
+        while (content != arrayContent.getContent()) {
+            if (content instanceof ProgressInputStream && !progressTracked) {
+                progressTracked = true;
+                content = ((ProgressInputStream) content).getWrappedInputStream();
+            } else if (content != null && content.getClass() == ReleasableInputStream.class) {
+                content = ((ReleasableInputStream) content).getDelegateStream();
+            } else {
+                return null;
+            }
+        }
+        return arrayContent;
+    }
+
+    public byte[] getArray() {
+        return array;
+    }
+
+    public InputStream getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the hex encoded SHA-256 of the array, computed on the first
+     * call only.
+     */
+    public String getContentSha256() {
+        if (contentSha256 == null) {
+            try {
+                contentSha256 = BinaryUtils.toHex(MessageDigest.getInstance("SHA-256").digest(array));
+            } catch (NoSuchAlgorithmException e) {
+                throw new SdkClientException("Unable to compute hash while signing request: " + e.getMessage(), e);
+            }
+        }
+        return contentSha256;
+    }
+
+    /**
+     * Returns the number of bytes sent by the last attempt, which is reported
+     * as reset progress when the request is retried.
+     */
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.http;
+
+import static com.ibm.cloud.objectstorage.event.SDKProgressPublisher.publishRequestBytesTransferred;
+import static com.ibm.cloud.objectstorage.event.SDKProgressPublisher.publishRequestReset;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.event.ProgressInputStream;
+import com.ibm.cloud.objectstorage.event.ProgressListener;
+import com.ibm.cloud.objectstorage.internal.ReleasableInputStream;
+import com.ibm.cloud.objectstorage.metrics.ServiceMetricType;
+import com.ibm.cloud.objectstorage.metrics.internal.ServiceMetricTypeGuesser;
+
+/**
+ * A request entity that writes a {@link ByteArrayContent} to the connection
+ * in one call, rather than copying it through the wrapped content stream of
+ * the request in small buffers. Progress is reported to the listener of the
+ * request once the array is written.
+ */
+@SdkInternalApi
+public class ByteArrayRequestEntity extends AbstractHttpEntity {
+
+    private final ByteArrayContent arrayContent;
+    private final ProgressListener listener;
+
+    private ByteArrayRequestEntity(ByteArrayContent arrayContent, String contentType, ProgressListener listener) {
+        this.arrayContent = arrayContent;
+        this.listener = listener;
+        setContentType(contentType);
+        setChunked(false);
+    }
+
+    /**
+     * Returns an entity sending the byte array content of the request, or
+     * null if the request has no byte array content or its content is no
+     * longer read from the array unchanged.
+     */
+    public static ByteArrayRequestEntity create(Request<?> request) {
+        ByteArrayContent arrayContent = ByteArrayContent.of(request);
+        if (arrayContent == null) {
+            return null;
+        }
+        String contentLength = request.getHeaders().get("Content-Length");
+        if (contentLength == null || !contentLength.equals(Integer.toString(arrayContent.getArray().length))) {
+            return null;
+        }
+        // Throughput metrics are collected by the stream based entity
+        if (ServiceMetricTypeGuesser.guessThroughputMetricType(request,
+                ServiceMetricType.UPLOAD_THROUGHPUT_NAME_SUFFIX,
+                ServiceMetricType.UPLOAD_BYTE_COUNT_NAME_SUFFIX) != null) {
+            return null;
+        }
+        ProgressListener listener = null;
+        InputStream content = request.getContent();
+        while (listener == null && content != arrayContent.getContent()) {
+            if (content instanceof ProgressInputStream) {
+                listener = ((ProgressInputStream) content).getListener();
+            } else {
+                content = ((ReleasableInputStream) content).getDelegateStream();
+            }
+        }
+        return new ByteArrayRequestEntity(arrayContent, request.getHeaders().get("Content-Type"), listener);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return arrayContent.getArray().length;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new ByteArrayInputStream(arrayContent.getArray());
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        if (arrayContent.getBytesWritten() > 0) {
+            publishRequestReset(listener, arrayContent.getBytesWritten());
+            arrayContent.setBytesWritten(0);
+        }
+        byte[] array = arrayContent.getArray();
+        output.write(array);
+        arrayContent.setBytesWritten(array.length);
+        publishRequestBytesTransferred(listener, array.length);
+    }
+}
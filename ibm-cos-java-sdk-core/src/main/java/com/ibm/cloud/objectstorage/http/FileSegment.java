@@ -0,0 +1,85 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.http;
+
+import java.io.File;
+import java.io.InputStream;
+
+import com.ibm.cloud.objectstorage.annotation.NotThreadSafe;
+import com.ibm.cloud.objectstorage.annotation.SdkProtectedApi;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+
+/**
+ * Describes request content that is a segment of a file, so the HTTP client
+ * can send it straight from the file instead of through the content stream.
+ * <p>
+ * Set with {@link HandlerContextKey#FILE_SEGMENT} only when the content
+ * stream of the request returns exactly the bytes of the segment. The stream
+ * is still used for signing, and it is only bypassed while it is the request
+ * content, so wrappers added later, such as for chunked signing, disable the
+ * file transfer.
+ */
+@NotThreadSafe
+@SdkProtectedApi
+public class FileSegment {
+    private final File file;
+    private final long offset;
+    private final long length;
+    private final InputStream content;
+    private long bytesWritten;
+
+    /**
+     * @param file
+     *            The file to send.
+     * @param offset
+     *            The offset in the file of the first byte to send.
+     * @param length
+     *            The number of bytes to send.
+     * @param content
+     *            The content stream of the request, which reads the same bytes.
+     */
+    public FileSegment(File file, long offset, long length, InputStream content) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        this.content = content;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public InputStream getContent() {
+        return content;
+    }
+
+    /**
+     * Returns the number of bytes sent by the last attempt, which is reported
+     * as reset progress when the request is retried.
+     */
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    void setBytesWritten(long bytesWritten) {
+        this.bytesWritten = bytesWritten;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.http;
+
+import static com.ibm.cloud.objectstorage.event.SDKProgressPublisher.publishRequestBytesTransferred;
+import static com.ibm.cloud.objectstorage.event.SDKProgressPublisher.publishRequestReset;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.event.ProgressInputStream;
+import com.ibm.cloud.objectstorage.event.ProgressListener;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.internal.ReleasableInputStream;
+import com.ibm.cloud.objectstorage.metrics.ServiceMetricType;
+import com.ibm.cloud.objectstorage.metrics.internal.ServiceMetricTypeGuesser;
+
+/**
+ * A request entity that sends a {@link FileSegment} with
+ * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, rather than
+ * copying it through the wrapped content stream of the request in small heap
+ * buffers. The file is read through a temporary direct buffer of the JDK, and
+ * progress is reported to the listener of the request as the segment is
+ * written.
+ */
+@SdkInternalApi
+public class FileSegmentRequestEntity extends AbstractHttpEntity {
+
+    /** Number of bytes transferred at a time, between progress events. */
+    private static final long TRANSFER_SIZE = 128 * 1024;
+
+    private final FileSegment segment;
+    private final ProgressListener listener;
+
+    private FileSegmentRequestEntity(FileSegment segment, String contentType, ProgressListener listener) {
+        this.segment = segment;
+        this.listener = listener;
+        setContentType(contentType);
+        setChunked(false);
+    }
+
+    /**
+     * Returns an entity sending the file segment of the request, or null if
+     * the request has no file segment or its content is no longer read from
+     * the segment unchanged.
+     */
+    public static FileSegmentRequestEntity create(Request<?> request) {
+        FileSegment segment = request.getHandlerContext(HandlerContextKey.FILE_SEGMENT);
+        if (segment == null) {
+            return null;
+        }
+        String contentLength = request.getHeaders().get("Content-Length");
+        if (contentLength == null || !contentLength.equals(Long.toString(segment.getLength()))) {
+            return null;
+        }
+        // Throughput metrics are collected by the stream based entity
+        if (ServiceMetricTypeGuesser.guessThroughputMetricType(request,
+                ServiceMetricType.UPLOAD_THROUGHPUT_NAME_SUFFIX,
+                ServiceMetricType.UPLOAD_BYTE_COUNT_NAME_SUFFIX) != null) {
+            return null;
+        }
+
+        // Only the wrappers added by the http client may be bypassed
+        ProgressListener listener = null;
+        InputStream content = request.getContent();
+        while (content != segment.getContent()) {
+            if (content instanceof ProgressInputStream && listener == null) {
+                listener = ((ProgressInputStream) content).getListener();
+                content = ((ProgressInputStream) content).getWrappedInputStream();
+            } else if (content != null && content.getClass() == ReleasableInputStream.class) {
+                content = ((ReleasableInputStream) content).getDelegateStream();
+            } else {
+                return null;
+            }
+        }
+        return new FileSegmentRequestEntity(segment, request.getHeaders().get("Content-Type"), listener);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return segment.getLength();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        FileChannel channel = FileChannel.open(segment.getFile().toPath(), StandardOpenOption.READ);
+        channel.position(segment.getOffset());
+        return new SegmentInputStream(Channels.newInputStream(channel), segment.getLength());
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+        if (segment.getBytesWritten() > 0) {
+            publishRequestReset(listener, segment.getBytesWritten());
+            segment.setBytesWritten(0);
+        }
+        FileChannel channel = FileChannel.open(segment.getFile().toPath(), StandardOpenOption.READ);
+        try {
+            WritableByteChannel target = Channels.newChannel(output);
+            long position = segment.getOffset();
+            long remaining = segment.getLength();
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, Math.min(remaining, TRANSFER_SIZE), target);
+                if (transferred <= 0) {
+                    throw new EOFException("The file " + segment.getFile() + " is shorter than the "
+                            + segment.getLength() + " bytes to send from offset " + segment.getOffset());
+                }
+                position += transferred;
+                remaining -= transferred;
+                segment.setBytesWritten(segment.getBytesWritten() + transferred);
+                publishRequestBytesTransferred(listener, transferred);
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads at most the length of the segment from the file.
+     */
+    private static final class SegmentInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        private SegmentInputStream(InputStream in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -19,6 +19,8 @@ import com.ibm.cloud.objectstorage.ProxyAuthenticationMethod;
 import com.ibm.cloud.objectstorage.Request;
 import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.http.ByteArrayRequestEntity;
+import com.ibm.cloud.objectstorage.http.FileSegmentRequestEntity;
 import com.ibm.cloud.objectstorage.http.HttpMethodName;
 import com.ibm.cloud.objectstorage.http.RepeatableInputStreamRequestEntity;
 import com.ibm.cloud.objectstorage.http.apache.utils.ApacheUtils;
@@ -188,7 +190,15 @@ public class ApacheHttpRequestFactory implements HttpRequestFactory<HttpRequestB
      */
     private void createHttpEntityForNonPostVerbs(Request<?> request,
                                                  HttpEntityEnclosingRequestBase entityEnclosingRequest) throws FakeIOException {
-        HttpEntity entity = new RepeatableInputStreamRequestEntity(request);
+        HttpEntity entity = FileSegmentRequestEntity.create(request);
+        if (entity == null) {
+            entity = ByteArrayRequestEntity.create(request);
+        }
+        if (entity != null) {
+            entityEnclosingRequest.setEntity(entity);
+            return;
+        }
+        entity = new RepeatableInputStreamRequestEntity(request);
 
         if (request.getHeaders().get(HttpHeaders.CONTENT_LENGTH) == null) {
             if (isRequiresLength(request) || !hasStreamingInput(request)) {
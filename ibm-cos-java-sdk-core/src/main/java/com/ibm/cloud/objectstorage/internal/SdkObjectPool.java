@@ -0,0 +1,111 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+
+/**
+ * A lock-free pool of reusable, non thread safe objects such as
+ * {@link javax.crypto.Mac} and {@link java.security.MessageDigest} instances.
+ * <p>
+ * Unlike a {@link ThreadLocal}, the number of instances kept by the pool does
+ * not grow with the number of threads using it: a new instance is created
+ * when the pool is empty, and a released instance is dropped when the pool
+ * already holds its maximum number of idle instances. This keeps the memory
+ * use bounded when requests are run on a large number of short lived (or
+ * virtual) threads.
+ *
+ * @param <T>
+ *            the type of the pooled objects
+ */
+@SdkInternalApi
+@ThreadSafe
+public abstract class SdkObjectPool<T> {
+    /**
+     * Default maximum number of idle instances kept by a pool.
+     */
+    public static final int DEFAULT_MAX_IDLE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int maxIdle;
+
+    protected SdkObjectPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    /**
+     * @param maxIdle
+     *            the maximum number of idle instances kept by the pool
+     */
+    protected SdkObjectPool(int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("maxIdle must be at least 1");
+        }
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Creates a new instance when the pool has no idle instance to hand out.
+     */
+    protected abstract T newInstance();
+
+    /**
+     * Resets an instance before it is handed out again. Does nothing by
+     * default.
+     */
+    protected void reset(T instance) {
+    }
+
+    /**
+     * Returns an idle instance from the pool, or a new one if there is none.
+     * The instance must be returned with {@link #release(Object)} once the
+     * caller is done with it, and must not be used afterwards.
+     */
+    public T acquire() {
+        T instance = idle.poll();
+        if (instance == null) {
+            return newInstance();
+        }
+        idleCount.decrementAndGet();
+        return instance;
+    }
+
+    /**
+     * Returns an instance obtained from {@link #acquire()} to the pool. The
+     * instance is dropped if the pool is already full.
+     */
+    public void release(T instance) {
+        if (instance == null) {
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        reset(instance);
+        idle.offer(instance);
+    }
+
+    /**
+     * Returns the number of idle instances currently held by the pool.
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+}
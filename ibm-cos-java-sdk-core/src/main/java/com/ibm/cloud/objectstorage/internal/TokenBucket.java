@@ -17,6 +17,7 @@ package com.ibm.cloud.objectstorage.internal;
 
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
 import com.ibm.cloud.objectstorage.annotation.SdkTestInternalApi;
+import java.util.concurrent.locks.ReentrantLock;
 
 @SdkInternalApi
 public class TokenBucket {
@@ -29,11 +30,17 @@ public class TokenBucket {
 
     private final Clock clock;
 
+    /*
+     * Guards the bucket state. A ReentrantLock rather than synchronized so that
+     * virtual threads waiting for it can unmount from their carrier thread.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
     private Double fillRate;
     private Double maxCapacity;
     private double currentCapacity;
     private Double lastTimestamp;
-    private boolean enabled;
+    private volatile boolean enabled;
     private double measuredTxRate;
     private double lastTxRateBucket;
     private long requestCount;
@@ -123,8 +130,13 @@ public class TokenBucket {
     public boolean acquire(double amount, boolean fastFail) {
         double waitTime = 0.0;
 
-        synchronized (this) {
-            // If rate limiting is not enabled, we technically have an uncapped limit
+        // If rate limiting is not enabled, we technically have an uncapped limit
+        if (!enabled) {
+            return true;
+        }
+
+        lock.lock();
+        try {
             if (!enabled) {
                 return true;
             }
@@ -144,6 +156,8 @@ public class TokenBucket {
             if (unfulfilled > 0) {
                 waitTime = unfulfilled / fillRate;
             }
+        } finally {
+            lock.unlock();
         }
 
         if (waitTime > 0) {
@@ -197,16 +211,21 @@ public class TokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void refill() {
-        double timestamp = clock.time();
-        if (lastTimestamp == null) {
+    void refill() {
+        lock.lock();
+        try {
+            double timestamp = clock.time();
+            if (lastTimestamp == null) {
+                lastTimestamp = timestamp;
+                return;
+            }
+
+            double fillAmount = (timestamp - lastTimestamp) * fillRate;
+            currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
             lastTimestamp = timestamp;
-            return;
+        } finally {
+            lock.unlock();
         }
-
-        double fillAmount = (timestamp - lastTimestamp) * fillRate;
-        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
-        lastTimestamp = timestamp;
     }
 
     /**
@@ -221,11 +240,16 @@ public class TokenBucket {
      *   current_capacity = min(current_capacity, max_capacity)
      * </pre>
      */
-    private synchronized void updateRate(double newRps) {
-        refill();
-        fillRate = Math.max(newRps, MIN_FILL_RATE);
-        maxCapacity = Math.max(newRps, MIN_CAPACITY);
-        currentCapacity = Math.min(currentCapacity, maxCapacity);
+    private void updateRate(double newRps) {
+        lock.lock();
+        try {
+            refill();
+            fillRate = Math.max(newRps, MIN_FILL_RATE);
+            maxCapacity = Math.max(newRps, MIN_CAPACITY);
+            currentCapacity = Math.min(currentCapacity, maxCapacity);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -240,20 +264,30 @@ public class TokenBucket {
      *   last_tx_rate_bucket = time_bucket
      * </pre>
      */
-    private synchronized void updateMeasuredRate() {
-        double t = clock.time();
-        double timeBucket = Math.floor(t * 2) / 2;
-        requestCount = requestCount + 1;
-        if (timeBucket > lastTxRateBucket) {
-            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
-            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
-            requestCount = 0;
-            lastTxRateBucket = timeBucket;
+    private void updateMeasuredRate() {
+        lock.lock();
+        try {
+            double t = clock.time();
+            double timeBucket = Math.floor(t * 2) / 2;
+            requestCount = requestCount + 1;
+            if (timeBucket > lastTxRateBucket) {
+                double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+                measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
+                requestCount = 0;
+                lastTxRateBucket = timeBucket;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
-    synchronized void enable() {
-        enabled = true;
+    void enable() {
+        lock.lock();
+        try {
+            enabled = true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -281,30 +315,35 @@ public class TokenBucket {
      *   _TokenBucketUpdateRate(new_rate)
      * </pre>
      */
-    public synchronized void updateClientSendingRate(boolean throttlingResponse) {
-        updateMeasuredRate();
-
-        double calculatedRate;
-        if (throttlingResponse) {
-            double rateToUse;
-            if (!enabled) {
-                rateToUse = measuredTxRate;
+    public void updateClientSendingRate(boolean throttlingResponse) {
+        lock.lock();
+        try {
+            updateMeasuredRate();
+
+            double calculatedRate;
+            if (throttlingResponse) {
+                double rateToUse;
+                if (!enabled) {
+                    rateToUse = measuredTxRate;
+                } else {
+                    rateToUse = Math.min(measuredTxRate, fillRate);
+                }
+
+                lastMaxRate = rateToUse;
+                calculateTimeWindow();
+                lastThrottleTime = clock.time();
+                calculatedRate = cubicThrottle(rateToUse);
+                enable();
             } else {
-                rateToUse = Math.min(measuredTxRate, fillRate);
+                calculateTimeWindow();
+                calculatedRate = cubicSuccess(clock.time());
             }
 
-            lastMaxRate = rateToUse;
-            calculateTimeWindow();
-            lastThrottleTime = clock.time();
-            calculatedRate = cubicThrottle(rateToUse);
-            enable();
-        } else {
-            calculateTimeWindow();
-            calculatedRate = cubicSuccess(clock.time());
+            double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
+            updateRate(newRate);
+        } finally {
+            lock.unlock();
         }
-
-        double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
-        updateRate(newRate);
     }
 
     /**
@@ -316,8 +355,13 @@ public class TokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void calculateTimeWindow() {
-        timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+    void calculateTimeWindow() {
+        lock.lock();
+        try {
+            timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -357,10 +401,15 @@ public class TokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized double cubicSuccess(double timestamp) {
-        double dt = timestamp - lastThrottleTime;
-        double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
-        return calculatedRate;
+    double cubicSuccess(double timestamp) {
+        lock.lock();
+        try {
+            double dt = timestamp - lastThrottleTime;
+            double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+            return calculatedRate;
+        } finally {
+            lock.unlock();
+        }
     }
 
     static class DefaultClock implements Clock {
@@ -372,37 +421,72 @@ public class TokenBucket {
     }
 
     @SdkTestInternalApi
-    synchronized void setLastMaxRate(double lastMaxRate) {
-        this.lastMaxRate = lastMaxRate;
+    void setLastMaxRate(double lastMaxRate) {
+        lock.lock();
+        try {
+            this.lastMaxRate = lastMaxRate;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized void setLastThrottleTime(double lastThrottleTime) {
-        this.lastThrottleTime = lastThrottleTime;
+    void setLastThrottleTime(double lastThrottleTime) {
+        lock.lock();
+        try {
+            this.lastThrottleTime = lastThrottleTime;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized double getMeasuredTxRate() {
-        return measuredTxRate;
+    double getMeasuredTxRate() {
+        lock.lock();
+        try {
+            return measuredTxRate;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized double getFillRate() {
-        return fillRate;
+    double getFillRate() {
+        lock.lock();
+        try {
+            return fillRate;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized void setCurrentCapacity(double currentCapacity) {
-        this.currentCapacity = currentCapacity;
+    void setCurrentCapacity(double currentCapacity) {
+        lock.lock();
+        try {
+            this.currentCapacity = currentCapacity;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized double getCurrentCapacity() {
-        return currentCapacity;
+    double getCurrentCapacity() {
+        lock.lock();
+        try {
+            return currentCapacity;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @SdkTestInternalApi
-    synchronized void setFillRate(double fillRate) {
-        this.fillRate = fillRate;
+    void setFillRate(double fillRate) {
+        lock.lock();
+        try {
+            this.fillRate = fillRate;
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -50,7 +50,10 @@ import com.ibm.cloud.objectstorage.util.AWSServiceMetrics;
  * When the system property is specified, a default metric collector will be
  * started at the AWS SDK level. The default implementation uploads the
  * request/response metrics captured to Amazon CloudWatch using AWS credentials
- * obtained via the {@link DefaultAWSCredentialsProviderChain}.
+ * obtained via the {@link DefaultAWSCredentialsProviderChain}. When that
+ * implementation is not on the classpath, an {@link InMemoryMetricCollector}
+ * is started instead, whose metrics are available through the
+ * {@link MetricAdminMBean}.
  * <p>
  * For additional optional attributes that can be specified for the system
  * property, please read the javadoc of the individual fields of
@@ -610,9 +613,16 @@ public enum AwsSdkMetrics {
             }
             dirtyEnabling = true;
             try {
-                Class<?> c = Class.forName(DEFAULT_METRIC_COLLECTOR_FACTORY);
-                MetricCollector.Factory f = (MetricCollector.Factory)c.newInstance();
-                MetricCollector instance = f.getInstance();
+                MetricCollector instance;
+                try {
+                    Class<?> c = Class.forName(DEFAULT_METRIC_COLLECTOR_FACTORY);
+                    MetricCollector.Factory f = (MetricCollector.Factory)c.newInstance();
+                    instance = f.getInstance();
+                } catch (ClassNotFoundException e) {
+                    log.debug("Default metric collector factory not found, collecting metrics in memory");
+                    instance = new InMemoryMetricCollector();
+                    instance.start();
+                }
                 if (instance != null) {
                     setMetricCollector(instance);
                     return true;
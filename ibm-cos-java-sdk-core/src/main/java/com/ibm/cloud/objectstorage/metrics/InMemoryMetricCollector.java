@@ -0,0 +1,53 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.metrics;
+
+/**
+ * Metric collector that keeps the request metrics in memory with an
+ * {@link InMemoryRequestMetricCollector}. It is used by
+ * {@link AwsSdkMetrics#enableDefaultMetrics()} when no other default metric
+ * collector is available, and can be set explicitly with
+ * {@link AwsSdkMetrics#setMetricCollector(MetricCollector)}.
+ */
+public class InMemoryMetricCollector extends MetricCollector {
+    private final InMemoryRequestMetricCollector requestMetricCollector = new InMemoryRequestMetricCollector();
+    private volatile boolean started;
+
+    @Override
+    public boolean start() {
+        started = true;
+        return true;
+    }
+
+    @Override
+    public boolean stop() {
+        boolean wasStarted = started;
+        started = false;
+        return wasStarted;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return started;
+    }
+
+    @Override
+    public InMemoryRequestMetricCollector getRequestMetricCollector() {
+        return requestMetricCollector;
+    }
+
+    @Override
+    public ServiceMetricCollector getServiceMetricCollector() {
+        return ServiceMetricCollector.NONE;
+    }
+}
@@ -0,0 +1,487 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.metrics;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.Response;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
+import com.ibm.cloud.objectstorage.util.TimingInfo;
+
+/**
+ * Request metric collector that aggregates the metrics of each request in
+ * memory, without any outside service.
+ * <p>
+ * Latency histograms and counters of requests, retries, throttling errors,
+ * failed requests and bytes are kept per API, and latency histograms of the HTTP
+ * requests along with the last sampled connection pool counts are kept per
+ * endpoint. Recording a request is lock-free. The metrics can be read through
+ * the getters, through the {@link MetricAdminMBean} when this collector is the
+ * AWS SDK level collector, or as text in the Prometheus exposition format with
+ * {@link #writePrometheusText(Appendable)}.
+ * </p>
+ */
+@ThreadSafe
+public class InMemoryRequestMetricCollector extends RequestMetricCollector {
+
+    /** Prefix of the names of the metrics written by {@link #writePrometheusText(Appendable)}. */
+    public static final String METRIC_NAME_PREFIX = "ibm_cos_sdk_";
+
+    private static final String UNKNOWN = "unknown";
+
+    private final ConcurrentMap<String, ApiMetrics> apiMetrics = new ConcurrentHashMap<String, ApiMetrics>();
+    private final ConcurrentMap<String, EndpointMetrics> endpointMetrics =
+            new ConcurrentHashMap<String, EndpointMetrics>();
+
+    @Override
+    public void collectMetrics(Request<?> request, Response<?> response) {
+        AWSRequestMetrics metrics = request.getAWSRequestMetrics();
+        if (metrics == null || !metrics.isEnabled()) {
+            return;
+        }
+        TimingInfo timingInfo = metrics.getTimingInfo();
+
+        ApiMetrics api = apiMetrics(apiName(request));
+        api.requests.incrementAndGet();
+        Double clientExecuteTime = timeTakenMillis(timingInfo.getLastSubMeasurement(Field.ClientExecuteTime.name()));
+        if (clientExecuteTime != null) {
+            api.latency.record(clientExecuteTime);
+        }
+        long requestCount = counter(timingInfo, Field.RequestCount);
+        if (requestCount > 1) {
+            api.retries.addAndGet(requestCount - 1);
+        }
+        api.throttles.addAndGet(counter(timingInfo, Field.ThrottleException));
+        // Failed attempts that were retried successfully only count as retries
+        if (response == null) {
+            api.errors.incrementAndGet();
+        }
+        api.bytesReceived.addAndGet(counter(timingInfo, Field.BytesProcessed));
+        api.bytesSent.addAndGet(contentLength(request));
+
+        EndpointMetrics endpoint = endpointMetrics(endpointName(request));
+        List<TimingInfo> httpRequests = timingInfo.getAllSubMeasurements(Field.HttpRequestTime.name());
+        if (httpRequests != null) {
+            for (TimingInfo httpRequest : httpRequests) {
+                Double httpRequestTime = timeTakenMillis(httpRequest);
+                if (httpRequestTime != null) {
+                    endpoint.latency.record(httpRequestTime);
+                }
+            }
+        }
+        // The pool counts are sampled before each HTTP request; keep the last sample
+        Number available = timingInfo.getCounter(Field.HttpClientPoolAvailableCount.name());
+        if (available != null) {
+            endpoint.poolAvailable = available.longValue();
+            endpoint.poolLeased = counter(timingInfo, Field.HttpClientPoolLeasedCount);
+            endpoint.poolPending = counter(timingInfo, Field.HttpClientPoolPendingCount);
+        }
+    }
+
+    /**
+     * Returns the metrics of each API, sorted by API name.
+     */
+    public Map<String, ApiMetrics> getApiMetrics() {
+        return new TreeMap<String, ApiMetrics>(apiMetrics);
+    }
+
+    /**
+     * Returns the metrics of each endpoint host, sorted by host.
+     */
+    public Map<String, EndpointMetrics> getEndpointMetrics() {
+        return new TreeMap<String, EndpointMetrics>(endpointMetrics);
+    }
+
+    /**
+     * Discards all the metrics collected so far.
+     */
+    public void reset() {
+        apiMetrics.clear();
+        endpointMetrics.clear();
+    }
+
+    /**
+     * Returns the metrics in the Prometheus text exposition format.
+     */
+    public String toPrometheusText() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writePrometheusText(sb);
+        } catch (IOException e) {
+            // Not thrown by StringBuilder
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the metrics in the Prometheus text exposition format, for example
+     * in the response of an HTTP endpoint scraped by Prometheus.
+     */
+    public void writePrometheusText(Appendable out) throws IOException {
+        Map<String, ApiMetrics> apis = getApiMetrics();
+        Map<String, EndpointMetrics> endpoints = getEndpointMetrics();
+
+        header(out, "request_latency_milliseconds", "histogram",
+                "Client execution time of requests, including retries.");
+        for (Map.Entry<String, ApiMetrics> e : apis.entrySet()) {
+            e.getValue().latency.write(out, "request_latency_milliseconds", "api", e.getKey());
+        }
+        for (ApiCounter counter : ApiCounter.values()) {
+            header(out, counter.metricName, "counter", counter.help);
+            for (Map.Entry<String, ApiMetrics> e : apis.entrySet()) {
+                sample(out, counter.metricName, "api", e.getKey(), null, counter.get(e.getValue()));
+            }
+        }
+
+        header(out, "http_request_latency_milliseconds", "histogram",
+                "Time to send each HTTP request and receive the response headers.");
+        for (Map.Entry<String, EndpointMetrics> e : endpoints.entrySet()) {
+            e.getValue().latency.write(out, "http_request_latency_milliseconds", "endpoint", e.getKey());
+        }
+        for (PoolGauge gauge : PoolGauge.values()) {
+            header(out, gauge.metricName, "gauge", gauge.help);
+            for (Map.Entry<String, EndpointMetrics> e : endpoints.entrySet()) {
+                sample(out, gauge.metricName, "endpoint", e.getKey(), null, gauge.get(e.getValue()));
+            }
+        }
+    }
+
+    private static void header(Appendable out, String name, String type, String help) throws IOException {
+        out.append("# HELP ").append(METRIC_NAME_PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(METRIC_NAME_PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(Appendable out, String name, String label, String labelValue, String le,
+            Object value) throws IOException {
+        out.append(METRIC_NAME_PREFIX).append(name).append('{').append(label).append("=\"");
+        escape(out, labelValue);
+        out.append('"');
+        if (le != null) {
+            out.append(",le=\"").append(le).append('"');
+        }
+        out.append("} ").append(String.valueOf(value)).append('\n');
+    }
+
+    private static void escape(Appendable out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private ApiMetrics apiMetrics(String name) {
+        ApiMetrics metrics = apiMetrics.get(name);
+        if (metrics == null) {
+            ApiMetrics newMetrics = new ApiMetrics();
+            metrics = apiMetrics.putIfAbsent(name, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    private EndpointMetrics endpointMetrics(String name) {
+        EndpointMetrics metrics = endpointMetrics.get(name);
+        if (metrics == null) {
+            EndpointMetrics newMetrics = new EndpointMetrics();
+            metrics = endpointMetrics.putIfAbsent(name, newMetrics);
+            if (metrics == null) {
+                metrics = newMetrics;
+            }
+        }
+        return metrics;
+    }
+
+    private static String apiName(Request<?> request) {
+        String operationName = request.getHandlerContext(HandlerContextKey.OPERATION_NAME);
+        if (operationName != null) {
+            return operationName;
+        }
+        if (request.getOriginalRequest() == null) {
+            return UNKNOWN;
+        }
+        String requestType = request.getOriginalRequest().getClass().getSimpleName();
+        return requestType.endsWith("Request")
+                ? requestType.substring(0, requestType.length() - "Request".length())
+                : requestType;
+    }
+
+    private static String endpointName(Request<?> request) {
+        URI endpoint = request.getEndpoint();
+        return endpoint == null || endpoint.getHost() == null ? UNKNOWN : endpoint.getHost();
+    }
+
+    private static long contentLength(Request<?> request) {
+        String contentLength = request.getHeaders().get("Content-Length");
+        if (contentLength == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long counter(TimingInfo timingInfo, Field field) {
+        Number value = timingInfo.getCounter(field.name());
+        return value == null ? 0 : value.longValue();
+    }
+
+    private static Double timeTakenMillis(TimingInfo timingInfo) {
+        return timingInfo == null ? null : timingInfo.getTimeTakenMillisIfKnown();
+    }
+
+    private enum ApiCounter {
+        REQUESTS("requests_total", "Requests executed.") {
+            @Override long get(ApiMetrics m) { return m.getRequestCount(); }
+        },
+        RETRIES("request_retries_total", "Retries of requests.") {
+            @Override long get(ApiMetrics m) { return m.getRetryCount(); }
+        },
+        THROTTLES("request_throttles_total", "Throttling errors received.") {
+            @Override long get(ApiMetrics m) { return m.getThrottleCount(); }
+        },
+        ERRORS("request_errors_total", "Requests that failed once retries were exhausted.") {
+            @Override long get(ApiMetrics m) { return m.getErrorCount(); }
+        },
+        BYTES_SENT("request_sent_bytes_total", "Request content bytes sent.") {
+            @Override long get(ApiMetrics m) { return m.getBytesSent(); }
+        },
+        BYTES_RECEIVED("response_received_bytes_total", "Response content bytes received.") {
+            @Override long get(ApiMetrics m) { return m.getBytesReceived(); }
+        };
+
+        private final String metricName;
+        private final String help;
+
+        ApiCounter(String metricName, String help) {
+            this.metricName = metricName;
+            this.help = help;
+        }
+
+        abstract long get(ApiMetrics m);
+    }
+
+    private enum PoolGauge {
+        AVAILABLE("http_client_pool_available_connections", "Idle persistent connections of the connection pool.") {
+            @Override long get(EndpointMetrics m) { return m.getPoolAvailableCount(); }
+        },
+        LEASED("http_client_pool_leased_connections", "Connections of the connection pool executing requests.") {
+            @Override long get(EndpointMetrics m) { return m.getPoolLeasedCount(); }
+        },
+        PENDING("http_client_pool_pending_connections", "Requests waiting for a connection of the connection pool.") {
+            @Override long get(EndpointMetrics m) { return m.getPoolPendingCount(); }
+        };
+
+        private final String metricName;
+        private final String help;
+
+        PoolGauge(String metricName, String help) {
+            this.metricName = metricName;
+            this.help = help;
+        }
+
+        abstract long get(EndpointMetrics m);
+    }
+
+    /**
+     * Metrics of the requests of one API.
+     */
+    @ThreadSafe
+    public static final class ApiMetrics {
+        private final Histogram latency = new Histogram();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong throttles = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong bytesSent = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+
+        private ApiMetrics() {
+        }
+
+        /** Returns the histogram of the client execution times in milliseconds. */
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public long getRequestCount() {
+            return requests.get();
+        }
+
+        public long getRetryCount() {
+            return retries.get();
+        }
+
+        public long getThrottleCount() {
+            return throttles.get();
+        }
+
+        /**
+         * Returns the number of requests that failed once retries were
+         * exhausted. Failed attempts of a request that eventually succeeded
+         * are counted by {@link #getRetryCount()} only.
+         */
+        public long getErrorCount() {
+            return errors.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.get();
+        }
+    }
+
+    /**
+     * Metrics of the HTTP requests sent to one endpoint host.
+     */
+    @ThreadSafe
+    public static final class EndpointMetrics {
+        private final Histogram latency = new Histogram();
+        private volatile long poolAvailable;
+        private volatile long poolLeased;
+        private volatile long poolPending;
+
+        private EndpointMetrics() {
+        }
+
+        /** Returns the histogram of the HTTP request times in milliseconds. */
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        /** Returns the last sampled number of idle connections of the pool. */
+        public long getPoolAvailableCount() {
+            return poolAvailable;
+        }
+
+        /** Returns the last sampled number of leased connections of the pool. */
+        public long getPoolLeasedCount() {
+            return poolLeased;
+        }
+
+        /** Returns the last sampled number of requests waiting for a connection. */
+        public long getPoolPendingCount() {
+            return poolPending;
+        }
+    }
+
+    /**
+     * Lock-free histogram of durations in milliseconds with fixed buckets.
+     */
+    @ThreadSafe
+    public static final class Histogram {
+        /** Inclusive upper bounds of the buckets, in milliseconds; the last bucket is unbounded. */
+        private static final long[] BOUNDS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000
+        };
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumMicros = new AtomicLong();
+
+        private Histogram() {
+        }
+
+        void record(double millis) {
+            int i = 0;
+            while (i < BOUNDS.length && millis > BOUNDS[i]) {
+                i++;
+            }
+            buckets.incrementAndGet(i);
+            sumMicros.addAndGet((long) (millis * 1000));
+            count.incrementAndGet();
+        }
+
+        /** Returns the number of recorded durations. */
+        public long getCount() {
+            return count.get();
+        }
+
+        /** Returns the sum of the recorded durations in milliseconds. */
+        public double getSumMillis() {
+            return sumMicros.get() / 1000.0;
+        }
+
+        /** Returns the mean of the recorded durations in milliseconds, or 0 if none. */
+        public double getMeanMillis() {
+            long n = count.get();
+            return n == 0 ? 0 : getSumMillis() / n;
+        }
+
+        /**
+         * Returns an upper bound of the given quantile of the recorded
+         * durations in milliseconds, from the bucket bounds, or
+         * {@link Double#POSITIVE_INFINITY} if it falls in the last bucket.
+         *
+         * @param quantile
+         *            The quantile, between 0 and 1.
+         */
+        public double getQuantileUpperBoundMillis(double quantile) {
+            long n = 0;
+            long[] snapshot = new long[buckets.length()];
+            for (int i = 0; i < snapshot.length; i++) {
+                snapshot[i] = buckets.get(i);
+                n += snapshot[i];
+            }
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int i = 0; i < BOUNDS.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return BOUNDS[i];
+                }
+            }
+            return Double.POSITIVE_INFINITY;
+        }
+
+        private void write(Appendable out, String name, String label, String labelValue) throws IOException {
+            long cumulative = 0;
+            for (int i = 0; i < BOUNDS.length; i++) {
+                cumulative += buckets.get(i);
+                sample(out, name + "_bucket", label, labelValue, String.valueOf(BOUNDS[i]), cumulative);
+            }
+            cumulative += buckets.get(BOUNDS.length);
+            sample(out, name + "_bucket", label, labelValue, "+Inf", cumulative);
+            sample(out, name + "_sum", label, labelValue, null, getSumMillis());
+            sample(out, name + "_count", label, labelValue, null, cumulative);
+        }
+    }
+}
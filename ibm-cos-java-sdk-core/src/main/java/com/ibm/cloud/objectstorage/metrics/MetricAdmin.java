@@ -16,6 +16,9 @@ package com.ibm.cloud.objectstorage.metrics;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import com.ibm.cloud.objectstorage.regions.Regions;
 
@@ -139,4 +142,34 @@ public class MetricAdmin implements MetricAdminMBean {
     public void setSingleMetricNamespace(boolean singleMetricNamespace) {
         AwsSdkMetrics.setSingleMetricNamespace(singleMetricNamespace);
     }
+    @Override
+    public String getRequestMetricsText() {
+        InMemoryRequestMetricCollector rmc = inMemoryRequestMetricCollector();
+        return rmc == null ? "" : rmc.toPrometheusText();
+    }
+    @Override
+    public String[] getRequestCounts() {
+        InMemoryRequestMetricCollector rmc = inMemoryRequestMetricCollector();
+        if (rmc == null) {
+            return new String[0];
+        }
+        List<String> counts = new ArrayList<String>();
+        for (Map.Entry<String, InMemoryRequestMetricCollector.ApiMetrics> e : rmc.getApiMetrics().entrySet()) {
+            counts.add(e.getKey() + "=" + e.getValue().getRequestCount());
+        }
+        return counts.toArray(new String[counts.size()]);
+    }
+    @Override
+    public void resetRequestMetrics() {
+        InMemoryRequestMetricCollector rmc = inMemoryRequestMetricCollector();
+        if (rmc != null) {
+            rmc.reset();
+        }
+    }
+
+    private static InMemoryRequestMetricCollector inMemoryRequestMetricCollector() {
+        MetricCollector mc = AwsSdkMetrics.getInternalMetricCollector();
+        RequestMetricCollector rmc = mc == null ? null : mc.getRequestMetricCollector();
+        return rmc instanceof InMemoryRequestMetricCollector ? (InMemoryRequestMetricCollector) rmc : null;
+    }
 }
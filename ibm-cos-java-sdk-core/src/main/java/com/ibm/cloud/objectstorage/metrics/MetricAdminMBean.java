@@ -184,4 +184,24 @@ public interface MetricAdminMBean {
      * Used to set whether a single metric name space is to be used.
      */
     public void setSingleMetricNamespace(boolean singleMetricNamespace);
+
+    /**
+     * Returns the request metrics collected in memory, in the Prometheus text
+     * exposition format, or an empty string if the request metric collector
+     * at the AWS SDK level is not an {@link InMemoryRequestMetricCollector}.
+     */
+    public String getRequestMetricsText();
+
+    /**
+     * Returns the number of requests recorded per API by the in memory request
+     * metric collector, in the form "api=count", or an empty array if it is
+     * not in use.
+     */
+    public String[] getRequestCounts();
+
+    /**
+     * Discards the request metrics collected in memory, if the in memory
+     * request metric collector is in use at the AWS SDK level.
+     */
+    public void resetRequestMetrics();
 }
\ No newline at end of file
@@ -12,10 +12,22 @@
 */
 package com.ibm.cloud.objectstorage.oauth;
 
+import java.lang.ref.WeakReference;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.http.HttpStatus;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -40,7 +52,13 @@ import com.ibm.cloud.objectstorage.oauth.DefaultTokenManager;
  * The DefaultTokenProvider is used to retrieve the token from the IAM Service
  * which uses the api key method. A client can also use their own implementation
  * of TokenHandler
- *
+ * <p>
+ * Once a token has been retrieved from a {@link DefaultTokenProvider} it is
+ * refreshed in the background shortly before the IAM refresh offset is
+ * reached, so callers of {@link #getToken()} only wait on the IAM service when
+ * no valid token exists. Tokens of any other TokenProvider are not refreshed
+ * in the background; a new one is retrieved once the current one expires.
+ * </p>
  *
  */
 public class DefaultTokenManager implements TokenManager {
@@ -51,7 +69,20 @@ public class DefaultTokenManager implements TokenManager {
 
     private volatile Token token;
     // flag to signify if an async refresh process has already started
-    private volatile boolean asyncInProgress = false;
+    private final AtomicBoolean asyncInProgress = new AtomicBoolean(false);
+
+    // pending proactive refresh of the current token
+    private ScheduledFuture<?> scheduledRefresh;
+
+    // guards token retrieval and caching; a ReentrantLock rather than synchronized
+    // so virtual threads waiting on the IAM call do not pin their carrier thread
+    private final ReentrantLock tokenLock = new ReentrantLock();
+
+    // token retrieval metrics
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+    private final AtomicLong refreshLatencyNanos = new AtomicLong();
+    private volatile long lastRefreshLatencyMillis;
 
     /** variable to overwrite the global SDKGlobalConfiguration.IAM_ENDPOINT **/
     private String iamEndpoint = SDKGlobalConfiguration.IAM_ENDPOINT;
@@ -72,8 +103,31 @@ public class DefaultTokenManager implements TokenManager {
     /** The client http setting */
     private HttpClientSettings httpClientSettings;
 
-    // Executor service for token refresh
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    /** Seconds to wait before retrying a failed background refresh */
+    private static final long REFRESH_RETRY_DELAY_SECONDS = 30;
+
+    /**
+     * Seconds before the refresh time at which the background refresh starts,
+     * so the new token is normally in place before readers consider the
+     * current one to be expiring.
+     */
+    private static final long REFRESH_LEAD_SECONDS = 10;
+
+    /** Seconds an idle refresh thread is kept before it stops */
+    private static final long REFRESH_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final AtomicInteger refreshThreadCount = new AtomicInteger(1);
+
+    // Timer for token refresh, shared by all token managers. It only hands each
+    // refresh over to the refresh executor of its token manager, so a slow IAM
+    // call of one token manager never delays the refreshes of the others.
+    private static final ScheduledThreadPoolExecutor sharedTimer = createTimer();
+
+    // Timer scheduling the token refreshes of this token manager
+    private final ScheduledExecutorService timer;
+
+    // Runs the IAM calls of the background refreshes of this token manager
+    private final Executor refreshExecutor;
 
     /**
      * Set of HTTP response codes that should attempt retry.
@@ -98,6 +152,8 @@ public class DefaultTokenManager implements TokenManager {
 
         log.debug("DefaultTokenManager api key constructor");
         this.provider = new DefaultTokenProvider(apiKey);
+        this.timer = sharedTimer;
+        this.refreshExecutor = createRefreshExecutor();
     }
 
     /**
@@ -110,7 +166,18 @@ public class DefaultTokenManager implements TokenManager {
      */
     public DefaultTokenManager(TokenProvider provider) {
 
+        this(provider, sharedTimer, createRefreshExecutor());
+    }
+
+    /**
+     * Constructor scheduling the token refreshes on the given timer rather
+     * than the one shared by all token managers, and running them on the given
+     * executor.
+     */
+    DefaultTokenManager(TokenProvider provider, ScheduledExecutorService timer, Executor refreshExecutor) {
         this.provider = provider;
+        this.timer = timer;
+        this.refreshExecutor = refreshExecutor;
     }
 
     /**
@@ -186,7 +253,6 @@ public class DefaultTokenManager implements TokenManager {
         // check if token should be refreshed. If a refreshtoken is not present, the token manager will call upon the original tokenprovider retrieve a fresh token
         if (isTokenExpiring(token) && !isAsyncInProgress()) {
             if (null != token.getRefresh_token() && "not_supported" != token.getRefresh_token()) {
-                this.asyncInProgress = true;
                 submitRefreshTask();
             } else {
                 retrieveToken();
@@ -226,34 +292,67 @@ public class DefaultTokenManager implements TokenManager {
      * @param token
      *            The IAM Token object
      */
-    protected synchronized void cacheToken(final Token token) {
+    protected void cacheToken(final Token token) {
+        tokenLock.lock();
+        try {
+            log.debug("OAuthTokenManager.cacheToken");
 
-        log.debug("OAuthTokenManager.cacheToken");
+            // Parse token expires in seconds.
+            int tokenExpiresInSecs;
+            try {
+                tokenExpiresInSecs = Integer.parseInt(token.getExpires_in());
+            } catch (NumberFormatException exception) {
+                tokenExpiresInSecs = 0;
+            }
 
-        // Parse token expires in seconds.
-        int tokenExpiresInSecs;
-        try {
-            tokenExpiresInSecs = Integer.parseInt(token.getExpires_in());
-        } catch (NumberFormatException exception) {
-            tokenExpiresInSecs = 0;
-        }
+            // Parse token expiration time
+            long tokenExpirationTime;
+            try {
+                tokenExpirationTime = Long.parseLong(token.getExpiration());
+            } catch (NumberFormatException exception) {
+                tokenExpirationTime = 0;
+            }
 
-        // Parse token expiration time
-        long tokenExpirationTime;
-        try {
-            tokenExpirationTime = Long.parseLong(token.getExpiration());
-        } catch (NumberFormatException exception) {
-            tokenExpirationTime = 0;
-        }
+            // Calculate token refresh time based on lifespan percentage offset.
+            long refreshBeforeExpirySecs = (long) (tokenExpiresInSecs * this.iamRefreshOffset);
+            long tokenRefreshTime = tokenExpirationTime - refreshBeforeExpirySecs;
 
-        // Calculate token refresh time based on lifespan percentage offset.
-        long refreshBeforeExpirySecs = (long) (tokenExpiresInSecs * this.iamRefreshOffset);
-        long tokenRefreshTime = tokenExpirationTime - refreshBeforeExpirySecs;
+            token.setRefreshTime(tokenRefreshTime);
+            token.setExpirationTime(tokenExpirationTime);
 
-        token.setRefreshTime(tokenRefreshTime);
-        token.setExpirationTime(tokenExpirationTime);
+            setTokenCache(token);
+            scheduleRefresh(tokenRefreshTime);
+        } finally {
+            tokenLock.unlock();
+        }
+    }
 
-        setTokenCache(token);
+    /**
+     * Schedule a background refresh of the current token ahead of its refresh
+     * time, replacing any refresh scheduled for a previous token. A token whose
+     * refresh time is closer than the lead time is refreshed immediately, and a
+     * token that is already due a refresh is refreshed by the next call to
+     * getToken(). Only tokens of a DefaultTokenProvider are refreshed ahead of
+     * time.
+     *
+     * @param tokenRefreshTime
+     *            The time in seconds since the epoch the token is due refresh
+     */
+    private void scheduleRefresh(long tokenRefreshTime) {
+        tokenLock.lock();
+        try {
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+            long currentTime = System.currentTimeMillis() / 1000L;
+            if (provider instanceof DefaultTokenProvider && tokenRefreshTime > currentTime) {
+                long delay = Math.max(0, tokenRefreshTime - REFRESH_LEAD_SECONDS - currentTime);
+                scheduledRefresh = timer.schedule(new TokenRefreshTask(this, true), delay, TimeUnit.SECONDS);
+            }
+        } finally {
+            tokenLock.unlock();
+        }
     }
 
     /**
@@ -338,16 +437,35 @@ public class DefaultTokenManager implements TokenManager {
      * null prior to making the callout to IAM
      *
      */
-    protected synchronized void retrieveToken() {
+    protected void retrieveToken() {
 
         log.debug("OAuthTokenManager.retrieveToken");
 
+        // Only wait for the lock when the token actually has to be retrieved
+        if (!needsToken()) {
+            return;
+        }
+
+        tokenLock.lock();
+        try {
+            retrieveTokenLocked();
+        } finally {
+            tokenLock.unlock();
+        }
+    }
+
+    private boolean needsToken() {
+        Token current = token;
+        return current == null || (Long.valueOf(current.getExpiration()) < System.currentTimeMillis() / 1000L);
+    }
+
+    private void retrieveTokenLocked() {
         // If we have no token or if the token we have has expired, get a new token
-        if (token == null || (Long.valueOf(token.getExpiration()) < System.currentTimeMillis() / 1000L)) {
+        if (needsToken()) {
             log.debug("Token needs to be refreshed, retrieving from provider");
             for (int attempt = 1; attempt <= this.iamMaxRetry; attempt++) {
                 try {
-                    token = provider.retrieveToken();
+                    token = retrieveTokenFromProvider(null);
                     break;  // We received a token; no exceptions were thrown
                 } catch (OAuthServiceException exception) {
                     log.debug("Exception retrieving IAM token on attempt " + attempt
@@ -379,20 +497,144 @@ public class DefaultTokenManager implements TokenManager {
      * @return void
      */
     protected void submitRefreshTask() {
-        TokenRefreshTask tokenRefreshTask = new TokenRefreshTask(this);
-        executor.execute(tokenRefreshTask);
+        if (!asyncInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        executeRefresh();
         log.debug("Submitted token refresh task");
     }
 
+    /**
+     * Run a refresh on the refresh executor of this token manager. The caller
+     * must hold the in progress flag.
+     */
+    private void executeRefresh() {
+        refreshExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                refreshToken();
+            }
+        });
+    }
+
+    /**
+     * Retrieve a token from the provider, using the refresh token when one is
+     * given, and record the latency and outcome of the call.
+     */
+    private Token retrieveTokenFromProvider(String refreshToken) {
+        long start = System.nanoTime();
+        try {
+            Token retrieved = refreshToken == null
+                    ? provider.retrieveToken()
+                    : ((DefaultTokenProvider) provider).retrieveTokenWithRefresh(refreshToken);
+            refreshCount.incrementAndGet();
+            return retrieved;
+        } catch (RuntimeException e) {
+            refreshFailureCount.incrementAndGet();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            refreshLatencyNanos.addAndGet(elapsed);
+            lastRefreshLatencyMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        }
+    }
+
+    /**
+     * Refresh the current token in the background. Uses the refresh token when
+     * the provider supports it, otherwise retrieves a new token from the
+     * provider. A failed refresh is retried later for as long as the current
+     * token remains valid. Only tokens of a DefaultTokenProvider are
+     * refreshed.
+     */
+    private void refreshToken() {
+        boolean retryScheduled = false;
+        Token current = token;
+        try {
+            if (!(provider instanceof DefaultTokenProvider)) {
+                log.info("OAuthTokenManager.TokenRefreshTask: Token Provider is not of type DefaultTokenProvider,"
+                    + " so refreshing the token in the background is not supported.");
+                return;
+            }
+            String refreshToken = null;
+            if (current != null
+                    && null != current.getRefresh_token() && !"not_supported".equals(current.getRefresh_token())) {
+                refreshToken = current.getRefresh_token();
+            }
+            log.info("OAuthTokenManager.TokenRefreshTask: Attempting to refresh token");
+            Token refreshedToken = retrieveTokenFromProvider(refreshToken);
+            if (refreshedToken == null) {
+                throw new OAuthServiceException("OAuthTokenManager.TokenRefreshTask: "
+                    + " TokenProvider returned null and instead of throwing an exception. This is a bug."
+                    + " Custom TokenProvider classes should return a token or thrown exceptions.");
+            }
+            cacheToken(refreshedToken);
+            log.info("OAuthTokenManager.TokenRefreshTask: Token refreshed");
+        } catch (RuntimeException exception) {
+            if (exception instanceof OAuthServiceException) {
+                OAuthServiceException oauthException = (OAuthServiceException) exception;
+                log.info("OAuthTokenManager.TokenRefreshTask: Exception retrieving IAM token"
+                    + ". Returned status code " + oauthException.getStatusCode()
+                    + ". Error Message: " + oauthException.getErrorMessage()
+                    + ". Status Message: " + oauthException.getStatusMessage());
+            } else {
+                log.info("OAuthTokenManager.TokenRefreshTask: Exception retrieving IAM token", exception);
+            }
+            // Try again later as long as the current token has not yet expired
+            if (current != null && System.currentTimeMillis() / 1000
+                    + REFRESH_RETRY_DELAY_SECONDS < current.getExpirationTime()) {
+                timer.schedule(new TokenRefreshTask(this, false), REFRESH_RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+                retryScheduled = true;
+            } else {
+                log.info("OAuthTokenManager.TokenRefreshTask: Failed to refresh token");
+            }
+        } finally {
+            if (!retryScheduled) {
+                asyncInProgress.set(false);
+            }
+        }
+    }
+
     /**
      * boolean value to signal if the async refresh method is already in use
      *
      * @return boolean
      */
     protected boolean isAsyncInProgress() {
-        log.debug("Aysnchrnonous job in progress : " + asyncInProgress);
-        return asyncInProgress;
+        boolean inProgress = asyncInProgress.get();
+        log.debug("Aysnchrnonous job in progress : " + inProgress);
+        return inProgress;
+    }
+
+    /**
+     * @return The number of tokens successfully retrieved from the provider,
+     *         including the initial token and all refreshes.
+     */
+    public long getRefreshCount() {
+        return refreshCount.get();
     }
+
+    /**
+     * @return The number of calls to the provider that failed.
+     */
+    public long getRefreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * @return The latency in milliseconds of the most recent call to the
+     *         provider.
+     */
+    public long getLastRefreshLatencyMillis() {
+        return lastRefreshLatencyMillis;
+    }
+
+    /**
+     * @return The total latency in milliseconds of all calls to the provider.
+     */
+    public long getTotalRefreshLatencyMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(refreshLatencyNanos.get());
+    }
+
     /**
      * Client config to customise the IAM Client
      *
@@ -408,6 +650,11 @@ public class DefaultTokenManager implements TokenManager {
      * @param clientConfiguration
      */
     public void setClientConfiguration(ClientConfiguration clientConfiguration) {
+        // The signer passes the same configuration on every request; only
+        // rebuild the provider's http client when it actually changes.
+        if (clientConfiguration == this.clientConfiguration) {
+            return;
+        }
         this.clientConfiguration = clientConfiguration;
         if (clientConfiguration != null) {
             this.httpClientSettings = HttpClientSettings.adapt(clientConfiguration);
@@ -431,74 +678,71 @@ public class DefaultTokenManager implements TokenManager {
         }
     }
 
-    @Override
-    protected void finalize() throws Throwable {
-        try {
-            executor.shutdown();
-        } catch (Throwable t) {
-            throw t;
-        } finally {
-            super.finalize();
-        }
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = Executors.defaultThreadFactory().newThread(r);
+                t.setName("iam-token-refresh-timer");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
     }
 
-    class TokenRefreshTask implements Runnable {
-        private DefaultTokenManager tokenManager;
-        private Token refreshedToken = null;
+    /**
+     * Executor for the refreshes of one token manager. At most one refresh of
+     * a token manager runs at a time, so a single thread is enough; it stops
+     * once idle, so an unused token manager does not hold on to a thread.
+     */
+    private static Executor createRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, REFRESH_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = Executors.defaultThreadFactory().newThread(r);
+                        t.setName("iam-token-refresh-" + refreshThreadCount.getAndIncrement());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 
-        TokenRefreshTask(DefaultTokenManager tokenManager) {
-            this.tokenManager = tokenManager;
+    /**
+     * Hands a refresh of a token manager over to its refresh executor. Runs on
+     * the timer and only holds a weak reference to the token manager so a
+     * scheduled refresh does not keep an otherwise unused token manager alive.
+     */
+    static class TokenRefreshTask implements Runnable {
+        private final WeakReference<DefaultTokenManager> tokenManager;
+        private final boolean scheduled;
+
+        /**
+         * @param tokenManager
+         *            The token manager to refresh
+         * @param scheduled
+         *            True for a proactive refresh which still has to claim the
+         *            in progress flag, false if the flag is already held
+         */
+        TokenRefreshTask(DefaultTokenManager tokenManager, boolean scheduled) {
+            this.tokenManager = new WeakReference<DefaultTokenManager>(tokenManager);
+            this.scheduled = scheduled;
         }
 
         @Override
         public void run() {
-            try {
-                if (!(tokenManager.getProvider() instanceof DefaultTokenProvider)) {
-                    log.info("OAuthTokenManager.TokenRefreshTask: Token Provider is not of type DefaultTokenProvider, so using the refresh token is not supported.");
-                    return;
-                }
-
-                // Try to get a new token as long as it has not yet expired
-                while ((this.refreshedToken == null)
-                        && (System.currentTimeMillis() / 1000 < tokenManager.token.getExpirationTime())) {
-                    try {
-                        log.info("OAuthTokenManager.TokenRefreshTask: Attempting to retrieve refresh token");
-                        refreshedToken = ((DefaultTokenProvider)tokenManager.getProvider()).retrieveTokenWithRefresh(tokenManager.token.getRefresh_token());
-                        break;  // We received a token; no exceptions were thrown
-                    } catch (OAuthServiceException exception) {
-                        log.info("OAuthTokenManager.TokenRefreshTask: Exception retrieving IAM token"
-                            + ". Returned status code " + exception.getStatusCode()
-                            + ". Error Message: " + exception.getErrorMessage()
-                            + ". Status Message: " + exception.getStatusMessage());
-                        // Wait before retrying
-                        try {
-                            Thread.sleep(30000);
-                        } catch (InterruptedException e) {
-                            log.info("Token refresh task interrupted: " + e.getMessage());
-                        }
-                        if (System.currentTimeMillis() / 1000 >= tokenManager.token.getExpirationTime()) {
-                            // The token has expired, so we want to rethrow this exception as the failure reason
-                            throw exception;
-                        }
-                    }
-                }
-
-                if (refreshedToken != null) {
-                    tokenManager.cacheToken(refreshedToken);
-                    log.info("OAuthTokenManager.TokenRefreshTask: Token refreshed");
-                } else if (System.currentTimeMillis() / 1000 < tokenManager.token.getExpirationTime()) {
-                    // Retrieving tokens should always return a non-null value, so if we are here,
-                    //   we broke the loop because of the 'break', not because the token expired.
-                    log.info("OAuthTokenManager.TokenRefreshTask: Refresh aborted before token expiration");
-                    throw new OAuthServiceException("OAuthTokenManager.TokenRefreshTask: "
-                        + " TokenProvider.retrieveTokenWithRefresh()"
-                        + " returned null and instead of throwing an exception. This is a bug."
-                        + " Custom TokenProvider classes should return a token or thrown exceptions.");
-                } else {
-                    log.info("OAuthTokenManager.TokenRefreshTask: Failed to refresh token");
-                }
-            } finally {
-                tokenManager.asyncInProgress = false;
+            DefaultTokenManager manager = tokenManager.get();
+            if (manager == null) {
+                return;
+            }
+            if (scheduled) {
+                manager.submitRefreshTask();
+            } else {
+                manager.executeRefresh();
             }
         }
     }
@@ -18,6 +18,7 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -31,6 +32,7 @@ import org.apache.http.client.entity.UrlEncodedFormEntity;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.conn.ssl.DefaultHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.message.BasicNameValuePair;
 import org.apache.http.ssl.SSLContexts;
@@ -38,6 +40,7 @@ import org.apache.http.util.EntityUtils;
 
 import org.apache.http.client.config.RequestConfig;
 
+import com.ibm.cloud.objectstorage.ClientConfiguration;
 import com.ibm.cloud.objectstorage.SDKGlobalConfiguration;
 import com.ibm.cloud.objectstorage.http.apache.client.impl.ApacheConnectionManagerFactory.TrustingX509TrustManager;
 import com.ibm.cloud.objectstorage.http.conn.ssl.SdkTLSSocketFactory;
@@ -51,7 +54,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Default implementation to retrieve token from the IAM service using the api
- * key
+ * key. Tokens are retrieved through a pooled http client that is reused across
+ * calls, so a refresh does not pay for a new connection and TLS handshake.
  *
  */
 public class DefaultTokenProvider implements TokenProvider {
@@ -67,6 +71,17 @@ public class DefaultTokenProvider implements TokenProvider {
     private static final String REFRESH_GRANT_TYPE = "refresh_token";
     private static final String RESPONSE_TYPE = "cloud_iam";
 
+    /** Maximum number of pooled connections to the IAM endpoint per http client */
+    private static final int MAX_CONNECTIONS = 10;
+
+    /**
+     * Pooled http clients shared by all providers without http client
+     * settings, one trusting all certificates and one verifying them.
+     */
+    private static PooledHttpClient sharedClient;
+    private static PooledHttpClient sharedTrustingClient;
+    private static final ReentrantLock sharedClientLock = new ReentrantLock();
+
     private String apiKey;
 
     /** variable to overwrite the global SDKGlobalConfiguration.IAM_ENDPOINT **/
@@ -75,6 +90,12 @@ public class DefaultTokenProvider implements TokenProvider {
     /** The client http setting */
     private HttpClientSettings httpClientSettings;
 
+    /** Pooled http client built from the http client settings */
+    private PooledHttpClient httpClient;
+
+    // guards the http client settings and the http client built from them
+    private final ReentrantLock httpClientLock = new ReentrantLock();
+
     /**
      * Default implmentation will use the apiKey to retrieve the Token from the
      * IAM Service
@@ -99,12 +120,23 @@ public class DefaultTokenProvider implements TokenProvider {
 
     /**
      * Apply http Settings when available to match those set on the s3Client.
-     * This is needed for proxy host & port config
+     * This is needed for proxy host & port config. The next token retrieval
+     * uses a new http client built from these settings; the previous client
+     * is closed once the retrievals still using it have completed.
      *
      * @param httpClientSettings
      */
     public void setHttpClientSettings(HttpClientSettings httpClientSettings) {
-        this.httpClientSettings = httpClientSettings;
+        httpClientLock.lock();
+        try {
+            this.httpClientSettings = httpClientSettings;
+            if (httpClient != null) {
+                httpClient.retire();
+                httpClient = null;
+            }
+        } finally {
+            httpClientLock.unlock();
+        }
     }
 
     /**
@@ -134,36 +166,10 @@ public class DefaultTokenProvider implements TokenProvider {
     private Token retrieveTokenHelper(String refreshToken) {
         log.debug("DefaultTokenProvider retrieveTokenHelper()");
 
+        PooledHttpClient pooledClient = null;
         try {
-            SSLContext sslContext;
-            /*
-             * If SSL cert checking for endpoints has been explicitly disabled,
-             * register a new scheme for HTTPS that won't cause self-signed
-             * certs to error out.
-             */
-            if (SDKGlobalConfiguration.isCertCheckingDisabled()) {
-                if (log.isWarnEnabled()) {
-                    log.warn("SSL Certificate checking for endpoints has been " + "explicitly disabled.");
-                }
-                sslContext = SSLContext.getInstance("TLS");
-                sslContext.init(null, new TrustManager[] { new TrustingX509TrustManager() }, null);
-            } else {
-                sslContext = SSLContexts.createDefault();
-            }
-
-            SSLConnectionSocketFactory sslsf = new SdkTLSSocketFactory(sslContext, new DefaultHostnameVerifier());
-
-            HttpClientBuilder builder = HttpClientBuilder.create();
-            HttpClient client;
-            if (httpClientSettings != null) {
-                DefaultTokenManager.addProxyConfig(builder, httpClientSettings);
-                RequestConfig config = RequestConfig.custom().setConnectTimeout(httpClientSettings.getConnectionTimeout()).build();
-                client = builder.setSSLSocketFactory(sslsf).setDefaultRequestConfig(config).build();
-            }
-            else {
-                client = builder.setSSLSocketFactory(sslsf).build();
-            }
-
+            pooledClient = acquireHttpClient();
+            HttpClient client = pooledClient.getClient();
 
             HttpPost post = new HttpPost(iamEndpoint);
             post.setHeader("Authorization", BASIC_AUTH);
@@ -185,6 +191,8 @@ public class DefaultTokenProvider implements TokenProvider {
             final HttpResponse response = client.execute(post);
 
             if (response.getStatusLine().getStatusCode() != 200) {
+                // Release the connection back to the pool before failing
+                EntityUtils.consumeQuietly(response.getEntity());
                 log.info("Response code= " + response.getStatusLine().getStatusCode()
                         + ", Reason= " + response.getStatusLine().getReasonPhrase()
                         + ".Throwing OAuthServiceException");
@@ -226,6 +234,169 @@ public class DefaultTokenProvider implements TokenProvider {
             OAuthServiceException exception = new OAuthServiceException("Received " + e.toString() + " retrieving IAM token (" + e.getCause() + ")", e);
             exception.setStatusMessage(e.toString());
             throw exception;
+        } finally {
+            if (pooledClient != null) {
+                pooledClient.release();
+            }
+        }
+    }
+
+    /**
+     * Acquire the pooled http client to use for the IAM call, which must be
+     * released once the call completes. Providers without http client
+     * settings share a client, so connections to the IAM endpoint are reused
+     * across token managers.
+     */
+    private PooledHttpClient acquireHttpClient() throws NoSuchAlgorithmException, KeyManagementException {
+        boolean trusting = SDKGlobalConfiguration.isCertCheckingDisabled();
+        httpClientLock.lock();
+        try {
+            PooledHttpClient pooledClient;
+            if (httpClientSettings == null) {
+                pooledClient = getSharedHttpClient(trusting);
+            } else {
+                if (httpClient == null || httpClient.isTrusting() != trusting) {
+                    PooledHttpClient previous = httpClient;
+                    httpClient = new PooledHttpClient(buildHttpClient(httpClientSettings, trusting), trusting);
+                    if (previous != null) {
+                        previous.retire();
+                    }
+                }
+                pooledClient = httpClient;
+            }
+            pooledClient.acquire();
+            return pooledClient;
+        } finally {
+            httpClientLock.unlock();
+        }
+    }
+
+    private static PooledHttpClient getSharedHttpClient(boolean trusting)
+            throws NoSuchAlgorithmException, KeyManagementException {
+        sharedClientLock.lock();
+        try {
+            if (trusting) {
+                if (sharedTrustingClient == null) {
+                    sharedTrustingClient = new PooledHttpClient(buildHttpClient(null, true), true);
+                }
+                return sharedTrustingClient;
+            }
+            if (sharedClient == null) {
+                sharedClient = new PooledHttpClient(buildHttpClient(null, false), false);
+            }
+            return sharedClient;
+        } finally {
+            sharedClientLock.unlock();
+        }
+    }
+
+    private static CloseableHttpClient buildHttpClient(HttpClientSettings settings, boolean trusting)
+            throws NoSuchAlgorithmException, KeyManagementException {
+        SSLContext sslContext;
+        /*
+         * If SSL cert checking for endpoints has been explicitly disabled,
+         * register a new scheme for HTTPS that won't cause self-signed
+         * certs to error out.
+         */
+        if (trusting) {
+            if (log.isWarnEnabled()) {
+                log.warn("SSL Certificate checking for endpoints has been " + "explicitly disabled.");
+            }
+            sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[] { new TrustingX509TrustManager() }, null);
+        } else {
+            sslContext = SSLContexts.createDefault();
+        }
+
+        SSLConnectionSocketFactory sslsf = new SdkTLSSocketFactory(sslContext, new DefaultHostnameVerifier());
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setSSLSocketFactory(sslsf)
+                .setMaxConnPerRoute(MAX_CONNECTIONS)
+                .setMaxConnTotal(MAX_CONNECTIONS);
+        RequestConfig config;
+        if (settings != null) {
+            DefaultTokenManager.addProxyConfig(builder, settings);
+            config = RequestConfig.custom()
+                    .setConnectTimeout(settings.getConnectionTimeout())
+                    .setSocketTimeout(settings.getSocketTimeout())
+                    .build();
+        } else {
+            config = RequestConfig.custom()
+                    .setConnectTimeout(ClientConfiguration.DEFAULT_CONNECTION_TIMEOUT)
+                    .setSocketTimeout(ClientConfiguration.DEFAULT_SOCKET_TIMEOUT)
+                    .build();
+        }
+        return builder.setDefaultRequestConfig(config).build();
+    }
+
+    /**
+     * Http client counting the token retrievals using it, so a client that is
+     * replaced is only closed once no retrieval is using it any more.
+     */
+    static final class PooledHttpClient {
+        private final CloseableHttpClient client;
+        private final boolean trusting;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users;
+        private boolean retired;
+
+        PooledHttpClient(CloseableHttpClient client, boolean trusting) {
+            this.client = client;
+            this.trusting = trusting;
+        }
+
+        CloseableHttpClient getClient() {
+            return client;
+        }
+
+        boolean isTrusting() {
+            return trusting;
+        }
+
+        void acquire() {
+            lock.lock();
+            try {
+                users++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() {
+            lock.lock();
+            try {
+                users--;
+                if (retired && users == 0) {
+                    closeQuietly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Close the client once it is released by all its current users. The
+         * client must not be acquired again.
+         */
+        void retire() {
+            lock.lock();
+            try {
+                retired = true;
+                if (users == 0) {
+                    closeQuietly();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.debug("Unable to close the IAM http client", e);
+            }
         }
     }
 }
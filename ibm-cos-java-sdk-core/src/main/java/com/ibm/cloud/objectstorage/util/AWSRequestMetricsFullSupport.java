@@ -37,14 +37,27 @@ import com.ibm.cloud.objectstorage.metrics.RequestMetricCollector;
  * This class is instantiated instead of {@link AWSRequestMetrics} when request
  * metric collection is required during a particular service request/response
  * cycle.
+ * <p>
+ * Events, counters and properties for the predefined {@link Field}s are kept in
+ * arrays indexed by the field ordinal, whether they are recorded by field or by
+ * name, so the per-request cost of collecting the standard metrics is a
+ * handful of array writes rather than map entries and timing objects.
  */
 @NotThreadSafe
 public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
-    /* Stores some key value pairs. */
-    private final Map<String, List<Object>> properties = new HashMap<String, List<Object>>();
-    
-    /* A map to store events that are being profiled. */
-    private final Map<String, TimingInfo> eventsBeingProfiled = new HashMap<String, TimingInfo>();
+    private static final int FIELD_COUNT = Field.values().length;
+
+    /* Stores some key value pairs; allocated on first use. */
+    private List<Object>[] fieldProperties;
+    private Map<String, List<Object>> properties;
+
+    /* Start times of the events that are being profiled; allocated on first use. */
+    private long[] fieldEventStartMillis;
+    private long[] fieldEventStartNanos;
+    private boolean[] fieldEventStarted;
+    private Map<String, TimingInfo> eventsBeingProfiled;
+
+    private final TimingInfoFullSupport fullTimingInfo;
     /* Latency Logger */
     private static final Log latencyLogger = LogFactory.getLog("com.ibm.cloud.objectstorage.latency");
     private static final Object KEY_VALUE_SEPARATOR = "=";
@@ -58,6 +71,7 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     public AWSRequestMetricsFullSupport() {
         super(TimingInfo.startTimingFullSupport());
+        this.fullTimingInfo = (TimingInfoFullSupport) timingInfo;
     }
     
     /**
@@ -81,14 +95,38 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     @Override
     public void startEvent(String eventName) {
+        Field field = TimingInfoFullSupport.toField(eventName);
+        if (field != null) {
+            startEvent(field);
+            return;
+        }
+        if (eventsBeingProfiled == null) {
+            eventsBeingProfiled = new HashMap<String, TimingInfo>();
+        }
         /* This will overwrite past events */
-        eventsBeingProfiled.put
-            (eventName, TimingInfo.startTimingFullSupport(System.currentTimeMillis(), System.nanoTime()));
+        eventsBeingProfiled.put(eventName, TimingInfo.startTiming());
     }
 
     @Override
     public void startEvent(MetricType f) {
-        startEvent(f.name());
+        if (f instanceof Field) {
+            startEvent((Field) f);
+        } else {
+            startEvent(f.name());
+        }
+    }
+
+    private void startEvent(Field field) {
+        if (fieldEventStarted == null) {
+            fieldEventStartMillis = new long[FIELD_COUNT];
+            fieldEventStartNanos = new long[FIELD_COUNT];
+            fieldEventStarted = new boolean[FIELD_COUNT];
+        }
+        /* This will overwrite past events */
+        int i = field.ordinal();
+        fieldEventStartMillis[i] = System.currentTimeMillis();
+        fieldEventStartNanos[i] = System.nanoTime();
+        fieldEventStarted[i] = true;
     }
 
     /**
@@ -101,7 +139,12 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     @Override
     public void endEvent(String eventName) {
-        TimingInfo event = eventsBeingProfiled.get(eventName);
+        Field field = TimingInfoFullSupport.toField(eventName);
+        if (field != null) {
+            endEvent(field);
+            return;
+        }
+        TimingInfo event = eventsBeingProfiled == null ? null : eventsBeingProfiled.get(eventName);
         /* Somebody tried to end an event that was not started. */
         if (event == null) {
             LogFactory.getLog(getClass()).warn
@@ -119,7 +162,27 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public void endEvent(MetricType f) {
-        endEvent(f.name());
+        if (f instanceof Field) {
+            endEvent((Field) f);
+        } else {
+            endEvent(f.name());
+        }
+    }
+
+    private void endEvent(Field field) {
+        int i = field.ordinal();
+        /* Somebody tried to end an event that was not started. */
+        if (fieldEventStarted == null || !fieldEventStarted[i]) {
+            LogFactory.getLog(getClass()).warn
+                ("Trying to end an event which was never started: " + field.name());
+            return;
+        }
+        fullTimingInfo.addSubMeasurement(
+            field,
+            TimingInfo.unmodifiableTimingInfo(
+                fieldEventStartMillis[i],
+                fieldEventStartNanos[i],
+                System.nanoTime()));
     }
 
     /**
@@ -141,7 +204,11 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public void incrementCounter(MetricType f) {
-        incrementCounter(f.name());
+        if (f instanceof Field) {
+            fullTimingInfo.incrementCounter((Field) f);
+        } else {
+            incrementCounter(f.name());
+        }
     }
     
     @Override
@@ -151,7 +218,11 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public void setCounter(MetricType f, long count) {
-        setCounter(f.name(), count);
+        if (f instanceof Field) {
+            fullTimingInfo.setCounter((Field) f, count);
+        } else {
+            setCounter(f.name(), count);
+        }
     }
     
     /**
@@ -170,6 +241,14 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
      */
     @Override
     public void addProperty(String propertyName, Object value) {
+        Field field = TimingInfoFullSupport.toField(propertyName);
+        if (field != null) {
+            addProperty(field, value);
+            return;
+        }
+        if (properties == null) {
+            properties = new HashMap<String, List<Object>>();
+        }
         List<Object> propertyList = properties.get(propertyName);
         if (propertyList == null) {
             propertyList = new ArrayList<Object>();
@@ -181,7 +260,24 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public void addProperty(MetricType f, Object value) {
-        addProperty(f.name(), value);
+        if (f instanceof Field) {
+            addProperty((Field) f, value);
+        } else {
+            addProperty(f.name(), value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addProperty(Field field, Object value) {
+        if (fieldProperties == null) {
+            fieldProperties = new List[FIELD_COUNT];
+        }
+        List<Object> propertyList = fieldProperties[field.ordinal()];
+        if (propertyList == null) {
+            propertyList = new ArrayList<Object>(1);
+            fieldProperties[field.ordinal()] = propertyList;
+        }
+        propertyList.add(value);
     }
 
     @Override
@@ -189,8 +285,17 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
         if (latencyLogger.isDebugEnabled()) {
             StringBuilder builder = new StringBuilder();
 
-            for (Entry<String, List<Object>> entry : properties.entrySet()) {
-                keyValueFormat(entry.getKey(), entry.getValue(), builder);
+            if (fieldProperties != null) {
+                for (Field field : Field.values()) {
+                    if (fieldProperties[field.ordinal()] != null) {
+                        keyValueFormat(field.name(), fieldProperties[field.ordinal()], builder);
+                    }
+                }
+            }
+            if (properties != null) {
+                for (Entry<String, List<Object>> entry : properties.entrySet()) {
+                    keyValueFormat(entry.getKey(), entry.getValue(), builder);
+                }
             }
 
             for (Entry<String, Number> entry : timingInfo.getAllCounters()
@@ -211,12 +316,20 @@ public class AWSRequestMetricsFullSupport extends AWSRequestMetrics {
 
     @Override
     public List<Object> getProperty(String propertyName){
-    	return properties.get(propertyName);
+        Field field = TimingInfoFullSupport.toField(propertyName);
+        if (field != null) {
+            return getProperty(field);
+        }
+    	return properties == null ? null : properties.get(propertyName);
     }
 
     @Override
     public List<Object> getProperty(MetricType f){
-        return getProperty(f.name());
+        return f instanceof Field ? getProperty((Field) f) : getProperty(f.name());
+    }
+
+    private List<Object> getProperty(Field field) {
+        return fieldProperties == null ? null : fieldProperties[field.ordinal()];
     }
 
     /** Always returns true. */
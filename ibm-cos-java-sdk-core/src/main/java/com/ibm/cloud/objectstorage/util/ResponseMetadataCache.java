@@ -14,20 +14,31 @@
  */
 package com.ibm.cloud.objectstorage.util;
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.ibm.cloud.objectstorage.ResponseMetadata;
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
 
 /**
  * Cache of response metadata for recently executed requests for diagnostic
  * purposes. This cache has a max size and as entries are added, the oldest
  * entry is aged out once the max size has been reached.
+ * <p>
+ * Entries are kept in a ring buffer, so {@link #add(Object, ResponseMetadata)}
+ * takes no lock and only claims the next slot, overwriting the oldest entry.
+ * Requests are referenced weakly and matched by identity; lookups scan the
+ * buffer from the newest entry, which is cheap for the small sizes used here
+ * and rare compared to additions.
+ * </p>
  */
 @SdkInternalApi
+@ThreadSafe
 public class ResponseMetadataCache implements MetadataCache {
-    private final InternalCache internalCache;
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong nextSlot = new AtomicLong();
 
     /**
      * Creates a new cache that will contain, at most the specified number of
@@ -37,41 +48,37 @@ public class ResponseMetadataCache implements MetadataCache {
      *            The maximum size of this cache.
      */
     public ResponseMetadataCache(int maxEntries) {
-        internalCache = new InternalCache(maxEntries);
+        entries = new AtomicReferenceArray<Entry>(Math.max(maxEntries, 0));
     }
 
     @Override
-    public synchronized void add(Object obj, ResponseMetadata metadata) {
-        if (obj == null) return;
-        internalCache.put(System.identityHashCode(obj), metadata);
+    public void add(Object obj, ResponseMetadata metadata) {
+        if (obj == null || entries.length() == 0) return;
+        int slot = (int) (nextSlot.getAndIncrement() % entries.length());
+        entries.set(slot, new Entry(obj, metadata));
     }
 
     @Override
-    public synchronized ResponseMetadata get(Object obj) {
-        // System.identityHashCode isn't guaranteed to be unique
-        // on all platforms, but should be reasonable enough to use
-        // for a few requests at a time.  We can always easily move
-        // to our own unique IDs if needed.
-        return internalCache.get(System.identityHashCode(obj));
+    public ResponseMetadata get(Object obj) {
+        int length = entries.length();
+        if (obj == null || length == 0) return null;
+        long newest = nextSlot.get() - 1;
+        for (long i = newest; i > newest - length && i >= 0; i--) {
+            Entry entry = entries.get((int) (i % length));
+            if (entry != null && entry.request.get() == obj) {
+                return entry.metadata;
+            }
+        }
+        return null;
     }
 
-    /**
-     * Simple implementation of LinkedHashMap that overrides the
-     * <code>removeEldestEntry</code> method to turn LinkedHashMap into a
-     * FIFO cache that automatically evicts old entries.
-     */
-    private static final class InternalCache extends LinkedHashMap<Integer, ResponseMetadata> {
-        private static final long serialVersionUID = 1L;
-        private int maxSize;
-
-        InternalCache(int maxSize) {
-            super(maxSize);
-            this.maxSize = maxSize;
-        }
+    private static final class Entry {
+        private final WeakReference<Object> request;
+        private final ResponseMetadata metadata;
 
-        @Override
-        protected boolean removeEldestEntry(Entry<Integer,ResponseMetadata> eldest) {
-            return size() > maxSize;
+        Entry(Object request, ResponseMetadata metadata) {
+            this.request = new WeakReference<Object>(request);
+            this.metadata = metadata;
         }
     }
 }
@@ -15,9 +15,12 @@
 package com.ibm.cloud.objectstorage.util;
 
 import com.ibm.cloud.objectstorage.annotation.NotThreadSafe;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,11 +34,28 @@ import org.apache.commons.logging.LogFactory;
  * This class is instantiated instead of {@link TimingInfo} when
  * request metric collection is required during a particular service
  * request/response cycle.
+ * <p>
+ * Sub-measurements and counters named after an {@link Field} are kept in
+ * arrays indexed by the field ordinal, which are allocated on first use, so
+ * that recording the standard request metrics does not create map entries.
+ * Any other names are kept in maps that are also only allocated on first use.
  */
 @NotThreadSafe
 class TimingInfoFullSupport extends TimingInfo {
-    private final Map<String, List<TimingInfo>> subMeasurementsByName = new HashMap<String, List<TimingInfo>>();
-    private final Map<String, Number> countersByName = new HashMap<String, Number>();
+    private static final Field[] FIELDS = Field.values();
+    private static final Map<String, Field> FIELDS_BY_NAME = new HashMap<String, Field>();
+
+    static {
+        for (Field field : FIELDS) {
+            FIELDS_BY_NAME.put(field.name(), field);
+        }
+    }
+
+    private List<TimingInfo>[] fieldSubMeasurements;
+    private long[] fieldCounters;
+    private boolean[] fieldCounterSet;
+    private Map<String, List<TimingInfo>> subMeasurementsByName;
+    private Map<String, Number> countersByName;
 
     /**
      * A private ctor to facilitate the deprecation of using millisecond and
@@ -54,13 +74,46 @@ class TimingInfoFullSupport extends TimingInfo {
         super(startEpochTimeMilli, startTimeNano, endTimeNano);
     }
 
+    /**
+     * Returns the {@link Field} with the given name, or null if the name is
+     * not one of the predefined request metrics.
+     */
+    static Field toField(String name) {
+        return name == null ? null : FIELDS_BY_NAME.get(name);
+    }
+
     @Override
     public void addSubMeasurement(String subMeasurementName, TimingInfo ti) {
+        Field field = toField(subMeasurementName);
+        if (field != null) {
+            addSubMeasurement(field, ti);
+            return;
+        }
+        if (subMeasurementsByName == null) {
+            subMeasurementsByName = new HashMap<String, List<TimingInfo>>();
+        }
         List<TimingInfo> timings = subMeasurementsByName.get(subMeasurementName);
         if (timings == null) {
             timings = new ArrayList<TimingInfo>();
             subMeasurementsByName.put(subMeasurementName, timings);
         }
+        addIfEnded(subMeasurementName, timings, ti);
+    }
+
+    @SuppressWarnings("unchecked")
+    void addSubMeasurement(Field field, TimingInfo ti) {
+        if (fieldSubMeasurements == null) {
+            fieldSubMeasurements = new List[FIELDS.length];
+        }
+        List<TimingInfo> timings = fieldSubMeasurements[field.ordinal()];
+        if (timings == null) {
+            timings = new ArrayList<TimingInfo>(2);
+            fieldSubMeasurements[field.ordinal()] = timings;
+        }
+        addIfEnded(field.name(), timings, ti);
+    }
+
+    private void addIfEnded(String subMeasurementName, List<TimingInfo> timings, TimingInfo ti) {
         if (ti.isEndTimeKnown()) {
             timings.add(ti);
         } else {
@@ -78,7 +131,7 @@ class TimingInfoFullSupport extends TimingInfo {
     @Override
     public TimingInfo getSubMeasurement(String subMesurementName, int index) {
 
-        List<TimingInfo> timings = subMeasurementsByName.get(subMesurementName);
+        List<TimingInfo> timings = getAllSubMeasurements(subMesurementName);
         if (index < 0 || timings == null || timings.size() == 0
                 || index >= timings.size()) {
             return null;
@@ -90,11 +143,7 @@ class TimingInfoFullSupport extends TimingInfo {
     @Override
     public TimingInfo getLastSubMeasurement(String subMeasurementName) {
 
-        if (subMeasurementsByName == null || subMeasurementsByName.size() == 0) {
-            return null;
-        }
-
-        List<TimingInfo> timings = subMeasurementsByName.get(subMeasurementName);
+        List<TimingInfo> timings = getAllSubMeasurements(subMeasurementName);
         if (timings == null || timings.size() == 0) {
             return null;
         }
@@ -104,31 +153,101 @@ class TimingInfoFullSupport extends TimingInfo {
 
     @Override
     public List<TimingInfo> getAllSubMeasurements(String subMeasurementName) {
-        return subMeasurementsByName.get(subMeasurementName);
+        Field field = toField(subMeasurementName);
+        if (field != null) {
+            return fieldSubMeasurements == null ? null : fieldSubMeasurements[field.ordinal()];
+        }
+        return subMeasurementsByName == null ? null : subMeasurementsByName.get(subMeasurementName);
     }
 
+    /**
+     * Returns a snapshot of all the sub-measurements by name. The lists in the
+     * returned map are the ones held by this timing info.
+     */
     @Override
     public Map<String, List<TimingInfo>> getSubMeasurementsByName() {
-        return subMeasurementsByName;
+        if (fieldSubMeasurements == null && subMeasurementsByName == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<TimingInfo>> all = new LinkedHashMap<String, List<TimingInfo>>();
+        if (fieldSubMeasurements != null) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (fieldSubMeasurements[i] != null) {
+                    all.put(FIELDS[i].name(), fieldSubMeasurements[i]);
+                }
+            }
+        }
+        if (subMeasurementsByName != null) {
+            all.putAll(subMeasurementsByName);
+        }
+        return all;
     }
 
     @Override
     public Number getCounter(String key) {
-        return countersByName.get(key);
+        Field field = toField(key);
+        if (field != null) {
+            return getCounter(field);
+        }
+        return countersByName == null ? null : countersByName.get(key);
+    }
+
+    Number getCounter(Field field) {
+        int i = field.ordinal();
+        return fieldCounterSet == null || !fieldCounterSet[i] ? null : Long.valueOf(fieldCounters[i]);
     }
 
+    /**
+     * Returns a snapshot of all the counters by name.
+     */
     @Override
     public Map<String, Number> getAllCounters() {
-        return countersByName;
+        if (fieldCounters == null && countersByName == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Number> all = new LinkedHashMap<String, Number>();
+        if (fieldCounters != null) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (fieldCounterSet[i]) {
+                    all.put(FIELDS[i].name(), fieldCounters[i]);
+                }
+            }
+        }
+        if (countersByName != null) {
+            all.putAll(countersByName);
+        }
+        return all;
     }
 
     @Override
     public void setCounter(String key, long count) {
+        Field field = toField(key);
+        if (field != null) {
+            setCounter(field, count);
+            return;
+        }
+        if (countersByName == null) {
+            countersByName = new HashMap<String, Number>();
+        }
         countersByName.put(key, count);
     }
 
+    void setCounter(Field field, long count) {
+        if (fieldCounters == null) {
+            fieldCounters = new long[FIELDS.length];
+            fieldCounterSet = new boolean[FIELDS.length];
+        }
+        fieldCounters[field.ordinal()] = count;
+        fieldCounterSet[field.ordinal()] = true;
+    }
+
     @Override
     public void incrementCounter(String key) {
+        Field field = toField(key);
+        if (field != null) {
+            incrementCounter(field);
+            return;
+        }
 
         int count = 0;
         Number counter = getCounter(key);
@@ -139,4 +258,9 @@ class TimingInfoFullSupport extends TimingInfo {
 
         setCounter(key, ++count);
     }
+
+    void incrementCounter(Field field) {
+        int i = field.ordinal();
+        setCounter(field, fieldCounterSet == null || !fieldCounterSet[i] ? 1 : (int) fieldCounters[i] + 1);
+    }
 }
@@ -0,0 +1,110 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.http;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.DefaultRequest;
+import com.ibm.cloud.objectstorage.event.ProgressEvent;
+import com.ibm.cloud.objectstorage.event.ProgressEventType;
+import com.ibm.cloud.objectstorage.event.ProgressInputStream;
+import com.ibm.cloud.objectstorage.event.SyncProgressListener;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.internal.ReleasableInputStream;
+import com.ibm.cloud.objectstorage.util.IOUtils;
+
+public class FileSegmentRequestEntityTest {
+
+	private final byte[] data = new byte[300 * 1024];
+	private File file;
+	private InputStream content;
+	private DefaultRequest<Object> request;
+	private long bytesTransferred;
+	private long bytesReset;
+
+	@Before
+	public void setUp() throws Exception {
+		new Random(1).nextBytes(data);
+		file = File.createTempFile("file-segment", ".bin");
+		Files.write(file.toPath(), data);
+		content = new FileInputStream(file);
+		request = new DefaultRequest<Object>(null, "s3");
+		request.setEndpoint(new URI("https://localhost"));
+		request.setHttpMethod(HttpMethodName.PUT);
+		request.addHeader("Content-Length", "200000");
+		request.addHandlerContext(HandlerContextKey.FILE_SEGMENT, new FileSegment(file, 1000, 200000, content));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		content.close();
+		file.delete();
+	}
+
+	@Test
+	public void testSegmentIsWrittenFromTheFileWithProgress() throws IOException {
+		request.setContent(ReleasableInputStream.wrap(ProgressInputStream.inputStreamForRequest(content,
+				new SyncProgressListener() {
+					@Override
+					public void progressChanged(ProgressEvent event) {
+						if (event.getEventType() == ProgressEventType.REQUEST_BYTE_TRANSFER_EVENT) {
+							bytesTransferred += event.getBytes();
+						} else if (event.getEventType() == ProgressEventType.HTTP_REQUEST_CONTENT_RESET_EVENT) {
+							bytesReset += event.getBytes();
+						}
+					}
+				})).disableClose());
+
+		FileSegmentRequestEntity entity = FileSegmentRequestEntity.create(request);
+		assertNotNull(entity);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		entity.writeTo(out);
+		assertArrayEquals(Arrays.copyOfRange(data, 1000, 201000), out.toByteArray());
+		assertEquals(200000, bytesTransferred);
+
+		// A retry reports the bytes already sent as reset
+		entity = FileSegmentRequestEntity.create(request);
+		entity.writeTo(new ByteArrayOutputStream());
+		assertEquals(200000, bytesReset);
+		assertEquals(400000, bytesTransferred);
+		assertArrayEquals(Arrays.copyOfRange(data, 1000, 201000), IOUtils.toByteArray(entity.getContent()));
+	}
+
+	@Test
+	public void testWrappedContentIsNotBypassed() {
+		request.setContent(new BufferedInputStream(content));
+		assertNull(FileSegmentRequestEntity.create(request));
+
+		request.setContent(content);
+		request.addHeader("Content-Length", "200100");
+		assertNull(FileSegmentRequestEntity.create(request));
+	}
+}
@@ -0,0 +1,67 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class SdkObjectPoolTest {
+
+	private final AtomicInteger created = new AtomicInteger();
+	private final AtomicInteger resets = new AtomicInteger();
+
+	private final SdkObjectPool<Object> pool = new SdkObjectPool<Object>(2) {
+		@Override
+		protected Object newInstance() {
+			created.incrementAndGet();
+			return new Object();
+		}
+
+		@Override
+		protected void reset(Object instance) {
+			resets.incrementAndGet();
+		}
+	};
+
+	@Test
+	public void testReleasedInstanceIsReused() {
+		Object first = pool.acquire();
+		pool.release(first);
+
+		assertSame(first, pool.acquire());
+		assertNotSame(first, pool.acquire());
+		assertEquals(2, created.get());
+		assertEquals(1, resets.get());
+	}
+
+	@Test
+	public void testIdleInstancesAreBounded() {
+		Object a = pool.acquire();
+		Object b = pool.acquire();
+		Object c = pool.acquire();
+		pool.release(a);
+		pool.release(b);
+		pool.release(c);
+
+		assertEquals(2, pool.getIdleCount());
+		assertEquals(2, resets.get());
+		assertSame(a, pool.acquire());
+		assertSame(b, pool.acquire());
+		assertEquals(0, pool.getIdleCount());
+	}
+}
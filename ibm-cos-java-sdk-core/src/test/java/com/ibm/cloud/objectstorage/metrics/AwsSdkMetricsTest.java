@@ -34,23 +34,30 @@ import org.junit.Test;
 
 public class AwsSdkMetricsTest {
     /**
-     * By default the AWS SDK metric collection is disabled. Enabling it should
-     * fail unless the necessary CloudWatch related jars are on the classpath.
-     * Therefore, this test is expected to fail in enabling the default metric
-     * collection, but have absolutely no impact otherwise.
+     * By default the AWS SDK metric collection is disabled. Without the
+     * CloudWatch related jars on the classpath, enabling it falls back to
+     * collecting the request metrics in memory.
      */
     @Test
     public void enableDefaultMetrics() {
-        Assert.assertFalse(AwsSdkMetrics.enableDefaultMetrics());
+        try {
+            Assert.assertTrue(AwsSdkMetrics.enableDefaultMetrics());
+            assertTrue(AwsSdkMetrics.getMetricCollector() instanceof InMemoryMetricCollector);
+            assertTrue(AwsSdkMetrics.getRequestMetricCollector() instanceof InMemoryRequestMetricCollector);
+            assertTrue(AwsSdkMetrics.isMetricsEnabled());
+        } finally {
+            AwsSdkMetrics.disableMetrics();
+        }
     }
 
     @Test
     public void test() {
         // by default, it's disabled
         assertFalse(AwsSdkMetrics.isDefaultMetricsEnabled());
-        // won't be anble to enable unless the default impl library is on the classpath
-        assertFalse(AwsSdkMetrics.enableDefaultMetrics());
+        // falls back to the in memory collector without the default impl library
+        assertTrue(AwsSdkMetrics.enableDefaultMetrics());
         assertFalse(AwsSdkMetrics.isDefaultMetricsEnabled());
+        AwsSdkMetrics.disableMetrics();
         assertSame(RequestMetricCollector.NONE, AwsSdkMetrics.getRequestMetricCollector());
         assertFalse(AwsSdkMetrics.isDefaultMetricsEnabled());
         // effectively no effect
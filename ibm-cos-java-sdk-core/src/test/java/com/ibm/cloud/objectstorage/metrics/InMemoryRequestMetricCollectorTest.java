@@ -0,0 +1,105 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.DefaultRequest;
+import com.ibm.cloud.objectstorage.Response;
+import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetricsFullSupport;
+import com.ibm.cloud.objectstorage.util.TimingInfo;
+
+public class InMemoryRequestMetricCollectorTest {
+
+	private final InMemoryRequestMetricCollector collector = new InMemoryRequestMetricCollector();
+
+	@Test
+	public void testMetricsAreAggregatedPerApiAndEndpoint() {
+		collector.collectMetrics(request("PutObject", 2, 30, 3), new Response<Void>(null, null));
+		collector.collectMetrics(request("PutObject", 1, 700, 0), null);
+		collector.collectMetrics(request("GetObject", 1, 4, 5), new Response<Void>(null, null));
+
+		InMemoryRequestMetricCollector.ApiMetrics putObject = collector.getApiMetrics().get("PutObject");
+		assertEquals(2, putObject.getRequestCount());
+		assertEquals(1, putObject.getRetryCount());
+		assertEquals(1, putObject.getErrorCount());
+		assertEquals(2, putObject.getLatency().getCount());
+		assertEquals(1000.0, putObject.getLatency().getQuantileUpperBoundMillis(1.0), 0);
+		assertEquals(50.0, putObject.getLatency().getQuantileUpperBoundMillis(0.5), 0);
+
+		InMemoryRequestMetricCollector.EndpointMetrics endpoint =
+				collector.getEndpointMetrics().get("s3.example.com");
+		assertEquals(4, endpoint.getLatency().getCount());
+		assertEquals(5, endpoint.getPoolLeasedCount());
+	}
+
+	@Test
+	public void testRetriedFailureIsNotAnError() {
+		DefaultRequest<Void> retried = request("PutObject", 2, 30, 0);
+		retried.getAWSRequestMetrics().incrementCounter(Field.Exception);
+		collector.collectMetrics(retried, new Response<Void>(null, null));
+
+		InMemoryRequestMetricCollector.ApiMetrics putObject = collector.getApiMetrics().get("PutObject");
+		assertEquals(1, putObject.getRetryCount());
+		assertEquals(0, putObject.getErrorCount());
+	}
+
+	@Test
+	public void testPrometheusText() {
+		collector.collectMetrics(request("Put\"Object", 1, 3, 1), new Response<Void>(null, null));
+
+		String text = collector.toPrometheusText();
+
+		assertTrue(text.contains("# TYPE ibm_cos_sdk_request_latency_milliseconds histogram\n"));
+		assertTrue(text.contains("ibm_cos_sdk_request_latency_milliseconds_bucket{api=\"Put\\\"Object\",le=\"2\"} 0\n"));
+		assertTrue(text.contains("ibm_cos_sdk_request_latency_milliseconds_bucket{api=\"Put\\\"Object\",le=\"5\"} 1\n"));
+		assertTrue(text.contains("ibm_cos_sdk_request_latency_milliseconds_count{api=\"Put\\\"Object\"} 1\n"));
+		assertTrue(text.contains("ibm_cos_sdk_requests_total{api=\"Put\\\"Object\"} 1\n"));
+		assertTrue(text.contains("ibm_cos_sdk_http_client_pool_leased_connections{endpoint=\"s3.example.com\"} 1\n"));
+	}
+
+	@Test
+	public void testReset() {
+		collector.collectMetrics(request("PutObject", 1, 1, 0), null);
+		collector.reset();
+
+		assertTrue(collector.getApiMetrics().isEmpty());
+		assertTrue(collector.getEndpointMetrics().isEmpty());
+	}
+
+	private static DefaultRequest<Void> request(String operationName, int requestCount, long millis, int leased) {
+		DefaultRequest<Void> request = new DefaultRequest<Void>("s3");
+		request.setEndpoint(URI.create("https://s3.example.com"));
+		request.addHandlerContext(HandlerContextKey.OPERATION_NAME, operationName);
+		AWSRequestMetricsFullSupport metrics = new AWSRequestMetricsFullSupport();
+		metrics.getTimingInfo().addSubMeasurement(Field.ClientExecuteTime.name(),
+				TimingInfo.newTimingInfoFullSupport(0, millis * 1000000L));
+		for (int i = 0; i < requestCount; i++) {
+			metrics.getTimingInfo().addSubMeasurement(Field.HttpRequestTime.name(),
+					TimingInfo.newTimingInfoFullSupport(0, millis * 1000000L));
+		}
+		metrics.setCounter(Field.RequestCount, requestCount);
+		metrics.setCounter(Field.HttpClientPoolAvailableCount, 1);
+		metrics.setCounter(Field.HttpClientPoolLeasedCount, leased);
+		metrics.setCounter(Field.HttpClientPoolPendingCount, 0);
+		request.setAWSRequestMetrics(metrics);
+		return request;
+	}
+}
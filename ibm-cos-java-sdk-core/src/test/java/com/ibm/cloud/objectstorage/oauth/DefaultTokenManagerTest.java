@@ -3,6 +3,7 @@ package com.ibm.cloud.objectstorage.oauth;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import com.ibm.cloud.objectstorage.ClientConfiguration;
@@ -15,6 +16,9 @@ import com.ibm.cloud.objectstorage.oauth.TokenProvider;
 import static org.mockito.Mockito.*;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -323,6 +327,124 @@ public class DefaultTokenManagerTest {
 		verify(defaultTokenManager, times(0)).submitRefreshTask();
 	}
 	
+	/**
+	 * Token manager should refresh the token in the background ahead of its
+	 * refresh time, without a call to getToken(), and record the retrievals.
+	 * The timer only hands the IAM call over to the refresh executor.
+	 */
+	@Test
+	public void shouldRefreshTokenProactively() throws Exception {
+		long now = System.currentTimeMillis() / 1000L;
+		Token initialToken = new Token();
+		initialToken.setAccess_token("initial");
+		initialToken.setExpires_in("3600");
+		// refresh time is 11 seconds away, so the refresh starts in about a second
+		initialToken.setExpiration(String.valueOf(now + (long) (3600 * SDKGlobalConfiguration.IAM_REFRESH_OFFSET) + 11));
+
+		Token refreshedToken = new Token();
+		refreshedToken.setAccess_token("refreshed");
+		refreshedToken.setExpires_in("3600");
+		refreshedToken.setExpiration(String.valueOf(now + 3600));
+
+		DefaultTokenProvider tokenProviderMock = mock(DefaultTokenProvider.class);
+		when(tokenProviderMock.retrieveToken()).thenReturn(initialToken, refreshedToken);
+		ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+		Executor refreshExecutor = mock(Executor.class);
+
+		defaultTokenManager = new DefaultTokenManager(tokenProviderMock, timer, refreshExecutor);
+		assertEquals("initial", defaultTokenManager.getToken());
+
+		ArgumentCaptor<Runnable> scheduled = ArgumentCaptor.forClass(Runnable.class);
+		ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+		verify(timer).schedule(scheduled.capture(), delay.capture(), eq(TimeUnit.SECONDS));
+		assertTrue(delay.getValue() <= 1);
+		scheduled.getValue().run();
+		verify(tokenProviderMock, times(1)).retrieveToken();
+
+		ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+		verify(refreshExecutor).execute(refresh.capture());
+		refresh.getValue().run();
+
+		assertEquals("refreshed", defaultTokenManager.getToken());
+		assertEquals(2, defaultTokenManager.getRefreshCount());
+		assertEquals(0, defaultTokenManager.getRefreshFailureCount());
+	}
+
+	/**
+	 * A token whose refresh time is closer than the lead time of the
+	 * background refresh should still be refreshed in the background, at once.
+	 */
+	@Test
+	public void shouldRefreshTokenDueSoonImmediately() {
+		long now = System.currentTimeMillis() / 1000L;
+		Token initialToken = new Token();
+		initialToken.setAccess_token("initial");
+		initialToken.setExpires_in("3600");
+		initialToken.setExpiration(String.valueOf(now + (long) (3600 * SDKGlobalConfiguration.IAM_REFRESH_OFFSET) + 5));
+
+		DefaultTokenProvider tokenProviderMock = mock(DefaultTokenProvider.class);
+		when(tokenProviderMock.retrieveToken()).thenReturn(initialToken);
+		ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+
+		defaultTokenManager = new DefaultTokenManager(tokenProviderMock, timer, mock(Executor.class));
+		defaultTokenManager.getToken();
+
+		verify(timer).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tokens of a custom TokenProvider should not be refreshed in the
+	 * background, neither ahead of time nor once they are due a refresh.
+	 */
+	@Test
+	public void shouldNotRefreshTokenOfCustomProviderInBackground() {
+		long now = System.currentTimeMillis() / 1000L;
+		Token initialToken = new Token();
+		initialToken.setAccess_token("initial");
+		initialToken.setRefresh_token(refreshToken);
+		initialToken.setExpires_in("3600");
+		initialToken.setExpiration(String.valueOf(now + (long) (3600 * SDKGlobalConfiguration.IAM_REFRESH_OFFSET) + 5));
+
+		TokenProvider tokenProviderMock = mock(TokenProvider.class);
+		when(tokenProviderMock.retrieveToken()).thenReturn(initialToken);
+		ScheduledExecutorService timer = mock(ScheduledExecutorService.class);
+		Executor refreshExecutor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				command.run();
+			}
+		};
+
+		defaultTokenManager = new DefaultTokenManager(tokenProviderMock, timer, refreshExecutor);
+		assertEquals("initial", defaultTokenManager.getToken());
+		verifyZeroInteractions(timer);
+
+		// Once due a refresh the token is still used until it expires
+		initialToken.setRefreshTime(now - 1);
+		assertEquals("initial", defaultTokenManager.getToken());
+		verify(tokenProviderMock, times(1)).retrieveToken();
+		verifyZeroInteractions(timer);
+	}
+
+	/**
+	 * Failed retrievals should be counted.
+	 */
+	@Test
+	public void shouldCountFailedTokenRetrievals() {
+		TokenProvider tokenProviderMock = mock(TokenProvider.class);
+		when(tokenProviderMock.retrieveToken()).thenThrow(new OAuthServiceException("Token retrieval from IAM service failed"));
+
+		defaultTokenManager = new DefaultTokenManager(tokenProviderMock);
+
+		try {
+			defaultTokenManager.getToken();
+			fail("Should have thrown an OAuthServiceException");
+		} catch (OAuthServiceException expected) {
+			assertEquals(SDKGlobalConfiguration.IAM_MAX_RETRY, defaultTokenManager.getRefreshFailureCount());
+			assertEquals(0, defaultTokenManager.getRefreshCount());
+		}
+	}
+
 	/**
 	 * TokenProvider to return null.
 	 * Token manager should throw an OAuthServiceException instead 
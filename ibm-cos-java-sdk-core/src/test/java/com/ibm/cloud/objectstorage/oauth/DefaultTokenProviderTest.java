@@ -0,0 +1,43 @@
+package com.ibm.cloud.objectstorage.oauth;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.oauth.DefaultTokenProvider.PooledHttpClient;
+
+public class DefaultTokenProviderTest {
+
+	/**
+	 * A replaced http client should stay open until the token retrieval still
+	 * using it has released it.
+	 */
+	@Test
+	public void shouldCloseRetiredClientOnceReleased() throws Exception {
+		CloseableHttpClient client = mock(CloseableHttpClient.class);
+		PooledHttpClient pooledClient = new PooledHttpClient(client, false);
+
+		pooledClient.acquire();
+		pooledClient.retire();
+		verify(client, never()).close();
+
+		pooledClient.release();
+		verify(client).close();
+	}
+
+	@Test
+	public void shouldCloseUnusedClientWhenRetired() throws Exception {
+		CloseableHttpClient client = mock(CloseableHttpClient.class);
+		PooledHttpClient pooledClient = new PooledHttpClient(client, false);
+
+		pooledClient.acquire();
+		pooledClient.release();
+		verify(client, never()).close();
+
+		pooledClient.retire();
+		verify(client).close();
+	}
+}
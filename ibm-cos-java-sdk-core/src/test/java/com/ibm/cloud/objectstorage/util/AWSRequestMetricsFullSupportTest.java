@@ -0,0 +1,65 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
+
+public class AWSRequestMetricsFullSupportTest {
+
+	private final AWSRequestMetricsFullSupport metrics = new AWSRequestMetricsFullSupport();
+
+	@Test
+	public void testFieldsAndNamesShareTheSameMetrics() {
+		metrics.incrementCounter(Field.RequestCount);
+		metrics.incrementCounter(Field.RequestCount.name());
+		metrics.setCounter("custom", 7);
+		metrics.addProperty(Field.AWSRequestID, "id-1");
+		metrics.addProperty(Field.AWSRequestID.name(), "id-2");
+
+		TimingInfo timingInfo = metrics.getTimingInfo();
+		assertEquals(2, timingInfo.getCounter(Field.RequestCount.name()).intValue());
+		assertEquals(7, timingInfo.getCounter("custom").intValue());
+		Map<String, Number> counters = timingInfo.getAllCounters();
+		assertEquals(2, counters.size());
+		assertEquals(2, counters.get(Field.RequestCount.name()).intValue());
+		assertEquals(Arrays.<Object>asList("id-1", "id-2"), metrics.getProperty(Field.AWSRequestID));
+		assertNull(metrics.getProperty(Field.RequestType));
+	}
+
+	@Test
+	public void testEventsAreRecordedAsSubMeasurements() {
+		metrics.startEvent(Field.HttpRequestTime);
+		metrics.endEvent(Field.HttpRequestTime.name());
+		metrics.startEvent(Field.HttpRequestTime.name());
+		metrics.endEvent(Field.HttpRequestTime);
+		metrics.startEvent("custom");
+		metrics.endEvent("custom");
+		metrics.endEvent(Field.ClientExecuteTime);
+
+		TimingInfo timingInfo = metrics.getTimingInfo();
+		assertEquals(2, timingInfo.getAllSubMeasurements(Field.HttpRequestTime.name()).size());
+		assertTrue(timingInfo.getLastSubMeasurement(Field.HttpRequestTime.name()).isEndTimeKnown());
+		assertEquals(1, timingInfo.getAllSubMeasurements("custom").size());
+		assertNull(timingInfo.getSubMeasurement(Field.ClientExecuteTime.name()));
+		assertEquals(2, timingInfo.getSubMeasurementsByName().size());
+	}
+}
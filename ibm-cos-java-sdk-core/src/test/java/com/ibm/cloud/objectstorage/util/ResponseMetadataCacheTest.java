@@ -78,6 +78,26 @@ public class ResponseMetadataCacheTest {
         assertNull(cache.get(key));
     }
 
+    /** Tests that the latest metadata is returned for a request added twice. */
+    @Test
+    public void testLatestEntryIsReturned() {
+        ResponseMetadataCache cache = new ResponseMetadataCache(3);
+
+        AmazonWebServiceRequest key1 = new TestRequest();
+        AmazonWebServiceRequest key2 = new TestRequest();
+        ResponseMetadata metadata1 = newResponseMetadata();
+        ResponseMetadata metadata2 = newResponseMetadata();
+        ResponseMetadata metadata3 = newResponseMetadata();
+
+        cache.add(key1, metadata1);
+        cache.add(key2, metadata2);
+        cache.add(key1, metadata3);
+
+        assertEquals(metadata3, cache.get(key1));
+        assertEquals(metadata2, cache.get(key2));
+        assertNull(cache.get(new TestRequest()));
+    }
+
     private class TestRequest extends AmazonWebServiceRequest {}
 
     private ResponseMetadata newResponseMetadata() {
@@ -20,7 +20,6 @@ import java.io.InputStream;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -45,7 +44,7 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     private static final String CHUNK_STRING_TO_SIGN_PREFIX = "AWS4-HMAC-SHA256-PAYLOAD";
     private static final String CHUNK_SIGNATURE_HEADER = ";chunk-signature=";
     private static final int SIGNATURE_LENGTH = 64;
-    private static final byte[] FINAL_CHUNK = new byte[0];
+    private static final byte[] CRLF_BYTES = {'\r', '\n'};
 
     private InputStream is = null;
     private final int maxBufferSize;
@@ -58,6 +57,15 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
     private final MessageDigest sha256;
     private final Mac hmacSha256;
 
+    /** Data of the chunk being signed, reused for every chunk */
+    private final byte[] chunkData = new byte[DEFAULT_CHUNK_SIZE];
+
+    /**
+     * Signed chunk returned by {@link #currentChunkIterator}, reused for every
+     * chunk since a chunk is only set up once the previous one has been read
+     */
+    private final byte[] signedChunk = new byte[(int) calculateSignedChunkLength(DEFAULT_CHUNK_SIZE)];
+
     /** Iterator on the current chunk that has been signed */
     private ChunkContentIterator currentChunkIterator;
 
@@ -292,13 +300,13 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
      *         Returns true if next chunk is the last empty chunk.
      */
     private boolean setUpNextChunk() throws IOException {
-        byte[] chunkData = new byte[DEFAULT_CHUNK_SIZE];
         int chunkSizeInBytes = 0;
         while (chunkSizeInBytes < DEFAULT_CHUNK_SIZE) {
             /** Read from the buffer of the decoded stream */
             if (null != decodedStreamBuffer
                     && decodedStreamBuffer.hasNext()) {
-                chunkData[chunkSizeInBytes++] = decodedStreamBuffer.next();
+                chunkSizeInBytes += decodedStreamBuffer.next(chunkData, chunkSizeInBytes,
+                        DEFAULT_CHUNK_SIZE - chunkSizeInBytes);
             }
             /** Read from the wrapped stream */
             else {
@@ -313,33 +321,29 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
                     break;
             }
         }
-        if (chunkSizeInBytes == 0){
-            byte[] signedFinalChunk = createSignedChunk(FINAL_CHUNK);
-            currentChunkIterator = new ChunkContentIterator(signedFinalChunk);
-            return true;
-        }
-        else {
-            if (chunkSizeInBytes < chunkData.length) {
-                chunkData = Arrays.copyOf(chunkData, chunkSizeInBytes);
-            }
-            byte[] signedChunkContent = createSignedChunk(chunkData);
-            currentChunkIterator = new ChunkContentIterator(signedChunkContent);
-            return false;
-        }
+        currentChunkIterator = new ChunkContentIterator(signedChunk, createSignedChunk(chunkSizeInBytes));
+        return chunkSizeInBytes == 0;
     }
 
-    private byte[] createSignedChunk(byte[] chunkData) {
+    /**
+     * Signs the given number of bytes of {@link #chunkData} into
+     * {@link #signedChunk}.
+     *
+     * @return The length of the signed chunk.
+     */
+    private int createSignedChunk(int chunkSizeInBytes) {
         StringBuilder chunkHeader = new StringBuilder();
         // chunk-size
-        chunkHeader.append(Integer.toHexString(chunkData.length));
+        chunkHeader.append(Integer.toHexString(chunkSizeInBytes));
         // sig-extension
+        sha256.update(chunkData, 0, chunkSizeInBytes);
         final String chunkStringToSign =
                 CHUNK_STRING_TO_SIGN_PREFIX + "\n" +
                 dateTime + "\n" +
                 keyPath + "\n" +
                 priorChunkSignature + "\n" +
                 AbstractAWSSigner.EMPTY_STRING_SHA256_HEX + "\n" +
-                BinaryUtils.toHex(sha256.digest(chunkData));
+                BinaryUtils.toHex(sha256.digest());
         final String chunkSignature =
             BinaryUtils.toHex(aws4Signer.signWithMac(chunkStringToSign, hmacSha256));
         priorChunkSignature = chunkSignature;
@@ -349,14 +353,12 @@ public final class AwsChunkedEncodingInputStream extends SdkInputStream {
                    ;
         try {
             byte[] header = chunkHeader.toString().getBytes(UTF8);
-            byte[] trailer = CRLF.getBytes(UTF8);
-            byte[] signedChunk = new byte[header.length + chunkData.length + trailer.length];
             System.arraycopy(header, 0, signedChunk, 0, header.length);
-            System.arraycopy(chunkData, 0, signedChunk, header.length, chunkData.length);
-            System.arraycopy(trailer, 0,
-                    signedChunk, header.length + chunkData.length,
-                    trailer.length);
-            return signedChunk;
+            System.arraycopy(chunkData, 0, signedChunk, header.length, chunkSizeInBytes);
+            System.arraycopy(CRLF_BYTES, 0,
+                    signedChunk, header.length + chunkSizeInBytes,
+                    CRLF_BYTES.length);
+            return header.length + chunkSizeInBytes + CRLF_BYTES.length;
         } catch (Exception e) {
             throw new SdkClientException("Unable to sign the chunked data. " + e.getMessage(), e);
         }
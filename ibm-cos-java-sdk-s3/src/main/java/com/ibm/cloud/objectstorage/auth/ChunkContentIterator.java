@@ -17,14 +17,24 @@ package com.ibm.cloud.objectstorage.auth;
 class ChunkContentIterator {
 
     private final byte[] signedChunk;
+    private final int length;
     private int pos;
 
     public ChunkContentIterator(byte[] signedChunk) {
+        this(signedChunk, signedChunk.length);
+    }
+
+    /**
+     * Iterates over the first bytes of a signed chunk buffer, which may be
+     * reused for the next chunk once this one has been read.
+     */
+    public ChunkContentIterator(byte[] signedChunk, int length) {
         this.signedChunk = signedChunk;
+        this.length = length;
     }
 
     public boolean hasNext() {
-        return pos < signedChunk.length;
+        return pos < length;
     }
 
     public int read(byte[] output, int offset, int length) {
@@ -32,7 +42,7 @@ class ChunkContentIterator {
             return 0;
         if ( !hasNext() )
             return -1;
-        int remaingBytesNum = signedChunk.length - pos;
+        int remaingBytesNum = this.length - pos;
         int bytesToRead = Math.min(remaingBytesNum, length);
         System.arraycopy(signedChunk, pos, output, offset, bytesToRead);
         pos += bytesToRead;
@@ -19,9 +19,18 @@ import org.apache.commons.logging.LogFactory;
 
 import com.ibm.cloud.objectstorage.SdkClientException;
 
+/**
+ * Buffer of the bytes read from a stream that does not support mark and reset,
+ * so they can be read again. The buffer grows as bytes are added, so a short
+ * stream only holds its own length, and its memory is freed as soon as the
+ * stream exceeds the maximum size and can no longer be replayed.
+ */
 class DecodedStreamBuffer {
     private static final Log log = LogFactory.getLog(DecodedStreamBuffer.class);
 
+    /** Initial capacity of the buffer, in bytes */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
     private byte[] bufferArray;
     private int maxBufferSize;
     private int byteBuffered;
@@ -29,35 +38,34 @@ class DecodedStreamBuffer {
     private boolean bufferSizeOverflow;
 
     public DecodedStreamBuffer(int maxBufferSize) {
-        bufferArray = new byte[maxBufferSize];
+        bufferArray = new byte[Math.min(INITIAL_BUFFER_SIZE, maxBufferSize)];
         this.maxBufferSize = maxBufferSize;
     }
 
     public void buffer(byte read) {
         pos = -1;
+        if (bufferSizeOverflow) {
+            return;
+        }
         if (byteBuffered >= maxBufferSize) {
-            if (log.isDebugEnabled()) {
-                log.debug("Buffer size " + maxBufferSize
-                        + " has been exceeded and the input stream "
-                        + "will not be repeatable. Freeing buffer memory");
-            }
-            bufferSizeOverflow = true;
+            overflow();
         }
-        else
+        else {
+            ensureCapacity(byteBuffered + 1);
             bufferArray[byteBuffered++] = read;
+        }
     }
 
     public void buffer(byte[] src, int srcPos, int length) {
         pos = -1;
+        if (bufferSizeOverflow) {
+            return;
+        }
         if (byteBuffered + length > maxBufferSize) {
-            if (log.isDebugEnabled()) {
-                log.debug("Buffer size " + maxBufferSize
-                        + " has been exceeded and the input stream "
-                        + "will not be repeatable. Freeing buffer memory");
-            }
-            bufferSizeOverflow = true;
+            overflow();
         }
         else {
+            ensureCapacity(byteBuffered + length);
             System.arraycopy(src, srcPos, bufferArray, byteBuffered, length);
             byteBuffered += length;
         }
@@ -71,6 +79,18 @@ class DecodedStreamBuffer {
         return bufferArray[pos++];
     }
 
+    /**
+     * Copies up to the given number of the remaining buffered bytes.
+     *
+     * @return The number of bytes copied.
+     */
+    public int next(byte[] dst, int dstPos, int length) {
+        int count = Math.min(length, byteBuffered - pos);
+        System.arraycopy(bufferArray, pos, dst, dstPos, count);
+        pos += count;
+        return count;
+    }
+
     public void startReadBuffer() {
         if (bufferSizeOverflow) {
             throw new SdkClientException(
@@ -79,4 +99,24 @@ class DecodedStreamBuffer {
         }
         pos = 0;
     }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bufferArray.length) {
+            int newLength = (int) Math.min(maxBufferSize, Math.max(capacity, 2L * bufferArray.length));
+            byte[] grown = new byte[newLength];
+            System.arraycopy(bufferArray, 0, grown, 0, byteBuffered);
+            bufferArray = grown;
+        }
+    }
+
+    private void overflow() {
+        if (log.isDebugEnabled()) {
+            log.debug("Buffer size " + maxBufferSize
+                    + " has been exceeded and the input stream "
+                    + "will not be repeatable. Freeing buffer memory");
+        }
+        bufferSizeOverflow = true;
+        bufferArray = null;
+        byteBuffered = 0;
+    }
 }
@@ -22,7 +22,10 @@ import com.ibm.cloud.objectstorage.services.s3.model.FASPConnectionInfo;
  * name and are removed from LinkedHashMap based on least recently used.
  * The Cache is configured to hold a maximum of 1000 records. 
  * 
+ * @deprecated This cache is not thread safe. Use {@link FaspConnectionInfoCache},
+ *             which AsperaTransferManager now uses.
  */
+@Deprecated
 public class AsperaKeyCache extends LinkedHashMap<String, FASPConnectionInfo> {
 
 	private static final long serialVersionUID = 5474075814087652410L;
@@ -28,6 +28,7 @@ import java.util.UUID;
 import java.util.Vector;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -55,6 +56,7 @@ import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.event.ProgressListener;
 import com.ibm.cloud.objectstorage.http.apache.client.impl.ApacheConnectionManagerFactory.TrustingX509TrustManager;
 import com.ibm.cloud.objectstorage.http.conn.ssl.SdkTLSSocketFactory;
+import com.ibm.cloud.objectstorage.internal.SdkFunction;
 import com.ibm.cloud.objectstorage.log.InternalLogApi;
 import com.ibm.cloud.objectstorage.log.InternalLogFactory;
 import com.ibm.cloud.objectstorage.oauth.TokenManager;
@@ -95,7 +97,7 @@ public class AsperaTransferManager {
 	private AmazonS3 s3Client;
 
 	/**Cache to store FaspConnectionInfo**/
-	private AsperaKeyCache akCache;
+	private FaspConnectionInfoCache akCache;
 	private ExecutorService executorService;
 
 	/**Wrapper to allow logging for fasp manager calls**/
@@ -116,7 +118,8 @@ public class AsperaTransferManager {
 		}
 
 		this.tokenManager = tokenManager;
-		this.akCache = new AsperaKeyCache(asperaTransferManagerConfig.getMaxFaspCacheSize());
+		this.akCache = new FaspConnectionInfoCache(asperaTransferManagerConfig.getMaxFaspCacheSize(),
+				TimeUnit.SECONDS.toMillis(asperaTransferManagerConfig.getFaspCacheTtlSeconds()));
 		this.s3Client = s3Client;
 		this.executorService = AsperaTransferManagerUtils.createDefaultExecutorService();
 		this.asperaTransferManagerConfig = asperaTransferManagerConfig;
@@ -334,32 +337,38 @@ public class AsperaTransferManager {
 	/**
 	 * Check the LRU cache to see if the Aspera Key has already been retrieved for
 	 * this bucket. If it has, return it, else call onto the s3Client to get the
-	 * FASPConnectionInfo for the bucket name
+	 * FASPConnectionInfo for the bucket name. Concurrent calls for a bucket that
+	 * is not cached share a single call to the s3Client
 	 * 
 	 * @param bucketName
 	 * @return
 	 */
 	public FASPConnectionInfo getFaspConnectionInfo(String bucketName) {
 		log.trace("AsperaTransferManager.getFaspConnectionInfo >> start " + System.nanoTime());
-		FASPConnectionInfo faspConnectionInfo = akCache.get(bucketName);
-
-		if (null == faspConnectionInfo) {
-
-			log.trace("AsperaTransferManager.getFaspConnectionInfo >> retrieve from COS " + System.nanoTime());
-			faspConnectionInfo = s3Client.getBucketFaspConnectionInfo(bucketName);
-			log.trace("AsperaTransferManager.getFaspConnectionInfo << retrieve from COS " + System.nanoTime());
-
-			if (null == faspConnectionInfo) {
-				throw new SdkClientException("Failed to retrieve faspConnectionInfo for bucket: " + bucketName);
+		FASPConnectionInfo faspConnectionInfo = akCache.get(bucketName, new SdkFunction<String, FASPConnectionInfo>() {
+			@Override
+			public FASPConnectionInfo apply(String bucket) {
+				log.trace("AsperaTransferManager.getFaspConnectionInfo >> retrieve from COS " + System.nanoTime());
+				FASPConnectionInfo info = s3Client.getBucketFaspConnectionInfo(bucket);
+				log.trace("AsperaTransferManager.getFaspConnectionInfo << retrieve from COS " + System.nanoTime());
+				return info;
 			}
-
-			akCache.put(bucketName, faspConnectionInfo);
-		}
+		});
 
 		log.trace("AsperaTransferManager.getFaspConnectionInfo << end " + System.nanoTime());
 		return faspConnectionInfo;
 	}
 
+	/**
+	 * Returns the cache of FASPConnectionInfo per bucket, for example to read
+	 * its hit and miss counts
+	 * 
+	 * @return
+	 */
+	public FaspConnectionInfoCache getFaspConnectionInfoCache() {
+		return akCache;
+	}
+
 	//TODO possibly move to separate class
 	public TransferSpecs getTransferSpec(FASPConnectionInfo faspConnectionInfo, String localFileName, String remoteFileName, String direction)
 			throws SdkClientException, AmazonServiceException {
@@ -27,6 +27,9 @@ public class AsperaTransferManagerConfig {
 
 	/**default size of the FASPConnectionInfo cache size**/
 	private int maxFaspCacheSize = 1000;
+
+	/**default time to live of FASPConnectionInfo cache entries, 0 for no expiry**/
+	private long faspCacheTtlSeconds = 0;
 	
 	/**default setting of the multisession 'all' option **/
 	private boolean multiSession = false;
@@ -120,6 +123,40 @@ public class AsperaTransferManagerConfig {
 		return this;
 	}
 
+	/**
+	 * return how long a cached FaspConnectionInfo is used before it is retrieved
+	 * again, in seconds. Default 0, entries do not expire
+	 * 
+	 * @return
+	 */
+	public long getFaspCacheTtlSeconds() {
+		return faspCacheTtlSeconds;
+	}
+
+	/**
+	 * Set how long a cached FaspConnectionInfo is used before it is retrieved
+	 * again, in seconds. 0 keeps entries until they are evicted
+	 * 
+	 * @param faspCacheTtlSeconds
+	 */
+	public void setFaspCacheTtlSeconds(long faspCacheTtlSeconds) {
+		if (faspCacheTtlSeconds < 0) {
+			throw new IllegalArgumentException("faspCacheTtlSeconds must not be negative");
+		}
+		this.faspCacheTtlSeconds = faspCacheTtlSeconds;
+	}
+
+	/**
+	 * Set how long a cached FaspConnectionInfo is used before it is retrieved
+	 * again, in seconds. 0 keeps entries until they are evicted
+	 * 
+	 * @param faspCacheTtlSeconds
+	 */
+	public AsperaTransferManagerConfig withFaspCacheTtlSeconds(long faspCacheTtlSeconds) {
+		setFaspCacheTtlSeconds(faspCacheTtlSeconds);
+		return this;
+	}
+
 	/**
 	 * Check if Aspera Transfer should use all available connections to the Aspera Service.
 	 * If set the remote_host field on the transfer spec is updated with a suffix '-all'
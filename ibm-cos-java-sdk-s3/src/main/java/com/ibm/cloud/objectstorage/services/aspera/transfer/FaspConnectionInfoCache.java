@@ -0,0 +1,255 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.aspera.transfer;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+import com.ibm.cloud.objectstorage.internal.SdkFunction;
+import com.ibm.cloud.objectstorage.services.s3.model.FASPConnectionInfo;
+
+/**
+ * Thread safe cache of the FASPConnectionInfo of each bucket.
+ * <p>
+ * Concurrent lookups of a bucket that is not cached share a single load, so a
+ * burst of transfers to one bucket results in one call to the loader. A failed
+ * load is not cached and is retried by the next lookup. Entries expire after
+ * the configured time to live, and the least recently used entry is evicted
+ * once the maximum size is exceeded. Loads in progress are never evicted, so
+ * the cache may briefly hold more entries than its capacity while more buckets
+ * than that are being loaded at once.
+ * </p>
+ */
+@ThreadSafe
+public class FaspConnectionInfoCache {
+
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+	private final int capacity;
+
+	private final long timeToLiveNanos;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong loadFailureCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	/**
+	 * @param capacity
+	 *            The maximum number of buckets cached. Loads in progress
+	 *            are never evicted, so even with 0 concurrent lookups of a
+	 *            bucket share one load.
+	 * @param timeToLiveMillis
+	 *            How long an entry is used after it was loaded, or 0 for
+	 *            entries that do not expire.
+	 */
+	public FaspConnectionInfoCache(int capacity, long timeToLiveMillis) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative");
+		}
+		if (timeToLiveMillis < 0) {
+			throw new IllegalArgumentException("timeToLiveMillis must not be negative");
+		}
+		this.capacity = capacity;
+		this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+	}
+
+	/**
+	 * Returns the cached FASPConnectionInfo of the bucket, loading it with the
+	 * given loader if it is missing or expired. Only one thread loads a given
+	 * bucket at a time; other threads wait for its result.
+	 *
+	 * @param bucketName
+	 *            The bucket name.
+	 * @param loader
+	 *            Loads the FASPConnectionInfo of a bucket.
+	 * @return The FASPConnectionInfo of the bucket.
+	 */
+	public FASPConnectionInfo get(String bucketName, SdkFunction<String, FASPConnectionInfo> loader) {
+		while (true) {
+			Entry entry = entries.get(bucketName);
+			long now = System.nanoTime();
+			if (entry != null && !entry.isExpired(now)) {
+				hitCount.incrementAndGet();
+				entry.lastAccessNanos = now;
+				return await(entry);
+			}
+
+			Entry loading = new Entry(now);
+			boolean installed = entry == null
+					? entries.putIfAbsent(bucketName, loading) == null
+					: entries.replace(bucketName, entry, loading);
+			if (!installed) {
+				// Another thread started a load first; use its entry.
+				continue;
+			}
+
+			missCount.incrementAndGet();
+			evictIfFull();
+			load(bucketName, loading, loader);
+			return await(loading);
+		}
+	}
+
+	/**
+	 * Returns the cached FASPConnectionInfo of the bucket without loading it,
+	 * or null if it is not cached, expired or still being loaded.
+	 */
+	public FASPConnectionInfo getIfPresent(String bucketName) {
+		Entry entry = entries.get(bucketName);
+		if (entry == null || entry.isExpired(System.nanoTime()) || !entry.value.isDone()
+				|| entry.value.isCompletedExceptionally()) {
+			return null;
+		}
+		return entry.value.getNow(null);
+	}
+
+	/**
+	 * Removes the cached FASPConnectionInfo of the bucket, for example after
+	 * its credentials were rejected.
+	 */
+	public void invalidate(String bucketName) {
+		entries.remove(bucketName);
+	}
+
+	/**
+	 * @return The number of buckets currently cached, including loads in
+	 *         progress.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return The number of lookups served by a cached or in-flight entry.
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return The number of lookups that started a load.
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	/**
+	 * @return The number of loads that failed.
+	 */
+	public long getLoadFailureCount() {
+		return loadFailureCount.get();
+	}
+
+	/**
+	 * @return The number of entries evicted because the cache was full.
+	 */
+	public long getEvictionCount() {
+		return evictionCount.get();
+	}
+
+	private void load(String bucketName, Entry entry, SdkFunction<String, FASPConnectionInfo> loader) {
+		try {
+			FASPConnectionInfo faspConnectionInfo = loader.apply(bucketName);
+			if (faspConnectionInfo == null) {
+				throw new SdkClientException("Failed to retrieve faspConnectionInfo for bucket: " + bucketName);
+			}
+			entry.loadedNanos = System.nanoTime();
+			entry.value.complete(faspConnectionInfo);
+		} catch (Throwable t) {
+			loadFailureCount.incrementAndGet();
+			entries.remove(bucketName, entry);
+			entry.value.completeExceptionally(t);
+		}
+	}
+
+	private FASPConnectionInfo await(Entry entry) {
+		try {
+			return entry.value.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AbortedException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new SdkClientException("Failed to retrieve faspConnectionInfo", cause);
+		}
+	}
+
+	/**
+	 * Removes expired entries and then least recently used entries until the
+	 * cache is back to its capacity. Only runs when a new entry is added.
+	 * Entries still loading are skipped: evicting one would let the next
+	 * lookup of its bucket start a second load.
+	 */
+	private void evictIfFull() {
+		if (entries.size() <= capacity) {
+			return;
+		}
+		long now = System.nanoTime();
+		for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+			if (candidate.getValue().isExpired(now) && entries.remove(candidate.getKey(), candidate.getValue())) {
+				evictionCount.incrementAndGet();
+			}
+		}
+		while (entries.size() > capacity) {
+			Map.Entry<String, Entry> eldest = null;
+			for (Map.Entry<String, Entry> candidate : entries.entrySet()) {
+				if (!candidate.getValue().value.isDone()) {
+					continue;
+				}
+				if (eldest == null || candidate.getValue().lastAccessNanos - eldest.getValue().lastAccessNanos < 0) {
+					eldest = candidate;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			if (entries.remove(eldest.getKey(), eldest.getValue())) {
+				evictionCount.incrementAndGet();
+			}
+		}
+	}
+
+	private final class Entry {
+		private final CompletableFuture<FASPConnectionInfo> value = new CompletableFuture<FASPConnectionInfo>();
+
+		private volatile long lastAccessNanos;
+
+		/** Time the value was loaded; only meaningful once {@link #value} is complete. */
+		private volatile long loadedNanos;
+
+		private Entry(long now) {
+			this.lastAccessNanos = now;
+		}
+
+		private boolean isExpired(long now) {
+			return timeToLiveNanos > 0 && value.isDone() && now - loadedNanos >= timeToLiveNanos;
+		}
+	}
+}
@@ -364,6 +364,12 @@ public abstract class AbstractAmazonS3 implements AmazonS3 {
         throw new UnsupportedOperationException("Extend AbstractAmazonS3 to provide an implementation");
     }
 
+    @Override
+    public byte[] getObjectAsBytes(String bucketName, String key)
+            throws AmazonServiceException, SdkClientException {
+        throw new UnsupportedOperationException("Extend AbstractAmazonS3 to provide an implementation");
+    }
+
     @Override
     public GetObjectTaggingResult getObjectTagging(GetObjectTaggingRequest objectTaggingRequest) {
         throw new UnsupportedOperationException("Extend AbstractAmazonS3 to provide an implementation");
@@ -422,6 +428,12 @@ public abstract class AbstractAmazonS3 implements AmazonS3 {
 
     }
 
+    @Override
+    public PutObjectResult putObject(String bucketName, String key, byte[] content, ObjectMetadata metadata)
+            throws AmazonServiceException, SdkClientException {
+        throw new UnsupportedOperationException("Extend AbstractAmazonS3 to provide an implementation");
+    }
+
     @Override
     public CopyObjectResult copyObject(String sourceBucketName,
             String sourceKey, String destinationBucketName,
@@ -2950,6 +2950,26 @@ public interface AmazonS3 extends S3DirectSpi {
     String getObjectAsString(String bucketName, String key)
             throws AmazonServiceException, SdkClientException;
 
+    /**
+     * <p>
+     * Retrieves the contents of an S3 object into a byte array.
+     * </p>
+     * <p>
+     * The array is allocated once from the Content-Length of the response,
+     * which makes this the cheapest way to read small objects completely.
+     * Use {@link #getObject(GetObjectRequest)} for objects that should not be
+     * held in memory.
+     * </p>
+     *
+     * @param bucketName
+     *            The name of the bucket containing the object to retrieve.
+     * @param key
+     *            The key of the object to retrieve.
+     * @return contents of the object as a byte array
+     */
+    byte[] getObjectAsBytes(String bucketName, String key)
+            throws AmazonServiceException, SdkClientException;
+
     /**
      * Returns the tags for the specified object.
      *
@@ -3345,6 +3365,40 @@ public interface AmazonS3 extends S3DirectSpi {
     public PutObjectResult putObject(String bucketName, String key, String content)
             throws AmazonServiceException, SdkClientException;
 
+    /**
+     * <p>
+     * Uploads the contents of a byte array to Amazon S3 under the specified
+     * bucket and key name.
+     * </p>
+     * <p>
+     * Since the content is already in memory, its length and MD5 hash are
+     * computed up front instead of while the content is sent, which keeps the
+     * per request overhead low for small objects.
+     * </p>
+     *
+     * @param bucketName
+     *            The name of the bucket to place the new object in.
+     * @param key
+     *            The key of the object to create.
+     * @param content
+     *            The content of the object. The array must not be modified
+     *            until the call returns.
+     * @param metadata
+     *            Additional metadata instructing Amazon S3 how to handle the
+     *            uploaded data (e.g. custom user metadata, hooks for specifying
+     *            content type, etc.), or null. The content length and MD5 are
+     *            set from the content on a copy of this metadata, so it can be
+     *            reused for other uploads.
+     *
+     * @return A {@link PutObjectResult} object containing the information
+     *         returned by Amazon S3 for the newly created object.
+     *
+     * @see AmazonS3#putObject(PutObjectRequest)
+     * @see <a href="http://docs.aws.amazon.com/goto/WebAPI/s3-2006-03-01/PutObject">Amazon Web Services API Documentation</a>
+     */
+    public PutObjectResult putObject(String bucketName, String key, byte[] content, ObjectMetadata metadata)
+            throws AmazonServiceException, SdkClientException;
+
     /**
      * <p>
      * Copies a source object to a new destination in Amazon S3.
@@ -42,6 +42,8 @@ public abstract class AmazonS3Builder<Subclass extends AmazonS3Builder, TypeToBu
     private Boolean chunkedEncodingDisabled;
     private Boolean accelerateModeEnabled;
     private Boolean payloadSigningEnabled;
+    private Boolean singlePassMd5Enabled;
+    private Boolean unknownLengthStreamingEnabled;
     private Boolean dualstackEnabled;
     private Boolean forceGlobalBucketAccessEnabled;
 //IBM unsupported
@@ -303,6 +305,106 @@ public abstract class AmazonS3Builder<Subclass extends AmazonS3Builder, TypeToBu
         return getSubclass();
     }
 
+    /**
+     * @return The current setting for single pass MD5 computation configured in the builder.
+     */
+    public Boolean isSinglePassMd5Enabled() {
+        return singlePassMd5Enabled;
+    }
+
+    /**
+     * <p>Configures the client to compute the MD5 of files uploaded with PutObject while they are
+     * being sent, instead of reading each file once up front for the Content-MD5 header.</p>
+     *
+     * <p>The computed MD5 is compared with the ETag returned by the service, so a corrupted upload
+     * is detected after the object has been stored rather than rejected by the service. Uploads
+     * to a bucket that encrypts objects with a default SSE-KMS key are not validated in this mode;
+     * see {@link S3ClientOptions.Builder#enableSinglePassMd5()}.</p>
+     *
+     * @param singlePassMd5Enabled True to compute the MD5 of uploaded files in a single pass
+     * @see S3ClientOptions.Builder#enableSinglePassMd5()
+     */
+    public void setSinglePassMd5Enabled(Boolean singlePassMd5Enabled) {
+        this.singlePassMd5Enabled = singlePassMd5Enabled;
+    }
+
+    /**
+     * <p>Configures the client to compute the MD5 of files uploaded with PutObject while they are
+     * being sent, instead of reading each file once up front for the Content-MD5 header.</p>
+     *
+     * <p>The computed MD5 is compared with the ETag returned by the service, so a corrupted upload
+     * is detected after the object has been stored rather than rejected by the service. Uploads
+     * to a bucket that encrypts objects with a default SSE-KMS key are not validated in this mode;
+     * see {@link S3ClientOptions.Builder#enableSinglePassMd5()}.</p>
+     *
+     * @param singlePassMd5Enabled True to compute the MD5 of uploaded files in a single pass
+     * @return This object for method chaining.
+     * @see S3ClientOptions.Builder#enableSinglePassMd5()
+     */
+    public Subclass withSinglePassMd5Enabled(Boolean singlePassMd5Enabled) {
+        setSinglePassMd5Enabled(singlePassMd5Enabled);
+        return getSubclass();
+    }
+
+    /**
+     * <p>Enables single pass MD5 computation of uploaded files on clients built via this
+     * builder.</p>
+     *
+     * @return This object for method chaining.
+     * @see S3ClientOptions.Builder#enableSinglePassMd5()
+     */
+    public Subclass enableSinglePassMd5() {
+        setSinglePassMd5Enabled(Boolean.TRUE);
+        return getSubclass();
+    }
+
+    /**
+     * @return The current setting for streaming content of unknown length configured in the builder.
+     */
+    public Boolean isUnknownLengthStreamingEnabled() {
+        return unknownLengthStreamingEnabled;
+    }
+
+    /**
+     * <p>Configures the client to stream PutObject content whose length is not set with HTTP
+     * chunked transfer coding, instead of buffering the whole content in memory.</p>
+     *
+     * <p>This only applies to requests whose payload is not signed.</p>
+     *
+     * @param unknownLengthStreamingEnabled True to stream content of unknown length
+     * @see S3ClientOptions.Builder#enableUnknownLengthStreaming()
+     */
+    public void setUnknownLengthStreamingEnabled(Boolean unknownLengthStreamingEnabled) {
+        this.unknownLengthStreamingEnabled = unknownLengthStreamingEnabled;
+    }
+
+    /**
+     * <p>Configures the client to stream PutObject content whose length is not set with HTTP
+     * chunked transfer coding, instead of buffering the whole content in memory.</p>
+     *
+     * <p>This only applies to requests whose payload is not signed.</p>
+     *
+     * @param unknownLengthStreamingEnabled True to stream content of unknown length
+     * @return This object for method chaining.
+     * @see S3ClientOptions.Builder#enableUnknownLengthStreaming()
+     */
+    public Subclass withUnknownLengthStreamingEnabled(Boolean unknownLengthStreamingEnabled) {
+        setUnknownLengthStreamingEnabled(unknownLengthStreamingEnabled);
+        return getSubclass();
+    }
+
+    /**
+     * <p>Enables streaming of PutObject content of unknown length on clients built via this
+     * builder.</p>
+     *
+     * @return This object for method chaining.
+     * @see S3ClientOptions.Builder#enableUnknownLengthStreaming()
+     */
+    public Subclass enableUnknownLengthStreaming() {
+        setUnknownLengthStreamingEnabled(Boolean.TRUE);
+        return getSubclass();
+    }
+
     /**
      * @return The current setting for dualstack mode configured in the builder.
      */
@@ -474,6 +576,12 @@ public abstract class AmazonS3Builder<Subclass extends AmazonS3Builder, TypeToBu
         if (this.payloadSigningEnabled != null) {
             builder.setPayloadSigningEnabled(this.payloadSigningEnabled);
         }
+        if (Boolean.TRUE.equals(this.singlePassMd5Enabled)) {
+            builder.enableSinglePassMd5();
+        }
+        if (Boolean.TRUE.equals(this.unknownLengthStreamingEnabled)) {
+            builder.enableUnknownLengthStreaming();
+        }
         if (this.accelerateModeEnabled != null) {
             builder.setAccelerateModeEnabled(this.accelerateModeEnabled);
         }
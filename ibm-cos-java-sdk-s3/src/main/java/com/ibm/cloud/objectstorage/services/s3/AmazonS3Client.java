@@ -54,7 +54,9 @@ import com.ibm.cloud.objectstorage.event.ProgressListener;
 import com.ibm.cloud.objectstorage.handlers.HandlerChainFactory;
 import com.ibm.cloud.objectstorage.handlers.HandlerContextKey;
 import com.ibm.cloud.objectstorage.handlers.RequestHandler2;
+import com.ibm.cloud.objectstorage.http.ByteArrayContent;
 import com.ibm.cloud.objectstorage.http.ExecutionContext;
+import com.ibm.cloud.objectstorage.http.FileSegment;
 import com.ibm.cloud.objectstorage.http.HttpMethodName;
 import com.ibm.cloud.objectstorage.http.HttpResponseHandler;
 import com.ibm.cloud.objectstorage.internal.AmazonWebServiceRequestAdapter;
@@ -238,11 +240,13 @@ import com.ibm.cloud.objectstorage.services.s3.model.transform.AclXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.BucketConfigurationXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.GetPublicAccessBlockStaxUnmarshaller;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.HeadBucketResultHandler;
+import com.ibm.cloud.objectstorage.services.s3.model.transform.ListObjectsV2StaxUnmarshaller;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.MultiObjectDeleteXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.ObjectTaggingXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.RequestPaymentConfigurationXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.RequestXmlFactory;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.Unmarshallers;
+import com.ibm.cloud.objectstorage.services.s3.model.transform.VersionListStaxUnmarshaller;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.XmlResponsesSaxParser.CompleteMultipartUploadHandler;
 import com.ibm.cloud.objectstorage.services.s3.model.transform.XmlResponsesSaxParser.CopyObjectResultHandler;
 import com.ibm.cloud.objectstorage.services.s3.request.S3HandlerContextKeys;
@@ -265,6 +269,7 @@ import com.ibm.cloud.objectstorage.util.ServiceClientHolderInputStream;
 import com.ibm.cloud.objectstorage.util.StringUtils;
 import com.ibm.cloud.objectstorage.util.ValidationUtils;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -796,7 +801,11 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         if (listVersionsRequest.getMaxResults() != null && listVersionsRequest.getMaxResults() >= 0) request.addParameter("max-keys", listVersionsRequest.getMaxResults().toString());
         request.addParameter("encoding-type", shouldSDKDecodeResponse ? Constants.URL_ENCODING : listVersionsRequest.getEncodingType());
 
-        return invoke(request, new Unmarshallers.VersionListUnmarshaller(shouldSDKDecodeResponse), listVersionsRequest.getBucketName(), null);
+        Unmarshaller<VersionListing, InputStream> unmarshaller = listVersionsRequest.isPullParserEnabled()
+                ? new VersionListStaxUnmarshaller(shouldSDKDecodeResponse, listVersionsRequest.getSkippedSummaryFields())
+                : new Unmarshallers.VersionListUnmarshaller(shouldSDKDecodeResponse);
+
+        return invoke(request, unmarshaller, listVersionsRequest.getBucketName(), null);
     }
 
     @Override
@@ -880,7 +889,11 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
          */
         final boolean shouldSDKDecodeResponse = Constants.URL_ENCODING.equals(listObjectsV2Request.getEncodingType());
 
-        return invoke(request, new Unmarshallers.ListObjectsV2Unmarshaller(shouldSDKDecodeResponse), listObjectsV2Request.getBucketName(), null);
+        Unmarshaller<ListObjectsV2Result, InputStream> unmarshaller = listObjectsV2Request.isPullParserEnabled()
+                ? new ListObjectsV2StaxUnmarshaller(shouldSDKDecodeResponse, listObjectsV2Request.getSkippedSummaryFields())
+                : new Unmarshallers.ListObjectsV2Unmarshaller(shouldSDKDecodeResponse);
+
+        return invoke(request, unmarshaller, listObjectsV2Request.getBucketName(), null);
     }
 
     @Override
@@ -1610,6 +1623,49 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         }
     }
 
+    @Override
+    public byte[] getObjectAsBytes(String bucketName, String key)
+            throws AmazonServiceException, SdkClientException {
+        rejectNull(bucketName, "Bucket name must be provided");
+        rejectNull(key, "Object key must be provided");
+
+        S3Object object = getObject(bucketName, key);
+        try {
+            Long contentLength = (Long) object.getObjectMetadata().getRawMetadataValue(Headers.CONTENT_LENGTH);
+            return readContent(object.getObjectContent(), contentLength == null ? -1 : contentLength.longValue());
+        } catch (IOException e) {
+            throw new SdkClientException("Error streaming content from S3 during download", e);
+        } finally {
+            IOUtils.closeQuietly(object, log);
+        }
+    }
+
+    /**
+     * Reads a stream to its end into an array sized for the expected length,
+     * falling back to a growing buffer if the stream turns out to be longer.
+     * Reading to the end also lets the stream validate the MD5 of the content.
+     */
+    private static byte[] readContent(InputStream in, long expectedLength) throws IOException {
+        if (expectedLength < 0 || expectedLength >= Integer.MAX_VALUE) {
+            return IOUtils.toByteArray(in);
+        }
+        byte[] content = new byte[(int) expectedLength];
+        int offset = 0;
+        int read;
+        while (offset < content.length && (read = in.read(content, offset, content.length - offset)) != -1) {
+            offset += read;
+        }
+        int next = in.read();
+        if (next == -1) {
+            return offset == content.length ? content : Arrays.copyOf(content, offset);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length * 2 + 1);
+        out.write(content, 0, offset);
+        out.write(next);
+        IOUtils.copy(in, out);
+        return out.toByteArray();
+    }
+
     @Override
     public GetObjectTaggingResult getObjectTagging(GetObjectTaggingRequest getObjectTaggingRequest) {
         getObjectTaggingRequest = beforeClientExecution(getObjectTaggingRequest);
@@ -1733,7 +1789,9 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
 
         Request<PutObjectRequest> request = createRequest(bucketName, key, putObjectRequest, HttpMethodName.PUT);
         request.addHandlerContext(HandlerContextKey.OPERATION_NAME, "PutObject");
-        request.addHandlerContext(HandlerContextKey.REQUIRES_LENGTH, Boolean.TRUE);
+        if (!isUnknownLengthStreamable(request, file, metadata)) {
+            request.addHandlerContext(HandlerContextKey.REQUIRES_LENGTH, Boolean.TRUE);
+        }
         request.addHandlerContext(HandlerContextKey.HAS_STREAMING_INPUT, Boolean.TRUE);
 
         // Make backward compatible with buffer size via system property
@@ -1798,9 +1856,24 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
             request.addHeader(Headers.RETENTION_PERIOD, putObjectRequest.getRetentionPeriod().toString());
         }
 
+        final boolean skipClientSideValidation =
+                skipMd5CheckStrategy.skipClientSideValidationPerRequest(putObjectRequest);
+        /*
+         * In single pass mode a file is not read up front for the Content-MD5 header; its MD5 is
+         * computed while it is sent and checked against the returned ETag instead. That check is
+         * only possible when the ETag is the MD5 of the content, so an upload asking for SSE-C or
+         * SSE-KMS still sends the Content-MD5 header. Encryption with a bucket default key is only
+         * known from the response, see uploadObject.
+         */
+        final boolean singlePassMd5 =
+                file != null && clientOptions.isSinglePassMd5Enabled() && !skipClientSideValidation;
+        final boolean skipServerSideValidation =
+                skipMd5CheckStrategy.skipServerSideValidation(putObjectRequest) || singlePassMd5;
+
         return uploadObject(isOrig, file, metadata, listener, request, putObjectRequest,
-                            skipMd5CheckStrategy.skipServerSideValidation(putObjectRequest),
-                            skipMd5CheckStrategy.skipClientSideValidationPerRequest(putObjectRequest),
+                            skipServerSideValidation,
+                            skipClientSideValidation,
+                            singlePassMd5,
                             new PutObjectStrategy(bucketName, key),
                             true);
     }
@@ -1816,6 +1889,7 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                                                          final S3DataSource originalRequest,
                                                          final boolean skipServerSideValidation,
                                                          final boolean skipClientSideValidationPerRequest,
+                                                         final boolean singlePassMd5,
                                                          final UploadObjectStrategy<RequestT, ResponseT> uploadStrategy,
                                                          final boolean setContentTypeIfNotProvided) {
 
@@ -1832,6 +1906,14 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                  * and validate it with the returned ETag from the object upload.
                  */
                 input = md5DigestStream = new MD5DigestCalculatingInputStream(input);
+            } else if (file != null) {
+                // Nothing needs to see the bytes as they are sent, so send them from the file
+                request.addHandlerContext(HandlerContextKey.FILE_SEGMENT,
+                        new FileSegment(file, 0, metadata.getContentLength(), input));
+            } else if (originalStream instanceof ByteArraySourceInputStream) {
+                // Nor for a byte array, so write the array as is and hash it only once for signing
+                request.addHandlerContext(HandlerContextKey.BYTE_ARRAY_CONTENT, new ByteArrayContent(
+                        ((ByteArraySourceInputStream) originalStream).getArray(), input));
             }
 
             populateRequestMetadata(request, metadata);
@@ -1867,6 +1949,10 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                     + uploadStrategy.md5ValidationErrorSuffix()
                     + ")");
             }
+        } else if (file != null && md5DigestStream != null && metadata.getContentMD5() == null) {
+            // A file sent without Content-MD5 whose ETag could not be checked either, for example
+            // because the bucket encrypts objects with SSE-KMS by default
+            log.warn(unverifiedUploadWarning(etag, singlePassMd5));
         }
 
         publishProgress(listener, ProgressEventType.TRANSFER_COMPLETED_EVENT);
@@ -1874,6 +1960,25 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         return uploadStrategy.createResult(returnedMetadata, contentMd5);
     }
 
+    /**
+     * Returns the warning logged when a file was uploaded without Content-MD5 and its returned
+     * ETag could not be used to validate it either.
+     */
+    static String unverifiedUploadWarning(String etag, boolean singlePassMd5) {
+        if (System.getProperty(SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY) != null) {
+            return "Unable to verify integrity of data upload. MD5 validation of uploads is disabled by the "
+                    + SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY + " system property.";
+        }
+        if (singlePassMd5) {
+            return "Unable to verify integrity of data upload. No Content-MD5 was sent and the returned etag ("
+                    + etag + ") is not the MD5 of the content. Disable single pass MD5 for uploads to buckets"
+                    + " that encrypt objects by default.";
+        }
+        return "Unable to verify integrity of data upload. No Content-MD5 was sent and the returned etag ("
+                + etag + ") is not the MD5 of the content. Set the Content-MD5 of the object metadata to have"
+                + " the upload validated by the server.";
+    }
+
     private InputStream getInputStream(final InputStream origStream, final File file, final ObjectMetadata metadata,
                                        final Request<?> request, final boolean skipServerSideValidation,
                                        final boolean setContentTypeIfNotProvided) {
@@ -1922,6 +2027,10 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         // Use internal interface to differentiate 0 from unset.
         final Long contentLength = (Long)metadata.getRawMetadataValue(Headers.CONTENT_LENGTH);
         if (contentLength == null) {
+            if (request.getHandlerContext(HandlerContextKey.REQUIRES_LENGTH) == null) {
+                log.debug("No content length specified for stream data.  " +
+                          "Stream contents will be sent with chunked transfer coding.");
+            } else {
                 /*
                  * There's nothing we can do except for let the HTTP client buffer
                  * the input stream contents if the caller doesn't tell us how much
@@ -1929,9 +2038,10 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                  * Amazon S3 how much we're sending before we start sending any of
                  * it.
                  */
-            log.warn("No content length specified for stream data.  " +
-                     "Stream contents will be buffered in memory and could result in " +
-                     "out of memory errors.");
+                log.warn("No content length specified for stream data.  " +
+                         "Stream contents will be buffered in memory and could result in " +
+                         "out of memory errors.");
+            }
         } else {
             final long expectedLength = contentLength.longValue();
             if (expectedLength >= 0) {
@@ -1951,6 +2061,20 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         return input;
     }
 
+    /**
+     * Returns true if the content of a PutObject request has no known length
+     * and can be streamed without it, because unknown length streaming is
+     * enabled and the payload is not signed; the signature of a payload has to
+     * cover its length.
+     */
+    private boolean isUnknownLengthStreamable(Request<?> request, File file, ObjectMetadata metadata) {
+        return clientOptions.isUnknownLengthStreamingEnabled()
+                && file == null
+                && metadata.getRawMetadataValue(Headers.CONTENT_LENGTH) == null
+                && "https".equals(request.getEndpoint().getScheme())
+                && !clientOptions.isPayloadSigningEnabled();
+    }
+
     private static PutObjectResult createPutObjectResult(ObjectMetadata metadata) {
         final PutObjectResult result = new PutObjectResult();
         result.setVersionId(metadata.getVersionId());
@@ -3932,6 +4056,10 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                  * and validate it with the returned ETag from the object upload.
                  */
                 isCurr = md5DigestStream = new MD5DigestCalculatingInputStream(isCurr);
+            } else if (fileOrig != null) {
+                // Nothing needs to see the bytes as they are sent, so send them from the file
+                request.addHandlerContext(HandlerContextKey.FILE_SEGMENT,
+                        new FileSegment(fileOrig, uploadPartRequest.getFileOffset(), partSize, isCurr));
             }
             final ProgressListener listener = uploadPartRequest.getGeneralProgressListener();
             publishProgress(listener, ProgressEventType.TRANSFER_PART_STARTED_EVENT);
@@ -4100,6 +4228,31 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         return putObject(new PutObjectRequest(bucketName, key, is, metadata));
     }
 
+    @Override
+    public PutObjectResult putObject(String bucketName, String key, byte[] content, ObjectMetadata metadata)
+            throws AmazonServiceException, SdkClientException {
+
+        rejectNull(bucketName, "Bucket name must be provided");
+        rejectNull(key, "Object key must be provided");
+        rejectNull(content, "Content must be provided");
+
+        // Work on a copy, so the caller's metadata can be reused for other content
+        metadata = metadata == null ? new ObjectMetadata() : metadata.clone();
+        metadata.setContentLength(content.length);
+        PutObjectRequest putObjectRequest =
+                new PutObjectRequest(bucketName, key, new ByteArraySourceInputStream(content), metadata);
+
+        /*
+         * With the whole content at hand, hash it directly for the Content-MD5
+         * header rather than through a digest calculating stream, so S3
+         * validates the upload and the stream is not wrapped.
+         */
+        if (metadata.getContentMD5() == null && !skipMd5CheckStrategy.skipServerSideValidation(putObjectRequest)) {
+            metadata.setContentMD5(Md5Utils.md5AsBase64(content));
+        }
+        return putObject(putObjectRequest);
+    }
+
     /*
      * Private Interface
      */
@@ -5494,6 +5647,7 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
                             // To enable server side validation, users should set the md5 value through ObjectMetadata
                             true,
                             skipMd5CheckStrategy.skipClientSideValidationPerRequest(presignedUrlUploadRequest),
+                            false,
                             new PresignedUrlUploadStrategy(presignedUrlUploadRequest.getPresignedUrl()),
                             !isSigV2PresignedUrl(presignedUrlUploadRequest.getPresignedUrl()));
     }
@@ -6999,6 +7153,21 @@ public class AmazonS3Client extends AmazonWebServiceClient implements AmazonS3 {
         return invoke(request, responseHandler, bucketName, null);
     }
 
+    /**
+     * Content of {@link #putObject(String, String, byte[], ObjectMetadata)}, which is sent straight
+     * from its array when nothing else needs to read it.
+     */
+    private static final class ByteArraySourceInputStream extends ByteArrayInputStream {
+
+        private ByteArraySourceInputStream(byte[] array) {
+            super(array);
+        }
+
+        private byte[] getArray() {
+            return buf;
+        }
+    }
+
     /**
      * Upload strategy to use in {@link #putObject(PutObjectRequest)} API
      */
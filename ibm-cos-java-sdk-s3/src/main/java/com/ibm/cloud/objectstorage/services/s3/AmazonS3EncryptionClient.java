@@ -39,6 +39,7 @@ import com.ibm.cloud.objectstorage.services.kms.AWSKMSClient;
 import com.ibm.cloud.objectstorage.services.s3.internal.MultiFileOutputStream;
 import com.ibm.cloud.objectstorage.services.s3.internal.PartCreationEvent;
 import com.ibm.cloud.objectstorage.services.s3.internal.S3Direct;
+import com.ibm.cloud.objectstorage.services.s3.internal.crypto.v1.CachingKMSClient;
 import com.ibm.cloud.objectstorage.services.s3.internal.crypto.v1.CryptoModuleDispatcher;
 import com.ibm.cloud.objectstorage.services.s3.internal.crypto.v1.S3CryptoModule;
 import com.ibm.cloud.objectstorage.services.s3.model.AbortMultipartUploadRequest;
@@ -47,6 +48,7 @@ import com.ibm.cloud.objectstorage.services.s3.model.CompleteMultipartUploadResu
 import com.ibm.cloud.objectstorage.services.s3.model.CopyPartRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.CopyPartResult;
 import com.ibm.cloud.objectstorage.services.s3.model.CryptoConfiguration;
+import com.ibm.cloud.objectstorage.services.s3.model.DataKeyCacheConfiguration;
 import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.EncryptedInitiateMultipartUploadRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.EncryptedPutObjectRequest;
@@ -100,6 +102,11 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
      * to shut down the KMS client. 
      */
     private final boolean isKMSClientInternal;
+    /**
+     * The caching KMS client used by the crypto modules, or null if KMS data
+     * keys are not cached.
+     */
+    private final CachingKMSClient cachingKms;
 
     // ///////////////////// Constructors ////////////////
     /**
@@ -518,7 +525,8 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
             ? newAWSKMSClient(credentialsProvider, clientConfig, cryptoConfig, 
                     requestMetricCollector)
             : kms;
-        this.crypto = new CryptoModuleDispatcher(this.kms, new S3DirectImpl(),
+        this.cachingKms = newCachingKMSClient(this.kms, cryptoConfig);
+        this.crypto = new CryptoModuleDispatcher(cachingKms == null ? this.kms : cachingKms, new S3DirectImpl(),
                 credentialsProvider, kekMaterialsProvider, cryptoConfig);
     }
 
@@ -533,10 +541,25 @@ public class AmazonS3EncryptionClient extends AmazonS3Client implements
                         params.getClientParams().getClientConfiguration(),
                         params.getCryptoConfiguration(),
                         params.getClientParams().getRequestMetricCollector()) : params.getKmsClient();
-        this.crypto = new CryptoModuleDispatcher(this.kms, new S3DirectImpl(),
+        this.cachingKms = newCachingKMSClient(this.kms, params.getCryptoConfiguration());
+        this.crypto = new CryptoModuleDispatcher(cachingKms == null ? this.kms : cachingKms, new S3DirectImpl(),
                 params.getClientParams().getCredentialsProvider(), params.getEncryptionMaterials(), params.getCryptoConfiguration());
     }
 
+    private static CachingKMSClient newCachingKMSClient(AWSKMS kms, CryptoConfiguration cryptoConfig) {
+        DataKeyCacheConfiguration cacheConfig = cryptoConfig.getDataKeyCacheConfiguration();
+        return cacheConfig == null || kms == null ? null : new CachingKMSClient(kms, cacheConfig);
+    }
+
+    /**
+     * Returns the KMS client caching data keys and decrypted keys, which
+     * reports the cache hits and misses, or null if the data key cache is not
+     * enabled in the crypto configuration.
+     */
+    public CachingKMSClient getCachingKmsClient() {
+        return cachingKms;
+    }
+
     public static AmazonS3EncryptionClientBuilder encryptionBuilder() {
         return AmazonS3EncryptionClientBuilder.standard();
     }
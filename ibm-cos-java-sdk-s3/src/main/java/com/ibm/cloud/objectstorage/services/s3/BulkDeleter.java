@@ -0,0 +1,590 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.retry.PredefinedBackoffStrategies;
+import com.ibm.cloud.objectstorage.retry.RetryPolicy;
+import com.ibm.cloud.objectstorage.services.s3.iterable.CloseableIterator;
+import com.ibm.cloud.objectstorage.services.s3.iterable.ParallelBucketLister;
+import com.ibm.cloud.objectstorage.services.s3.iterable.S3Versions;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException.DeleteError;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import com.ibm.cloud.objectstorage.services.s3.model.S3VersionSummary;
+
+/**
+ * Deletes large numbers of objects with concurrent
+ * {@link AmazonS3#deleteObjects(DeleteObjectsRequest)} requests. For example:
+ *
+ * <pre class="brush: java">
+ * BulkDeleter.Result result = BulkDeleter.forBucket(s3, &quot;my-bucket&quot;)
+ *         .withConcurrency(32)
+ *         .deletePrefix(&quot;logs/2019/&quot;);
+ * System.out.println(result.getDeletedCount() + &quot; objects at &quot; + result.getObjectsPerSecond() + &quot;/s&quot;);
+ * </pre>
+ * <p>
+ * The keys to delete are read on the calling thread and grouped into batches
+ * of up to {@link #MAX_KEYS_PER_REQUEST} keys, each deleted with a single quiet
+ * request on a worker thread. At most {@link #withConcurrency(int) concurrency}
+ * batches are in flight; reading waits while they are all busy, so listing
+ * and deleting overlap without the keys of a whole bucket being held in
+ * memory.
+ * </p>
+ * <p>
+ * Keys that fail with a transient error code, such as <code>SlowDown</code>
+ * or <code>InternalError</code>, are deleted again in a smaller request after
+ * a backoff, up to {@link #withMaxRetries(int) a number of times}. Keys that
+ * still fail are reported by {@link Result#getErrors()}. A request that fails
+ * as a whole, after the retries of the client, stops the deletion and its
+ * exception is thrown once the batches in flight have finished.
+ * </p>
+ * <p>
+ * The {@link Listener} set with {@link #withListener(Listener)} is told after
+ * each request how far the deletion has got, so a long deletion can report
+ * its progress and throughput while it runs.
+ * </p>
+ */
+public class BulkDeleter {
+
+    /** The maximum number of keys the service accepts in one request. */
+    public static final int MAX_KEYS_PER_REQUEST = 1000;
+
+    private static final int DEFAULT_CONCURRENCY = 10;
+
+    private static final int DEFAULT_MAX_RETRIES = 3;
+
+    /** Error codes of keys that are worth deleting again. */
+    private static final Set<String> RETRYABLE_ERROR_CODES = Collections.unmodifiableSet(new HashSet<String>(
+            Arrays.asList("InternalError", "OperationAborted", "RequestTimeout", "ServiceUnavailable", "SlowDown")));
+
+    private static final RetryPolicy.BackoffStrategy BACKOFF_STRATEGY =
+            new PredefinedBackoffStrategies.FullJitterBackoffStrategy(100, 20 * 1000);
+
+    private final AmazonS3 s3;
+    private final String bucketName;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private int batchSize = MAX_KEYS_PER_REQUEST;
+    private int listingParallelism = DEFAULT_CONCURRENCY;
+    private Listener listener;
+
+    private BulkDeleter(AmazonS3 s3, String bucketName) {
+        if (s3 == null) {
+            throw new IllegalArgumentException("The S3 client must be specified");
+        }
+        if (bucketName == null) {
+            throw new IllegalArgumentException("The bucket name must be specified");
+        }
+        this.s3 = s3;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Constructs a deleter for the objects of a bucket.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @return A deleter for the bucket.
+     */
+    public static BulkDeleter forBucket(AmazonS3 s3, String bucketName) {
+        return new BulkDeleter(s3, bucketName);
+    }
+
+    /**
+     * Sets the number of delete requests in flight at once. Size this
+     * together with the maximum number of connections of the client.
+     *
+     * @param concurrency
+     *            The number of concurrent delete requests.
+     */
+    public BulkDeleter withConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets how many times a key that failed with a transient error is deleted
+     * again; zero disables retries.
+     *
+     * @param maxRetries
+     *            The maximum number of retries of a key.
+     */
+    public BulkDeleter withMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Sets the number of keys deleted by each request, at most
+     * {@link #MAX_KEYS_PER_REQUEST}.
+     *
+     * @param batchSize
+     *            The number of keys per request.
+     */
+    public BulkDeleter withBatchSize(int batchSize) {
+        if (batchSize <= 0 || batchSize > MAX_KEYS_PER_REQUEST) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_KEYS_PER_REQUEST);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of concurrent listing cursors used by
+     * {@link #deletePrefix(String)}; see
+     * {@link ParallelBucketLister#withParallelism(int)}.
+     *
+     * @param listingParallelism
+     *            The number of concurrent listing requests.
+     */
+    public BulkDeleter withListingParallelism(int listingParallelism) {
+        if (listingParallelism <= 0) {
+            throw new IllegalArgumentException("listingParallelism must be positive");
+        }
+        this.listingParallelism = listingParallelism;
+        return this;
+    }
+
+    /**
+     * Sets the listener told about the progress of the deletion after each
+     * delete request.
+     *
+     * @param listener
+     *            The listener, called from the worker threads.
+     */
+    public BulkDeleter withListener(Listener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public AmazonS3 getS3() {
+        return s3;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getListingParallelism() {
+        return listingParallelism;
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Deletes the objects with the given keys. The stream is consumed on the
+     * calling thread.
+     *
+     * @param keys
+     *            The keys of the objects to delete.
+     * @return The outcome of the deletion.
+     */
+    public Result deleteKeys(Stream<String> keys) {
+        return deleteKeyVersions(keys.map(new Function<String, KeyVersion>() {
+            @Override
+            public KeyVersion apply(String key) {
+                return new KeyVersion(key);
+            }
+        }));
+    }
+
+    /**
+     * Deletes the given keys or versions of objects. The stream is consumed on
+     * the calling thread.
+     *
+     * @param keyVersions
+     *            The keys and optional version IDs to delete.
+     * @return The outcome of the deletion.
+     */
+    public Result deleteKeyVersions(Stream<KeyVersion> keyVersions) {
+        return delete(keyVersions.iterator());
+    }
+
+    /**
+     * Deletes the objects whose key begins with the given prefix, listing them
+     * with a {@link ParallelBucketLister}. In a versioned bucket this only adds
+     * delete markers; use {@link #deleteAllVersions(String)} to empty it.
+     *
+     * @param prefix
+     *            The prefix of the keys to delete, or null for the whole
+     *            bucket.
+     * @return The outcome of the deletion.
+     */
+    public Result deletePrefix(String prefix) {
+        Stream<S3ObjectSummary> summaries = ParallelBucketLister.withPrefix(s3, bucketName, prefix)
+                .withParallelism(listingParallelism)
+                .withOrdered(false)
+                .withSkippedSummaryFields(ListingSummaryField.values())
+                .stream();
+        try {
+            return deleteKeys(summaries.map(new Function<S3ObjectSummary, String>() {
+                @Override
+                public String apply(S3ObjectSummary summary) {
+                    return summary.getKey();
+                }
+            }));
+        } finally {
+            summaries.close();
+        }
+    }
+
+    /**
+     * Deletes every version and delete marker of the objects whose key begins
+     * with the given prefix.
+     *
+     * @param prefix
+     *            The prefix of the keys to delete, or null for the whole
+     *            bucket.
+     * @return The outcome of the deletion.
+     */
+    public Result deleteAllVersions(String prefix) {
+        final CloseableIterator<S3VersionSummary> versions = S3Versions.withPrefix(s3, bucketName, prefix)
+                .withBatchSize(MAX_KEYS_PER_REQUEST)
+                .withPrefetch(1)
+                .iterator();
+        try {
+            return delete(new Iterator<KeyVersion>() {
+                @Override
+                public boolean hasNext() {
+                    return versions.hasNext();
+                }
+
+                @Override
+                public KeyVersion next() {
+                    S3VersionSummary version = versions.next();
+                    return new KeyVersion(version.getKey(), version.getVersionId());
+                }
+            });
+        } finally {
+            versions.close();
+        }
+    }
+
+    private Result delete(Iterator<KeyVersion> keys) {
+        Deletion deletion = new Deletion();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+            private final AtomicInteger threadCount = new AtomicInteger(1);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r);
+                thread.setName("s3-bulk-deleter-worker-" + threadCount.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        Semaphore permits = new Semaphore(concurrency);
+        try {
+            List<KeyVersion> batch = new ArrayList<KeyVersion>(batchSize);
+            while (deletion.failure.get() == null && keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == batchSize) {
+                    submit(batch, deletion, executor, permits);
+                    batch = new ArrayList<KeyVersion>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && deletion.failure.get() == null) {
+                submit(batch, deletion, executor, permits);
+            }
+            // Wait for the batches in flight
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Throwable failure = deletion.failure.get();
+        if (failure != null) {
+            throw toClientException(failure);
+        }
+        return deletion.toResult();
+    }
+
+    private void submit(final List<KeyVersion> batch, final Deletion deletion, ExecutorService executor,
+            final Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    deleteBatch(batch, deletion);
+                } catch (Throwable t) {
+                    deletion.failure.compareAndSet(null, t);
+                } finally {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes a batch of keys, deleting the keys that failed with a transient
+     * error again until they succeed or run out of retries.
+     */
+    private void deleteBatch(List<KeyVersion> keys, Deletion deletion) throws InterruptedException {
+        for (int retries = 0; ; retries++) {
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                    .withKeys(keys)
+                    .withQuiet(true);
+            Progress progress = deletion.progress;
+            progress.requestCount.incrementAndGet();
+            try {
+                s3.deleteObjects(request);
+                progress.deletedCount.addAndGet(keys.size());
+                requestCompleted(progress);
+                return;
+            } catch (MultiObjectDeleteException e) {
+                List<KeyVersion> retryableKeys = new ArrayList<KeyVersion>();
+                for (DeleteError error : e.getErrors()) {
+                    if (retries < maxRetries && RETRYABLE_ERROR_CODES.contains(error.getCode())) {
+                        retryableKeys.add(new KeyVersion(error.getKey(), error.getVersionId()));
+                    } else {
+                        deletion.errors.add(error);
+                        progress.errorCount.incrementAndGet();
+                    }
+                }
+                progress.deletedCount.addAndGet(keys.size() - e.getErrors().size());
+                progress.retriedKeyCount.addAndGet(retryableKeys.size());
+                requestCompleted(progress);
+                if (retryableKeys.isEmpty()) {
+                    return;
+                }
+                Thread.sleep(BACKOFF_STRATEGY.delayBeforeNextRetry(request, e, retries));
+                keys = retryableKeys;
+            }
+        }
+    }
+
+    private void requestCompleted(Progress progress) {
+        if (listener != null) {
+            listener.requestCompleted(progress);
+        }
+    }
+
+    private static RuntimeException toClientException(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t instanceof InterruptedException) {
+            return new AbortedException(t);
+        }
+        return new SdkClientException("Unable to delete objects", t);
+    }
+
+    /**
+     * The state of one run of the deleter, shared by its worker threads.
+     */
+    private static final class Deletion {
+        private final Progress progress = new Progress();
+        private final Queue<DeleteError> errors = new ConcurrentLinkedQueue<DeleteError>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        private Result toResult() {
+            return new Result(progress.getDeletedCount(), new ArrayList<DeleteError>(errors),
+                    progress.getRetriedKeyCount(), progress.getRequestCount(), System.nanoTime() - progress.startTime);
+        }
+    }
+
+    /**
+     * Receives the progress of a bulk deletion. Methods are called from the
+     * worker threads, possibly concurrently.
+     */
+    public interface Listener {
+        /**
+         * Called each time a delete request has completed, including the
+         * requests deleting keys again after a transient error.
+         *
+         * @param progress
+         *            The live counters of the deletion.
+         */
+        void requestCompleted(Progress progress);
+    }
+
+    /**
+     * The counters of a bulk deletion while it runs. They are updated by the
+     * worker threads as requests complete, so each read returns the latest
+     * value.
+     */
+    public static final class Progress {
+        private final long startTime = System.nanoTime();
+        private final AtomicLong deletedCount = new AtomicLong();
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicLong retriedKeyCount = new AtomicLong();
+        private final AtomicLong requestCount = new AtomicLong();
+
+        private Progress() {
+        }
+
+        /**
+         * Returns the number of keys deleted so far.
+         */
+        public long getDeletedCount() {
+            return deletedCount.get();
+        }
+
+        /**
+         * Returns the number of keys that could not be deleted so far.
+         */
+        public long getErrorCount() {
+            return errorCount.get();
+        }
+
+        /**
+         * Returns the number of times a key was deleted again after a
+         * transient error so far.
+         */
+        public long getRetriedKeyCount() {
+            return retriedKeyCount.get();
+        }
+
+        /**
+         * Returns the number of delete requests sent so far, including
+         * retries.
+         */
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        /**
+         * Returns the time since the deletion started.
+         */
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of keys deleted per second since the deletion
+         * started.
+         */
+        public double getObjectsPerSecond() {
+            long elapsedNanos = System.nanoTime() - startTime;
+            return elapsedNanos <= 0 ? 0 : getDeletedCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+
+    /**
+     * The outcome of a bulk deletion.
+     */
+    public static final class Result {
+        private final long deletedCount;
+        private final List<DeleteError> errors;
+        private final long retriedKeyCount;
+        private final long requestCount;
+        private final long elapsedNanos;
+
+        private Result(long deletedCount, List<DeleteError> errors, long retriedKeyCount, long requestCount,
+                long elapsedNanos) {
+            this.deletedCount = deletedCount;
+            this.errors = Collections.unmodifiableList(errors);
+            this.retriedKeyCount = retriedKeyCount;
+            this.requestCount = requestCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of keys that were deleted.
+         */
+        public long getDeletedCount() {
+            return deletedCount;
+        }
+
+        /**
+         * Returns the keys that could not be deleted, with the error of their
+         * last attempt.
+         */
+        public List<DeleteError> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the number of times a key was deleted again after a
+         * transient error.
+         */
+        public long getRetriedKeyCount() {
+            return retriedKeyCount;
+        }
+
+        /**
+         * Returns the number of delete requests sent, including retries.
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * Returns the time the deletion took, including listing the keys.
+         */
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of keys deleted per second.
+         */
+        public double getObjectsPerSecond() {
+            return elapsedNanos == 0 ? 0 : deletedCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
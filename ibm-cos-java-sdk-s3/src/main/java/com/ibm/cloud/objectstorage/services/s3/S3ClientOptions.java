@@ -27,6 +27,10 @@ public class S3ClientOptions {
     public static final boolean DEFAULT_CHUNKED_ENCODING_DISABLED = false;
     /** The default setting for use of payload signing */
     public static final boolean DEFAULT_PAYLOAD_SIGNING_ENABLED = false;
+    /** The default setting for computing the PutObject MD5 of files while uploading */
+    public static final boolean DEFAULT_SINGLE_PASS_MD5_ENABLED = false;
+    /** The default setting for streaming PutObject content of unknown length */
+    public static final boolean DEFAULT_UNKNOWN_LENGTH_STREAMING_ENABLED = false;
     /** S3 accelerate is by default not enabled */
     public static final boolean DEFAULT_ACCELERATE_MODE_ENABLED = false;
     /** S3 dualstack endpoint is by default not enabled */
@@ -47,6 +51,8 @@ public class S3ClientOptions {
     private boolean chunkedEncodingDisabled;
     private final boolean accelerateModeEnabled;
     private final boolean payloadSigningEnabled;
+    private final boolean singlePassMd5Enabled;
+    private final boolean unknownLengthStreamingEnabled;
     private final boolean dualstackEnabled;
     private final boolean forceGlobalBucketAccessEnabled;
 //IBM unsupported
@@ -67,6 +73,8 @@ public class S3ClientOptions {
         private boolean chunkedEncodingDisabled = DEFAULT_CHUNKED_ENCODING_DISABLED;
         private boolean accelerateModeEnabled = DEFAULT_ACCELERATE_MODE_ENABLED;
         private boolean payloadSigningEnabled = DEFAULT_PAYLOAD_SIGNING_ENABLED;
+        private boolean singlePassMd5Enabled = DEFAULT_SINGLE_PASS_MD5_ENABLED;
+        private boolean unknownLengthStreamingEnabled = DEFAULT_UNKNOWN_LENGTH_STREAMING_ENABLED;
         private boolean dualstackEnabled = DEFAULT_DUALSTACK_ENABLED;
         private boolean forceGlobalBucketAccessEnabled = DEFAULT_FORCE_GLOBAL_BUCKET_ACCESS_ENABLED;
 //IBM unsupported
@@ -151,6 +159,57 @@ public class S3ClientOptions {
             return this;
         }
 
+        /**
+         * <p>
+         * Configures the client to compute the MD5 of a file uploaded with
+         * PutObject while the file is being sent, instead of reading the file
+         * once up front to send it in the Content-MD5 header.
+         * </p>
+         * <p>
+         * Each file is then read from disk once. The computed MD5 is compared
+         * with the ETag returned by the service, so a corrupted upload is
+         * detected after the object has been stored rather than rejected by
+         * the service. Requests for which the ETag is not the MD5 of the
+         * content, that is uploads asking for SSE-C or SSE-KMS, keep the
+         * up-front Content-MD5.
+         * </p>
+         * <p>
+         * An object encrypted with a key the bucket applies by default, such
+         * as a default SSE-KMS key, has no such ETag either, but this is only
+         * known from the response. An upload of a file to such a bucket is not
+         * validated at all in this mode, and a warning is logged. Leave this
+         * option off for those buckets.
+         * </p>
+         *
+         * @return this Builder instance that can be used for method chaining
+         */
+        public Builder enableSinglePassMd5() {
+            this.singlePassMd5Enabled = true;
+            return this;
+        }
+
+        /**
+         * <p>
+         * Configures the client to stream the content of a PutObject request
+         * whose content length is not set, using HTTP chunked transfer coding,
+         * instead of buffering the whole content in memory to find its length.
+         * </p>
+         * <p>
+         * Memory use is then bounded by the read limit of the request, which
+         * is the most that can be replayed if the request is retried. This
+         * only applies to requests whose payload is not signed, since the
+         * signature of a payload covers its length. The service must accept
+         * chunked transfer coding; multipart uploads are an alternative that
+         * works with any service.
+         * </p>
+         *
+         * @return this Builder instance that can be used for method chaining
+         */
+        public Builder enableUnknownLengthStreaming() {
+            this.unknownLengthStreamingEnabled = true;
+            return this;
+        }
+
         /**
          * <p>
          * Configures the client to disable chunked encoding for all requests.
@@ -247,6 +306,8 @@ public class S3ClientOptions {
         this.chunkedEncodingDisabled = DEFAULT_CHUNKED_ENCODING_DISABLED;
         this.accelerateModeEnabled = DEFAULT_ACCELERATE_MODE_ENABLED;
         this.payloadSigningEnabled = DEFAULT_PAYLOAD_SIGNING_ENABLED;
+        this.singlePassMd5Enabled = DEFAULT_SINGLE_PASS_MD5_ENABLED;
+        this.unknownLengthStreamingEnabled = DEFAULT_UNKNOWN_LENGTH_STREAMING_ENABLED;
         this.dualstackEnabled = DEFAULT_DUALSTACK_ENABLED;
         this.forceGlobalBucketAccessEnabled = DEFAULT_FORCE_GLOBAL_BUCKET_ACCESS_ENABLED;
 //IBM unsupported
@@ -264,6 +325,8 @@ public class S3ClientOptions {
         this.chunkedEncodingDisabled = other.chunkedEncodingDisabled;
         this.accelerateModeEnabled = other.accelerateModeEnabled;
         this.payloadSigningEnabled = other.payloadSigningEnabled;
+        this.singlePassMd5Enabled = other.singlePassMd5Enabled;
+        this.unknownLengthStreamingEnabled = other.unknownLengthStreamingEnabled;
         this.dualstackEnabled = other.dualstackEnabled;
         this.forceGlobalBucketAccessEnabled = other.forceGlobalBucketAccessEnabled;
 //IBM unsupported
@@ -276,6 +339,8 @@ public class S3ClientOptions {
         this.chunkedEncodingDisabled = b.chunkedEncodingDisabled;
         this.accelerateModeEnabled = b.accelerateModeEnabled;
         this.payloadSigningEnabled = b.payloadSigningEnabled;
+        this.singlePassMd5Enabled = b.singlePassMd5Enabled;
+        this.unknownLengthStreamingEnabled = b.unknownLengthStreamingEnabled;
         this.dualstackEnabled = b.dualstackEnabled;
         this.forceGlobalBucketAccessEnabled = b.forceGlobalBucketAccessEnabled;
 //IBM unsupported
@@ -365,6 +430,33 @@ public class S3ClientOptions {
         return payloadSigningEnabled;
     }
 
+    /**
+     * <p>
+     * Returns whether the client computes the MD5 of files uploaded with
+     * PutObject while sending them, instead of reading each file once up
+     * front to send the Content-MD5 header.
+     * </p>
+     *
+     * @return True if the MD5 of uploaded files is computed in a single pass
+     * @see Builder#enableSinglePassMd5()
+     */
+    public boolean isSinglePassMd5Enabled() {
+        return singlePassMd5Enabled;
+    }
+
+    /**
+     * <p>
+     * Returns whether the client streams the content of PutObject requests
+     * whose content length is not set, instead of buffering it in memory.
+     * </p>
+     *
+     * @return True if content of unknown length is streamed
+     * @see Builder#enableUnknownLengthStreaming()
+     */
+    public boolean isUnknownLengthStreamingEnabled() {
+        return unknownLengthStreamingEnabled;
+    }
+
     /**
      * <p>
      * Returns whether the client is configured to use dualstack mode for
@@ -0,0 +1,374 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.ibm.cloud.objectstorage.annotation.NotThreadSafe;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
+import com.ibm.cloud.objectstorage.services.s3.model.SSECustomerKey;
+import com.ibm.cloud.objectstorage.util.IOUtils;
+
+/**
+ * A read only {@link SeekableByteChannel} over an object, for readers that
+ * need random access such as columnar file formats reading a footer and then
+ * column chunks. For example:
+ *
+ * <pre class="brush: java">
+ * S3SeekableByteChannel channel = S3SeekableByteChannel.forObject(s3, &quot;my-bucket&quot;, &quot;data.parquet&quot;)
+ *         .withObjectSize(summary.getSize());
+ * try {
+ *     channel.position(channel.size() - 8);
+ *     channel.read(footerLength);
+ *     ...
+ * } finally {
+ *     channel.close();
+ * }
+ * </pre>
+ * <p>
+ * The object is read in blocks of {@link #withBlockSize(int) a fixed size}
+ * which are kept in a least recently used cache, so reads close to each
+ * other are served by the same request. A read that needs several missing
+ * blocks fetches them with a single ranged GET, and sequential reads fetch a
+ * growing number of blocks ahead of the position. Each GET is read to its
+ * end, so connections are returned to the pool rather than aborted.
+ * <p>
+ * The ETag of the object is recorded by the first request, and later
+ * requests only succeed if the object still has that ETag, so the channel
+ * never mixes data from two versions of an object.
+ * <p>
+ * Use {@link Channels#newInputStream(java.nio.channels.ReadableByteChannel)}
+ * or {@link #newInputStream()} for an {@link InputStream} over the channel.
+ */
+@NotThreadSafe
+public class S3SeekableByteChannel implements SeekableByteChannel {
+
+    /** Default size in bytes of the blocks the object is read in. */
+    public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+
+    /** Default number of blocks kept in the cache. */
+    public static final int DEFAULT_CACHE_BLOCKS = 16;
+
+    /** Default maximum number of blocks fetched ahead of sequential reads. */
+    public static final int DEFAULT_MAX_READ_AHEAD_BLOCKS = 8;
+
+    private final AmazonS3 s3;
+    private final String bucketName;
+    private final String key;
+    private String versionId;
+    private SSECustomerKey sseCustomerKey;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int cacheBlocks = DEFAULT_CACHE_BLOCKS;
+    private int maxReadAheadBlocks = DEFAULT_MAX_READ_AHEAD_BLOCKS;
+
+    private Map<Long, byte[]> cache;
+    private long size = -1;
+    private String eTag;
+    private long position;
+    private long lastReadEnd = -1;
+    private int readAheadBlocks;
+    private int requestCount;
+    private boolean open = true;
+
+    private S3SeekableByteChannel(AmazonS3 s3, String bucketName, String key) {
+        this.s3 = s3;
+        this.bucketName = bucketName;
+        this.key = key;
+    }
+
+    /**
+     * Creates a channel over an object.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @param key
+     *            The object key.
+     * @return A channel positioned at the start of the object.
+     */
+    public static S3SeekableByteChannel forObject(AmazonS3 s3, String bucketName, String key) {
+        return new S3SeekableByteChannel(s3, bucketName, key);
+    }
+
+    /**
+     * Reads the given version of the object.
+     */
+    public S3SeekableByteChannel withVersionId(String versionId) {
+        this.versionId = versionId;
+        return this;
+    }
+
+    /**
+     * Reads an object encrypted with the given customer provided key.
+     */
+    public S3SeekableByteChannel withSSECustomerKey(SSECustomerKey sseCustomerKey) {
+        this.sseCustomerKey = sseCustomerKey;
+        return this;
+    }
+
+    /**
+     * Sets the size of the object when it is already known, for example from
+     * a listing, which saves a HEAD request.
+     */
+    public S3SeekableByteChannel withObjectSize(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Sets the size in bytes of the blocks the object is read and cached in.
+     */
+    public S3SeekableByteChannel withBlockSize(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        assertNoBlocksRead();
+        this.blockSize = blockSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of blocks kept in the cache, which is also the largest
+     * number of blocks fetched by one request.
+     */
+    public S3SeekableByteChannel withCacheBlocks(int cacheBlocks) {
+        if (cacheBlocks < 1) {
+            throw new IllegalArgumentException("cacheBlocks must be at least 1");
+        }
+        assertNoBlocksRead();
+        this.cacheBlocks = cacheBlocks;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of blocks fetched ahead of sequential reads;
+     * zero disables read-ahead.
+     */
+    public S3SeekableByteChannel withMaxReadAheadBlocks(int maxReadAheadBlocks) {
+        if (maxReadAheadBlocks < 0) {
+            throw new IllegalArgumentException("maxReadAheadBlocks must not be negative");
+        }
+        this.maxReadAheadBlocks = maxReadAheadBlocks;
+        return this;
+    }
+
+    /**
+     * Returns an input stream reading from the current position of this
+     * channel. Closing the stream closes the channel.
+     */
+    public InputStream newInputStream() {
+        return Channels.newInputStream(this);
+    }
+
+    /**
+     * Returns the number of GET and HEAD requests made so far.
+     */
+    public int getRequestCount() {
+        return requestCount;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        assertOpen();
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        long objectSize = size();
+        if (position >= objectSize) {
+            return -1;
+        }
+
+        if (position == lastReadEnd) {
+            readAheadBlocks = Math.min(maxReadAheadBlocks, Math.max(1, readAheadBlocks * 2));
+        } else {
+            readAheadBlocks = 0;
+        }
+        long end = Math.min(objectSize, position + dst.remaining());
+        long lastBlock = Math.min(blockIndex(end - 1) + readAheadBlocks, blockIndex(objectSize - 1));
+
+        int read = 0;
+        while (position < end) {
+            long index = blockIndex(position);
+            byte[] block = cache().get(index);
+            if (block == null) {
+                block = fetch(index, lastBlock);
+            }
+            int offset = (int) (position - index * blockSize);
+            int length = (int) Math.min(block.length - offset, end - position);
+            dst.put(block, offset, length);
+            position += length;
+            read += length;
+        }
+        lastReadEnd = position;
+        return read;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() throws IOException {
+        assertOpen();
+        return position;
+    }
+
+    @Override
+    public S3SeekableByteChannel position(long newPosition) throws IOException {
+        assertOpen();
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("position must not be negative");
+        }
+        position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() throws IOException {
+        assertOpen();
+        if (size < 0) {
+            GetObjectMetadataRequest request = new GetObjectMetadataRequest(bucketName, key, versionId)
+                    .withSSECustomerKey(sseCustomerKey);
+            requestCount++;
+            ObjectMetadata metadata = s3.getObjectMetadata(request);
+            size = metadata.getContentLength();
+            if (eTag == null) {
+                eTag = metadata.getETag();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        cache = null;
+    }
+
+    /**
+     * Fetches the block with the given index with a single request, together
+     * with the blocks that follow it up to the given last block, as long as
+     * they are not already cached. A single cached block between missing
+     * blocks is fetched again rather than splitting the request.
+     */
+    private byte[] fetch(long first, long lastBlock) throws IOException {
+        long last = first;
+        for (long i = first + 1; i <= lastBlock && i - first < cacheBlocks; i++) {
+            if (!cache().containsKey(i)) {
+                last = i;
+            } else if (i + 1 > lastBlock || cache().containsKey(i + 1)) {
+                break;
+            }
+        }
+
+        long start = first * blockSize;
+        long end = Math.min(size, (last + 1) * blockSize) - 1;
+        GetObjectRequest request = new GetObjectRequest(bucketName, key, versionId)
+                .withRange(start, end)
+                .withSSECustomerKey(sseCustomerKey);
+        if (eTag != null) {
+            request.setMatchingETagConstraints(Collections.singletonList(eTag));
+        }
+        requestCount++;
+        S3Object object = s3.getObject(request);
+        if (object == null) {
+            throw new IOException("Object s3://" + bucketName + "/" + key + " changed while it was being read");
+        }
+        if (eTag == null) {
+            eTag = object.getObjectMetadata().getETag();
+        }
+
+        InputStream in = object.getObjectContent();
+        try {
+            byte[] firstBlock = null;
+            for (long index = first; index <= last; index++) {
+                byte[] block = new byte[(int) (Math.min(size, (index + 1) * blockSize) - index * blockSize)];
+                readFully(in, block);
+                cache().put(index, block);
+                if (index == first) {
+                    firstBlock = block;
+                }
+            }
+            return firstBlock;
+        } finally {
+            IOUtils.closeQuietly(in, null);
+        }
+    }
+
+    private static void readFully(InputStream in, byte[] block) throws IOException {
+        int offset = 0;
+        while (offset < block.length) {
+            int read = in.read(block, offset, block.length - offset);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of object content");
+            }
+            offset += read;
+        }
+    }
+
+    private long blockIndex(long offset) {
+        return offset / blockSize;
+    }
+
+    private Map<Long, byte[]> cache() {
+        if (cache == null) {
+            cache = new LinkedHashMap<Long, byte[]>(cacheBlocks * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                    return size() > cacheBlocks;
+                }
+            };
+        }
+        return cache;
+    }
+
+    private void assertNoBlocksRead() {
+        if (cache != null) {
+            throw new IllegalStateException("The channel has already been read from");
+        }
+    }
+
+    private void assertOpen() throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+    }
+}
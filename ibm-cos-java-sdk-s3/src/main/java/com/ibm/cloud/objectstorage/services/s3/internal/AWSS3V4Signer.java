@@ -22,6 +22,7 @@ import com.ibm.cloud.objectstorage.SignableRequest;
 import com.ibm.cloud.objectstorage.auth.AWS4Signer;
 import com.ibm.cloud.objectstorage.auth.AwsChunkedEncodingInputStream;
 import com.ibm.cloud.objectstorage.auth.internal.AWS4SignerRequestParams;
+import com.ibm.cloud.objectstorage.http.ByteArrayContent;
 import com.ibm.cloud.objectstorage.services.s3.Headers;
 import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.UploadPartRequest;
@@ -115,7 +116,10 @@ public class AWSS3V4Signer extends AWS4Signer {
                                 .calculateStreamContentLength(originalContentLength)));
                 return CONTENT_SHA_256;
             } else {
-                return super.calculateContentHash(request);
+                // Content sent from a byte array is hashed once for all the attempts
+                ByteArrayContent arrayContent = request instanceof Request
+                        ? ByteArrayContent.of((Request<?>) request) : null;
+                return arrayContent != null ? arrayContent.getContentSha256() : super.calculateContentHash(request);
             }
         }
 
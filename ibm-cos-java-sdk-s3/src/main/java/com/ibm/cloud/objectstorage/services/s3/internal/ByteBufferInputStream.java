@@ -0,0 +1,119 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.ibm.cloud.objectstorage.annotation.NotThreadSafe;
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.internal.SdkInputStream;
+
+/**
+ * Input stream over the remaining bytes of a buffer, such as a memory mapped
+ * region of a file. The stream supports an unlimited mark and reset, so it can
+ * be read again from the start when a request is retried, and it leaves the
+ * position of the given buffer unchanged.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public class ByteBufferInputStream extends SdkInputStream {
+    private final ByteBuffer buffer;
+    private final int start;
+    private int markPosition;
+
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("buffer cannot be null");
+        }
+        this.buffer = buffer.duplicate();
+        this.start = this.buffer.position();
+        this.markPosition = start;
+    }
+
+    /**
+     * Returns a read-only view of all the bytes of the stream, independent of
+     * how much of the stream has been read, for example to compute a digest
+     * without copying the bytes into an array.
+     */
+    public ByteBuffer getContent() {
+        ByteBuffer content = buffer.asReadOnlyBuffer();
+        content.position(start);
+        return content;
+    }
+
+    @Override
+    public int read() {
+        abortIfNeeded();
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        abortIfNeeded();
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int read = Math.min(len, buffer.remaining());
+        buffer.get(b, off, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) {
+        abortIfNeeded();
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * Marks the current position; the read limit is ignored since the whole
+     * buffer stays available.
+     */
+    @Override
+    public void mark(int readlimit) {
+        abortIfNeeded();
+        markPosition = buffer.position();
+    }
+
+    @Override
+    public void reset() {
+        abortIfNeeded();
+        buffer.position(markPosition);
+    }
+
+    @Override
+    protected InputStream getWrappedInputStream() {
+        return null;
+    }
+}
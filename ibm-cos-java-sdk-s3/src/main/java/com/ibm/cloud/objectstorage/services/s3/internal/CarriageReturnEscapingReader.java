@@ -0,0 +1,154 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+
+/**
+ * Reader that replaces every carriage return (\r) character read from the
+ * wrapped reader with the explicit XML character entity <code>&amp;#013;</code>.
+ * This prevents the SAX parser from normalizing 0x0D characters in object keys
+ * to 0x0A, without first buffering the whole document in memory.
+ */
+@SdkInternalApi
+public class CarriageReturnEscapingReader extends FilterReader {
+
+    private static final char CARRIAGE_RETURN = '\r';
+
+    private static final char[] ESCAPED_CARRIAGE_RETURN = "&#013;".toCharArray();
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final char[] buffer;
+
+    /** Position of the next unread character in {@link #buffer}. */
+    private int position;
+
+    /** Number of valid characters in {@link #buffer}. */
+    private int limit;
+
+    /** Index of the next character of a partially written escape sequence. */
+    private int escapeIndex = ESCAPED_CARRIAGE_RETURN.length;
+
+    public CarriageReturnEscapingReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public CarriageReturnEscapingReader(Reader in, int bufferSize) {
+        super(in);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        char[] single = new char[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0];
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        int written = 0;
+        while (written < len) {
+            if (escapeIndex < ESCAPED_CARRIAGE_RETURN.length) {
+                int count = Math.min(ESCAPED_CARRIAGE_RETURN.length - escapeIndex, len - written);
+                System.arraycopy(ESCAPED_CARRIAGE_RETURN, escapeIndex, cbuf, off + written, count);
+                escapeIndex += count;
+                written += count;
+                continue;
+            }
+
+            if (position == limit) {
+                // Only block on the underlying reader if nothing has been returned yet.
+                if (written > 0 && !in.ready()) {
+                    break;
+                }
+                int read = in.read(buffer, 0, buffer.length);
+                if (read == -1) {
+                    break;
+                }
+                position = 0;
+                limit = read;
+            }
+
+            // Copy the run of characters up to the next carriage return in one go.
+            int end = Math.min(limit, position + (len - written));
+            int runEnd = position;
+            while (runEnd < end && buffer[runEnd] != CARRIAGE_RETURN) {
+                runEnd++;
+            }
+            int count = runEnd - position;
+            System.arraycopy(buffer, position, cbuf, off + written, count);
+            written += count;
+            position = runEnd;
+
+            if (runEnd < end) {
+                // Stopped at a carriage return; consume it and emit its escape sequence instead.
+                position++;
+                escapeIndex = 0;
+            }
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n < 0L) {
+            throw new IllegalArgumentException("skip value is negative");
+        }
+        char[] skipBuffer = new char[(int) Math.min(n, DEFAULT_BUFFER_SIZE)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(skipBuffer, 0, (int) Math.min(remaining, skipBuffer.length));
+            if (read == -1) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return escapeIndex < ESCAPED_CARRIAGE_RETURN.length || position < limit || in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+}
@@ -0,0 +1,206 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal;
+
+import static com.ibm.cloud.objectstorage.services.s3.internal.Constants.MB;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+
+/**
+ * Pool of reusable direct buffers used to write downloaded object content to
+ * files.
+ * <p>
+ * Data read from the object content is gathered into a direct buffer and only
+ * written to the channel once the buffer is full, so a download issues one
+ * write per buffer rather than one per network read, and the channel does not
+ * have to copy heap arrays into a temporary direct buffer of its own. Pools
+ * are shared per buffer size, and keep at most {@link #MAX_IDLE_BYTES} worth
+ * of idle buffers, along with one idle heap array per idle buffer for the
+ * content to be read into. At most {@link #MAX_SHARED_POOLS} sizes are shared
+ * at a time; the pool of another size is evicted to share a new one, and its
+ * buffers are freed once its current users are done with it.
+ * </p>
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class DirectBufferPool {
+
+    /** Default size of the buffers, in bytes. */
+    public static final int DEFAULT_BUFFER_SIZE = 2 * MB;
+
+    /** Maximum number of bytes held by the idle buffers of one pool. */
+    static final int MAX_IDLE_BYTES = 64 * MB;
+
+    /** Maximum number of buffer sizes whose pools are shared. */
+    static final int MAX_SHARED_POOLS = 4;
+
+    /** Size of the heap array the object content is read into. */
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private static final ConcurrentMap<Integer, DirectBufferPool> POOLS =
+            new ConcurrentHashMap<Integer, DirectBufferPool>();
+
+    private final int bufferSize;
+    private final int maxIdleBuffers;
+    private final Queue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Queue<byte[]> idleChunks = new ConcurrentLinkedQueue<byte[]>();
+    private final AtomicInteger idleChunkCount = new AtomicInteger();
+
+    DirectBufferPool(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.maxIdleBuffers = Math.max(1, MAX_IDLE_BYTES / bufferSize);
+    }
+
+    /**
+     * Returns the shared pool of buffers of the default size.
+     */
+    public static DirectBufferPool getDefault() {
+        return forBufferSize(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns the shared pool of buffers of the given size.
+     */
+    public static DirectBufferPool forBufferSize(int bufferSize) {
+        DirectBufferPool pool = POOLS.get(bufferSize);
+        if (pool == null) {
+            DirectBufferPool newPool = new DirectBufferPool(bufferSize);
+            evictPoolsBeyond(MAX_SHARED_POOLS - 1);
+            pool = POOLS.putIfAbsent(bufferSize, newPool);
+            if (pool == null) {
+                pool = newPool;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Evicts shared pools other than the default one until at most the given
+     * number are left. Concurrent callers may briefly leave a few more.
+     */
+    private static void evictPoolsBeyond(int maxPools) {
+        Iterator<Integer> sizes = POOLS.keySet().iterator();
+        while (POOLS.size() > maxPools && sizes.hasNext()) {
+            if (sizes.next() != DEFAULT_BUFFER_SIZE) {
+                sizes.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shared pools. Used for testing purpose only.
+     */
+    static int sharedPoolCount() {
+        return POOLS.size();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns a cleared buffer, reusing an idle one when available.
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = idleBuffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        idleCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire()} to the pool. The buffer
+     * must not be used afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdleBuffers) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idleBuffers.offer(buffer);
+    }
+
+    /**
+     * Copies the remaining content of the input stream to the channel through
+     * a pooled buffer. Neither the stream nor the channel is closed.
+     *
+     * @return The number of bytes copied.
+     */
+    public long copy(InputStream in, WritableByteChannel out) throws IOException {
+        ByteBuffer buffer = acquire();
+        byte[] chunk = acquireChunk();
+        try {
+            long count = 0;
+            int bytesRead;
+            while ((bytesRead = in.read(chunk, 0, Math.min(chunk.length, buffer.remaining()))) > -1) {
+                buffer.put(chunk, 0, bytesRead);
+                count += bytesRead;
+                if (!buffer.hasRemaining()) {
+                    drain(buffer, out);
+                }
+            }
+            drain(buffer, out);
+            return count;
+        } finally {
+            releaseChunk(chunk);
+            release(buffer);
+        }
+    }
+
+    private byte[] acquireChunk() {
+        byte[] chunk = idleChunks.poll();
+        if (chunk == null) {
+            return new byte[Math.min(READ_CHUNK_SIZE, bufferSize)];
+        }
+        idleChunkCount.decrementAndGet();
+        return chunk;
+    }
+
+    private void releaseChunk(byte[] chunk) {
+        if (idleChunkCount.incrementAndGet() > maxIdleBuffers) {
+            idleChunkCount.decrementAndGet();
+            return;
+        }
+        idleChunks.offer(chunk);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
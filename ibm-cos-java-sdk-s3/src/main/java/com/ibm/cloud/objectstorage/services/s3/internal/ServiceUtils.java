@@ -17,6 +17,7 @@
  */
 package com.ibm.cloud.objectstorage.services.s3.internal;
 
+import com.ibm.cloud.objectstorage.AbortedException;
 import com.ibm.cloud.objectstorage.Request;
 import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
@@ -37,15 +38,14 @@ import com.ibm.cloud.objectstorage.util.ValidationUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.SocketException;
 import java.net.URL;
+import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
 import java.util.Arrays;
 import java.util.Date;
@@ -284,6 +284,20 @@ public class ServiceUtils {
         final File dstfile, boolean performIntegrityCheck,
         final boolean appendData,
         final long expectedFileLength)
+    {
+        downloadToFile(s3Object, dstfile, performIntegrityCheck, appendData, expectedFileLength,
+                DirectBufferPool.getDefault());
+    }
+
+    /**
+     * Same as {@link #downloadToFile(S3Object, File, boolean, boolean, long)}
+     * but writes the object content through a buffer of the given pool.
+     */
+    public static void downloadToFile(S3Object s3Object,
+        final File dstfile, boolean performIntegrityCheck,
+        final boolean appendData,
+        final long expectedFileLength,
+        final DirectBufferPool bufferPool)
     {
         createParentDirectoryIfNecessary(dstfile);
 
@@ -291,7 +305,7 @@ public class ServiceUtils {
             throw new FileLockException("Fail to lock " + dstfile
                     + " for appendData=" + appendData);
         }
-        OutputStream outputStream = null;
+        FileOutputStream outputStream = null;
         try {
             final long actualLen = dstfile.length();
             if (appendData && actualLen != expectedFileLength) {
@@ -301,13 +315,14 @@ public class ServiceUtils {
                             + expectedFileLength + " but actual length is "
                             + actualLen + " for file " + dstfile);
             }
-            outputStream = new BufferedOutputStream(new FileOutputStream(
-                    dstfile, appendData));
-            byte[] buffer = new byte[1024*10];
-            int bytesRead;
-            while ((bytesRead = s3Object.getObjectContent().read(buffer)) > -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
+            outputStream = new FileOutputStream(dstfile, appendData);
+            bufferPool.copy(s3Object.getObjectContent(), outputStream.getChannel());
+        } catch (ClosedByInterruptException e) {
+            // The file channel was closed because the thread was interrupted,
+            // for example by canceling the transfer
+            s3Object.getObjectContent().abort();
+            Thread.currentThread().interrupt();
+            throw new AbortedException(e);
         } catch (IOException e) {
             s3Object.getObjectContent().abort();
             throw new SdkClientException(
@@ -0,0 +1,298 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal.crypto.v1;
+
+import static com.ibm.cloud.objectstorage.util.BinaryUtils.copyAllBytesFrom;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+import com.ibm.cloud.objectstorage.services.kms.AWSKMS;
+import com.ibm.cloud.objectstorage.services.kms.AbstractAWSKMS;
+import com.ibm.cloud.objectstorage.services.kms.model.DecryptRequest;
+import com.ibm.cloud.objectstorage.services.kms.model.DecryptResult;
+import com.ibm.cloud.objectstorage.services.kms.model.EncryptRequest;
+import com.ibm.cloud.objectstorage.services.kms.model.EncryptResult;
+import com.ibm.cloud.objectstorage.services.kms.model.GenerateDataKeyRequest;
+import com.ibm.cloud.objectstorage.services.kms.model.GenerateDataKeyResult;
+import com.ibm.cloud.objectstorage.services.s3.model.DataKeyCacheConfiguration;
+
+/**
+ * KMS client used by the S3 crypto modules that caches generated data keys
+ * and decrypted content encrypting keys in front of the real KMS client.
+ * <p>
+ * A data key is reused by {@link #generateDataKey(GenerateDataKeyRequest, long)}
+ * for requests with the same key id, key spec and encryption context until it
+ * reaches the configured age, object count or byte count. A decrypted key is
+ * only returned for the same encrypted key blob and encryption context it was
+ * generated or decrypted with.
+ * </p>
+ */
+@ThreadSafe
+public class CachingKMSClient extends AbstractAWSKMS {
+
+    private final AWSKMS kms;
+    private final long maxAgeMillis;
+    private final long maxObjectsPerDataKey;
+    private final long maxBytesPerDataKey;
+
+    private final Map<CacheKey, DataKey> dataKeys;
+    private final Map<CacheKey, DecryptedKey> decryptedKeys;
+
+    private final AtomicLong dataKeyHitCount = new AtomicLong();
+    private final AtomicLong dataKeyMissCount = new AtomicLong();
+    private final AtomicLong decryptHitCount = new AtomicLong();
+    private final AtomicLong decryptMissCount = new AtomicLong();
+
+    public CachingKMSClient(AWSKMS kms, DataKeyCacheConfiguration config) {
+        if (kms == null) {
+            throw new IllegalArgumentException("kms must not be null");
+        }
+        this.kms = kms;
+        this.maxAgeMillis = config.getMaxAgeMillis();
+        this.maxObjectsPerDataKey = config.getMaxObjectsPerDataKey();
+        this.maxBytesPerDataKey = config.getMaxBytesPerDataKey();
+        this.dataKeys = newLruMap(config.getMaxEntries());
+        this.decryptedKeys = newLruMap(config.getMaxEntries());
+    }
+
+    private static <K, V> Map<K, V> newLruMap(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Always generates a new data key, as the length of the data it will
+     * encrypt is unknown.
+     */
+    @Override
+    public GenerateDataKeyResult generateDataKey(GenerateDataKeyRequest request) {
+        return generateDataKey(request, -1);
+    }
+
+    /**
+     * Returns a data key to encrypt an object, reusing a cached key when it is
+     * still within its limits.
+     *
+     * @param request
+     *            The request to generate a new data key.
+     * @param plaintextLength
+     *            The length of the object to encrypt, or -1 if unknown.
+     */
+    public GenerateDataKeyResult generateDataKey(GenerateDataKeyRequest request, long plaintextLength) {
+        boolean cacheable = plaintextLength >= 0
+                ? plaintextLength <= maxBytesPerDataKey
+                : maxBytesPerDataKey == Long.MAX_VALUE;
+        if (!cacheable) {
+            dataKeyMissCount.incrementAndGet();
+            return newDataKey(request).newResult();
+        }
+
+        long now = System.currentTimeMillis();
+        long bytes = Math.max(plaintextLength, 0);
+        CacheKey cacheKey = new CacheKey(request.getKeyId(), request.getKeySpec() + "/" + request.getNumberOfBytes(),
+                null, request.getEncryptionContext());
+        DataKey dataKey = dataKeys.get(cacheKey);
+        if (dataKey != null && dataKey.reserve(now, bytes)) {
+            dataKeyHitCount.incrementAndGet();
+            return dataKey.newResult();
+        }
+
+        dataKeyMissCount.incrementAndGet();
+        dataKey = newDataKey(request);
+        dataKey.reserve(now, bytes);
+        dataKeys.put(cacheKey, dataKey);
+        return dataKey.newResult();
+    }
+
+    private DataKey newDataKey(GenerateDataKeyRequest request) {
+        GenerateDataKeyResult result = kms.generateDataKey(request);
+        DataKey dataKey = new DataKey(result, System.currentTimeMillis());
+        // Objects encrypted with the new key are readable without a KMS call
+        decryptedKeys.put(new CacheKey(null, null, dataKey.ciphertextBlob, request.getEncryptionContext()),
+                new DecryptedKey(result.getKeyId(), dataKey.plaintext, dataKey.createdMillis));
+        return dataKey;
+    }
+
+    @Override
+    public DecryptResult decrypt(DecryptRequest request) {
+        CacheKey cacheKey = new CacheKey(null, null, copyAllBytesFrom(request.getCiphertextBlob()),
+                request.getEncryptionContext());
+        DecryptedKey decryptedKey = decryptedKeys.get(cacheKey);
+        if (decryptedKey != null && System.currentTimeMillis() - decryptedKey.createdMillis < maxAgeMillis) {
+            decryptHitCount.incrementAndGet();
+            return decryptedKey.newResult();
+        }
+
+        decryptMissCount.incrementAndGet();
+        DecryptResult result = kms.decrypt(request);
+        decryptedKey = new DecryptedKey(result.getKeyId(), copyAllBytesFrom(result.getPlaintext()),
+                System.currentTimeMillis());
+        decryptedKeys.put(cacheKey, decryptedKey);
+        return decryptedKey.newResult();
+    }
+
+    @Override
+    public EncryptResult encrypt(EncryptRequest request) {
+        return kms.encrypt(request);
+    }
+
+    @Override
+    public void shutdown() {
+        kms.shutdown();
+    }
+
+    /**
+     * Returns the number of data keys served from the cache.
+     */
+    public long getDataKeyHitCount() {
+        return dataKeyHitCount.get();
+    }
+
+    /**
+     * Returns the number of data keys generated by KMS.
+     */
+    public long getDataKeyMissCount() {
+        return dataKeyMissCount.get();
+    }
+
+    /**
+     * Returns the number of decrypted keys served from the cache.
+     */
+    public long getDecryptHitCount() {
+        return decryptHitCount.get();
+    }
+
+    /**
+     * Returns the number of keys decrypted by KMS.
+     */
+    public long getDecryptMissCount() {
+        return decryptMissCount.get();
+    }
+
+    /**
+     * Data key generated by KMS along with its usage.
+     */
+    private final class DataKey {
+        private final String keyId;
+        private final byte[] plaintext;
+        private final byte[] ciphertextBlob;
+        private final long createdMillis;
+        private long objectCount;
+        private long byteCount;
+
+        private DataKey(GenerateDataKeyResult result, long createdMillis) {
+            this.keyId = result.getKeyId();
+            this.plaintext = copyAllBytesFrom(result.getPlaintext());
+            this.ciphertextBlob = copyAllBytesFrom(result.getCiphertextBlob());
+            this.createdMillis = createdMillis;
+        }
+
+        /**
+         * Accounts for one more object of the given length if the key is still
+         * within its limits.
+         */
+        private synchronized boolean reserve(long now, long bytes) {
+            if (now - createdMillis >= maxAgeMillis
+                    || objectCount >= maxObjectsPerDataKey
+                    || bytes > maxBytesPerDataKey - byteCount) {
+                return false;
+            }
+            objectCount++;
+            byteCount += bytes;
+            return true;
+        }
+
+        private GenerateDataKeyResult newResult() {
+            return new GenerateDataKeyResult()
+                    .withKeyId(keyId)
+                    .withPlaintext(ByteBuffer.wrap(plaintext.clone()))
+                    .withCiphertextBlob(ByteBuffer.wrap(ciphertextBlob.clone()));
+        }
+    }
+
+    private static final class DecryptedKey {
+        private final String keyId;
+        private final byte[] plaintext;
+        private final long createdMillis;
+
+        private DecryptedKey(String keyId, byte[] plaintext, long createdMillis) {
+            this.keyId = keyId;
+            this.plaintext = plaintext;
+            this.createdMillis = createdMillis;
+        }
+
+        private DecryptResult newResult() {
+            return new DecryptResult()
+                    .withKeyId(keyId)
+                    .withPlaintext(ByteBuffer.wrap(plaintext.clone()));
+        }
+    }
+
+    private static final class CacheKey {
+        private final String keyId;
+        private final String keySpec;
+        private final byte[] ciphertextBlob;
+        private final Map<String, String> encryptionContext;
+
+        private CacheKey(String keyId, String keySpec, byte[] ciphertextBlob,
+                Map<String, String> encryptionContext) {
+            this.keyId = keyId;
+            this.keySpec = keySpec;
+            this.ciphertextBlob = ciphertextBlob;
+            this.encryptionContext = encryptionContext == null
+                    ? Collections.<String, String>emptyMap()
+                    : new HashMap<String, String>(encryptionContext);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return equal(keyId, that.keyId)
+                    && equal(keySpec, that.keySpec)
+                    && Arrays.equals(ciphertextBlob, that.ciphertextBlob)
+                    && encryptionContext.equals(that.encryptionContext);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = keyId == null ? 0 : keyId.hashCode();
+            result = 31 * result + (keySpec == null ? 0 : keySpec.hashCode());
+            result = 31 * result + Arrays.hashCode(ciphertextBlob);
+            result = 31 * result + encryptionContext.hashCode();
+            return result;
+        }
+
+        private static boolean equal(Object a, Object b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
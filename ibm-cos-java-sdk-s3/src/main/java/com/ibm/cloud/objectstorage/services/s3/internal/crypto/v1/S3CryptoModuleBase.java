@@ -533,7 +533,9 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
                 .withGeneralProgressListener(req.getGeneralProgressListener())
                 .withRequestMetricCollector(req.getRequestMetricCollector())
             ;
-            GenerateDataKeyResult keyGenRes = kms.generateDataKey(keyGenReq);
+            GenerateDataKeyResult keyGenRes = kms instanceof CachingKMSClient
+                ? ((CachingKMSClient) kms).generateDataKey(keyGenReq, plaintextLength(req))
+                : kms.generateDataKey(keyGenReq);
             final SecretKey cek =
                 new SecretKeySpec(copyAllBytesFrom(keyGenRes.getPlaintext()),
                                   contentCryptoScheme.getKeyGeneratorAlgorithm());
@@ -679,6 +681,19 @@ public abstract class S3CryptoModuleBase<T extends MultipartUploadCryptoContext>
         return -1;
     }
 
+    /**
+     * Returns the plaintext length of the object encrypted for the given
+     * request, or -1 if it is not known up front as for multipart uploads.
+     */
+    private long plaintextLength(AmazonWebServiceRequest req) {
+        if (!(req instanceof AbstractPutObjectRequest)) {
+            return -1;
+        }
+        AbstractPutObjectRequest putRequest = (AbstractPutObjectRequest) req;
+        ObjectMetadata metadata = putRequest.getMetadata();
+        return plaintextLength(putRequest, metadata == null ? new ObjectMetadata() : metadata);
+    }
+
     public final S3CryptoScheme getS3CryptoScheme() {
         return cryptoScheme;
     }
@@ -0,0 +1,33 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Iterator over a listing that can be closed when it is abandoned before its
+ * end. Closing stops the pages fetched in the background with
+ * {@link S3Objects#withPrefetch(int)} or {@link S3Versions#withPrefetch(int)}
+ * and drops the pages already buffered; the iterator then has no more
+ * elements. Closing an iterator that is exhausted or that does not prefetch
+ * has no other effect.
+ *
+ * @param <T>
+ *            The type of the elements of the listing.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+
+    @Override
+    void close();
+}
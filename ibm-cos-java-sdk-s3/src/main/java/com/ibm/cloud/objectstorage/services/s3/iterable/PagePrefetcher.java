@@ -0,0 +1,205 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+import com.ibm.cloud.objectstorage.SdkClientException;
+
+/**
+ * Fetches the pages of a listing ahead of the consumer. Each page depends on
+ * the marker of the previous one, so at most one request is in flight; it is
+ * started as soon as a page is handed out and fewer than <code>depth</code>
+ * pages are buffered. {@link #close()} stops fetching and drops the buffered
+ * pages; a request in flight when it is closed still completes, but its page
+ * is discarded and no further request is started.
+ */
+final class PagePrefetcher<P> {
+
+    /**
+     * Source of the pages of one listing.
+     */
+    interface PageSource<P> {
+        P firstPage();
+
+        P nextPage(P previous);
+
+        boolean isTruncated(P page);
+    }
+
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger threadCount = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setName("s3-listing-prefetch-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final PageSource<P> source;
+    private final int depth;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pageArrived = lock.newCondition();
+
+    private final Queue<P> buffered = new ArrayDeque<P>();
+    private P lastFetched;
+    private boolean started;
+    private boolean fetching;
+    private boolean exhausted;
+    private boolean closed;
+    private Throwable error;
+
+    PagePrefetcher(PageSource<P> source, int depth) {
+        this(source, depth, DEFAULT_EXECUTOR);
+    }
+
+    PagePrefetcher(PageSource<P> source, int depth, Executor executor) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        this.source = source;
+        this.depth = depth;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the next page, waiting for it if it has not arrived yet, or null
+     * once the last page has been returned.
+     *
+     * @throws AbortedException
+     *             If the prefetcher is closed.
+     */
+    P nextPage() {
+        lock.lock();
+        try {
+            if (!started) {
+                started = true;
+                startFetch();
+            }
+            while (buffered.isEmpty() && !exhausted && error == null && !closed) {
+                try {
+                    pageArrived.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AbortedException(e);
+                }
+            }
+            if (closed) {
+                throw new AbortedException("The listing was closed");
+            }
+            if (!buffered.isEmpty()) {
+                P page = buffered.poll();
+                startFetch();
+                return page;
+            }
+            if (error != null) {
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                }
+                if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                throw new SdkClientException("Unable to fetch the next page of the listing", error);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops fetching pages and drops the pages already buffered. A consumer
+     * waiting in {@link #nextPage()} is woken up with an
+     * {@link AbortedException}.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            buffered.clear();
+            lastFetched = null;
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts fetching the page after the last fetched one, unless a fetch is
+     * already running or the buffer is full. Must be called with the lock held.
+     */
+    private void startFetch() {
+        if (fetching || exhausted || closed || error != null || buffered.size() >= depth) {
+            return;
+        }
+        fetching = true;
+        final P previous = lastFetched;
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    fetch(previous);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            fetching = false;
+            error = e;
+        }
+    }
+
+    private void fetch(P previous) {
+        P page = null;
+        Throwable failure = null;
+        try {
+            page = previous == null ? source.firstPage() : source.nextPage(previous);
+        } catch (Throwable t) {
+            failure = t;
+        }
+
+        lock.lock();
+        try {
+            fetching = false;
+            if (closed) {
+                return;
+            }
+            if (failure != null) {
+                error = failure;
+            } else {
+                lastFetched = page;
+                buffered.add(page);
+                if (!source.isTruncated(page)) {
+                    exhausted = true;
+                }
+                startFetch();
+            }
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
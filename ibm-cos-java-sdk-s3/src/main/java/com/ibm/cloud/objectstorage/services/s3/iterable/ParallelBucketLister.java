@@ -0,0 +1,598 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Request;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Result;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+
+/**
+ * Lists the objects of a bucket with several concurrent
+ * {@link AmazonS3#listObjectsV2(ListObjectsV2Request)} cursors. For example:
+ *
+ * <pre class="brush: java">
+ * try (Stream&lt;S3ObjectSummary&gt; summaries = ParallelBucketLister.withPrefix(s3, &quot;my-bucket&quot;, &quot;logs/&quot;)
+ *         .withParallelism(16).stream()) {
+ *     summaries.forEach(summary -&gt; System.out.println(summary.getKey()));
+ * }
+ * </pre>
+ * <p>
+ * The keyspace is split into contiguous ranges before listing starts. The split
+ * points are the common prefixes returned by a single delimiter listing, topped
+ * up with the first key found after evenly spaced characters when the bucket has
+ * too few prefixes. Each range is then listed with <code>StartAfter</code> on a
+ * separate thread.
+ * </p>
+ * <p>
+ * By default the summaries are returned in key order, as with {@link S3Objects}.
+ * Unordered results are returned as soon as any cursor has a page available.
+ * Each cursor buffers a bounded number of pages and waits for the consumer when
+ * the buffer is full, so a slow consumer does not cause the whole listing to be
+ * held in memory.
+ * </p>
+ * <p>
+ * The returned stream owns worker threads until it is exhausted or closed;
+ * close it when it is abandoned early.
+ * </p>
+ */
+public class ParallelBucketLister {
+
+    private static final int DEFAULT_PARALLELISM = 10;
+
+    private static final int DEFAULT_MAX_BUFFERED_PAGES = 2;
+
+    /** Number of key ranges created per cursor, to even out uneven ranges. */
+    private static final int RANGES_PER_CURSOR = 4;
+
+    /** Characters probed for split points when the bucket has too few common prefixes. */
+    private static final char FIRST_PROBE_CHAR = '!';
+
+    private static final char LAST_PROBE_CHAR = '~';
+
+    private static final Comparator<String> KEY_ORDER = new Comparator<String>() {
+        @Override
+        public int compare(String a, String b) {
+            return compareKeys(a, b);
+        }
+    };
+
+    private final AmazonS3 s3;
+    private final String bucketName;
+    private String prefix = null;
+    private String delimiter = "/";
+    private Integer batchSize = null;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int maxBufferedPages = DEFAULT_MAX_BUFFERED_PAGES;
+    private boolean ordered = true;
+    private Set<ListingSummaryField> skippedSummaryFields = EnumSet.noneOf(ListingSummaryField.class);
+
+    private ParallelBucketLister(AmazonS3 s3, String bucketName) {
+        if (s3 == null) {
+            throw new IllegalArgumentException("The S3 client must be specified");
+        }
+        if (bucketName == null) {
+            throw new IllegalArgumentException("The bucket name must be specified");
+        }
+        this.s3 = s3;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Constructs a lister that covers all the objects in a bucket.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @return A lister for the bucket.
+     */
+    public static ParallelBucketLister inBucket(AmazonS3 s3, String bucketName) {
+        return new ParallelBucketLister(s3, bucketName);
+    }
+
+    /**
+     * Constructs a lister that covers the objects in a bucket where the key
+     * begins with the given prefix.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @param prefix
+     *            The prefix.
+     * @return A lister for the objects under the prefix.
+     */
+    public static ParallelBucketLister withPrefix(AmazonS3 s3, String bucketName, String prefix) {
+        ParallelBucketLister lister = new ParallelBucketLister(s3, bucketName);
+        lister.prefix = prefix;
+        return lister;
+    }
+
+    /**
+     * Sets the delimiter used to discover split points from the common
+     * prefixes of the bucket, "/" by default. The listing itself is not
+     * delimited; a null delimiter disables prefix discovery.
+     *
+     * @param delimiter
+     *            The delimiter used to discover split points.
+     */
+    public ParallelBucketLister withDelimiter(String delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Sets the batch size, i.e., how many {@link S3ObjectSummary}s each cursor
+     * fetches at once.
+     *
+     * @param batchSize
+     *            How many object summaries to fetch at once.
+     */
+    public ParallelBucketLister withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the number of cursors that list concurrently. Size this together
+     * with the maximum number of connections of the client.
+     *
+     * @param parallelism
+     *            The number of concurrent listing requests.
+     */
+    public ParallelBucketLister withParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the number of pages each cursor may list ahead of the consumer
+     * before it waits.
+     *
+     * @param maxBufferedPages
+     *            The number of pages buffered per cursor.
+     */
+    public ParallelBucketLister withMaxBufferedPages(int maxBufferedPages) {
+        if (maxBufferedPages <= 0) {
+            throw new IllegalArgumentException("maxBufferedPages must be positive");
+        }
+        this.maxBufferedPages = maxBufferedPages;
+        return this;
+    }
+
+    /**
+     * Sets whether the summaries are returned in key order, true by default.
+     * Unordered listings return each page as soon as it arrives.
+     *
+     * @param ordered
+     *            True to return the summaries in key order.
+     */
+    public ParallelBucketLister withOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Sets the summary fields the cursors leave unset; see
+     * {@link ListObjectsV2Request#withSkippedSummaryFields(ListingSummaryField...)}.
+     *
+     * @param skippedSummaryFields
+     *            The summary fields to leave unset.
+     */
+    public ParallelBucketLister withSkippedSummaryFields(ListingSummaryField... skippedSummaryFields) {
+        this.skippedSummaryFields = EnumSet.noneOf(ListingSummaryField.class);
+        this.skippedSummaryFields.addAll(Arrays.asList(skippedSummaryFields));
+        return this;
+    }
+
+    public AmazonS3 getS3() {
+        return s3;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getDelimiter() {
+        return delimiter;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getMaxBufferedPages() {
+        return maxBufferedPages;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public Set<ListingSummaryField> getSkippedSummaryFields() {
+        return Collections.unmodifiableSet(skippedSummaryFields);
+    }
+
+    /**
+     * Returns a sequential stream of the object summaries. Listing starts when
+     * the first element is requested. The stream must be closed if it is not
+     * consumed to the end, to stop the worker threads.
+     *
+     * @return A stream of the object summaries.
+     */
+    public Stream<S3ObjectSummary> stream() {
+        final ParallelListing listing = new ParallelListing();
+        return StreamSupport.stream(spliterator(listing), false).onClose(new Runnable() {
+            @Override
+            public void run() {
+                listing.close();
+            }
+        });
+    }
+
+    /**
+     * Returns a spliterator of the object summaries. Unlike {@link #stream()}
+     * the spliterator cannot be closed, so it must be traversed to the end.
+     *
+     * @return A spliterator of the object summaries.
+     */
+    public Spliterator<S3ObjectSummary> spliterator() {
+        return spliterator(new ParallelListing());
+    }
+
+    private Spliterator<S3ObjectSummary> spliterator(ParallelListing listing) {
+        int characteristics = Spliterator.NONNULL;
+        if (ordered) {
+            characteristics |= Spliterator.ORDERED;
+        }
+        return Spliterators.spliteratorUnknownSize(listing, characteristics);
+    }
+
+    private ListObjectsV2Request newListRequest() {
+        return new ListObjectsV2Request()
+                .withBucketName(bucketName)
+                .withPrefix(prefix)
+                .withSkippedSummaryFields(
+                        skippedSummaryFields.toArray(new ListingSummaryField[skippedSummaryFields.size()]));
+    }
+
+    /**
+     * Returns the sorted split points of the keyspace. Consecutive split points
+     * <code>a</code> and <code>b</code> bound the range of keys
+     * <code>k</code> with <code>a &lt; k &lt;= b</code>.
+     */
+    List<String> discoverSplitPoints(ExecutorService executor) {
+        int maxSplitPoints = parallelism * RANGES_PER_CURSOR - 1;
+        if (parallelism == 1) {
+            return Collections.emptyList();
+        }
+
+        TreeSet<String> candidates = new TreeSet<String>(KEY_ORDER);
+        if (delimiter != null) {
+            ListObjectsV2Request request = newListRequest().withDelimiter(delimiter);
+            candidates.addAll(s3.listObjectsV2(request).getCommonPrefixes());
+        }
+
+        if (candidates.size() < parallelism) {
+            List<Callable<String>> probes = new ArrayList<Callable<String>>();
+            int range = LAST_PROBE_CHAR - FIRST_PROBE_CHAR + 1;
+            int probeCount = Math.min(range, maxSplitPoints);
+            for (int i = 0; i < probeCount; i++) {
+                final String startAfter = (prefix == null ? "" : prefix)
+                        + (char) (FIRST_PROBE_CHAR + (long) i * range / probeCount);
+                probes.add(new Callable<String>() {
+                    @Override
+                    public String call() {
+                        ListObjectsV2Request request = newListRequest()
+                                .withStartAfter(startAfter)
+                                .withMaxKeys(1);
+                        List<S3ObjectSummary> summaries = s3.listObjectsV2(request).getObjectSummaries();
+                        return summaries.isEmpty() ? null : summaries.get(0).getKey();
+                    }
+                });
+            }
+            try {
+                for (Future<String> probe : executor.invokeAll(probes)) {
+                    String key = probe.get();
+                    if (key != null) {
+                        candidates.add(key);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AbortedException(e);
+            } catch (ExecutionException e) {
+                throw toClientException(e.getCause());
+            }
+        }
+        return selectSplitPoints(new ArrayList<String>(candidates), maxSplitPoints);
+    }
+
+    /**
+     * Picks at most <code>max</code> evenly spaced elements of the sorted
+     * candidates.
+     */
+    static List<String> selectSplitPoints(List<String> candidates, int max) {
+        if (candidates.size() <= max) {
+            return candidates;
+        }
+        List<String> selected = new ArrayList<String>(max);
+        for (int i = 1; i <= max; i++) {
+            selected.add(candidates.get((int) ((long) i * candidates.size() / (max + 1))));
+        }
+        return selected;
+    }
+
+    /**
+     * Compares keys in the order the service lists them, which is the binary
+     * order of their UTF-8 encoding, i.e. code point order.
+     */
+    static int compareKeys(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return ca < cb ? -1 : 1;
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return (a.length() - i) - (b.length() - j);
+    }
+
+    private static RuntimeException toClientException(Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new SdkClientException("Unable to list objects", t);
+    }
+
+    /**
+     * A page of summaries from one cursor; the last page of a cursor may carry
+     * the error that ended it.
+     */
+    private static final class Page {
+        private final List<S3ObjectSummary> summaries;
+        private final boolean last;
+        private final Throwable error;
+
+        private Page(List<S3ObjectSummary> summaries, boolean last, Throwable error) {
+            this.summaries = summaries;
+            this.last = last;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Lists the keys in <code>(lowerBound, upperBound]</code>; a null bound is
+     * open.
+     */
+    private final class RangeCursor implements Runnable {
+        private final String lowerBound;
+        private final String upperBound;
+        private final BlockingQueue<Page> pages;
+        private final ParallelListing listing;
+
+        private RangeCursor(String lowerBound, String upperBound, BlockingQueue<Page> pages,
+                            ParallelListing listing) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+            this.pages = pages;
+            this.listing = listing;
+        }
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    ListObjectsV2Request request = newListRequest()
+                            .withStartAfter(lowerBound)
+                            .withMaxKeys(batchSize);
+                    boolean last = false;
+                    while (!last && !listing.closed) {
+                        ListObjectsV2Result result = s3.listObjectsV2(request);
+                        List<S3ObjectSummary> summaries = result.getObjectSummaries();
+                        last = !result.isTruncated();
+
+                        if (upperBound != null) {
+                            int end = summaries.size();
+                            while (end > 0 && compareKeys(summaries.get(end - 1).getKey(), upperBound) > 0) {
+                                end--;
+                            }
+                            if (end < summaries.size()) {
+                                summaries = new ArrayList<S3ObjectSummary>(summaries.subList(0, end));
+                                last = true;
+                            }
+                        }
+                        if (last || !summaries.isEmpty()) {
+                            pages.put(new Page(summaries, last, null));
+                        }
+                        request.setContinuationToken(result.getNextContinuationToken());
+                    }
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Throwable t) {
+                    pages.put(new Page(Collections.<S3ObjectSummary>emptyList(), true, t));
+                }
+            } catch (InterruptedException e) {
+                // The listing was closed while waiting for the consumer.
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Consumer side of one listing: starts the cursors on the first request for
+     * an element and hands out their pages in key order or arrival order.
+     */
+    private final class ParallelListing implements Iterator<S3ObjectSummary> {
+        private volatile boolean closed;
+        private ExecutorService executor;
+        private List<BlockingQueue<Page>> queues;
+        private int currentQueue;
+        private int remainingCursors;
+        private Iterator<S3ObjectSummary> currentPage = Collections.<S3ObjectSummary>emptyList().iterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext()) {
+                if (!nextPage()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public S3ObjectSummary next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private boolean nextPage() {
+            if (closed) {
+                return false;
+            }
+            if (queues == null) {
+                start();
+            }
+            if (remainingCursors == 0) {
+                close();
+                return false;
+            }
+
+            Page page;
+            try {
+                page = queues.get(currentQueue).take();
+            } catch (InterruptedException e) {
+                close();
+                Thread.currentThread().interrupt();
+                throw new AbortedException(e);
+            }
+            if (page.error != null) {
+                close();
+                throw toClientException(page.error);
+            }
+            if (page.last) {
+                remainingCursors--;
+                if (ordered) {
+                    currentQueue++;
+                }
+            }
+            currentPage = page.summaries.iterator();
+            return true;
+        }
+
+        private void start() {
+            executor = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("s3-parallel-lister-worker-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+            List<String> splitPoints;
+            try {
+                splitPoints = discoverSplitPoints(executor);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+
+            int cursors = splitPoints.size() + 1;
+            queues = new ArrayList<BlockingQueue<Page>>(cursors);
+            if (!ordered) {
+                queues.add(new ArrayBlockingQueue<Page>(parallelism * maxBufferedPages));
+            }
+            remainingCursors = cursors;
+
+            // The pool runs the cursors in submission order, so in ordered mode the
+            // cursor the consumer waits on is always running or finished.
+            for (int i = 0; i < cursors; i++) {
+                BlockingQueue<Page> pages;
+                if (ordered) {
+                    pages = new ArrayBlockingQueue<Page>(maxBufferedPages);
+                    queues.add(pages);
+                } else {
+                    pages = queues.get(0);
+                }
+                String lowerBound = i == 0 ? null : splitPoints.get(i - 1);
+                String upperBound = i == cursors - 1 ? null : splitPoints.get(i);
+                executor.execute(new RangeCursor(lowerBound, upperBound, pages, this));
+            }
+        }
+
+        private void close() {
+            closed = true;
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+}
@@ -1,156 +1,229 @@
-/*
- * Copyright 2012-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
- *
- * Licensed under the Apache License, Version 2.0 (the "License").
- * You may not use this file except in compliance with the License.
- * A copy of the License is located at
- *
- *  http://aws.amazon.com/apache2.0
- *
- * or in the "license" file accompanying this file. This file is distributed
- * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
- * express or implied. See the License for the specific language governing
- * permissions and limitations under the License.
- */
-package com.ibm.cloud.objectstorage.services.s3.iterable;
-
-import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
-import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsRequest;
-import com.ibm.cloud.objectstorage.services.s3.model.ObjectListing;
-import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
-import java.util.Iterator;
-
-/**
- * Provides an easy way to iterate Amazon S3 objects in a "foreach" statement.
- * For example:
- *
- * <pre class="brush: java">
- * for ( S3ObjectSummary summary : S3Objects.withPrefix(s3, &quot;my-bucket&quot;, &quot;photos/&quot;) ) {
- *     System.out.printf(&quot;Object with key '%s'\n&quot;, summary.getKey());
- * }
- * </pre>
- * <p>
- * The list of {@link S3ObjectSummary}s will be fetched lazily, a page at a
- * time, as they are needed. The size of the page can be controlled with the
- * {@link S3Objects#withBatchSize(int)} method.
- */
-public class S3Objects implements Iterable<S3ObjectSummary> {
-
-    private AmazonS3 s3;
-    private String prefix = null;
-    private String bucketName;
-    private Integer batchSize = null;
-
-    private S3Objects(AmazonS3 s3, String bucketName) {
-        this.s3 = s3;
-        this.bucketName = bucketName;
-    }
-
-    /**
-     * Constructs an iterable that covers all the objects in an Amazon S3
-     * bucket.
-     *
-     * @param s3
-     *            The Amazon S3 client.
-     * @param bucketName
-     *            The bucket name.
-     * @return An iterator for object summaries.
-     */
-    public static S3Objects inBucket(AmazonS3 s3, String bucketName) {
-        return new S3Objects(s3, bucketName);
-    }
-
-    /**
-     * Constructs an iterable that covers the objects in an Amazon S3 bucket
-     * where the key begins with the given prefix.
-     *
-     * @param s3
-     *            The Amazon S3 client.
-     * @param bucketName
-     *            The bucket name.
-     * @param prefix
-     *            The prefix.
-     * @return An iterator for object summaries.
-     */
-    public static S3Objects withPrefix(AmazonS3 s3, String bucketName, String prefix) {
-        S3Objects objects = new S3Objects(s3, bucketName);
-        objects.prefix = prefix;
-        return objects;
-    }
-
-    /**
-     * Sets the batch size, i.e., how many {@link S3ObjectSummary}s will be
-     * fetched at once.
-     *
-     * @param batchSize
-     *            How many object summaries to fetch at once.
-     */
-    public S3Objects withBatchSize(int batchSize) {
-        this.batchSize = batchSize;
-        return this;
-    }
-
-    public Integer getBatchSize() {
-        return batchSize;
-    }
-
-    public String getPrefix() {
-        return prefix;
-    }
-
-    public String getBucketName() {
-        return bucketName;
-    }
-
-    public AmazonS3 getS3() {
-        return s3;
-    }
-
-    private class S3ObjectIterator implements Iterator<S3ObjectSummary> {
-
-        private ObjectListing currentListing = null;
-
-        private Iterator<S3ObjectSummary> currentIterator = null;
-
-        @Override
-        public boolean hasNext() {
-            prepareCurrentListing();
-            return currentIterator.hasNext();
-        }
-
-        @Override
-        public S3ObjectSummary next() {
-            prepareCurrentListing();
-            return currentIterator.next();
-        }
-
-        @Override
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-
-        private void prepareCurrentListing() {
-            while (currentListing == null || (!currentIterator.hasNext() && currentListing.isTruncated())) {
-
-                if (currentListing == null) {
-                    ListObjectsRequest req = new ListObjectsRequest();
-                    req.setBucketName(getBucketName());
-                    req.setPrefix(getPrefix());
-                    req.setMaxKeys(getBatchSize());
-                    currentListing = getS3().listObjects(req);
-                } else {
-                    currentListing = getS3().listNextBatchOfObjects(currentListing);
-                }
-
-                currentIterator = currentListing.getObjectSummaries().iterator();
-            }
-        }
-
-    }
-
-    @Override
-    public Iterator<S3ObjectSummary> iterator() {
-        return new S3ObjectIterator();
-    }
-
-}
+/*
+ * Copyright 2012-2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectListing;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides an easy way to iterate Amazon S3 objects in a "foreach" statement.
+ * For example:
+ *
+ * <pre class="brush: java">
+ * for ( S3ObjectSummary summary : S3Objects.withPrefix(s3, &quot;my-bucket&quot;, &quot;photos/&quot;) ) {
+ *     System.out.printf(&quot;Object with key '%s'\n&quot;, summary.getKey());
+ * }
+ * </pre>
+ * <p>
+ * The list of {@link S3ObjectSummary}s will be fetched lazily, a page at a
+ * time, as they are needed. The size of the page can be controlled with the
+ * {@link S3Objects#withBatchSize(int)} method, and the following pages can be
+ * fetched in the background with the {@link S3Objects#withPrefetch(int)}
+ * method. An iterator abandoned before the end of the listing should be
+ * {@link CloseableIterator#close() closed} to stop the background fetches.
+ */
+public class S3Objects implements Iterable<S3ObjectSummary> {
+
+    private AmazonS3 s3;
+    private String prefix = null;
+    private String bucketName;
+    private Integer batchSize = null;
+    private int prefetch = 0;
+
+    private S3Objects(AmazonS3 s3, String bucketName) {
+        this.s3 = s3;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * Constructs an iterable that covers all the objects in an Amazon S3
+     * bucket.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @return An iterator for object summaries.
+     */
+    public static S3Objects inBucket(AmazonS3 s3, String bucketName) {
+        return new S3Objects(s3, bucketName);
+    }
+
+    /**
+     * Constructs an iterable that covers the objects in an Amazon S3 bucket
+     * where the key begins with the given prefix.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @param bucketName
+     *            The bucket name.
+     * @param prefix
+     *            The prefix.
+     * @return An iterator for object summaries.
+     */
+    public static S3Objects withPrefix(AmazonS3 s3, String bucketName, String prefix) {
+        S3Objects objects = new S3Objects(s3, bucketName);
+        objects.prefix = prefix;
+        return objects;
+    }
+
+    /**
+     * Sets the batch size, i.e., how many {@link S3ObjectSummary}s will be
+     * fetched at once.
+     *
+     * @param batchSize
+     *            How many object summaries to fetch at once.
+     */
+    public S3Objects withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the prefetch depth, i.e., how many pages are fetched in the
+     * background ahead of the page being iterated. While a page is being
+     * consumed the next one is already requested, so iteration does not stall
+     * for a round trip at every page boundary. At most this many pages are
+     * buffered. Closing the iterator stops prefetching and drops the buffered
+     * pages; an iterator that is abandoned without being closed stops once the
+     * buffer is full. The default of 0 fetches each page only when it is
+     * needed.
+     *
+     * @param prefetch
+     *            How many pages to fetch ahead.
+     */
+    public S3Objects withPrefetch(int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch must not be negative");
+        }
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public AmazonS3 getS3() {
+        return s3;
+    }
+
+    private class S3ObjectIterator
+            implements CloseableIterator<S3ObjectSummary>, PagePrefetcher.PageSource<ObjectListing> {
+
+        private final PagePrefetcher<ObjectListing> prefetcher =
+                getPrefetch() > 0 ? new PagePrefetcher<ObjectListing>(this, getPrefetch()) : null;
+
+        private ObjectListing currentListing = null;
+
+        private Iterator<S3ObjectSummary> currentIterator = null;
+
+        private boolean closed;
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            prepareCurrentListing();
+            return currentIterator.hasNext();
+        }
+
+        @Override
+        public S3ObjectSummary next() {
+            if (closed) {
+                throw new NoSuchElementException();
+            }
+            prepareCurrentListing();
+            return currentIterator.next();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            currentListing = null;
+            currentIterator = null;
+            if (prefetcher != null) {
+                prefetcher.close();
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void prepareCurrentListing() {
+            while (currentListing == null || (!currentIterator.hasNext() && currentListing.isTruncated())) {
+
+                if (prefetcher != null) {
+                    currentListing = prefetcher.nextPage();
+                } else if (currentListing == null) {
+                    currentListing = firstPage();
+                } else {
+                    currentListing = nextPage(currentListing);
+                }
+
+                currentIterator = currentListing.getObjectSummaries().iterator();
+            }
+        }
+
+        @Override
+        public ObjectListing firstPage() {
+            ListObjectsRequest req = new ListObjectsRequest();
+            req.setBucketName(getBucketName());
+            req.setPrefix(getPrefix());
+            req.setMaxKeys(getBatchSize());
+            return getS3().listObjects(req);
+        }
+
+        @Override
+        public ObjectListing nextPage(ObjectListing previous) {
+            return getS3().listNextBatchOfObjects(previous);
+        }
+
+        @Override
+        public boolean isTruncated(ObjectListing page) {
+            return page.isTruncated();
+        }
+
+    }
+
+    /**
+     * Returns an iterator over the objects, which should be closed if it is
+     * abandoned before the end of the listing.
+     */
+    @Override
+    public CloseableIterator<S3ObjectSummary> iterator() {
+        return new S3ObjectIterator();
+    }
+
+}
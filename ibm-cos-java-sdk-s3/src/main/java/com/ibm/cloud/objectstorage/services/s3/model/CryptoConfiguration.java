@@ -53,6 +53,11 @@ public class CryptoConfiguration implements Cloneable,Serializable {
      * missing instruction file would always cause security exception.
      */
     private boolean ignoreMissingInstructionFile = true;
+    /**
+     * Configuration of the KMS data key cache, or null if KMS data keys are
+     * not cached.
+     */
+    private DataKeyCacheConfiguration dataKeyCacheConfiguration;
     /**
      * @exclude
      * Used to specify the KMS region for the Amazon Web Services KMS client when such client
@@ -292,6 +297,32 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         return this;
     }
 
+    /**
+     * Returns the configuration of the KMS data key cache, or null if KMS data
+     * keys are not cached, which is the default.
+     */
+    public DataKeyCacheConfiguration getDataKeyCacheConfiguration() {
+        return dataKeyCacheConfiguration;
+    }
+
+    /**
+     * Sets the configuration of the KMS data key cache; null disables the
+     * cache. Only applies to KMS encryption materials.
+     *
+     * @see DataKeyCacheConfiguration
+     */
+    public void setDataKeyCacheConfiguration(DataKeyCacheConfiguration dataKeyCacheConfiguration) {
+        this.dataKeyCacheConfiguration = dataKeyCacheConfiguration;
+    }
+
+    /**
+     * Fluent API to set the configuration of the KMS data key cache.
+     */
+    public CryptoConfiguration withDataKeyCacheConfiguration(DataKeyCacheConfiguration dataKeyCacheConfiguration) {
+        setDataKeyCacheConfiguration(dataKeyCacheConfiguration);
+        return this;
+    }
+
     /**
      * Checks if the crypto mode is supported by the runtime.
      *
@@ -369,6 +400,14 @@ public class CryptoConfiguration implements Cloneable,Serializable {
             boolean ignoreMissingInstructionFile) {
             throw new UnsupportedOperationException();
         }
+        @Override public void setDataKeyCacheConfiguration(
+            DataKeyCacheConfiguration dataKeyCacheConfiguration) {
+            throw new UnsupportedOperationException();
+        }
+        @Override public CryptoConfiguration withDataKeyCacheConfiguration(
+            DataKeyCacheConfiguration dataKeyCacheConfiguration) {
+            throw new UnsupportedOperationException();
+        }
         @Override public void setKmsRegion(Regions kmsRegion) {
             throw new UnsupportedOperationException();
         }
@@ -399,6 +438,8 @@ public class CryptoConfiguration implements Cloneable,Serializable {
         that.secureRandom = this.secureRandom;
         that.ignoreMissingInstructionFile = this.ignoreMissingInstructionFile;
         that.awskmsRegion = this.awskmsRegion;
+        that.dataKeyCacheConfiguration = this.dataKeyCacheConfiguration == null
+            ? null : this.dataKeyCacheConfiguration.clone();
         return that;
     }
 
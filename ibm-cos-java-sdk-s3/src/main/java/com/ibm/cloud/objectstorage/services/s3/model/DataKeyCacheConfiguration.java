@@ -0,0 +1,184 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model;
+
+import java.io.Serializable;
+
+/**
+ * Configures the caching of KMS data keys by the Amazon S3 Encryption Client.
+ * <p>
+ * When set on the {@link CryptoConfiguration}, a data key generated by KMS is
+ * reused to encrypt further objects with the same customer master key and
+ * encryption context until any of the limits below is reached, and the
+ * content encrypting keys decrypted by KMS are cached by their encrypted key
+ * blob. Every object is still encrypted with its own random IV.
+ * </p>
+ * <p>
+ * Caching data keys keeps plaintext keys in memory and trades the isolation
+ * of one data key per object for fewer KMS calls; it is therefore disabled
+ * unless configured.
+ * </p>
+ * <p>
+ * For example, to reuse each data key for at most one minute and 100 objects:
+ * </p>
+ * <pre class="brush: java">
+ * CryptoConfiguration cryptoConfig = new CryptoConfiguration()
+ *         .withDataKeyCacheConfiguration(new DataKeyCacheConfiguration()
+ *                 .withMaxAgeMillis(60 * 1000)
+ *                 .withMaxObjectsPerDataKey(100));
+ * </pre>
+ *
+ * @see CryptoConfiguration#setDataKeyCacheConfiguration(DataKeyCacheConfiguration)
+ */
+public class DataKeyCacheConfiguration implements Cloneable, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Default maximum age of a cached key, 5 minutes. */
+    public static final long DEFAULT_MAX_AGE_MILLIS = 5 * 60 * 1000;
+
+    /** Default maximum number of objects encrypted with one data key. */
+    public static final long DEFAULT_MAX_OBJECTS_PER_DATA_KEY = 1000;
+
+    /** Default maximum number of plaintext bytes encrypted with one data key; unlimited. */
+    public static final long DEFAULT_MAX_BYTES_PER_DATA_KEY = Long.MAX_VALUE;
+
+    /** Default maximum number of keys held by each cache. */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private long maxAgeMillis = DEFAULT_MAX_AGE_MILLIS;
+    private long maxObjectsPerDataKey = DEFAULT_MAX_OBJECTS_PER_DATA_KEY;
+    private long maxBytesPerDataKey = DEFAULT_MAX_BYTES_PER_DATA_KEY;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+
+    /**
+     * Returns the maximum time in milliseconds a data key or decrypted key is
+     * used after it was retrieved from KMS.
+     */
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds a data key or decrypted key is used
+     * after it was retrieved from KMS.
+     */
+    public void setMaxAgeMillis(long maxAgeMillis) {
+        if (maxAgeMillis <= 0) {
+            throw new IllegalArgumentException("maxAgeMillis must be positive");
+        }
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Sets the maximum time in milliseconds a data key or decrypted key is used
+     * after it was retrieved from KMS, and returns the updated object.
+     */
+    public DataKeyCacheConfiguration withMaxAgeMillis(long maxAgeMillis) {
+        setMaxAgeMillis(maxAgeMillis);
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of objects encrypted with one data key.
+     */
+    public long getMaxObjectsPerDataKey() {
+        return maxObjectsPerDataKey;
+    }
+
+    /**
+     * Sets the maximum number of objects encrypted with one data key.
+     */
+    public void setMaxObjectsPerDataKey(long maxObjectsPerDataKey) {
+        if (maxObjectsPerDataKey <= 0) {
+            throw new IllegalArgumentException("maxObjectsPerDataKey must be positive");
+        }
+        this.maxObjectsPerDataKey = maxObjectsPerDataKey;
+    }
+
+    /**
+     * Sets the maximum number of objects encrypted with one data key, and
+     * returns the updated object.
+     */
+    public DataKeyCacheConfiguration withMaxObjectsPerDataKey(long maxObjectsPerDataKey) {
+        setMaxObjectsPerDataKey(maxObjectsPerDataKey);
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of plaintext bytes encrypted with one data
+     * key.
+     */
+    public long getMaxBytesPerDataKey() {
+        return maxBytesPerDataKey;
+    }
+
+    /**
+     * Sets the maximum number of plaintext bytes encrypted with one data key.
+     * When limited, objects whose length is not known up front, including
+     * multipart uploads, are always encrypted with a new data key.
+     */
+    public void setMaxBytesPerDataKey(long maxBytesPerDataKey) {
+        if (maxBytesPerDataKey <= 0) {
+            throw new IllegalArgumentException("maxBytesPerDataKey must be positive");
+        }
+        this.maxBytesPerDataKey = maxBytesPerDataKey;
+    }
+
+    /**
+     * Sets the maximum number of plaintext bytes encrypted with one data key,
+     * and returns the updated object.
+     */
+    public DataKeyCacheConfiguration withMaxBytesPerDataKey(long maxBytesPerDataKey) {
+        setMaxBytesPerDataKey(maxBytesPerDataKey);
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of keys held by the data key cache and by the
+     * decrypted key cache.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of keys held by the data key cache and by the
+     * decrypted key cache. The least recently used key is evicted when a cache
+     * is full.
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Sets the maximum number of keys held by the data key cache and by the
+     * decrypted key cache, and returns the updated object.
+     */
+    public DataKeyCacheConfiguration withMaxEntries(int maxEntries) {
+        setMaxEntries(maxEntries);
+        return this;
+    }
+
+    @Override
+    public DataKeyCacheConfiguration clone() {
+        try {
+            return (DataKeyCacheConfiguration) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -17,6 +17,11 @@ package com.ibm.cloud.objectstorage.services.s3.model;
 import com.ibm.cloud.objectstorage.AmazonWebServiceRequest;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * Request to retrieve a listing of objects in an S3 bucket.
@@ -98,6 +103,17 @@ public class ListObjectsV2Request extends AmazonWebServiceRequest implements Ser
      */
     private String startAfter;
 
+    /**
+     * Whether the response is parsed with the streaming pull parser instead
+     * of the default SAX handler.
+     */
+    private boolean pullParserEnabled;
+
+    /**
+     * Summary fields the pull parser leaves unset in the returned listing.
+     */
+    private Set<ListingSummaryField> skippedSummaryFields = EnumSet.noneOf(ListingSummaryField.class);
+
     
 //IBM unsupported
 //    private String expectedBucketOwner;
@@ -550,4 +566,85 @@ public class ListObjectsV2Request extends AmazonWebServiceRequest implements Ser
         setStartAfter(startAfter);
         return this;
     }
+
+    /**
+     * Returns whether the response to this request is parsed with the streaming
+     * pull parser instead of the default SAX handler. The pull parser reads the
+     * response straight from the connection, shares repeated values such as the
+     * storage class and owner between summaries, and can skip summary fields the
+     * caller does not need.
+     *
+     * @return True if the pull parser is used for this request.
+     */
+    public boolean isPullParserEnabled() {
+        return pullParserEnabled || !skippedSummaryFields.isEmpty();
+    }
+
+    /**
+     * Sets whether the response to this request is parsed with the streaming
+     * pull parser instead of the default SAX handler.
+     *
+     * @param pullParserEnabled
+     *            True to parse the response with the pull parser.
+     */
+    public void setPullParserEnabled(boolean pullParserEnabled) {
+        this.pullParserEnabled = pullParserEnabled;
+    }
+
+    /**
+     * Sets whether the response to this request is parsed with the streaming
+     * pull parser instead of the default SAX handler.
+     *
+     * @param pullParserEnabled
+     *            True to parse the response with the pull parser.
+     *
+     * @return This {@link ListObjectsV2Request}, enabling additional method
+     *         calls to be chained together.
+     */
+    public ListObjectsV2Request withPullParserEnabled(boolean pullParserEnabled) {
+        setPullParserEnabled(pullParserEnabled);
+        return this;
+    }
+
+    /**
+     * Returns the summary fields that are not populated in the returned
+     * listing.
+     *
+     * @return The summary fields left unset in the returned summaries.
+     */
+    public Set<ListingSummaryField> getSkippedSummaryFields() {
+        return Collections.unmodifiableSet(skippedSummaryFields);
+    }
+
+    /**
+     * Sets the summary fields that are not populated in the returned listing.
+     * Skipping fields implies the pull parser; see
+     * {@link #setPullParserEnabled(boolean)}.
+     *
+     * @param skippedSummaryFields
+     *            The summary fields to leave unset, or null to populate all
+     *            fields.
+     */
+    public void setSkippedSummaryFields(Collection<ListingSummaryField> skippedSummaryFields) {
+        this.skippedSummaryFields = EnumSet.noneOf(ListingSummaryField.class);
+        if (skippedSummaryFields != null) {
+            this.skippedSummaryFields.addAll(skippedSummaryFields);
+        }
+    }
+
+    /**
+     * Sets the summary fields that are not populated in the returned listing.
+     * Skipping fields implies the pull parser; see
+     * {@link #setPullParserEnabled(boolean)}.
+     *
+     * @param skippedSummaryFields
+     *            The summary fields to leave unset.
+     *
+     * @return This {@link ListObjectsV2Request}, enabling additional method
+     *         calls to be chained together.
+     */
+    public ListObjectsV2Request withSkippedSummaryFields(ListingSummaryField... skippedSummaryFields) {
+        setSkippedSummaryFields(Arrays.asList(skippedSummaryFields));
+        return this;
+    }
 }
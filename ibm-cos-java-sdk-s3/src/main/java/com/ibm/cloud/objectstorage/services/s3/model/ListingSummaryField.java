@@ -0,0 +1,36 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model;
+
+/**
+ * Optional fields of {@link S3ObjectSummary} and {@link S3VersionSummary} that a
+ * listing caller can ask the pull parser not to populate. Skipped fields are left
+ * <code>null</code> in the returned summaries.
+ *
+ * @see ListObjectsV2Request#withSkippedSummaryFields(ListingSummaryField...)
+ * @see ListVersionsRequest#withSkippedSummaryFields(ListingSummaryField...)
+ */
+public enum ListingSummaryField {
+
+    /** The entity tag of the object. */
+    ETAG,
+
+    /** The owner of the object. */
+    OWNER,
+
+    /** The storage class of the object. */
+    STORAGE_CLASS,
+
+    /** The last modified date of the object. */
+    LAST_MODIFIED
+}
@@ -0,0 +1,358 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model.transform;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ibm.cloud.objectstorage.services.s3.internal.CarriageReturnEscapingReader;
+import com.ibm.cloud.objectstorage.services.s3.internal.ServiceUtils;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.Owner;
+import com.ibm.cloud.objectstorage.transform.Unmarshaller;
+import com.ibm.cloud.objectstorage.util.SdkHttpUtils;
+import com.ibm.cloud.objectstorage.util.StringUtils;
+import com.ibm.cloud.objectstorage.util.XmlUtils;
+
+/**
+ * Base class for the pull parser unmarshallers of the listing responses. Element
+ * text is copied into a reusable character buffer, so numbers, dates and repeated
+ * values such as the storage class and owner are decoded without allocating an
+ * intermediate String per element.
+ * <p>
+ * Instances keep per-response state and must not be shared between threads.
+ * </p>
+ */
+abstract class AbstractListingStaxUnmarshaller<T> implements Unmarshaller<T, InputStream> {
+
+    /** Upper bound on distinct values shared between the summaries of one response. */
+    private static final int MAX_SHARED_VALUES = 64;
+
+    protected final boolean shouldSDKDecodeResponse;
+
+    private final Set<ListingSummaryField> skippedFields;
+
+    private final List<String> sharedValues = new ArrayList<String>();
+
+    private char[] text = new char[256];
+
+    private int textLength;
+
+    protected AbstractListingStaxUnmarshaller(boolean shouldSDKDecodeResponse,
+                                              Set<ListingSummaryField> skippedFields) {
+        this.shouldSDKDecodeResponse = shouldSDKDecodeResponse;
+        this.skippedFields = skippedFields == null || skippedFields.isEmpty()
+                ? EnumSet.noneOf(ListingSummaryField.class)
+                : EnumSet.copyOf(skippedFields);
+    }
+
+    @Override
+    public T unmarshall(InputStream in) throws Exception {
+        // Carriage returns in keys are escaped so the parser does not normalize them to line feeds.
+        XMLStreamReader reader = XmlUtils.getXmlInputFactory().createXMLStreamReader(
+                new CarriageReturnEscapingReader(new InputStreamReader(in, StringUtils.UTF8)));
+        try {
+            if (nextElement(reader) != XMLStreamConstants.START_ELEMENT) {
+                throw new XMLStreamException("Response document has no root element");
+            }
+            return unmarshallRoot(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Unmarshalls the document with the reader positioned on the root element.
+     */
+    protected abstract T unmarshallRoot(XMLStreamReader reader) throws XMLStreamException;
+
+    protected boolean isSkipped(ListingSummaryField field) {
+        return skippedFields.contains(field);
+    }
+
+    /**
+     * Advances to the next start or end element, ignoring text, comments and
+     * processing instructions in between.
+     */
+    protected static int nextElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_ELEMENT) {
+                return event;
+            }
+        }
+        return XMLStreamConstants.END_DOCUMENT;
+    }
+
+    /**
+     * Skips the current element and all of its children, leaving the reader on
+     * its end element.
+     */
+    protected static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = nextElement(reader);
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else {
+                throw new XMLStreamException("Unexpected end of document");
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element into the character buffer, leaving
+     * the reader on its end element.
+     */
+    private void readElementText(XMLStreamReader reader) throws XMLStreamException {
+        textLength = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE) {
+                int length = reader.getTextLength();
+                if (textLength + length > text.length) {
+                    char[] grown = new char[Math.max(text.length * 2, textLength + length)];
+                    System.arraycopy(text, 0, grown, 0, textLength);
+                    text = grown;
+                }
+                System.arraycopy(reader.getTextCharacters(), reader.getTextStart(), text, textLength, length);
+                textLength += length;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return;
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                throw new XMLStreamException("Unexpected element " + reader.getLocalName()
+                        + " in text only element", reader.getLocation());
+            } else if (event == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("Unexpected end of document");
+            }
+        }
+    }
+
+    protected String readText(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        return new String(text, 0, textLength);
+    }
+
+    /**
+     * Reads the element text, returning null instead of an empty string.
+     */
+    protected String readOptionalText(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        return textLength == 0 ? null : new String(text, 0, textLength);
+    }
+
+    protected String readDecodedText(XMLStreamReader reader) throws XMLStreamException {
+        String value = readText(reader);
+        return shouldSDKDecodeResponse ? SdkHttpUtils.urlDecode(value) : value;
+    }
+
+    protected String readOptionalDecodedText(XMLStreamReader reader) throws XMLStreamException {
+        String value = readOptionalText(reader);
+        return shouldSDKDecodeResponse ? SdkHttpUtils.urlDecode(value) : value;
+    }
+
+    /**
+     * Reads a value that is likely to repeat across the summaries of a response,
+     * such as the storage class or the owner, and returns the same String
+     * instance for every occurrence.
+     */
+    protected String readSharedText(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        for (int i = 0; i < sharedValues.size(); i++) {
+            String candidate = sharedValues.get(i);
+            if (textEquals(candidate)) {
+                return candidate;
+            }
+        }
+        String value = new String(text, 0, textLength);
+        if (sharedValues.size() < MAX_SHARED_VALUES) {
+            sharedValues.add(value);
+        }
+        return value;
+    }
+
+    protected boolean readBoolean(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        return textEquals("true");
+    }
+
+    protected long readLong(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        if (textLength == 0 || textLength > 18) {
+            return Long.parseLong(new String(text, 0, textLength));
+        }
+        int start = text[0] == '-' ? 1 : 0;
+        if (start == textLength) {
+            return Long.parseLong(new String(text, 0, textLength));
+        }
+        long value = 0;
+        for (int i = start; i < textLength; i++) {
+            int digit = text[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.parseLong(new String(text, 0, textLength));
+            }
+            value = value * 10 + digit;
+        }
+        return start == 1 ? -value : value;
+    }
+
+    protected int readInt(XMLStreamReader reader) throws XMLStreamException {
+        long value = readLong(reader);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an ETag, dropping the surrounding whitespace and quotes in the same
+     * way as {@link ServiceUtils#removeQuotes(String)}.
+     */
+    protected String readETag(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        int start = 0;
+        int end = textLength;
+        while (start < end && text[start] <= ' ') {
+            start++;
+        }
+        while (end > start && text[end - 1] <= ' ') {
+            end--;
+        }
+        if (start < end && text[start] == '"') {
+            start++;
+        }
+        if (start < end && text[end - 1] == '"') {
+            end--;
+        }
+        return new String(text, start, end - start);
+    }
+
+    /**
+     * Reads a timestamp in the fixed <code>yyyy-MM-dd'T'HH:mm:ss[.SSS]'Z'</code>
+     * form returned by the listing APIs, falling back to the general ISO 8601
+     * parser for any other form.
+     */
+    protected Date readDate(XMLStreamReader reader) throws XMLStreamException {
+        readElementText(reader);
+        long millis = parseFixedIso8601(text, textLength);
+        if (millis == Long.MIN_VALUE) {
+            return ServiceUtils.parseIso8601Date(new String(text, 0, textLength));
+        }
+        return new Date(millis);
+    }
+
+    protected Owner readOwner(XMLStreamReader reader) throws XMLStreamException {
+        Owner owner = new Owner();
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (name.equals("ID")) {
+                owner.setId(readSharedText(reader));
+            } else if (name.equals("DisplayName")) {
+                owner.setDisplayName(readSharedText(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return owner;
+    }
+
+    private boolean textEquals(String value) {
+        if (value.length() != textLength) {
+            return false;
+        }
+        for (int i = 0; i < textLength; i++) {
+            if (value.charAt(i) != text[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses <code>yyyy-MM-dd'T'HH:mm:ss[.fraction]'Z'</code> into epoch
+     * milliseconds, or returns {@link Long#MIN_VALUE} if the text has any
+     * other form.
+     */
+    static long parseFixedIso8601(char[] chars, int length) {
+        if (length < 20 || chars[4] != '-' || chars[7] != '-' || chars[10] != 'T'
+                || chars[13] != ':' || chars[16] != ':' || chars[length - 1] != 'Z') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(chars, 0, 4);
+        int month = digits(chars, 5, 2);
+        int day = digits(chars, 8, 2);
+        int hour = digits(chars, 11, 2);
+        int minute = digits(chars, 14, 2);
+        int second = digits(chars, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        int millis = 0;
+        if (length > 20) {
+            if (chars[19] != '.' || length == 21) {
+                return Long.MIN_VALUE;
+            }
+            int scale = 100;
+            for (int i = 20; i < length - 1; i++) {
+                int digit = chars[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return Long.MIN_VALUE;
+                }
+                millis += digit * scale;
+                scale /= 10;
+            }
+        }
+
+        long days = daysFromCivil(year, month, day);
+        return ((days * 24 + hour) * 60 + minute) * 60000L + second * 1000L + millis;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01 of the given proleptic
+     * Gregorian date.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
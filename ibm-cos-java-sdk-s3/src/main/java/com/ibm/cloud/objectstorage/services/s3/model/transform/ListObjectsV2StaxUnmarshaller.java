@@ -0,0 +1,159 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model.transform;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Result;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+
+/**
+ * Pull parser unmarshaller for the ListObjectsV2 XML response. Produces the same
+ * result as {@link XmlResponsesSaxParser.ListObjectsV2Handler}, except for the
+ * summary fields the caller asked to skip.
+ */
+public class ListObjectsV2StaxUnmarshaller extends AbstractListingStaxUnmarshaller<ListObjectsV2Result> {
+
+    private static final Log log = LogFactory.getLog(ListObjectsV2StaxUnmarshaller.class);
+
+    public ListObjectsV2StaxUnmarshaller(boolean shouldSDKDecodeResponse,
+                                         Set<ListingSummaryField> skippedFields) {
+        super(shouldSDKDecodeResponse, skippedFields);
+    }
+
+    @Override
+    protected ListObjectsV2Result unmarshallRoot(XMLStreamReader reader) throws XMLStreamException {
+        ListObjectsV2Result result = new ListObjectsV2Result();
+
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (name.equals("Contents")) {
+                result.getObjectSummaries().add(readObjectSummary(reader, result.getBucketName()));
+
+            } else if (name.equals("CommonPrefixes")) {
+                readCommonPrefixes(reader, result.getCommonPrefixes());
+
+            } else if (name.equals("Name")) {
+                result.setBucketName(readText(reader));
+                if (log.isDebugEnabled()) {
+                    log.debug("Examining listing for bucket: " + result.getBucketName());
+                }
+
+            } else if (name.equals("Prefix")) {
+                result.setPrefix(readOptionalDecodedText(reader));
+
+            } else if (name.equals("MaxKeys")) {
+                result.setMaxKeys(readInt(reader));
+
+            } else if (name.equals("NextContinuationToken")) {
+                result.setNextContinuationToken(readText(reader));
+
+            } else if (name.equals("ContinuationToken")) {
+                result.setContinuationToken(readText(reader));
+
+            } else if (name.equals("StartAfter")) {
+                result.setStartAfter(readDecodedText(reader));
+
+            } else if (name.equals("KeyCount")) {
+                result.setKeyCount(readInt(reader));
+
+            } else if (name.equals("Delimiter")) {
+                result.setDelimiter(readOptionalDecodedText(reader));
+
+            } else if (name.equals("EncodingType")) {
+                result.setEncodingType(readOptionalText(reader));
+
+            } else if (name.equals("IsTruncated")) {
+                String isTruncated = readText(reader).toLowerCase();
+                if (isTruncated.startsWith("false")) {
+                    result.setTruncated(false);
+                } else if (isTruncated.startsWith("true")) {
+                    result.setTruncated(true);
+                } else {
+                    throw new IllegalStateException("Invalid value for IsTruncated field: " + isTruncated);
+                }
+
+            } else {
+                skipElement(reader);
+            }
+        }
+
+        /*
+         * S3 only includes the NextContinuationToken XML element if the
+         * request specified a delimiter, but for consistency we'd
+         * like to always give easy access to the next token if
+         * we're returning a list of results that's truncated.
+         */
+        if (result.isTruncated() && result.getNextContinuationToken() == null) {
+            List<S3ObjectSummary> summaries = result.getObjectSummaries();
+            if (!summaries.isEmpty()) {
+                result.setNextContinuationToken(summaries.get(summaries.size() - 1).getKey());
+            } else {
+                log.error("S3 response indicates truncated results, but contains no object summaries.");
+            }
+        }
+        return result;
+    }
+
+    private S3ObjectSummary readObjectSummary(XMLStreamReader reader, String bucketName)
+            throws XMLStreamException {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setBucketName(bucketName);
+
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (name.equals("Key")) {
+                summary.setKey(readDecodedText(reader));
+
+            } else if (name.equals("LastModified") && !isSkipped(ListingSummaryField.LAST_MODIFIED)) {
+                summary.setLastModified(readDate(reader));
+
+            } else if (name.equals("ETag") && !isSkipped(ListingSummaryField.ETAG)) {
+                summary.setETag(readETag(reader));
+
+            } else if (name.equals("Size")) {
+                summary.setSize(readLong(reader));
+
+            } else if (name.equals("StorageClass") && !isSkipped(ListingSummaryField.STORAGE_CLASS)) {
+                summary.setStorageClass(readSharedText(reader));
+
+            } else if (name.equals("Owner") && !isSkipped(ListingSummaryField.OWNER)) {
+                summary.setOwner(readOwner(reader));
+
+            } else {
+                skipElement(reader);
+            }
+        }
+        return summary;
+    }
+
+    private void readCommonPrefixes(XMLStreamReader reader, List<String> commonPrefixes)
+            throws XMLStreamException {
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            if (reader.getLocalName().equals("Prefix")) {
+                commonPrefixes.add(readDecodedText(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model.transform;
+
+import java.util.Set;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.S3VersionSummary;
+import com.ibm.cloud.objectstorage.services.s3.model.VersionListing;
+
+/**
+ * Pull parser unmarshaller for the ListVersions XML response. Produces the same
+ * listing as {@link XmlResponsesSaxParser.ListVersionsHandler}, except for the
+ * summary fields the caller asked to skip.
+ */
+public class VersionListStaxUnmarshaller extends AbstractListingStaxUnmarshaller<VersionListing> {
+
+    public VersionListStaxUnmarshaller(boolean shouldSDKDecodeResponse,
+                                       Set<ListingSummaryField> skippedFields) {
+        super(shouldSDKDecodeResponse, skippedFields);
+    }
+
+    @Override
+    protected VersionListing unmarshallRoot(XMLStreamReader reader) throws XMLStreamException {
+        VersionListing listing = new VersionListing();
+
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (name.equals("Version")) {
+                listing.getVersionSummaries().add(readVersionSummary(reader, listing.getBucketName(), false));
+
+            } else if (name.equals("DeleteMarker")) {
+                listing.getVersionSummaries().add(readVersionSummary(reader, listing.getBucketName(), true));
+
+            } else if (name.equals("CommonPrefixes")) {
+                readCommonPrefixes(reader, listing);
+
+            } else if (name.equals("Name")) {
+                listing.setBucketName(readText(reader));
+
+            } else if (name.equals("Prefix")) {
+                listing.setPrefix(readOptionalDecodedText(reader));
+
+            } else if (name.equals("KeyMarker")) {
+                listing.setKeyMarker(readOptionalDecodedText(reader));
+
+            } else if (name.equals("VersionIdMarker")) {
+                listing.setVersionIdMarker(readOptionalText(reader));
+
+            } else if (name.equals("MaxKeys")) {
+                listing.setMaxKeys(readInt(reader));
+
+            } else if (name.equals("Delimiter")) {
+                listing.setDelimiter(readOptionalDecodedText(reader));
+
+            } else if (name.equals("EncodingType")) {
+                String encodingType = readOptionalText(reader);
+                listing.setEncodingType(shouldSDKDecodeResponse ? null : encodingType);
+
+            } else if (name.equals("NextKeyMarker")) {
+                listing.setNextKeyMarker(readOptionalDecodedText(reader));
+
+            } else if (name.equals("NextVersionIdMarker")) {
+                listing.setNextVersionIdMarker(readText(reader));
+
+            } else if (name.equals("IsTruncated")) {
+                listing.setTruncated(readBoolean(reader));
+
+            } else {
+                skipElement(reader);
+            }
+        }
+        return listing;
+    }
+
+    private S3VersionSummary readVersionSummary(XMLStreamReader reader, String bucketName,
+                                                boolean isDeleteMarker) throws XMLStreamException {
+        S3VersionSummary summary = new S3VersionSummary();
+        summary.setBucketName(bucketName);
+        if (isDeleteMarker) {
+            summary.setIsDeleteMarker(true);
+        }
+
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            String name = reader.getLocalName();
+            if (name.equals("Key")) {
+                summary.setKey(readDecodedText(reader));
+
+            } else if (name.equals("VersionId")) {
+                summary.setVersionId(readText(reader));
+
+            } else if (name.equals("IsLatest")) {
+                summary.setIsLatest(readBoolean(reader));
+
+            } else if (name.equals("LastModified") && !isSkipped(ListingSummaryField.LAST_MODIFIED)) {
+                summary.setLastModified(readDate(reader));
+
+            } else if (name.equals("ETag") && !isSkipped(ListingSummaryField.ETAG)) {
+                summary.setETag(readETag(reader));
+
+            } else if (name.equals("Size")) {
+                summary.setSize(readLong(reader));
+
+            } else if (name.equals("Owner") && !isSkipped(ListingSummaryField.OWNER)) {
+                summary.setOwner(readOwner(reader));
+
+            } else if (name.equals("StorageClass") && !isSkipped(ListingSummaryField.STORAGE_CLASS)) {
+                summary.setStorageClass(readSharedText(reader));
+
+            } else {
+                skipElement(reader);
+            }
+        }
+        return summary;
+    }
+
+    private void readCommonPrefixes(XMLStreamReader reader, VersionListing listing)
+            throws XMLStreamException {
+        while (nextElement(reader) == XMLStreamConstants.START_ELEMENT) {
+            if (reader.getLocalName().equals("Prefix")) {
+                // An empty prefix is kept as null, matching the SAX handler.
+                listing.getCommonPrefixes().add(readOptionalDecodedText(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedHashMap;
@@ -81,6 +82,7 @@ import org.xml.sax.helpers.DefaultHandler;
 import org.xml.sax.helpers.XMLReaderFactory;
 
 import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.services.s3.internal.CarriageReturnEscapingReader;
 import com.ibm.cloud.objectstorage.services.s3.internal.Constants;
 import com.ibm.cloud.objectstorage.services.s3.internal.DeleteObjectsResponse;
 import com.ibm.cloud.objectstorage.services.s3.internal.ObjectExpirationResult;
@@ -168,6 +170,63 @@ public class XmlResponsesSaxParser {
         }
     }
 
+    /**
+     * Parses an XML document from an input stream, escaping carriage return
+     * characters on the fly so the SAX parser does not normalize 0x0D
+     * characters in object keys to 0x0A. The document is streamed straight
+     * into the parser instead of being buffered in memory first.
+     *
+     * @param handler
+     *            the handler for the XML document
+     * @param inputStream
+     *            an input stream containing the XML document to parse
+     *
+     * @throws IOException
+     *             on error reading from the input stream (ie connection reset)
+     * @throws SdkClientException
+     *             on error with malformed XML, etc
+     */
+    protected void parseSanitizedXmlInputStream(DefaultHandler handler, InputStream inputStream)
+            throws IOException {
+        if (!sanitizeXmlDocument) {
+            parseXmlInputStream(handler, inputStream);
+            return;
+        }
+
+        try {
+
+            if (log.isDebugEnabled()) {
+                log.debug("Parsing sanitized XML response document with handler: " + handler.getClass());
+            }
+
+            Reader reader = new CarriageReturnEscapingReader(new InputStreamReader(inputStream,
+                Constants.DEFAULT_ENCODING));
+            xr.setContentHandler(handler);
+            xr.setErrorHandler(handler);
+            xr.parse(new InputSource(reader));
+
+        } catch (IOException e) {
+            throw e;
+
+        } catch (Throwable t) {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                if (log.isErrorEnabled()) {
+                    log.error("Unable to close response InputStream up after XML parse failure", e);
+                }
+            }
+            throw new SdkClientException("Failed to parse XML document with handler "
+                + handler.getClass(), t);
+        }
+    }
+
+    /**
+     * @deprecated Buffers the whole document in memory. Use
+     *             {@link #parseSanitizedXmlInputStream(DefaultHandler, InputStream)},
+     *             which escapes carriage returns while streaming.
+     */
+    @Deprecated
     protected InputStream sanitizeXmlDocument(DefaultHandler handler, InputStream inputStream)
             throws IOException {
 
@@ -321,7 +380,7 @@ public class XmlResponsesSaxParser {
     public ListBucketHandler parseListBucketObjectsResponse(InputStream inputStream, final boolean shouldSDKDecodeResponse)
             throws IOException {
         ListBucketHandler handler = new ListBucketHandler(shouldSDKDecodeResponse);
-        parseXmlInputStream(handler, sanitizeXmlDocument(handler, inputStream));
+        parseSanitizedXmlInputStream(handler, inputStream);
 
         return handler;
     }
@@ -338,7 +397,7 @@ public class XmlResponsesSaxParser {
     public ListObjectsV2Handler parseListObjectsV2Response(InputStream inputStream, final boolean shouldSDKDecodeResponse)
             throws IOException {
         ListObjectsV2Handler handler = new ListObjectsV2Handler(shouldSDKDecodeResponse);
-        parseXmlInputStream(handler, sanitizeXmlDocument(handler, inputStream));
+        parseSanitizedXmlInputStream(handler, inputStream);
 
         return handler;
     }
@@ -355,7 +414,7 @@ public class XmlResponsesSaxParser {
     public ListVersionsHandler parseListVersionsResponse(InputStream inputStream, final boolean shouldSDKDecodeResponse)
             throws IOException {
         ListVersionsHandler handler = new ListVersionsHandler(shouldSDKDecodeResponse);
-        parseXmlInputStream(handler, sanitizeXmlDocument(handler, inputStream));
+        parseSanitizedXmlInputStream(handler, inputStream);
         return handler;
     }
 
@@ -371,7 +430,7 @@ public class XmlResponsesSaxParser {
     public ListAllMyBucketsHandler parseListMyBucketsResponse(InputStream inputStream)
             throws IOException {
         ListAllMyBucketsHandler handler = new ListAllMyBucketsHandler();
-        parseXmlInputStream(handler, sanitizeXmlDocument(handler, inputStream));
+        parseSanitizedXmlInputStream(handler, inputStream);
         return handler;
     }
 
@@ -387,7 +446,7 @@ public class XmlResponsesSaxParser {
     public ListAllMyBucketsExtendedHandler parseListMyBucketsExtendedResponse(InputStream inputStream)
             throws IOException {
         ListAllMyBucketsExtendedHandler handler = new ListAllMyBucketsExtendedHandler();
-        parseXmlInputStream(handler, sanitizeXmlDocument(handler, inputStream));
+        parseSanitizedXmlInputStream(handler, inputStream);
         return handler;
     }
 
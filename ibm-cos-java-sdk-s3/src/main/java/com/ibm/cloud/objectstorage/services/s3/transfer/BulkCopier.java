@@ -0,0 +1,701 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.BulkDeleter;
+import com.ibm.cloud.objectstorage.services.s3.iterable.ParallelBucketLister;
+import com.ibm.cloud.objectstorage.services.s3.model.AbortMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.AmazonS3Exception;
+import com.ibm.cloud.objectstorage.services.s3.model.CompleteMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.CompleteMultipartUploadResult;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyObjectResult;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyPartRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException.DeleteError;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.CopyCallable;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.CopyPartRequestFactory;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.TransferManagerUtils;
+import com.ibm.cloud.objectstorage.services.s3.transfer.model.CopyResult;
+
+/**
+ * Copies or moves large numbers of objects with server side copies, sharing
+ * a fixed number of in-flight requests between all of them. For example:
+ *
+ * <pre class="brush: java">
+ * BulkCopier.Result result = BulkCopier.forClient(s3)
+ *         .withConcurrency(64)
+ *         .copyPrefix(&quot;source-bucket&quot;, &quot;data/&quot;, &quot;destination-bucket&quot;, &quot;archive/data/&quot;);
+ * </pre>
+ * <p>
+ * Unlike {@link TransferManager#copy(CopyObjectRequest)}, the size of each
+ * source object is taken from its {@link S3ObjectSummary}, so objects below
+ * the {@link #withMultipartCopyThreshold(long) multipart copy threshold} are
+ * copied with a single request and no HEAD request. Larger objects are copied
+ * in parts, and the parts of all objects are scheduled on the same
+ * {@link #withConcurrency(int) fixed number} of worker threads: each object
+ * has at most that many parts queued, and a part is queued again behind the
+ * other objects once it has been copied, so one large object cannot hold up
+ * the rest of the copy.
+ * </p>
+ * <p>
+ * The sources are read on the calling thread, which waits while as many
+ * objects as the concurrency are being copied, so listing and copying
+ * overlap without the whole listing being held in memory. A failed object
+ * does not stop the others; its multipart upload is aborted and it is
+ * reported to the {@link Listener}, which is also told about each object as
+ * soon as it has been copied.
+ * </p>
+ * <p>
+ * With {@link #withDeleteSource(boolean)} the sources are deleted once they
+ * have been copied, with batched DeleteObjects requests. An object copied
+ * onto itself is then reported as failed and neither copied nor deleted,
+ * since deleting its source would delete the copy.
+ * </p>
+ */
+public class BulkCopier {
+    private static final Log log = LogFactory.getLog(BulkCopier.class);
+
+    private static final int DEFAULT_CONCURRENCY = 10;
+
+    private static final Comparator<PartETag> PART_NUMBER_ORDER = new Comparator<PartETag>() {
+        @Override
+        public int compare(PartETag a, PartETag b) {
+            return a.getPartNumber() - b.getPartNumber();
+        }
+    };
+
+    private final AmazonS3 s3;
+    private final TransferManagerConfiguration configuration = new TransferManagerConfiguration();
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int listingParallelism = DEFAULT_CONCURRENCY;
+    private boolean deleteSource;
+    private Listener listener;
+
+    private BulkCopier(AmazonS3 s3) {
+        if (s3 == null) {
+            throw new IllegalArgumentException("The S3 client must be specified");
+        }
+        this.s3 = s3;
+    }
+
+    /**
+     * Constructs a copier that copies objects with the given client.
+     *
+     * @param s3
+     *            The Amazon S3 client.
+     * @return A copier using the client.
+     */
+    public static BulkCopier forClient(AmazonS3 s3) {
+        return new BulkCopier(s3);
+    }
+
+    /**
+     * Sets the number of copy requests in flight at once, across all objects.
+     * Size this together with the maximum number of connections of the
+     * client.
+     *
+     * @param concurrency
+     *            The number of concurrent copy requests.
+     */
+    public BulkCopier withConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the size in bytes above which objects are copied in parts; see
+     * {@link TransferManagerConfiguration#setMultipartCopyThreshold(long)}.
+     *
+     * @param multipartCopyThreshold
+     *            The size threshold for multipart copies.
+     */
+    public BulkCopier withMultipartCopyThreshold(long multipartCopyThreshold) {
+        configuration.setMultipartCopyThreshold(multipartCopyThreshold);
+        return this;
+    }
+
+    /**
+     * Sets the minimum part size in bytes of multipart copies; see
+     * {@link TransferManagerConfiguration#setMultipartCopyPartSize(long)}.
+     *
+     * @param multipartCopyPartSize
+     *            The minimum part size for multipart copies.
+     */
+    public BulkCopier withMultipartCopyPartSize(long multipartCopyPartSize) {
+        configuration.setMultipartCopyPartSize(multipartCopyPartSize);
+        return this;
+    }
+
+    /**
+     * Sets the number of concurrent listing cursors used by
+     * {@link #copyPrefix(String, String, String, String)}; see
+     * {@link ParallelBucketLister#withParallelism(int)}.
+     *
+     * @param listingParallelism
+     *            The number of concurrent listing requests.
+     */
+    public BulkCopier withListingParallelism(int listingParallelism) {
+        if (listingParallelism <= 0) {
+            throw new IllegalArgumentException("listingParallelism must be positive");
+        }
+        this.listingParallelism = listingParallelism;
+        return this;
+    }
+
+    /**
+     * Sets whether each source object is deleted once it has been copied,
+     * which turns the copy into a move. False by default.
+     *
+     * @param deleteSource
+     *            True to delete the copied source objects.
+     */
+    public BulkCopier withDeleteSource(boolean deleteSource) {
+        this.deleteSource = deleteSource;
+        return this;
+    }
+
+    /**
+     * Sets the listener told about each object as it is copied or fails.
+     *
+     * @param listener
+     *            The listener, called from the worker threads.
+     */
+    public BulkCopier withListener(Listener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public AmazonS3 getS3() {
+        return s3;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public long getMultipartCopyThreshold() {
+        return configuration.getMultipartCopyThreshold();
+    }
+
+    public long getMultipartCopyPartSize() {
+        return configuration.getMultipartCopyPartSize();
+    }
+
+    public int getListingParallelism() {
+        return listingParallelism;
+    }
+
+    public boolean isDeleteSource() {
+        return deleteSource;
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    /**
+     * Copies the objects whose key begins with the source prefix to the
+     * destination bucket, replacing the source prefix of their keys with the
+     * destination prefix.
+     *
+     * @param sourceBucketName
+     *            The bucket to copy from.
+     * @param sourcePrefix
+     *            The prefix of the keys to copy, or null for the whole bucket.
+     * @param destinationBucketName
+     *            The bucket to copy to.
+     * @param destinationPrefix
+     *            The prefix replacing the source prefix, or null to keep the
+     *            keys unchanged.
+     * @return The outcome of the copy.
+     * @throws IllegalArgumentException
+     *             If the sources are to be deleted and the bucket and prefix
+     *             are unchanged, which would copy every object onto itself,
+     *             or if the destination prefix is nested under the source
+     *             prefix in the same bucket, where the copies would be listed
+     *             and copied again.
+     */
+    public Result copyPrefix(final String sourceBucketName, String sourcePrefix, final String destinationBucketName,
+            String destinationPrefix) {
+        final int sourcePrefixLength = sourcePrefix == null ? 0 : sourcePrefix.length();
+        final String keyPrefix = destinationPrefix == null ? (sourcePrefix == null ? "" : sourcePrefix)
+                : destinationPrefix;
+        String listedPrefix = sourcePrefix == null ? "" : sourcePrefix;
+        if (sourceBucketName.equals(destinationBucketName)) {
+            if (deleteSource && keyPrefix.equals(listedPrefix)) {
+                throw new IllegalArgumentException("Moving objects requires a different destination bucket or prefix");
+            }
+            if (keyPrefix.length() > listedPrefix.length() && keyPrefix.startsWith(listedPrefix)) {
+                throw new IllegalArgumentException("The destination prefix " + keyPrefix
+                        + " must not be nested under the source prefix " + listedPrefix + " in the same bucket");
+            }
+        }
+        Stream<S3ObjectSummary> summaries = ParallelBucketLister.withPrefix(s3, sourceBucketName, sourcePrefix)
+                .withParallelism(listingParallelism)
+                .withOrdered(false)
+                .withSkippedSummaryFields(ListingSummaryField.OWNER, ListingSummaryField.STORAGE_CLASS)
+                .stream();
+        try {
+            return copy(summaries, new Function<S3ObjectSummary, CopyObjectRequest>() {
+                @Override
+                public CopyObjectRequest apply(S3ObjectSummary summary) {
+                    String key = keyPrefix + summary.getKey().substring(sourcePrefixLength);
+                    return new CopyObjectRequest(sourceBucketName, summary.getKey(), destinationBucketName, key);
+                }
+            });
+        } finally {
+            summaries.close();
+        }
+    }
+
+    /**
+     * Copies the given objects. The stream is consumed on the calling thread,
+     * and the size of each object is taken from its summary.
+     *
+     * @param sources
+     *            The summaries of the objects to copy.
+     * @param requestFactory
+     *            Creates the copy request of each object, which must copy
+     *            from the bucket and key of the summary.
+     * @return The outcome of the copy.
+     */
+    public Result copy(Stream<S3ObjectSummary> sources,
+            Function<S3ObjectSummary, CopyObjectRequest> requestFactory) {
+        BulkCopy bulkCopy = new BulkCopy();
+        Iterator<S3ObjectSummary> iterator = sources.iterator();
+        try {
+            while (iterator.hasNext()) {
+                S3ObjectSummary source = iterator.next();
+                bulkCopy.copy(requestFactory.apply(source), source.getSize());
+            }
+            bulkCopy.awaitObjects();
+            bulkCopy.deleteSources();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortedException(e);
+        } finally {
+            bulkCopy.executor.shutdownNow();
+        }
+        return bulkCopy.toResult();
+    }
+
+    /**
+     * Receives the outcome of each object of a bulk copy. Methods are called
+     * from the worker threads, possibly concurrently.
+     */
+    public interface Listener {
+        /**
+         * Called once an object has been copied, before its source is
+         * deleted.
+         */
+        void objectCopied(CopyResult result);
+
+        /**
+         * Called when an object could not be copied.
+         */
+        void objectFailed(CopyObjectRequest request, Exception e);
+    }
+
+    /**
+     * The state of one run of the copier, shared by its worker threads.
+     */
+    private final class BulkCopy {
+        private final long startTime = System.nanoTime();
+        private final ExecutorService executor;
+        /** One permit per object being copied. */
+        private final Semaphore objectPermits = new Semaphore(concurrency);
+        private final AtomicLong copiedCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong bytesCopied = new AtomicLong();
+        private final AtomicLong requestCount = new AtomicLong();
+        private final Queue<DeleteError> deleteErrors = new ConcurrentLinkedQueue<DeleteError>();
+        /** Sources copied but not yet deleted, with their bucket. */
+        private final List<CopyObjectRequest> pendingDeletes = new ArrayList<CopyObjectRequest>();
+
+        private BulkCopy() {
+            executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory() {
+                private final AtomicInteger threadCount = new AtomicInteger(1);
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r);
+                    thread.setName("s3-bulk-copier-worker-" + threadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        private void copy(final CopyObjectRequest request, final long size) throws InterruptedException {
+            objectPermits.acquire();
+            if (deleteSource && isCopyOntoItself(request)) {
+                objectFailed(request, new IllegalArgumentException("Unable to move "
+                        + request.getSourceBucketName() + "/" + request.getSourceKey() + " onto itself"));
+                return;
+            }
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        if (size > configuration.getMultipartCopyThreshold()) {
+                            new MultipartCopy(BulkCopy.this, request, size).start();
+                            return;
+                        }
+                        requestCount.incrementAndGet();
+                        CopyObjectResult result = s3.copyObject(request);
+                        if (result == null) {
+                            // A constraint of the request was not met
+                            objectFailed(request, new AmazonS3Exception(
+                                    "The copy constraints of the request were not met"));
+                        } else {
+                            objectCopied(request, size, result.getETag(), result.getVersionId());
+                        }
+                    } catch (Exception e) {
+                        objectFailed(request, e);
+                    }
+                }
+            });
+        }
+
+        /**
+         * Returns true if the copy replaces its own source, whose deletion
+         * would then delete the copy. A copy of a specific version creates a
+         * new version, so that version can still be deleted.
+         */
+        private boolean isCopyOntoItself(CopyObjectRequest request) {
+            return request.getSourceVersionId() == null
+                    && request.getSourceBucketName().equals(request.getDestinationBucketName())
+                    && request.getSourceKey().equals(request.getDestinationKey());
+        }
+
+        private void objectCopied(CopyObjectRequest request, long size, String eTag, String versionId) {
+            try {
+                copiedCount.incrementAndGet();
+                bytesCopied.addAndGet(size);
+                if (listener != null) {
+                    CopyResult result = new CopyResult();
+                    result.setSourceBucketName(request.getSourceBucketName());
+                    result.setSourceKey(request.getSourceKey());
+                    result.setDestinationBucketName(request.getDestinationBucketName());
+                    result.setDestinationKey(request.getDestinationKey());
+                    result.setETag(eTag);
+                    result.setVersionId(versionId);
+                    listener.objectCopied(result);
+                }
+                if (deleteSource) {
+                    List<CopyObjectRequest> batch = null;
+                    synchronized (pendingDeletes) {
+                        pendingDeletes.add(request);
+                        if (pendingDeletes.size() == BulkDeleter.MAX_KEYS_PER_REQUEST) {
+                            batch = new ArrayList<CopyObjectRequest>(pendingDeletes);
+                            pendingDeletes.clear();
+                        }
+                    }
+                    if (batch != null) {
+                        deleteSources(batch);
+                    }
+                }
+            } finally {
+                objectPermits.release();
+            }
+        }
+
+        private void objectFailed(CopyObjectRequest request, Exception e) {
+            try {
+                failedCount.incrementAndGet();
+                log.debug("Unable to copy " + request.getSourceBucketName() + "/" + request.getSourceKey(), e);
+                if (listener != null) {
+                    listener.objectFailed(request, e);
+                }
+            } finally {
+                objectPermits.release();
+            }
+        }
+
+        private void awaitObjects() throws InterruptedException {
+            objectPermits.acquire(concurrency);
+            objectPermits.release(concurrency);
+        }
+
+        private void deleteSources() {
+            List<CopyObjectRequest> batch;
+            synchronized (pendingDeletes) {
+                batch = new ArrayList<CopyObjectRequest>(pendingDeletes);
+                pendingDeletes.clear();
+            }
+            deleteSources(batch);
+        }
+
+        /**
+         * Deletes the sources of the given copies, with one request per
+         * source bucket.
+         */
+        private void deleteSources(List<CopyObjectRequest> copies) {
+            while (!copies.isEmpty()) {
+                String bucketName = copies.get(0).getSourceBucketName();
+                List<KeyVersion> keys = new ArrayList<KeyVersion>(copies.size());
+                List<CopyObjectRequest> otherBuckets = new ArrayList<CopyObjectRequest>();
+                for (CopyObjectRequest copy : copies) {
+                    if (copy.getSourceBucketName().equals(bucketName)) {
+                        keys.add(new KeyVersion(copy.getSourceKey(), copy.getSourceVersionId()));
+                    } else {
+                        otherBuckets.add(copy);
+                    }
+                }
+                deleteSources(bucketName, keys);
+                copies = otherBuckets;
+            }
+        }
+
+        /**
+         * Deletes copied sources with one quiet request, recording rather
+         * than throwing its failures.
+         */
+        private void deleteSources(String bucketName, List<KeyVersion> keys) {
+            requestCount.incrementAndGet();
+            try {
+                s3.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys).withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                deleteErrors.addAll(e.getErrors());
+            } catch (RuntimeException e) {
+                log.debug("Unable to delete copied objects from " + bucketName, e);
+                for (KeyVersion key : keys) {
+                    DeleteError error = new DeleteError();
+                    error.setKey(key.getKey());
+                    error.setVersionId(key.getVersion());
+                    error.setMessage(e.getMessage());
+                    if (e instanceof AmazonS3Exception) {
+                        error.setCode(((AmazonS3Exception) e).getErrorCode());
+                    }
+                    deleteErrors.add(error);
+                }
+            }
+        }
+
+        private Result toResult() {
+            return new Result(copiedCount.get(), failedCount.get(), bytesCopied.get(), requestCount.get(),
+                    new ArrayList<DeleteError>(deleteErrors), System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * A multipart copy of one object. Up to the concurrency of the copier
+     * part tasks are queued at once; each copies one part and queues itself
+     * again while parts remain, and the last one to finish completes or
+     * aborts the upload.
+     */
+    private final class MultipartCopy implements Runnable {
+        private final BulkCopy bulkCopy;
+        private final CopyObjectRequest request;
+        private final long size;
+        private final List<PartETag> partETags = Collections.synchronizedList(new ArrayList<PartETag>());
+        private final AtomicInteger activeTasks = new AtomicInteger();
+        private final AtomicReference<Exception> failure = new AtomicReference<Exception>();
+        private String uploadId;
+        private CopyPartRequestFactory partRequestFactory;
+
+        private MultipartCopy(BulkCopy bulkCopy, CopyObjectRequest request, long size) {
+            this.bulkCopy = bulkCopy;
+            this.request = request;
+            this.size = size;
+        }
+
+        private void start() {
+            GetObjectMetadataRequest metadataRequest = new GetObjectMetadataRequest(
+                    request.getSourceBucketName(), request.getSourceKey(), request.getSourceVersionId())
+                    .withSSECustomerKey(request.getSourceSSECustomerKey())
+                    .withRequesterPays(request.isRequesterPays())
+                    .withRequestCredentialsProvider(request.getRequestCredentialsProvider());
+            bulkCopy.requestCount.addAndGet(2);
+            ObjectMetadata metadata = s3.getObjectMetadata(metadataRequest);
+            uploadId = CopyCallable.initiateMultipartCopy(s3, request, metadata);
+
+            long partSize = TransferManagerUtils.calculateOptimalPartSizeForCopy(request, configuration, size);
+            partRequestFactory = new CopyPartRequestFactory(request, uploadId, partSize, size);
+            long partCount = (size + partSize - 1) / partSize;
+            int tasks = (int) Math.min(partCount, concurrency);
+            activeTasks.set(tasks);
+            for (int i = 0; i < tasks; i++) {
+                bulkCopy.executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            CopyPartRequest partRequest = null;
+            if (failure.get() == null) {
+                synchronized (partRequestFactory) {
+                    if (partRequestFactory.hasMoreRequests()) {
+                        partRequest = partRequestFactory.getNextCopyPartRequest();
+                    }
+                }
+            }
+            if (partRequest != null) {
+                try {
+                    bulkCopy.requestCount.incrementAndGet();
+                    partETags.add(s3.copyPart(partRequest).getPartETag());
+                    bulkCopy.executor.execute(this);
+                    return;
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            if (activeTasks.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            Exception e = failure.get();
+            if (e == null) {
+                try {
+                    List<PartETag> parts = new ArrayList<PartETag>(partETags);
+                    Collections.sort(parts, PART_NUMBER_ORDER);
+                    bulkCopy.requestCount.incrementAndGet();
+                    CompleteMultipartUploadResult result = s3.completeMultipartUpload(
+                            new CompleteMultipartUploadRequest(request.getDestinationBucketName(),
+                                    request.getDestinationKey(), uploadId, parts)
+                                    .withRequesterPays(request.isRequesterPays())
+                                    .withRequestCredentialsProvider(request.getRequestCredentialsProvider()));
+                    bulkCopy.objectCopied(request, size, result.getETag(), result.getVersionId());
+                    return;
+                } catch (Exception completeFailure) {
+                    e = completeFailure;
+                }
+            }
+            abort();
+            bulkCopy.objectFailed(request, e);
+        }
+
+        private void abort() {
+            try {
+                bulkCopy.requestCount.incrementAndGet();
+                s3.abortMultipartUpload(new AbortMultipartUploadRequest(request.getDestinationBucketName(),
+                        request.getDestinationKey(), uploadId)
+                        .withRequesterPays(request.isRequesterPays())
+                        .withRequestCredentialsProvider(request.getRequestCredentialsProvider()));
+            } catch (Exception e) {
+                log.info("Unable to abort multipart upload, you may need to manually remove uploaded parts: "
+                        + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * The outcome of a bulk copy.
+     */
+    public static final class Result {
+        private final long copiedCount;
+        private final long failedCount;
+        private final long bytesCopied;
+        private final long requestCount;
+        private final List<DeleteError> deleteErrors;
+        private final long elapsedNanos;
+
+        private Result(long copiedCount, long failedCount, long bytesCopied, long requestCount,
+                List<DeleteError> deleteErrors, long elapsedNanos) {
+            this.copiedCount = copiedCount;
+            this.failedCount = failedCount;
+            this.bytesCopied = bytesCopied;
+            this.requestCount = requestCount;
+            this.deleteErrors = Collections.unmodifiableList(deleteErrors);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of objects that were copied.
+         */
+        public long getCopiedCount() {
+            return copiedCount;
+        }
+
+        /**
+         * Returns the number of objects that could not be copied; see
+         * {@link Listener#objectFailed(CopyObjectRequest, Exception)}.
+         */
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * Returns the total size of the objects that were copied.
+         */
+        public long getBytesCopied() {
+            return bytesCopied;
+        }
+
+        /**
+         * Returns the number of requests sent, including HEAD and delete
+         * requests.
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * Returns the copied sources that could not be deleted, when the
+         * sources are deleted.
+         */
+        public List<DeleteError> getDeleteErrors() {
+            return deleteErrors;
+        }
+
+        /**
+         * Returns the time the copy took, including listing the sources.
+         */
+        public long getElapsedTime(TimeUnit unit) {
+            return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Returns the number of objects copied per second.
+         */
+        public double getObjectsPerSecond() {
+            return elapsedNanos == 0 ? 0 : copiedCount * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.ibm.cloud.objectstorage.AmazonClientException;
 import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.internal.DirectBufferPool;
 import com.ibm.cloud.objectstorage.services.s3.internal.FileLocks;
 import com.ibm.cloud.objectstorage.services.s3.internal.ServiceUtils;
 import com.ibm.cloud.objectstorage.services.s3.internal.ServiceUtils.RetryableS3DownloadTask;
@@ -55,10 +56,14 @@ final class DownloadCallable extends AbstractDownloadCallable {
     private final boolean resumeExistingDownload;
     private final DownloadImpl download;
     private final long origStartingByte;
+    /** The last part merged, or the number of ranges merged by a ranged download. */
     private Integer lastFullyMergedPartNumber;
     private Long lastFullyMergedPartPosition;
     private final boolean resumeOnRetry;
     private long expectedFileLength;
+    private long downloadPartSize;
+    private long objectLength;
+    private DirectBufferPool bufferPool = DirectBufferPool.getDefault();
 
     DownloadCallable(AmazonS3 s3, CountDownLatch latch,
                      GetObjectRequest req, boolean resumeExistingDownload,
@@ -87,6 +92,27 @@ final class DownloadCallable extends AbstractDownloadCallable {
         return this;
     }
 
+    /**
+     * Downloads the object in byte ranges of the given size instead of by
+     * part number when the download is parallel. A non-positive size keeps
+     * the part based download. A resumed download must use the size it was
+     * started with.
+     */
+    DownloadCallable withRangeDownload(long downloadPartSize, long objectLength) {
+        this.downloadPartSize = downloadPartSize;
+        this.objectLength = objectLength;
+        return this;
+    }
+
+    /**
+     * Writes the downloaded data to the destination file through buffers of
+     * the given pool.
+     */
+    DownloadCallable withBufferPool(DirectBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        return this;
+    }
+
     @Override
     protected void downloadAsSingleObject() {
         S3Object s3Object = retryableDownloadS3ObjectToFile(dstfile,
@@ -96,7 +122,11 @@ final class DownloadCallable extends AbstractDownloadCallable {
 
     @Override
     protected void downloadInParallel() throws Exception {
-        downloadInParallel(ServiceUtils.getPartCount(req, s3));
+        if (downloadPartSize > 0) {
+            downloadInParallelUsingRange();
+        } else {
+            downloadInParallel(ServiceUtils.getPartCount(req, s3));
+        }
     }
 
     @Override
@@ -146,23 +176,15 @@ final class DownloadCallable extends AbstractDownloadCallable {
             for (int i = lastFullyMergedPartNumber + 1; i <= partCount; i++) {
                 filePositionToWrite += previousPartLength;
 
-                GetObjectRequest getPartRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
-                                                                       req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
-                                                                                          .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
-                                                                                          .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
-                                                                                          .withGeneralProgressListener(req.getGeneralProgressListener());
-
-                getPartRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
-                getPartRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
-                getPartRequest.setRequesterPays(req.isRequesterPays());
-                getPartRequest.setRequestCredentialsProvider(req.getRequestCredentialsProvider());
+                GetObjectRequest getPartRequest = newPartialObjectRequest();
 
                 // Update the part number
                 getPartRequest.setPartNumber(i);
 
                 futures.add(executor.submit(new DownloadS3ObjectCallable(serviceCall(getPartRequest),
                                                                          dstfile,
-                                                                         filePositionToWrite)));
+                                                                         filePositionToWrite,
+                                                                         bufferPool)));
 
                 previousPartLength = ServiceUtils.getPartSize(req, s3, i);
             }
@@ -177,6 +199,82 @@ final class DownloadCallable extends AbstractDownloadCallable {
         }
     }
 
+    /**
+     * Downloads the object in fixed size byte ranges in parallel, writing each
+     * range into the destination file at its own offset. Unlike the part
+     * based download, this works for objects uploaded in a single request and
+     * needs no metadata request per range.
+     */
+    private void downloadInParallelUsingRange() throws Exception {
+
+        if (lastFullyMergedPartNumber == null) {
+            lastFullyMergedPartNumber = 0;
+        }
+
+        if (lastFullyMergedPartPosition == null) {
+            lastFullyMergedPartPosition = 0L;
+        }
+
+        // The ranges merged before a pause must line up with the ranges resumed
+        if (lastFullyMergedPartPosition != Math.min(lastFullyMergedPartNumber * downloadPartSize, objectLength)) {
+            throw new SdkClientException("Unable to resume the download into " + dstfile.getAbsolutePath()
+                    + ": " + lastFullyMergedPartNumber + " ranges of " + downloadPartSize
+                    + " bytes do not end at the recorded position " + lastFullyMergedPartPosition);
+        }
+
+        createParentDirectoryIfNecessary(dstfile);
+
+        preallocateDestinationFile();
+
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile);
+        }
+
+        try {
+            long currentStart = lastFullyMergedPartPosition;
+            while (currentStart < objectLength) {
+                // end is inclusive in setRange, so reduce size by 1
+                long currentEnd = Math.min(currentStart + downloadPartSize, objectLength) - 1;
+
+                GetObjectRequest getRangeRequest = newPartialObjectRequest();
+                getRangeRequest.setRange(currentStart, currentEnd);
+
+                futures.add(executor.submit(new DownloadS3ObjectCallable(serviceCall(getRangeRequest),
+                                                                         dstfile,
+                                                                         currentStart,
+                                                                         bufferPool)));
+
+                currentStart = currentEnd + 1;
+            }
+
+            Future<File> future = executor.submit(new CompleteMultipartDownload(futures, dstfile, download,
+                                                                                lastFullyMergedPartNumber + 1));
+            ((DownloadMonitor) download.getMonitor()).setFuture(future);
+
+        } catch (Exception exception){
+            FileLocks.unlock(dstfile);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns a copy of the original request, without range or part number,
+     * to download a portion of the object.
+     */
+    private GetObjectRequest newPartialObjectRequest() {
+        GetObjectRequest partialObjectRequest = new GetObjectRequest(req.getBucketName(), req.getKey(),
+                                                                     req.getVersionId()).withUnmodifiedSinceConstraint(req.getUnmodifiedSinceConstraint())
+                                                                                        .withModifiedSinceConstraint(req.getModifiedSinceConstraint())
+                                                                                        .withResponseHeaders(req.getResponseHeaders()).withSSECustomerKey(req.getSSECustomerKey())
+                                                                                        .withGeneralProgressListener(req.getGeneralProgressListener());
+
+        partialObjectRequest.setMatchingETagConstraints(req.getMatchingETagConstraints());
+        partialObjectRequest.setNonmatchingETagConstraints(req.getNonmatchingETagConstraints());
+        partialObjectRequest.setRequesterPays(req.isRequesterPays());
+        partialObjectRequest.setRequestCredentialsProvider(req.getRequestCredentialsProvider());
+        return partialObjectRequest;
+    }
+
     /**
      * Returns a Callable to execute {@link AmazonS3#getObject(GetObjectRequest)} with given request.
      */
@@ -221,6 +319,38 @@ final class DownloadCallable extends AbstractDownloadCallable {
         }
     }
 
+    /**
+     * Sizes the destination file to the full object length before the ranged
+     * downloads start. Data merged before a pause is kept; anything after the
+     * last fully merged position is discarded.
+     */
+    private void preallocateDestinationFile() {
+        RandomAccessFile raf = null;
+        if (!FileLocks.lock(dstfile)) {
+            throw new FileLockException("Fail to lock " + dstfile);
+        }
+
+        try {
+            raf = new RandomAccessFile(dstfile, "rw");
+            if (lastFullyMergedPartPosition > 0) {
+                if (dstfile.length() < lastFullyMergedPartPosition) {
+                    throw new SdkClientException(
+                        "File " + dstfile.getAbsolutePath() + " has been modified since last pause.");
+                }
+                raf.setLength(lastFullyMergedPartPosition);
+                download.getProgress().updateProgress(lastFullyMergedPartPosition);
+            } else {
+                raf.setLength(0);
+            }
+            raf.setLength(objectLength);
+        } catch (Exception e) {
+            throw new SdkClientException("Unable to preallocate dstfile " + e.getMessage(), e);
+        } finally {
+            IOUtils.closeQuietly(raf, LOG);
+            FileLocks.unlock(dstfile);
+        }
+    }
+
     /**
      * This method is called only if it is a resumed download.
      *
@@ -281,7 +411,7 @@ final class DownloadCallable extends AbstractDownloadCallable {
                 }
                 ServiceUtils.downloadToFile(s3Object, file,
                                             retryableS3DownloadTask.needIntegrityCheck(),
-                                            appendData, expectedFileLength);
+                                            appendData, expectedFileLength, bufferPool);
                 return s3Object;
             } catch (AmazonClientException ace) {
                 if (!ace.isRetryable()) {
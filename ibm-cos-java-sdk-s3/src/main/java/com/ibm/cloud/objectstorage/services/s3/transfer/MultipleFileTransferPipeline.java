@@ -0,0 +1,206 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.services.s3.transfer.Transfer.TransferState;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.AbstractTransfer;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.TransferStateChangeListener;
+
+/**
+ * Queues the transfers of a directory upload or download while the files or
+ * objects to transfer are still being discovered, rather than discovering all
+ * of them first.
+ * <p>
+ * Discovery proceeds in batches, such as a page of an object listing, and is
+ * paused while {@link #MAX_PENDING_TRANSFERS} or more transfers are queued or
+ * in progress, so no more than that many transfers wait on the executor at
+ * once. It resumes on the executor once half of them have finished. Finished
+ * transfers are still kept, as the sub-transfers of the multiple file transfer
+ * include every file or object, so memory use still grows with the size of the
+ * directory, by one finished transfer per file.
+ * <p>
+ * Discovery starts on the calling thread, so a directory that fits in the
+ * window is queued in full before the multiple file transfer is returned, and
+ * errors of the first batches are thrown to the caller, wrapped in an
+ * {@link SdkClientException} unless they are one already.
+ * <p>
+ * Sub-transfers must use this pipeline as their state change listener.
+ */
+abstract class MultipleFileTransferPipeline<T extends AbstractTransfer> implements TransferStateChangeListener {
+    private static final Log log = LogFactory.getLog(MultipleFileTransferPipeline.class);
+
+    /** Number of queued or running transfers at which discovery is paused. */
+    static final int MAX_PENDING_TRANSFERS = 1000;
+
+    private final ExecutorService executorService;
+    private final MultipleFileTransferStateChangeListener stateChangeListener;
+    private final TransferProgress transferProgress;
+    private final Collection<T> subTransfers;
+    private final Set<Transfer> pendingTransfers =
+            Collections.newSetFromMap(new ConcurrentHashMap<Transfer, Boolean>());
+
+    /** Held by the thread discovering the next batches. */
+    private final AtomicBoolean discovering = new AtomicBoolean();
+    private volatile boolean canceled;
+    private volatile boolean finished;
+
+    /**
+     * @param subTransfers
+     *            The collection the discovered transfers are added to, which
+     *            must support concurrent iteration.
+     */
+    MultipleFileTransferPipeline(ExecutorService executorService,
+            MultipleFileTransferStateChangeListener stateChangeListener, TransferProgress transferProgress,
+            Collection<T> subTransfers) {
+        this.executorService = executorService;
+        this.stateChangeListener = stateChangeListener;
+        this.transferProgress = transferProgress;
+        this.subTransfers = subTransfers;
+        transferProgress.setTotalBytesToTransfer(0);
+    }
+
+    /**
+     * Discovers the next batch of files or objects and queues their transfers
+     * with {@link #queue(AbstractTransfer)}.
+     *
+     * @return False if there was nothing left to discover.
+     */
+    protected abstract boolean discoverNextBatch();
+
+    /**
+     * Adds the size of a discovered file or object to the total number of
+     * bytes to transfer. Must be called before its transfer is submitted, as
+     * progress beyond the total is dropped.
+     */
+    protected void addBytesToTransfer(long size) {
+        transferProgress.setTotalBytesToTransfer(transferProgress.getTotalBytesToTransfer() + size);
+    }
+
+    /**
+     * Adds a transfer that has been submitted to the executor.
+     */
+    protected void queue(T transfer) {
+        pendingTransfers.add(transfer);
+        subTransfers.add(transfer);
+        // The transfer may have finished before it was added
+        if (transfer.isDone()) {
+            transferFinished(transfer);
+        }
+    }
+
+    /**
+     * Starts discovering on the calling thread.
+     */
+    void start() {
+        discovering.set(true);
+        discover(true);
+    }
+
+    @Override
+    public void transferStateChanged(Transfer transfer, TransferState state) {
+        stateChangeListener.transferStateChanged(transfer, state);
+        if (transfer.isDone()) {
+            transferFinished(transfer);
+        }
+    }
+
+    private void transferFinished(Transfer transfer) {
+        // Sub-transfers may report a terminal state more than once
+        if (!pendingTransfers.remove(transfer)) {
+            return;
+        }
+        if (transfer.getState() == TransferState.Canceled) {
+            canceled = true;
+        }
+        if (canceled || pendingTransfers.size() <= MAX_PENDING_TRANSFERS / 2) {
+            resumeDiscovery();
+        }
+    }
+
+    private void resumeDiscovery() {
+        if (finished || !discovering.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    discover(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(e);
+        }
+    }
+
+    /**
+     * Discovers batches until the window is full or there is nothing left.
+     * Must be called while holding {@link #discovering}.
+     */
+    private void discover(boolean callingThread) {
+        try {
+            if (finished) {
+                return;
+            }
+            while (pendingTransfers.size() < MAX_PENDING_TRANSFERS) {
+                // A canceled sub-transfer stops the rest of the directory
+                if (canceled || !discoverNextBatch()) {
+                    finish(null);
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            if (callingThread) {
+                cancelQueuedTransfers();
+                finish(e);
+                throw e instanceof SdkClientException ? (SdkClientException) e : new SdkClientException(e);
+            }
+            log.warn("Unable to discover further transfers", e);
+            finish(e);
+            return;
+        } finally {
+            discovering.set(false);
+        }
+        // Transfers may have finished while the last batch was discovered
+        if (canceled || pendingTransfers.size() <= MAX_PENDING_TRANSFERS / 2) {
+            resumeDiscovery();
+        }
+    }
+
+    private void finish(Throwable failure) {
+        finished = true;
+        stateChangeListener.allTransfersQueued(failure);
+    }
+
+    private void cancelQueuedTransfers() {
+        for (T transfer : subTransfers) {
+            try {
+                transfer.getMonitor().getFuture().cancel(true);
+            } catch (Throwable t) {
+                log.warn("Transfer could not be aborted", t);
+            }
+        }
+    }
+}
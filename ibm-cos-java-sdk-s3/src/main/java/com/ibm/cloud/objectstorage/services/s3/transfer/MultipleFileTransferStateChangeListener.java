@@ -14,34 +14,23 @@
  */
 package com.ibm.cloud.objectstorage.services.s3.transfer;
 
-import java.util.concurrent.CountDownLatch;
-
-import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.services.s3.transfer.Transfer.TransferState;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.MultipleFileTransfer;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.MultipleFileTransferMonitor;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.TransferStateChangeListener;
 
 final class MultipleFileTransferStateChangeListener implements TransferStateChangeListener {
-    private final CountDownLatch latch;
+    private final MultipleFileTransferMonitor monitor;
     private final MultipleFileTransfer<?> multipleFileTransfer;
 
-    public MultipleFileTransferStateChangeListener(CountDownLatch latch,
+    public MultipleFileTransferStateChangeListener(MultipleFileTransferMonitor monitor,
             MultipleFileTransfer<?> multipleFileTransfer) {
-        this.latch = latch;
+        this.monitor = monitor;
         this.multipleFileTransfer = multipleFileTransfer;
     }
 
     @Override
     public void transferStateChanged(Transfer upload, TransferState state) {
-        // There's a race here: we can't start monitoring the state of
-        // individual transfers until we have added all the transfers to the
-        // list, or we may incorrectly report completion.
-        try {
-            latch.await();
-        } catch ( InterruptedException e ) {
-            throw new SdkClientException("Couldn't wait for all downloads to be queued");
-        }
-
         synchronized (multipleFileTransfer) {
             if ( multipleFileTransfer.getState() == state || multipleFileTransfer.isDone() )
                 return;
@@ -50,14 +39,41 @@ final class MultipleFileTransferStateChangeListener implements TransferStateChan
              * If we're not already in a terminal state, allow a transition
              * to a non-waiting state. Mark completed if this download is
              * completed and the monitor says all of the rest are as well.
+             * The monitor is not done until all the transfers have been
+             * added, so we can't incorrectly report completion while they
+             * are still being queued.
              */
             if ( state == TransferState.InProgress ) {
                 multipleFileTransfer.setState(state);
-            } else if ( multipleFileTransfer.getMonitor().isDone() ) {
-                multipleFileTransfer.collateFinalState();
+            } else if ( monitor.isDone() ) {
+                collateFinalState();
             } else {
                 multipleFileTransfer.setState(TransferState.InProgress);
             }
         }
     }
+
+    /**
+     * Signals that no more transfers will be added, and completes the multiple
+     * file transfer if all of the queued ones have already finished.
+     *
+     * @param discoveryFailure
+     *            The error that stopped adding transfers, or null.
+     */
+    public void allTransfersQueued(Throwable discoveryFailure) {
+        monitor.setAllTransfersQueued(discoveryFailure);
+        synchronized (multipleFileTransfer) {
+            if ( !multipleFileTransfer.isDone() && monitor.isDone() ) {
+                collateFinalState();
+            }
+        }
+    }
+
+    private void collateFinalState() {
+        if ( monitor.getDiscoveryFailure() != null ) {
+            multipleFileTransfer.setState(TransferState.Failed);
+        } else {
+            multipleFileTransfer.collateFinalState();
+        }
+    }
 }
@@ -78,9 +78,24 @@ public final class PersistableDownload extends PersistableTransfer {
     @JsonProperty
     private final Long lastFullyDownloadedFilePosition;
 
+    /**
+     * The size of the byte ranges of a parallel download split into ranges,
+     * or null if it was downloaded by part number. When set,
+     * lastFullyDownloadedPartNumber counts the ranges written.
+     */
+    @JsonProperty
+    private final Long downloadPartSize;
+
 
     public PersistableDownload() {
-        this(null, null, null, null, null, false, null, null, 0L, null);
+        this(null, null, null, null, null, false, null, null, 0L, null, null);
+    }
+
+    public PersistableDownload(String bucketName, String key, String versionId, long[] range,
+            ResponseHeaderOverrides responseHeaders, boolean isRequesterPays, String file,
+            Integer lastFullyDownloadedPartNumber, long lastModifiedTime, Long lastFullyDownloadedFilePosition) {
+        this(bucketName, key, versionId, range, responseHeaders, isRequesterPays, file,
+                lastFullyDownloadedPartNumber, lastModifiedTime, lastFullyDownloadedFilePosition, null);
     }
 
     public PersistableDownload(
@@ -93,7 +108,8 @@ public final class PersistableDownload extends PersistableTransfer {
             @JsonProperty(value = "file") String file,
             @JsonProperty(value = "lastFullyDownloadedPartNumber") Integer lastFullyDownloadedPartNumber,
             @JsonProperty(value = "lastModifiedTime") long lastModifiedTime,
-            @JsonProperty(value = "lastFullyDownloadedFilePosition") Long lastFullyDownloadedFilePosition) {
+            @JsonProperty(value = "lastFullyDownloadedFilePosition") Long lastFullyDownloadedFilePosition,
+            @JsonProperty(value = "downloadPartSize") Long downloadPartSize) {
         this.bucketName = bucketName;
         this.key = key;
         this.versionId = versionId;
@@ -104,6 +120,7 @@ public final class PersistableDownload extends PersistableTransfer {
         this.lastFullyDownloadedPartNumber = lastFullyDownloadedPartNumber;
         this.lastModifiedTime = lastModifiedTime;
         this.lastFullyDownloadedFilePosition = lastFullyDownloadedFilePosition;
+        this.downloadPartSize = downloadPartSize;
     }
 
     public PersistableDownload(String bucketName, String key, String versionId, long[] range, ResponseHeaderOverrides responseHeaders, boolean requesterPays, String absolutePath, Integer lastFullyDownloadedPartNumber, long time) {
@@ -182,4 +199,12 @@ public final class PersistableDownload extends PersistableTransfer {
     Long getLastFullyDownloadedFilePosition() {
         return lastFullyDownloadedFilePosition;
     }
+
+    /**
+     * Returns the size of the byte ranges the download was split into, or null
+     * if it was downloaded by part number or serially.
+     */
+    Long getDownloadPartSize() {
+        return downloadPartSize;
+    }
 }
@@ -32,6 +32,7 @@ import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3Client;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3Encryption;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3EncryptionV2;
+import com.ibm.cloud.objectstorage.services.s3.internal.DirectBufferPool;
 import com.ibm.cloud.objectstorage.services.s3.internal.FileLocks;
 import com.ibm.cloud.objectstorage.services.s3.internal.Mimetypes;
 import com.ibm.cloud.objectstorage.services.s3.internal.RequestCopyUtils;
@@ -57,6 +58,7 @@ import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectInputStream;
 import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
 import com.ibm.cloud.objectstorage.services.s3.transfer.Transfer.TransferState;
 import com.ibm.cloud.objectstorage.services.s3.transfer.exception.FileLockException;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.AdaptiveTransferController;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.CopyCallable;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.CopyImpl;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.CopyMonitor;
@@ -82,11 +84,17 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
-import java.util.LinkedList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -94,6 +102,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -173,6 +182,10 @@ public class TransferManager {
 
     private final boolean shutDownThreadPools;
 
+    /** Created on first use once adaptive tuning is enabled in the configuration. */
+    private final AtomicReference<AdaptiveTransferController> adaptiveController =
+            new AtomicReference<AdaptiveTransferController>();
+
     /**
      * Flag indicating whether the transfer manager is mutable or not. Legacy managers built via the
      * constructors are mutable. TransferManagers built with the fluent builders are immutable.
@@ -584,6 +597,92 @@ public class TransferManager {
         return doUpload(putObjectRequest, null, progressListener, null);
     }
 
+    /**
+     * <p>
+     * Schedules a new transfer to upload an input stream of unknown length to
+     * Amazon S3. This method is non-blocking and returns immediately (i.e.
+     * before the upload has finished).
+     * </p>
+     * <p>
+     * Unlike {@link #upload(String, String, InputStream, ObjectMetadata)},
+     * the stream does not need a content length and is never buffered in
+     * full. It is read into a bounded set of reusable in memory part buffers,
+     * see {@link TransferManagerConfiguration#setStreamUploadBufferCount(int)},
+     * and each buffer is uploaded as a part as soon as it is full, while the
+     * next part is read. When all the buffers are being uploaded, the part just
+     * read is uploaded on the reading thread instead, so the upload never waits
+     * for a buffer held by work queued behind it. A stream shorter than one
+     * part is uploaded with a single request.
+     * </p>
+     * <p>
+     * Parts have the minimum upload part size, or the size computed from the
+     * content length of the metadata when one is set, so the stream can be at
+     * most 10,000 times that size.
+     * </p>
+     *
+     * @param bucketName
+     *            The name of the bucket to upload the new object to.
+     * @param key
+     *            The key in the specified bucket by which to store the new
+     *            object.
+     * @param input
+     *            The input stream containing the data to upload to Amazon S3.
+     *            It is closed once the upload completes or fails.
+     * @param objectMetadata
+     *            Additional information about the object being uploaded,
+     *            including the content type, additional custom user metadata,
+     *            etc.
+     *
+     * @return A new <code>Upload</code> object to use to check
+     * 		   the state of the upload, listen for progress notifications,
+     * 		   and otherwise manage the upload.
+     *
+     * @throws AmazonClientException
+     *             If any errors are encountered in the client while making the
+     *             request or handling the response.
+     * @throws AmazonServiceException
+     *             If any errors occurred in Amazon S3 while processing the
+     *             request.
+     */
+    public Upload uploadStream(final String bucketName, final String key, final InputStream input,
+            ObjectMetadata objectMetadata) throws AmazonServiceException, AmazonClientException {
+        return uploadStream(new PutObjectRequest(bucketName, key, input, objectMetadata));
+    }
+
+    /**
+     * <p>
+     * Schedules a new transfer to upload the input stream of the request, of
+     * unknown length, to Amazon S3 through a bounded set of reusable in memory
+     * part buffers. This method is non-blocking and returns immediately (i.e.
+     * before the upload has finished).
+     * </p>
+     * <p>
+     * See {@link #uploadStream(String, String, InputStream, ObjectMetadata)}.
+     * </p>
+     *
+     * @param putObjectRequest
+     *            The request containing all the parameters for the upload. It
+     *            must have an input stream, not a file.
+     *
+     * @return A new <code>Upload</code> object to use to check the state of the
+     *         upload, listen for progress notifications, and otherwise manage
+     *         the upload.
+     *
+     * @throws AmazonClientException
+     *             If any errors are encountered in the client while making the
+     *             request or handling the response.
+     * @throws AmazonServiceException
+     *             If any errors occurred in Amazon S3 while processing the
+     *             request.
+     */
+    public Upload uploadStream(final PutObjectRequest putObjectRequest)
+            throws AmazonServiceException, AmazonClientException {
+        if (putObjectRequest.getInputStream() == null || putObjectRequest.getFile() != null) {
+            throw new IllegalArgumentException("A streamed upload requires an input stream and no file");
+        }
+        return doUpload(putObjectRequest, null, null, null, true);
+    }
+
     /**
      * <p>
      * Schedules a new transfer to upload data to Amazon S3. This method is
@@ -633,6 +732,15 @@ public class TransferManager {
             final S3ProgressListener progressListener,
             final PersistableUpload persistableUpload) throws AmazonServiceException,
             AmazonClientException {
+        return doUpload(putObjectRequest, stateListener, progressListener, persistableUpload, false);
+    }
+
+    private Upload doUpload(final PutObjectRequest putObjectRequest,
+            final TransferStateChangeListener stateListener,
+            final S3ProgressListener progressListener,
+            final PersistableUpload persistableUpload,
+            final boolean streaming) throws AmazonServiceException,
+            AmazonClientException {
 
         assertNotObjectLambdaArn(putObjectRequest.getBucketName(), "upload");
 
@@ -685,7 +793,9 @@ public class TransferManager {
          */
         UploadCallable uploadCallable = new UploadCallable(this, executorService,
                                                            upload, putObjectRequest, listenerChain, multipartUploadId,
-                                                           transferProgress);
+                                                           transferProgress)
+                .withStreaming(streaming)
+                .withAdaptiveController(getAdaptiveController());
         UploadMonitor watcher = UploadMonitor.create(this, upload, executorService,
                                                      uploadCallable, putObjectRequest, listenerChain);
         upload.setMonitor(watcher);
@@ -693,6 +803,24 @@ public class TransferManager {
         return upload;
     }
 
+    /**
+     * Returns the controller shared by the uploads of this transfer manager
+     * when adaptive tuning is enabled, or null otherwise.
+     */
+    private AdaptiveTransferController getAdaptiveController() {
+        if (!configuration.isAdaptiveTuningEnabled()) {
+            return null;
+        }
+        AdaptiveTransferController controller = adaptiveController.get();
+        if (controller == null) {
+            int maxConcurrency = configuration.getMaxAdaptiveConcurrency();
+            adaptiveController.compareAndSet(null,
+                    new AdaptiveTransferController((maxConcurrency + 1) / 2, maxConcurrency));
+            controller = adaptiveController.get();
+        }
+        return controller;
+    }
+
     /**
      * Schedules a new transfer to download data from Amazon S3 and save it to
      * the specified file. This method is non-blocking and returns immediately
@@ -1002,7 +1130,7 @@ public class TransferManager {
                              final File file, final S3ProgressListener progressListener,
                              final long timeoutMillis, final boolean resumeOnRetry) {
         return doDownload(getObjectRequest, file, null, progressListener,
-                OVERWRITE_MODE, timeoutMillis, null, 0L, resumeOnRetry, 0L);
+                OVERWRITE_MODE, timeoutMillis, null, 0L, resumeOnRetry, 0L, null);
     }
 
     private Download doDownload(final GetObjectRequest getObjectRequest,
@@ -1016,16 +1144,19 @@ public class TransferManager {
         long lastModifiedTimeRecordedDuringPause = 0L;
         Integer lastFullyDownloadedPartNumber = null;
         Long lastFullyDownloadedFilePosition = null;
+        Long downloadPartSize = null;
 
         if (persistableDownload != null) {
             lastModifiedTimeRecordedDuringPause = persistableDownload.getlastModifiedTime();
             lastFullyDownloadedPartNumber = persistableDownload.getLastFullyDownloadedPartNumber();
             lastFullyDownloadedFilePosition = persistableDownload.getLastFullyDownloadedFilePosition();
+            downloadPartSize = persistableDownload.getDownloadPartSize();
         }
 
         return doDownload(getObjectRequest, file, stateListener, s3progressListener,
                           resumeExistingDownload, timeoutMillis, lastFullyDownloadedPartNumber,
-                          lastModifiedTimeRecordedDuringPause, false, lastFullyDownloadedFilePosition);
+                          lastModifiedTimeRecordedDuringPause, false, lastFullyDownloadedFilePosition,
+                          downloadPartSize);
     }
 
     /**
@@ -1042,7 +1173,8 @@ public class TransferManager {
             final Integer lastFullyDownloadedPart,
             final long lastModifiedTimeRecordedDuringPause,
             final boolean resumeOnRetry,
-            final Long lastFullyDownloadedPartPosition) {
+            final Long lastFullyDownloadedPartPosition,
+            final Long resumedDownloadPartSize) {
 
         assertNotObjectLambdaArn(getObjectRequest.getBucketName(), "download");
 
@@ -1055,7 +1187,8 @@ public class TransferManager {
                                                            lastFullyDownloadedPart,
                                                            lastModifiedTimeRecordedDuringPause,
                                                            resumeOnRetry,
-                                                           lastFullyDownloadedPartPosition);
+                                                           lastFullyDownloadedPartPosition,
+                                                           resumedDownloadPartSize);
         return submitDownload(prepared);
     }
 
@@ -1067,7 +1200,8 @@ public class TransferManager {
                                                     final Integer lastFullyDownloadedPart,
                                                     final long lastModifiedTimeRecordedDuringPause,
                                                     final boolean resumeOnRetry,
-                                                    final Long lastFullyDownloadedPartPosition) {
+                                                    final Long lastFullyDownloadedPartPosition,
+                                                    final Long resumedDownloadPartSize) {
         assertParameterNotNull(getObjectRequest,
                 "A valid GetObjectRequest must be provided to initiate download");
         assertParameterNotNull(file,
@@ -1107,12 +1241,41 @@ public class TransferManager {
         }
 
         final long origStartingByte = startingByte;
-        final boolean isDownloadParallel = !configuration.isDisableParallelDownloads()
-                && TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest, ServiceUtils.getPartCount(getObjectRequest, s3));
+        // Ranged downloads take the object length from the HEAD above, so they
+        // avoid the extra per-part metadata requests of part based downloads.
+        // A resumed parallel download keeps the mode it was started in, since
+        // the part number and file position it recorded only apply to it.
+        final long downloadPartSize;
+        if (resumedDownloadPartSize != null) {
+            downloadPartSize = resumedDownloadPartSize;
+        } else if (lastFullyDownloadedPart != null) {
+            downloadPartSize = 0;
+        } else {
+            downloadPartSize = configuration.getDownloadPartSize();
+        }
+        final boolean isDownloadParallel;
+        if (resumedDownloadPartSize != null) {
+            isDownloadParallel = TransferManagerUtils.isRangeDownloadParallelizable(s3, getObjectRequest,
+                    objectMetadata.getContentLength(), downloadPartSize);
+            if (!isDownloadParallel) {
+                throw new AmazonClientException("The download of object " + getObjectRequest.getKey()
+                        + " in bucket " + getObjectRequest.getBucketName()
+                        + " was paused during a ranged parallel download and cannot be resumed with this client.");
+            }
+        } else if (configuration.isDisableParallelDownloads()) {
+            isDownloadParallel = false;
+        } else if (downloadPartSize > 0) {
+            isDownloadParallel = TransferManagerUtils.isRangeDownloadParallelizable(s3, getObjectRequest,
+                    objectMetadata.getContentLength(), downloadPartSize);
+        } else {
+            isDownloadParallel = TransferManagerUtils.isDownloadParallelizable(s3, getObjectRequest,
+                    ServiceUtils.getPartCount(getObjectRequest, s3));
+        }
 
         // We still pass the unfiltered listener chain into DownloadImpl
         final DownloadImpl download = new DownloadImpl(description, transferProgress, listenerChain, null,
-                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel);
+                stateListener, getObjectRequest, file, objectMetadata, isDownloadParallel,
+                isDownloadParallel && downloadPartSize > 0 ? Long.valueOf(downloadPartSize) : null);
 
         long totalBytesToDownload = lastByte - startingByte + 1;
         transferProgress.setTotalBytesToTransfer(totalBytesToDownload);
@@ -1177,7 +1340,9 @@ public class TransferManager {
                 getObjectRequest, resumeExistingDownload,
                 download, file, origStartingByte, fileLength, timeoutMillis, timedThreadPool,
                 executorService, lastFullyDownloadedPart, isDownloadParallel, resumeOnRetry)
-                .withLastFullyMergedPartPosition(lastFullyDownloadedPartPosition);
+                .withLastFullyMergedPartPosition(lastFullyDownloadedPartPosition)
+                .withRangeDownload(downloadPartSize, objectMetadata.getContentLength())
+                .withBufferPool(DirectBufferPool.forBufferSize(configuration.getDownloadBufferSize()));
 
         return new PreparedDownloadContext(download, downloadCallable, latch);
     }
@@ -1287,7 +1452,8 @@ public class TransferManager {
         Future<File> future = executorService.submit(
             new PresignUrlDownloadCallable(executorService, destFile, latch, download, isDownloadParallel, timedThreadPool,
                                            downloadContext.getTimeoutMillis(), s3, request, perRequestDownloadSize,
-                                           startByte, endByte, downloadContext.isResumeOnRetry()));
+                                           startByte, endByte, downloadContext.isResumeOnRetry())
+                .withBufferPool(DirectBufferPool.forBufferSize(configuration.getDownloadBufferSize())));
 
         download.setMonitor(new DownloadMonitor(download, future));
         latch.countDown();
@@ -1388,23 +1554,58 @@ public class TransferManager {
         if ( filter == null ) {
             filter = KeyFilter.INCLUDE_ALL;
         }
-        List<S3ObjectSummary> objectSummaries = new LinkedList<S3ObjectSummary>();
-        Stack<String> commonPrefixes = new Stack<String>();
-        commonPrefixes.add(keyPrefix);
-        long totalSize = 0;
-        // Recurse all virtual subdirectories to get a list of object summaries.
-        // This is a depth-first search.
-        do {
-            String prefix = commonPrefixes.pop();
-            ObjectListing listObjectsResponse = null;
 
-            do {
-                if ( listObjectsResponse == null ) {
+        /* This is the hook for adding additional progress listeners */
+        ProgressListenerChain additionalListeners = new ProgressListenerChain();
+
+        TransferProgress transferProgress = new TransferProgress();
+        /*
+         * Bind additional progress listeners to this
+         * MultipleFileTransferProgressUpdatingListener to receive
+         * ByteTransferred events from each single-file download implementation.
+         */
+        final ProgressListener listener = new MultipleFileTransferProgressUpdatingListener(
+                transferProgress, additionalListeners);
+
+        // Downloads are added while the listing is still in progress
+        Queue<DownloadImpl> downloads = new ConcurrentLinkedQueue<DownloadImpl>();
+
+        String description = "Downloading from " + bucketName + "/" + keyPrefix;
+        final MultipleFileDownloadImpl multipleFileDownload = new MultipleFileDownloadImpl(description, transferProgress,
+                additionalListeners, keyPrefix, bucketName, downloads);
+        MultipleFileTransferMonitor monitor = new MultipleFileTransferMonitor(multipleFileDownload, downloads, false);
+        multipleFileDownload.setMonitor(monitor);
+
+        final String prefixToList = keyPrefix;
+        final KeyFilter keyFilter = filter;
+        MultipleFileTransferStateChangeListener transferListener =
+                new MultipleFileTransferStateChangeListener(monitor, multipleFileDownload);
+
+        /*
+         * Recurse all virtual subdirectories a page at a time, downloading the
+         * objects of each page as it is listed. This is a depth-first search.
+         */
+        new MultipleFileTransferPipeline<DownloadImpl>(executorService, transferListener, transferProgress,
+                downloads) {
+            private final Stack<String> commonPrefixes = new Stack<String>();
+            private ObjectListing listObjectsResponse;
+            private String prefix;
+
+            {
+                commonPrefixes.add(prefixToList);
+            }
+
+            @Override
+            protected boolean discoverNextBatch() {
+                if ( listObjectsResponse != null && listObjectsResponse.isTruncated() ) {
+                    listObjectsResponse = s3.listNextBatchOfObjects(listObjectsResponse);
+                } else if ( !commonPrefixes.isEmpty() ) {
+                    prefix = commonPrefixes.pop();
                     ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(bucketName)
                             .withDelimiter(DEFAULT_DELIMITER).withPrefix(prefix);
                     listObjectsResponse = s3.listObjects(listObjectsRequest);
                 } else {
-                    listObjectsResponse = s3.listNextBatchOfObjects(listObjectsResponse);
+                    return false;
                 }
 
                 for ( S3ObjectSummary s : listObjectsResponse.getObjectSummaries() ) {
@@ -1412,7 +1613,7 @@ public class TransferManager {
                     // we can't save both a directory and a file of the same
                     // name.
 
-                    if ( !filter.shouldInclude(s) ) {
+                    if ( !keyFilter.shouldInclude(s) ) {
                         log.debug("Skipping " + s.getKey() + " as it does not match filter.");
                         continue;
                     }
@@ -1424,8 +1625,7 @@ public class TransferManager {
 
                     if ( !s.getKey().equals(prefix)
                             && !listObjectsResponse.getCommonPrefixes().contains(s.getKey() + DEFAULT_DELIMITER) ) {
-                        objectSummaries.add(s);
-                        totalSize += s.getSize();
+                        download(s);
                     } else {
                         log.debug("Skipping download for object " + s.getKey()
                                 + " since it is also a virtual directory");
@@ -1433,80 +1633,32 @@ public class TransferManager {
                 }
 
                 commonPrefixes.addAll(listObjectsResponse.getCommonPrefixes());
-            } while ( listObjectsResponse.isTruncated() );
-        } while ( !commonPrefixes.isEmpty() );
-
-        /* This is the hook for adding additional progress listeners */
-        ProgressListenerChain additionalListeners = new ProgressListenerChain();
-
-        TransferProgress transferProgress = new TransferProgress();
-        transferProgress.setTotalBytesToTransfer(totalSize);
-        /*
-         * Bind additional progress listeners to this
-         * MultipleFileTransferProgressUpdatingListener to receive
-         * ByteTransferred events from each single-file download implementation.
-         */
-        ProgressListener listener = new MultipleFileTransferProgressUpdatingListener(
-                transferProgress, additionalListeners);
-
-        List<DownloadImpl> downloads = new ArrayList<DownloadImpl>();
-
-        List<PreparedDownloadContext> preparedDownloadContexts = new ArrayList<PreparedDownloadContext>();
-
-        String description = "Downloading from " + bucketName + "/" + keyPrefix;
-        final MultipleFileDownloadImpl multipleFileDownload = new MultipleFileDownloadImpl(description, transferProgress,
-                additionalListeners, keyPrefix, bucketName, downloads);
-        multipleFileDownload.setMonitor(new MultipleFileTransferMonitor(multipleFileDownload, downloads));
-
-        final CountDownLatch latch = new CountDownLatch(1);
-        MultipleFileTransferStateChangeListener transferListener =
-                new MultipleFileTransferStateChangeListener(latch, multipleFileDownload);
-
-        if (objectSummaries.isEmpty()) {
-            multipleFileDownload.setState(TransferState.Completed);
-            return multipleFileDownload;
-        }
-
-        for ( S3ObjectSummary summary : objectSummaries ) {
-            // TODO: non-standard delimiters
-            File f = new File(destinationDirectory, summary.getKey());
-            File parentFile = f.getParentFile();
-
-            if ( !parentFile.exists() && !parentFile.mkdirs() ) {
-                throw new RuntimeException("Couldn't create parent directories for " + f.getAbsolutePath());
+                return true;
             }
 
-            // All the single-file downloads share the same
-            // MultipleFileTransferProgressUpdatingListener and
-            // MultipleFileTransferStateChangeListener
-            GetObjectRequest req = new GetObjectRequest(summary.getBucketName(), summary.getKey())
-                    .<GetObjectRequest>withGeneralProgressListener(
-                                            listener);
+            private void download(S3ObjectSummary summary) {
+                // TODO: non-standard delimiters
+                File f = new File(destinationDirectory, summary.getKey());
+                File parentFile = f.getParentFile();
 
-
-            PreparedDownloadContext ctx = prepareDownload(req, f, transferListener, null, false, 0,
-                                                          null, 0L, resumeOnRetry, null);
-            preparedDownloadContexts.add(ctx);
-        }
-
-        try {
-            for (PreparedDownloadContext ctx : preparedDownloadContexts) {
-                downloads.add(submitDownload(ctx));
-            }
-        } catch (Throwable t) {
-            for (DownloadImpl d : downloads) {
-                try {
-                    d.getMonitor().getFuture().cancel(true);
-                } catch (Throwable cancelErr) {
-                    log.warn("DownloadImpl could not be aborted", cancelErr);
+                if ( !parentFile.exists() && !parentFile.mkdirs() ) {
+                    throw new RuntimeException("Couldn't create parent directories for " + f.getAbsolutePath());
                 }
+
+                // All the single-file downloads share the same
+                // MultipleFileTransferProgressUpdatingListener and
+                // MultipleFileTransferStateChangeListener
+                GetObjectRequest req = new GetObjectRequest(summary.getBucketName(), summary.getKey())
+                        .<GetObjectRequest>withGeneralProgressListener(
+                                                listener);
+
+                PreparedDownloadContext ctx = prepareDownload(req, f, this, null, false, 0,
+                                                              null, 0L, resumeOnRetry, null, null);
+                addBytesToTransfer(summary.getSize());
+                queue(submitDownload(ctx));
             }
-            throw new SdkClientException(t);
-        }
+        }.start();
 
-        // Notify all state changes waiting for the downloads to all be queued
-        // to wake up and continue.
-        latch.countDown();
         return multipleFileDownload;
     }
 
@@ -1673,10 +1825,8 @@ public class TransferManager {
 
         assertNotObjectLambdaArn(bucketName, "uploadDirectory");
 
-        List<File> files = new LinkedList<File>();
-        listFiles(directory, files, includeSubdirectories);
-
-        return uploadFileList(bucketName, virtualDirectoryKeyPrefix, directory, files, metadataProvider, taggingProvider, cannedAclProvider);
+        return uploadFiles(bucketName, virtualDirectoryKeyPrefix, directory,
+                listFiles(directory, includeSubdirectories), metadataProvider, taggingProvider, cannedAclProvider);
     }
 
     /**
@@ -1844,11 +1994,24 @@ public class TransferManager {
 
         assertNotObjectLambdaArn(bucketName, "uploadFileList");
 
+        Iterator<File> iterator = files == null ? Collections.<File>emptyList().iterator() : files.iterator();
+        return uploadFiles(bucketName, virtualDirectoryKeyPrefix, directory, iterator, metadataProvider,
+                taggingProvider, cannedAclProvider);
+    }
+
+    /**
+     * Uploads the files given, starting the uploads of the first files while
+     * the following ones are still being iterated over.
+     */
+    private MultipleFileUpload uploadFiles(final String bucketName, String virtualDirectoryKeyPrefix, File directory,
+            final Iterator<File> files, final ObjectMetadataProvider metadataProvider,
+            final ObjectTaggingProvider taggingProvider, final ObjectCannedAclProvider cannedAclProvider) {
         if (virtualDirectoryKeyPrefix == null || virtualDirectoryKeyPrefix.length() == 0) {
             virtualDirectoryKeyPrefix = "";
         } else if ( !virtualDirectoryKeyPrefix.endsWith("/") ) {
             virtualDirectoryKeyPrefix = virtualDirectoryKeyPrefix + "/";
         }
+        final String keyPrefix = virtualDirectoryKeyPrefix;
 
         /* This is the hook for adding additional progress listeners */
         ProgressListenerChain additionalListeners = new ProgressListenerChain();
@@ -1858,102 +2021,149 @@ public class TransferManager {
          * MultipleFileTransferProgressUpdatingListener to receive
          * ByteTransferred events from each single-file upload implementation.
          */
-        ProgressListener listener = new MultipleFileTransferProgressUpdatingListener(
+        final ProgressListener listener = new MultipleFileTransferProgressUpdatingListener(
                 progress, additionalListeners);
 
-        List<UploadImpl> uploads = new LinkedList<UploadImpl>();
-        MultipleFileUploadImpl multipleFileUpload = new MultipleFileUploadImpl("Uploading etc", progress, additionalListeners, virtualDirectoryKeyPrefix, bucketName, uploads);
-        multipleFileUpload.setMonitor(new MultipleFileTransferMonitor(multipleFileUpload, uploads));
-        final CountDownLatch latch = new CountDownLatch(1);
+        // Uploads are added while the files are still being iterated over
+        Queue<UploadImpl> uploads = new ConcurrentLinkedQueue<UploadImpl>();
+        MultipleFileUploadImpl multipleFileUpload = new MultipleFileUploadImpl("Uploading etc", progress, additionalListeners, keyPrefix, bucketName, uploads);
+        MultipleFileTransferMonitor monitor = new MultipleFileTransferMonitor(multipleFileUpload, uploads, false);
+        multipleFileUpload.setMonitor(monitor);
         MultipleFileTransferStateChangeListener transferListener =
-                new MultipleFileTransferStateChangeListener(latch, multipleFileUpload);
-        if (files == null || files.isEmpty()) {
-            multipleFileUpload.setState(TransferState.Completed);
-        } else {
-            /*
-             * If the absolute path for the common/base directory does NOT end
-             * in a separator (which is the case for anything but root
-             * directories), then we know there's still a separator between the
-             * base directory and the rest of the file's path, so we increment
-             * the starting position by one.
-             */
-            int startingPosition = directory.getAbsolutePath().length();
-            if (!(directory.getAbsolutePath().endsWith(File.separator)))
-                startingPosition++;
-
-            long totalSize = 0;
-            for (File f : files) {
-                // Check, if file, since only files can be uploaded.
-                if (f.isFile()) {
-                    totalSize += f.length();
-
-                    String key = f.getAbsolutePath()
-                            .substring(startingPosition)
-                            .replaceAll("\\\\", "/");
-
-                    UploadContext uploadContext = new UploadContext(f, bucketName, key);
-                    ObjectMetadata metadata = new ObjectMetadata();
-                    CannedAccessControlList cannedAcl = null;
-                    ObjectTagging objectTagging = null;
-
-                    // Invoke the callback if it's present.
-                    // The callback allows the user to customize the metadata
-                    // for each file being uploaded.
-                    if (metadataProvider != null) {
-                        metadataProvider.provideObjectMetadata(f, metadata);
-                    }
-                    // Invoke the callback if it's present.
-                    // The callback allows the user to customize the tags
-                    // for each file being uploaded.
-                    if (taggingProvider != null) {
-                        objectTagging = taggingProvider.provideObjectTags(uploadContext);
-                    }
-                    // Invoke the callback if it's present.
-                    // The callback allows the user to customize the canned
-                    // acl for each file being uploaded.
-                    if (cannedAclProvider != null) {
-                        cannedAcl = cannedAclProvider.provideObjectCannedAcl(f);
+                new MultipleFileTransferStateChangeListener(monitor, multipleFileUpload);
+
+        /*
+         * If the absolute path for the common/base directory does NOT end
+         * in a separator (which is the case for anything but root
+         * directories), then we know there's still a separator between the
+         * base directory and the rest of the file's path, so we increment
+         * the starting position by one.
+         */
+        int position = directory.getAbsolutePath().length();
+        if (!(directory.getAbsolutePath().endsWith(File.separator)))
+            position++;
+        final int startingPosition = position;
+
+        new MultipleFileTransferPipeline<UploadImpl>(executorService, transferListener, progress, uploads) {
+            @Override
+            protected boolean discoverNextBatch() {
+                if (!files.hasNext()) {
+                    return false;
+                }
+                for (int i = 0; i < FILE_BATCH_SIZE && files.hasNext(); i++) {
+                    File f = files.next();
+                    // Check, if file, since only files can be uploaded.
+                    if (f.isFile()) {
+                        upload(f);
                     }
+                }
+                return true;
+            }
 
-                    // All the single-file uploads share the same
-                    // MultipleFileTransferProgressUpdatingListener and
-                    // MultipleFileTransferStateChangeListener
-                    uploads.add((UploadImpl) doUpload(
-                            new PutObjectRequest(bucketName,
-                                    virtualDirectoryKeyPrefix + key, f)
-                                    .withMetadata(metadata)
-                                    .withTagging(objectTagging)
-                                    .withCannedAcl(cannedAcl)
-                                    .<PutObjectRequest> withGeneralProgressListener(
-                                            listener), transferListener, null, null));
+            private void upload(File f) {
+                String key = f.getAbsolutePath()
+                        .substring(startingPosition)
+                        .replaceAll("\\\\", "/");
+
+                UploadContext uploadContext = new UploadContext(f, bucketName, key);
+                ObjectMetadata metadata = new ObjectMetadata();
+                CannedAccessControlList cannedAcl = null;
+                ObjectTagging objectTagging = null;
+
+                // Invoke the callback if it's present.
+                // The callback allows the user to customize the metadata
+                // for each file being uploaded.
+                if (metadataProvider != null) {
+                    metadataProvider.provideObjectMetadata(f, metadata);
+                }
+                // Invoke the callback if it's present.
+                // The callback allows the user to customize the tags
+                // for each file being uploaded.
+                if (taggingProvider != null) {
+                    objectTagging = taggingProvider.provideObjectTags(uploadContext);
+                }
+                // Invoke the callback if it's present.
+                // The callback allows the user to customize the canned
+                // acl for each file being uploaded.
+                if (cannedAclProvider != null) {
+                    cannedAcl = cannedAclProvider.provideObjectCannedAcl(f);
                 }
+
+                // All the single-file uploads share the same
+                // MultipleFileTransferProgressUpdatingListener and
+                // MultipleFileTransferStateChangeListener
+                addBytesToTransfer(f.length());
+                queue((UploadImpl) doUpload(
+                        new PutObjectRequest(bucketName,
+                                keyPrefix + key, f)
+                                .withMetadata(metadata)
+                                .withTagging(objectTagging)
+                                .withCannedAcl(cannedAcl)
+                                .<PutObjectRequest> withGeneralProgressListener(
+                                        listener), this, null, null));
             }
-            progress.setTotalBytesToTransfer(totalSize);
-        }
+        }.start();
 
-        // Notify all state changes waiting for the uploads to all be queued
-        // to wake up and continue
-        latch.countDown();
         return multipleFileUpload;
     }
 
     /**
-     * Lists files in the directory given and adds them to the result list
-     * passed in, optionally adding subdirectories recursively.
+     * Returns the files in the directory given, optionally including
+     * subdirectories recursively. Each directory is listed when the iteration
+     * reaches it, so the uploads of a large tree start before it has been
+     * listed in full.
      */
-    private void listFiles(File dir, List<File> results, boolean includeSubDirectories) {
-        File[] found = dir.listFiles();
-        if ( found != null ) {
-            for ( File f : found ) {
-                if (f.isDirectory()) {
-                    if (includeSubDirectories) {
-                        listFiles(f, results, includeSubDirectories);
+    private Iterator<File> listFiles(final File dir, final boolean includeSubDirectories) {
+        return new Iterator<File>() {
+            private final Deque<Iterator<File>> directories = new ArrayDeque<Iterator<File>>();
+            private File next;
+
+            {
+                push(dir);
+            }
+
+            @Override
+            public boolean hasNext() {
+                while ( next == null && !directories.isEmpty() ) {
+                    Iterator<File> current = directories.peek();
+                    if ( !current.hasNext() ) {
+                        directories.pop();
+                        continue;
+                    }
+                    File f = current.next();
+                    if (f.isDirectory()) {
+                        if (includeSubDirectories) {
+                            push(f);
+                        }
+                    } else {
+                        next = f;
                     }
-                } else {
-                    results.add(f);
                 }
+                return next != null;
             }
-        }
+
+            @Override
+            public File next() {
+                if ( !hasNext() ) {
+                    throw new NoSuchElementException();
+                }
+                File f = next;
+                next = null;
+                return f;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            private void push(File directory) {
+                File[] found = directory.listFiles();
+                if ( found != null ) {
+                    directories.push(Arrays.asList(found).iterator());
+                }
+            }
+        };
     }
 
     /**
@@ -2062,6 +2272,9 @@ public class TransferManager {
 
     private static final String DEFAULT_DELIMITER = "/";
 
+    /** Number of files a directory upload queues between checks of the pending uploads. */
+    private static final int FILE_BATCH_SIZE = 100;
+
     /**
      * There is no need for threads from timedThreadPool if there is no more running threads in current process,
      * so we need a daemon thread factory for it.
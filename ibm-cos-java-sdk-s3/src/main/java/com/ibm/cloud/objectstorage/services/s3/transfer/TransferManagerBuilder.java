@@ -63,6 +63,18 @@ public final class TransferManagerBuilder {
 
     private Boolean alwaysCalculateMultipartMd5;
 
+    private Long downloadPartSize;
+
+    private Integer downloadBufferSize;
+
+    private Integer streamUploadBufferCount;
+
+    private Boolean adaptiveTuningEnabled;
+
+    private Integer maxAdaptiveConcurrency;
+
+    private Boolean memoryMappedPartReads;
+
     /**
      * @return Create new instance of builder with all defaults set.
      */
@@ -133,6 +145,12 @@ public final class TransferManagerBuilder {
     /**
      * Sets a new {@link ExecutorFactory} for the builder. The factory is invoked for each transfer
      * manager created through the builder.
+     * <p>
+     * The executor is not required to be a thread pool. On Java 21 and later a virtual thread per
+     * task executor ({@code Executors.newVirtualThreadPerTaskExecutor()}) can be used, in which case
+     * each part transfer runs on its own virtual thread. The SDK avoids holding monitors and
+     * per-thread crypto instances on the request path so that this scales to a large number of
+     * concurrent transfers.
      *
      * @param executorFactory New executor factory to use.
      */
@@ -450,6 +468,193 @@ public final class TransferManagerBuilder {
         return this;
     }
 
+    /**
+     * @return The ranged download part size currently configured in the builder.
+     */
+    public final Long getDownloadPartSize() {
+        return downloadPartSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte-range GET used for parallel downloads. When set,
+     * objects larger than this size are downloaded in parallel ranges of this size regardless
+     * of whether they were uploaded in a single PUT or in multiple parts. By default, only
+     * multipart objects are downloaded in parallel.
+     *
+     * @param downloadPartSize Size in bytes of each ranged download request.
+     */
+    public final void setDownloadPartSize(Long downloadPartSize) {
+        this.downloadPartSize = downloadPartSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte-range GET used for parallel downloads. When set,
+     * objects larger than this size are downloaded in parallel ranges of this size regardless
+     * of whether they were uploaded in a single PUT or in multiple parts. By default, only
+     * multipart objects are downloaded in parallel.
+     *
+     * @param downloadPartSize Size in bytes of each ranged download request.
+     * @return This object for method chaining.
+     */
+    public final TransferManagerBuilder withDownloadPartSize(Long downloadPartSize) {
+        setDownloadPartSize(downloadPartSize);
+        return this;
+    }
+
+    /**
+     * @return The download buffer size currently configured in the builder.
+     */
+    public final Integer getDownloadBufferSize() {
+        return downloadBufferSize;
+    }
+
+    /**
+     * Sets the size in bytes of the buffers through which downloaded data is written to the
+     * destination file. Buffers are pooled and reused across downloads.
+     *
+     * @param downloadBufferSize Size in bytes of each download buffer.
+     */
+    public final void setDownloadBufferSize(Integer downloadBufferSize) {
+        this.downloadBufferSize = downloadBufferSize;
+    }
+
+    /**
+     * Sets the size in bytes of the buffers through which downloaded data is written to the
+     * destination file. Buffers are pooled and reused across downloads.
+     *
+     * @param downloadBufferSize Size in bytes of each download buffer.
+     * @return This object for method chaining.
+     */
+    public final TransferManagerBuilder withDownloadBufferSize(Integer downloadBufferSize) {
+        setDownloadBufferSize(downloadBufferSize);
+        return this;
+    }
+
+    /**
+     * @return The number of part buffers of a streamed upload currently configured in the builder.
+     */
+    public final Integer getStreamUploadBufferCount() {
+        return streamUploadBufferCount;
+    }
+
+    /**
+     * Sets the maximum number of in memory part buffers held by each upload started with
+     * {@link TransferManager#uploadStream}. When all the buffers are being uploaded,
+     * the part just read is uploaded on the reading thread.
+     *
+     * @param streamUploadBufferCount Maximum number of part buffers of a streamed upload.
+     */
+    public final void setStreamUploadBufferCount(Integer streamUploadBufferCount) {
+        this.streamUploadBufferCount = streamUploadBufferCount;
+    }
+
+    /**
+     * Sets the maximum number of in memory part buffers held by each upload started with
+     * {@link TransferManager#uploadStream}. When all the buffers are being uploaded,
+     * the part just read is uploaded on the reading thread.
+     *
+     * @param streamUploadBufferCount Maximum number of part buffers of a streamed upload.
+     * @return This object for method chaining.
+     */
+    public final TransferManagerBuilder withStreamUploadBufferCount(Integer streamUploadBufferCount) {
+        setStreamUploadBufferCount(streamUploadBufferCount);
+        return this;
+    }
+
+    /**
+     * @return True if adaptive tuning is enabled in the builder.
+     */
+    public final Boolean isAdaptiveTuningEnabled() {
+        return adaptiveTuningEnabled;
+    }
+
+    /**
+     * Sets whether the number of parts in flight and the part size of uploads are tuned from
+     * the observed throughput, backing off whenever the service throttles a part, including
+     * attempts that are retried.
+     *
+     * @param adaptiveTuningEnabled True to enable adaptive tuning.
+     * @see TransferManagerConfiguration#setAdaptiveTuningEnabled(boolean)
+     */
+    public final void setAdaptiveTuningEnabled(Boolean adaptiveTuningEnabled) {
+        this.adaptiveTuningEnabled = adaptiveTuningEnabled;
+    }
+
+    /**
+     * Sets whether the number of parts in flight and the part size of uploads are tuned from
+     * the observed throughput, backing off whenever the service throttles a part, including
+     * attempts that are retried.
+     *
+     * @param adaptiveTuningEnabled True to enable adaptive tuning.
+     * @return This object for method chaining.
+     * @see TransferManagerConfiguration#setAdaptiveTuningEnabled(boolean)
+     */
+    public final TransferManagerBuilder withAdaptiveTuningEnabled(Boolean adaptiveTuningEnabled) {
+        setAdaptiveTuningEnabled(adaptiveTuningEnabled);
+        return this;
+    }
+
+    /**
+     * @return The maximum number of parts in flight with adaptive tuning currently configured
+     *         in the builder.
+     */
+    public final Integer getMaxAdaptiveConcurrency() {
+        return maxAdaptiveConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of parts uploaded at the same time when adaptive tuning is
+     * enabled. Use an executor that can run at least this many tasks at once.
+     *
+     * @param maxAdaptiveConcurrency Maximum number of parts in flight.
+     */
+    public final void setMaxAdaptiveConcurrency(Integer maxAdaptiveConcurrency) {
+        this.maxAdaptiveConcurrency = maxAdaptiveConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of parts uploaded at the same time when adaptive tuning is
+     * enabled. Use an executor that can run at least this many tasks at once.
+     *
+     * @param maxAdaptiveConcurrency Maximum number of parts in flight.
+     * @return This object for method chaining.
+     */
+    public final TransferManagerBuilder withMaxAdaptiveConcurrency(Integer maxAdaptiveConcurrency) {
+        setMaxAdaptiveConcurrency(maxAdaptiveConcurrency);
+        return this;
+    }
+
+    /**
+     * @return True if parts of file uploads are read from memory mapped regions of the file.
+     */
+    public final Boolean isMemoryMappedPartReads() {
+        return memoryMappedPartReads;
+    }
+
+    /**
+     * Sets whether the parts of multipart uploads from files are read from memory mapped
+     * regions of the file, which is then opened once per upload rather than once per part.
+     *
+     * @param memoryMappedPartReads True to read parts from memory mapped regions of the file.
+     * @see TransferManagerConfiguration#setMemoryMappedPartReads(boolean)
+     */
+    public final void setMemoryMappedPartReads(Boolean memoryMappedPartReads) {
+        this.memoryMappedPartReads = memoryMappedPartReads;
+    }
+
+    /**
+     * Sets whether the parts of multipart uploads from files are read from memory mapped
+     * regions of the file, which is then opened once per upload rather than once per part.
+     *
+     * @param memoryMappedPartReads True to read parts from memory mapped regions of the file.
+     * @return This object for method chaining.
+     * @see TransferManagerConfiguration#setMemoryMappedPartReads(boolean)
+     */
+    public final TransferManagerBuilder withMemoryMappedPartReads(Boolean memoryMappedPartReads) {
+        setMemoryMappedPartReads(memoryMappedPartReads);
+        return this;
+    }
+
     private TransferManagerConfiguration resolveConfiguration() {
         TransferManagerConfiguration configuration = new TransferManagerConfiguration();
         if (this.minimumUploadPartSize != null) {
@@ -470,6 +675,24 @@ public final class TransferManagerBuilder {
         if (this.alwaysCalculateMultipartMd5 != null) {
             configuration.setAlwaysCalculateMultipartMd5(alwaysCalculateMultipartMd5);
         }
+        if (this.downloadPartSize != null) {
+            configuration.setDownloadPartSize(downloadPartSize);
+        }
+        if (this.downloadBufferSize != null) {
+            configuration.setDownloadBufferSize(downloadBufferSize);
+        }
+        if (this.streamUploadBufferCount != null) {
+            configuration.setStreamUploadBufferCount(streamUploadBufferCount);
+        }
+        if (this.adaptiveTuningEnabled != null) {
+            configuration.setAdaptiveTuningEnabled(adaptiveTuningEnabled);
+        }
+        if (this.maxAdaptiveConcurrency != null) {
+            configuration.setMaxAdaptiveConcurrency(maxAdaptiveConcurrency);
+        }
+        if (this.memoryMappedPartReads != null) {
+            configuration.setMemoryMappedPartReads(memoryMappedPartReads);
+        }
         return configuration;
     }
 
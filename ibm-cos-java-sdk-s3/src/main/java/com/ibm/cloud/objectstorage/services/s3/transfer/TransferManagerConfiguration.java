@@ -15,6 +15,7 @@
 package com.ibm.cloud.objectstorage.services.s3.transfer;
 
 import com.ibm.cloud.objectstorage.annotation.SdkTestInternalApi;
+import com.ibm.cloud.objectstorage.services.s3.internal.DirectBufferPool;
 
 import static com.ibm.cloud.objectstorage.services.s3.internal.Constants.*;
 
@@ -45,6 +46,12 @@ public class TransferManagerConfiguration {
     @SdkTestInternalApi
     static final long DEFAULT_MINIMUM_COPY_PART_SIZE = 100 * MB;
 
+    /** Default number of part buffers held by each streamed upload */
+    static final int DEFAULT_STREAM_UPLOAD_BUFFER_COUNT = 4;
+
+    /** Default maximum number of parts in flight with adaptive tuning */
+    static final int DEFAULT_MAX_ADAPTIVE_CONCURRENCY = 10;
+
     /**
      * The minimum part size for upload parts. Decreasing the minimum part size
      * will cause multipart uploads to be split into a larger number of smaller
@@ -111,6 +118,43 @@ public class TransferManagerConfiguration {
      */
     private boolean alwaysCalculateMultipartMd5 = false;
 
+    /**
+     * The size in bytes of each byte-range GET used for parallel downloads.
+     * When zero (the default), only objects uploaded in multiple parts are
+     * downloaded in parallel, one request per uploaded part.
+     */
+    private long downloadPartSize = 0;
+
+    /**
+     * The size in bytes of the direct buffers through which downloaded data
+     * is written to files.
+     */
+    private int downloadBufferSize = DirectBufferPool.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * The maximum number of in memory part buffers held by each upload started
+     * with {@link TransferManager#uploadStream}.
+     */
+    private int streamUploadBufferCount = DEFAULT_STREAM_UPLOAD_BUFFER_COUNT;
+
+    /**
+     * Whether the number of parts in flight and the part size of uploads are
+     * tuned from the observed throughput.
+     */
+    private boolean adaptiveTuningEnabled = false;
+
+    /**
+     * The maximum number of parts uploaded at the same time when adaptive
+     * tuning is enabled.
+     */
+    private int maxAdaptiveConcurrency = DEFAULT_MAX_ADAPTIVE_CONCURRENCY;
+
+    /**
+     * Whether the parts of multipart uploads from files are read from memory
+     * mapped regions of the file.
+     */
+    private boolean memoryMappedPartReads = false;
+
     /**
      * Returns the minimum part size for upload parts.
      * Decreasing the minimum part size causes
@@ -327,4 +371,178 @@ public class TransferManagerConfiguration {
         this.alwaysCalculateMultipartMd5 = alwaysCalculateMultipartMd5;
     }
 
+    /**
+     * Returns the size in bytes of each byte-range GET used for parallel
+     * downloads. A value of zero means ranged downloads are disabled and
+     * only objects uploaded in multiple parts are downloaded in parallel.
+     *
+     * @return The size in bytes of each ranged download request.
+     */
+    public long getDownloadPartSize() {
+        return downloadPartSize;
+    }
+
+    /**
+     * Sets the size in bytes of each byte-range GET used for parallel
+     * downloads. When set to a positive value, objects larger than this size
+     * are split into ranges of this size and downloaded in parallel, whether
+     * the object was uploaded in a single PUT or in multiple parts. The
+     * object length is read from a single HEAD request and each range is
+     * written into the destination file at its own offset. A paused download
+     * is resumed in the mode it was started in, with the same range size,
+     * whatever this setting is when it is resumed.
+     *
+     * @param downloadPartSize
+     *            The size in bytes of each ranged download request, or zero
+     *            to download in parallel by uploaded part only.
+     */
+    public void setDownloadPartSize(long downloadPartSize) {
+        if (downloadPartSize < 0) {
+            throw new IllegalArgumentException("downloadPartSize must not be negative");
+        }
+        this.downloadPartSize = downloadPartSize;
+    }
+
+    /**
+     * Returns the size in bytes of the buffers through which downloaded data
+     * is written to the destination file.
+     *
+     * @return The size in bytes of each download buffer.
+     */
+    public int getDownloadBufferSize() {
+        return downloadBufferSize;
+    }
+
+    /**
+     * Sets the size in bytes of the buffers through which downloaded data is
+     * written to the destination file. Each download in progress, or each
+     * part of a parallel download, holds one buffer taken from a pool shared
+     * by all transfer managers using the same size. Larger buffers mean fewer
+     * writes to the file.
+     *
+     * @param downloadBufferSize
+     *            The size in bytes of each download buffer.
+     */
+    public void setDownloadBufferSize(int downloadBufferSize) {
+        if (downloadBufferSize <= 0) {
+            throw new IllegalArgumentException("downloadBufferSize must be positive");
+        }
+        this.downloadBufferSize = downloadBufferSize;
+    }
+
+    /**
+     * Returns the maximum number of in memory part buffers held by each upload
+     * started with {@link TransferManager#uploadStream}.
+     *
+     * @return The maximum number of part buffers of a streamed upload.
+     */
+    public int getStreamUploadBufferCount() {
+        return streamUploadBufferCount;
+    }
+
+    /**
+     * Sets the maximum number of in memory part buffers held by each upload
+     * started with {@link TransferManager#uploadStream}.
+     * Each buffer holds one part, so a streamed upload uses at most this
+     * count times the part size of memory, and has one less part than this
+     * count being uploaded while the next part is read. When all the buffers
+     * are in use, the part just read is uploaded on the reading thread.
+     *
+     * @param streamUploadBufferCount
+     *            The maximum number of part buffers of a streamed upload.
+     */
+    public void setStreamUploadBufferCount(int streamUploadBufferCount) {
+        if (streamUploadBufferCount < 2) {
+            throw new IllegalArgumentException("streamUploadBufferCount must be at least 2");
+        }
+        this.streamUploadBufferCount = streamUploadBufferCount;
+    }
+
+    /**
+     * Returns whether the number of parts in flight and the part size of
+     * uploads are tuned from the observed throughput.
+     *
+     * @return True if adaptive tuning is enabled.
+     */
+    public boolean isAdaptiveTuningEnabled() {
+        return adaptiveTuningEnabled;
+    }
+
+    /**
+     * Sets whether the number of parts in flight and the part size of uploads
+     * are tuned from the observed throughput.
+     * <p>
+     * When enabled, the transfer manager measures the throughput of the parts
+     * it uploads and raises or lowers the number of parts uploaded at the same
+     * time, up to {@link #getMaxAdaptiveConcurrency()}, toward the best
+     * aggregate throughput, backing off whenever the service throttles a
+     * part, including attempts that are retried. Parts beyond the current
+     * limit wait in a queue without holding a thread. New uploads use a part size that takes a few seconds to
+     * transfer at the observed throughput, which is never less than the
+     * minimum upload part size. Resumed uploads keep their original part
+     * size.
+     *
+     * @param adaptiveTuningEnabled
+     *            True to enable adaptive tuning.
+     */
+    public void setAdaptiveTuningEnabled(boolean adaptiveTuningEnabled) {
+        this.adaptiveTuningEnabled = adaptiveTuningEnabled;
+    }
+
+    /**
+     * Returns the maximum number of parts uploaded at the same time when
+     * adaptive tuning is enabled.
+     *
+     * @return The maximum number of parts in flight.
+     */
+    public int getMaxAdaptiveConcurrency() {
+        return maxAdaptiveConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of parts uploaded at the same time when adaptive
+     * tuning is enabled. The executor of the transfer manager must be able to
+     * run at least this many tasks at once for the limit to be reached.
+     *
+     * @param maxAdaptiveConcurrency
+     *            The maximum number of parts in flight.
+     */
+    public void setMaxAdaptiveConcurrency(int maxAdaptiveConcurrency) {
+        if (maxAdaptiveConcurrency < 1) {
+            throw new IllegalArgumentException("maxAdaptiveConcurrency must be at least 1");
+        }
+        this.maxAdaptiveConcurrency = maxAdaptiveConcurrency;
+    }
+
+    /**
+     * Returns whether the parts of multipart uploads from files are read from
+     * memory mapped regions of the file.
+     *
+     * @return True if parts are read from memory mapped regions of the file.
+     */
+    public boolean isMemoryMappedPartReads() {
+        return memoryMappedPartReads;
+    }
+
+    /**
+     * Sets whether the parts of multipart uploads from files are read from
+     * memory mapped regions of the file.
+     * <p>
+     * When enabled, the file is opened once per upload and each part is served
+     * from a read-only mapping of its range, which is read again from the start
+     * when the part is retried, instead of each part opening the file and
+     * skipping to its offset. This reduces the file handles and system calls of
+     * uploads with many parts, such as of very large files. The mapped pages
+     * are part of the page cache and are released once the part has been
+     * uploaded and its mapping is garbage collected. Parts that are too large
+     * to map and uploads through an encryption client are still read from the
+     * file.
+     *
+     * @param memoryMappedPartReads
+     *            True to read parts from memory mapped regions of the file.
+     */
+    public void setMemoryMappedPartReads(boolean memoryMappedPartReads) {
+        this.memoryMappedPartReads = memoryMappedPartReads;
+    }
+
 }
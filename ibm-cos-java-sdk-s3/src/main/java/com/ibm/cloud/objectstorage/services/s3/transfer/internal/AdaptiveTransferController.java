@@ -0,0 +1,374 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.Response;
+import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.annotation.ThreadSafe;
+import com.ibm.cloud.objectstorage.metrics.AwsSdkMetrics;
+import com.ibm.cloud.objectstorage.metrics.RequestMetricCollector;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
+
+/**
+ * Tunes the number of parts a {@link com.ibm.cloud.objectstorage.services.s3.transfer.TransferManager}
+ * uploads at the same time, and the part size of later uploads, from the
+ * throughput observed for the parts it has uploaded so far.
+ * <p>
+ * The number of parts in flight is adjusted by hill climbing: after each
+ * window of completed parts the aggregate throughput of the window is compared
+ * with the one of the previous window. The limit keeps moving in the same
+ * direction while throughput improves, turns around when throughput drops,
+ * and is lowered when throughput stays flat so parts are not queued at the
+ * server for nothing. A part request that was throttled, even if a retry then
+ * succeeded, halves the limit.
+ * <p>
+ * Parts beyond the limit are held in a queue by the controller and handed to
+ * their executor as earlier parts complete, so no thread waits for a part to
+ * be allowed in flight.
+ * <p>
+ * The suggested part size is the amount of data a single part transfers in
+ * about {@value #TARGET_PART_SECONDS} seconds at the observed per part
+ * throughput, so fast links use fewer, larger parts.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class AdaptiveTransferController {
+    private static final Log log = LogFactory.getLog(AdaptiveTransferController.class);
+
+    /** Number of seconds a part upload should take with the suggested part size. */
+    static final long TARGET_PART_SECONDS = 4;
+
+    /** Upper bound for the suggested part size. */
+    static final long MAXIMUM_PART_SIZE = 512L * 1024 * 1024;
+
+    /** Relative throughput change below which two windows are considered equal. */
+    private static final double THRESHOLD = 0.05;
+
+    /** Weight of the latest part in the smoothed per part throughput. */
+    private static final double SMOOTHING = 0.2;
+
+    private static final long PART_SIZE_ALIGNMENT = 1024L * 1024;
+
+    private final int maxConcurrency;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<GatedPart<?>> waitingParts = new ArrayDeque<GatedPart<?>>();
+
+    private int limit;
+    private int inFlight;
+    private int direction = 1;
+
+    private long windowStartNanos;
+    private long idleSinceNanos;
+    private long windowBytes;
+    private int windowParts;
+    private double lastWindowThroughput;
+    private double partThroughput;
+
+    /**
+     * @param initialConcurrency
+     *            The number of parts allowed in flight until the first
+     *            adjustment.
+     * @param maxConcurrency
+     *            The maximum number of parts allowed in flight.
+     */
+    public AdaptiveTransferController(int initialConcurrency, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.limit = Math.max(1, Math.min(initialConcurrency, maxConcurrency));
+    }
+
+    /**
+     * Submits a part transfer to the given executor as soon as another part
+     * may be in flight. Never blocks: a part beyond the limit is queued and
+     * submitted when an earlier part completes.
+     *
+     * @param executor
+     *            The executor to transfer the part on.
+     * @param part
+     *            The part transfer.
+     * @param bytes
+     *            The size of the part.
+     * @return The future result of the part transfer.
+     */
+    public <T> Future<T> submit(Executor executor, Callable<T> part, long bytes) {
+        GatedPart<T> gatedPart = new GatedPart<T>(executor, part, bytes);
+        lock.lock();
+        try {
+            if (inFlight >= limit) {
+                waitingParts.add(gatedPart);
+                return gatedPart;
+            }
+            startPart();
+        } finally {
+            lock.unlock();
+        }
+        gatedPart.execute();
+        return gatedPart;
+    }
+
+    /**
+     * Counts a part as in flight. Must be called with the lock held.
+     */
+    private void startPart() {
+        if (inFlight++ == 0) {
+            long now = System.nanoTime();
+            if (windowParts == 0) {
+                windowStartNanos = now;
+            } else {
+                // Idle time between transfers does not count against the window
+                windowStartNanos += now - idleSinceNanos;
+            }
+        }
+    }
+
+    /**
+     * Signals that a part is no longer in flight, and submits the parts that
+     * may now be transferred.
+     */
+    private void partFinished() {
+        List<GatedPart<?>> startable;
+        lock.lock();
+        try {
+            if (--inFlight == 0) {
+                idleSinceNanos = System.nanoTime();
+            }
+            startable = pollStartableParts();
+        } finally {
+            lock.unlock();
+        }
+        execute(startable);
+    }
+
+    /**
+     * Removes the waiting parts that fit under the limit from the queue and
+     * counts them as in flight. Must be called with the lock held.
+     */
+    private List<GatedPart<?>> pollStartableParts() {
+        List<GatedPart<?>> startable = new ArrayList<GatedPart<?>>();
+        while (inFlight < limit && !waitingParts.isEmpty()) {
+            startPart();
+            startable.add(waitingParts.poll());
+        }
+        return startable;
+    }
+
+    private static void execute(List<GatedPart<?>> parts) {
+        for (GatedPart<?> part : parts) {
+            part.execute();
+        }
+    }
+
+    /**
+     * Records a part that was transferred successfully.
+     *
+     * @param bytes
+     *            The size of the part.
+     * @param nanos
+     *            The time the transfer of the part took.
+     */
+    public void partCompleted(long bytes, long nanos) {
+        lock.lock();
+        try {
+            if (nanos > 0) {
+                double throughput = bytes * 1e9 / nanos;
+                partThroughput = partThroughput == 0 ? throughput
+                        : partThroughput * (1 - SMOOTHING) + throughput * SMOOTHING;
+            }
+            windowBytes += bytes;
+            if (++windowParts >= 2 * limit) {
+                adjust(System.nanoTime());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records that the service throttled a part request, which halves the
+     * limit.
+     */
+    public void throttled() {
+        lock.lock();
+        try {
+            limit = Math.max(1, limit / 2);
+            direction = 1;
+            lastWindowThroughput = 0;
+            resetWindow(System.nanoTime());
+            log.debug("Request throttled, lowered the parts in flight to " + limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a request metric collector to set on part requests, which
+     * reports the requests the service throttled to this controller, including
+     * throttled attempts that were retried successfully. Metrics are passed on
+     * to the given collector, or to the SDK level collector if it is null.
+     */
+    public RequestMetricCollector newThrottlingCollector(RequestMetricCollector delegate) {
+        return new ThrottlingCollector(this, delegate);
+    }
+
+    /**
+     * Returns the part size to use for an upload of the given length, which is
+     * never less than the given minimum part size. Objects are kept in at least
+     * as many parts as are allowed in flight, so a large part size does not
+     * prevent an upload from using the available concurrency.
+     */
+    public long getPartSize(long minimumPartSize, long contentLength) {
+        lock.lock();
+        try {
+            if (partThroughput == 0) {
+                return minimumPartSize;
+            }
+            long partSize = (long) Math.min(partThroughput * TARGET_PART_SECONDS, MAXIMUM_PART_SIZE);
+            if (contentLength > 0) {
+                partSize = Math.min(partSize, contentLength / limit);
+            }
+            partSize -= partSize % PART_SIZE_ALIGNMENT;
+            return Math.max(partSize, minimumPartSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current number of parts allowed in flight.
+     */
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the limit one step. Parts waiting for a raised limit are started
+     * when the part being completed finishes.
+     */
+    private void adjust(long now) {
+        long elapsed = now - windowStartNanos;
+        if (elapsed <= 0) {
+            return;
+        }
+        double throughput = windowBytes * 1e9 / elapsed;
+        if (lastWindowThroughput > 0) {
+            if (throughput < lastWindowThroughput * (1 - THRESHOLD)) {
+                direction = -direction;
+            } else if (throughput <= lastWindowThroughput * (1 + THRESHOLD)) {
+                direction = -1;
+            }
+        }
+        int previous = limit;
+        limit = Math.max(1, Math.min(maxConcurrency, limit + direction));
+        if (limit != previous) {
+            log.debug("Throughput " + (long) throughput + " bytes/s, parts in flight changed from " + previous
+                    + " to " + limit);
+        }
+        lastWindowThroughput = throughput;
+        resetWindow(now);
+    }
+
+    private void resetWindow(long now) {
+        windowStartNanos = now;
+        windowBytes = 0;
+        windowParts = 0;
+    }
+
+    /**
+     * Part transfer that is submitted to its executor once the controller lets
+     * it be in flight, and reports its outcome to the controller.
+     */
+    private final class GatedPart<T> extends FutureTask<T> {
+        private final Executor executor;
+
+        private GatedPart(Executor executor, final Callable<T> part, final long bytes) {
+            super(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    long start = System.nanoTime();
+                    T result = part.call();
+                    partCompleted(bytes, System.nanoTime() - start);
+                    return result;
+                }
+            });
+            this.executor = executor;
+        }
+
+        private void execute() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                setException(e);
+                partFinished();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                partFinished();
+            }
+        }
+    }
+
+    /**
+     * Reports throttled part requests to the controller. The collector of a
+     * request replaces the client and SDK level collectors, so the metrics are
+     * passed on to the collector that would otherwise have received them.
+     */
+    private static final class ThrottlingCollector extends RequestMetricCollector {
+        private final AdaptiveTransferController controller;
+        private final RequestMetricCollector delegate;
+
+        private ThrottlingCollector(AdaptiveTransferController controller, RequestMetricCollector delegate) {
+            this.controller = controller;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void collectMetrics(Request<?> request, Response<?> response) {
+            Number throttled = request.getAWSRequestMetrics().getTimingInfo()
+                    .getCounter(Field.ThrottleException.name());
+            if (throttled != null && throttled.intValue() > 0) {
+                controller.throttled();
+            }
+            RequestMetricCollector collector = delegate == null ? AwsSdkMetrics.getRequestMetricCollector() : delegate;
+            if (collector != null && collector.isEnabled()) {
+                collector.collectMetrics(request, response);
+            }
+        }
+    }
+}
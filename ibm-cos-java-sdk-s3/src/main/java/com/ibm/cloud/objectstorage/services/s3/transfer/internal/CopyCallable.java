@@ -165,7 +165,7 @@ public class CopyCallable implements Callable<CopyResult> {
      *             Any Exception that occurs while carrying out the request.
      */
     private void copyInParts() throws Exception {
-        multipartUploadId = initiateMultipartUpload(copyObjectRequest);
+        multipartUploadId = initiateMultipartCopy(s3, copyObjectRequest, metadata);
 
         long optimalPartSize = getOptimalPartSize(metadata.getContentLength());
 
@@ -208,9 +208,11 @@ public class CopyCallable implements Callable<CopyResult> {
     }
 
     /**
-     * Initiates a multipart upload and returns the upload id
+     * Initiates a multipart upload for a copy request and returns the upload
+     * id. The content type and encryption headers of the new object are taken
+     * from the metadata of the source object unless the request sets them.
      */
-    private String initiateMultipartUpload(CopyObjectRequest origReq) {
+    public static String initiateMultipartCopy(AmazonS3 s3, CopyObjectRequest origReq, ObjectMetadata metadata) {
 
         InitiateMultipartUploadRequest req = new InitiateMultipartUploadRequest(
                 origReq.getDestinationBucketName(),
@@ -252,7 +254,7 @@ public class CopyCallable implements Callable<CopyResult> {
         return uploadId;
     }
 
-    private void populateMetadataWithEncryptionParams(ObjectMetadata source, ObjectMetadata destination) {
+    private static void populateMetadataWithEncryptionParams(ObjectMetadata source, ObjectMetadata destination) {
         Map<String, String> userMetadataSource = source.getUserMetadata();
         Map<String, String> userMetadataDestination = destination.getUserMetadata();
 
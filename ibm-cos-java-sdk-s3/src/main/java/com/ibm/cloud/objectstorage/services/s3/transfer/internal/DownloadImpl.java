@@ -45,6 +45,11 @@ public class DownloadImpl extends AbstractTransfer implements Download {
      */
     private Long lastFullyDownloadedFilePosition;
 
+    /**
+     * The size of the byte ranges of a ranged parallel download, or null.
+     */
+    private final Long downloadPartSize;
+
     private final GetObjectRequest getObjectRequest;
     private final File file;
     private final ObjectMetadata objectMetadata;
@@ -62,7 +67,23 @@ public class DownloadImpl extends AbstractTransfer implements Download {
             ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
             GetObjectRequest getObjectRequest, File file,
             ObjectMetadata objectMetadata, boolean isDownloadParallel) {
+        this(description, transferProgress, progressListenerChain, s3Object, listener,
+                getObjectRequest, file, objectMetadata, isDownloadParallel, null);
+    }
+
+    /**
+     * @param downloadPartSize
+     *            The size of the byte ranges the object is downloaded in
+     *            parallel, or null if it is downloaded by part number or
+     *            serially. It is recorded so that a paused download is resumed
+     *            in the same ranges.
+     */
+    public DownloadImpl(String description, TransferProgress transferProgress,
+            ProgressListenerChain progressListenerChain, S3Object s3Object, TransferStateChangeListener listener,
+            GetObjectRequest getObjectRequest, File file,
+            ObjectMetadata objectMetadata, boolean isDownloadParallel, Long downloadPartSize) {
         super(description, transferProgress, progressListenerChain, listener);
+        this.downloadPartSize = downloadPartSize;
         this.s3Object = s3Object;
         this.objectMetadata = objectMetadata;
         this.getObjectRequest = getObjectRequest;
@@ -210,7 +231,7 @@ public class DownloadImpl extends AbstractTransfer implements Download {
                     getObjectRequest.getResponseHeaders(), getObjectRequest.isRequesterPays(),
                     file.getAbsolutePath(), getLastFullyDownloadedPartNumber(),
                     getObjectMetadata().getLastModified().getTime(),
-                    getLastFullyDownloadedFilePosition());
+                    getLastFullyDownloadedFilePosition(), downloadPartSize);
         }
         return null;
     }
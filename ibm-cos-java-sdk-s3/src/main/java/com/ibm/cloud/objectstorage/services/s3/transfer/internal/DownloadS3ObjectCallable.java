@@ -15,15 +15,13 @@
 
 package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
 
-import static com.ibm.cloud.objectstorage.services.s3.internal.Constants.MB;
-
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
+import com.ibm.cloud.objectstorage.services.s3.internal.DirectBufferPool;
 import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
 import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectInputStream;
 import com.ibm.cloud.objectstorage.util.IOUtils;
 import java.io.File;
 import java.io.RandomAccessFile;
-import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.Callable;
 import org.apache.commons.logging.Log;
@@ -36,18 +34,26 @@ import org.apache.commons.logging.LogFactory;
 @SdkInternalApi
 public class DownloadS3ObjectCallable implements Callable<Long> {
     private static final Log LOG = LogFactory.getLog(DownloadS3ObjectCallable.class);
-    private static final int BUFFER_SIZE = 2 * MB;
 
     private final Callable<S3Object> serviceCall;
     private final File destinationFile;
     private final long position;
+    private final DirectBufferPool bufferPool;
 
     public DownloadS3ObjectCallable(Callable<S3Object> serviceCall,
                                     File destinationFile,
                                     long position) {
+        this(serviceCall, destinationFile, position, DirectBufferPool.getDefault());
+    }
+
+    public DownloadS3ObjectCallable(Callable<S3Object> serviceCall,
+                                    File destinationFile,
+                                    long position,
+                                    DirectBufferPool bufferPool) {
         this.serviceCall = serviceCall;
         this.destinationFile = destinationFile;
         this.position = position;
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -64,18 +70,7 @@ public class DownloadS3ObjectCallable implements Callable<Long> {
 
             objectContent = object.getObjectContent();
 
-            final byte[] buffer = new byte[BUFFER_SIZE];
-            int bytesRead;
-
-            final ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
-            while ((bytesRead = objectContent.read(buffer)) > -1) {
-                byteBuffer.limit(bytesRead);
-
-                while (byteBuffer.hasRemaining()) {
-                    channel.write(byteBuffer);
-                }
-                byteBuffer.clear();
-            }
+            bufferPool.copy(objectContent, channel);
 
             filePosition = channel.position();
         } finally {
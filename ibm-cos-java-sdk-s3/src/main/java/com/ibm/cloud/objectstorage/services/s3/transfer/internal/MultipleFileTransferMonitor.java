@@ -15,6 +15,7 @@
 package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
 
 import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -27,10 +28,24 @@ public class MultipleFileTransferMonitor implements TransferMonitor {
     private final Collection<? extends AbstractTransfer> subTransfers;
     private final AbstractTransfer transfer;
     private final Future<?> future;
+    private final CountDownLatch allTransfersQueued;
+    private volatile Throwable discoveryFailure;
 
     public MultipleFileTransferMonitor(AbstractTransfer transfer, Collection<? extends AbstractTransfer> subTransfers) {
+        this(transfer, subTransfers, true);
+    }
+
+    /**
+     * @param allTransfersQueued
+     *            False if sub-transfers are still being added to the given
+     *            collection, in which case this monitor is not done until
+     *            {@link #setAllTransfersQueued(Throwable)} is called.
+     */
+    public MultipleFileTransferMonitor(AbstractTransfer transfer, Collection<? extends AbstractTransfer> subTransfers,
+            boolean allTransfersQueued) {
         this.subTransfers = subTransfers;
         this.transfer = transfer;
+        this.allTransfersQueued = new CountDownLatch(allTransfersQueued ? 0 : 1);
 
         /*
          * The future object is not publicly exposed, so we only need to worry
@@ -46,21 +61,25 @@ public class MultipleFileTransferMonitor implements TransferMonitor {
 
             @Override
             public Object get() throws InterruptedException, ExecutionException {
+                MultipleFileTransferMonitor.this.allTransfersQueued.await();
                 Object result = null;
                 for ( AbstractTransfer download : MultipleFileTransferMonitor.this.subTransfers ) {
                     result = download.getMonitor().getFuture().get();
                 }
-                return result;
+                return getResult(result);
             }
 
             @Override
             public Object get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
                     TimeoutException {
+                if ( !MultipleFileTransferMonitor.this.allTransfersQueued.await(timeout, unit) ) {
+                    throw new TimeoutException();
+                }
                 Object result = null;
                 for ( AbstractTransfer subTransfer : MultipleFileTransferMonitor.this.subTransfers ) {
                     result = subTransfer.getMonitor().getFuture().get(timeout, unit);
                 }
-                return result;
+                return getResult(result);
             }
 
             @Override
@@ -80,8 +99,37 @@ public class MultipleFileTransferMonitor implements TransferMonitor {
         return future;
     }
 
+    /**
+     * Signals that no more sub-transfers will be added.
+     *
+     * @param discoveryFailure
+     *            The error that stopped the discovery of further
+     *            sub-transfers, or null if all of them were found.
+     */
+    public void setAllTransfersQueued(Throwable discoveryFailure) {
+        this.discoveryFailure = discoveryFailure;
+        allTransfersQueued.countDown();
+    }
+
+    /**
+     * Returns the error that stopped the discovery of sub-transfers, if any.
+     */
+    public Throwable getDiscoveryFailure() {
+        return discoveryFailure;
+    }
+
+    private Object getResult(Object lastResult) throws ExecutionException {
+        if ( discoveryFailure != null ) {
+            throw new ExecutionException(discoveryFailure);
+        }
+        // AbstractTransfer.waitForCompletion waits for a non null result
+        return lastResult == null ? transfer.getState() : lastResult;
+    }
+
     @Override
     public synchronized boolean isDone() {
+        if ( allTransfersQueued.getCount() > 0 )
+            return false;
         for ( Transfer subTransfer : subTransfers ) {
             if ( !subTransfer.isDone() )
                 return false;
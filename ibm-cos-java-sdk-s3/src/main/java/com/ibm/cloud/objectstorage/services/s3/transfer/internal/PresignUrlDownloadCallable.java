@@ -22,6 +22,7 @@ import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.annotation.SdkInternalApi;
 import com.ibm.cloud.objectstorage.annotation.SdkTestInternalApi;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.internal.DirectBufferPool;
 import com.ibm.cloud.objectstorage.services.s3.internal.FileLocks;
 import com.ibm.cloud.objectstorage.services.s3.internal.ServiceUtils;
 import com.ibm.cloud.objectstorage.services.s3.model.PresignedUrlDownloadRequest;
@@ -52,6 +53,7 @@ public class PresignUrlDownloadCallable extends AbstractDownloadCallable {
     private final Long endByte;
     private final boolean resumeOnRetry;
     private long expectedFileLength;
+    private DirectBufferPool bufferPool = DirectBufferPool.getDefault();
 
     public PresignUrlDownloadCallable(ExecutorService executor, File dstfile, CountDownLatch latch, PresignedUrlDownloadImpl download,
                                       boolean isDownloadParallel, ScheduledExecutorService timedExecutor, long timeout,
@@ -74,6 +76,15 @@ public class PresignUrlDownloadCallable extends AbstractDownloadCallable {
         this.expectedFileLength = 0L;
     }
 
+    /**
+     * Writes the downloaded data to the destination file through buffers of
+     * the given pool.
+     */
+    public PresignUrlDownloadCallable withBufferPool(DirectBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        return this;
+    }
+
     @Override
     protected void downloadAsSingleObject() {
         S3Object s3Object = retryableDownloadS3ObjectToFile(dstfile,
@@ -130,7 +141,7 @@ public class PresignUrlDownloadCallable extends AbstractDownloadCallable {
                 }
                 ServiceUtils.downloadToFile(s3Object, file,
                                             retryableS3DownloadTask.needIntegrityCheck(),
-                                            appendData, expectedFileLength);
+                                            appendData, expectedFileLength, bufferPool);
                 return s3Object;
             } catch (AmazonClientException ace) {
                 if (!ace.isRetryable()) {
@@ -233,7 +244,8 @@ public class PresignUrlDownloadCallable extends AbstractDownloadCallable {
             Callable<S3Object> s3Object = serviceCall(rangeRequest);
             futures.add(executor.submit(new DownloadS3ObjectCallable(s3Object,
                                                                      dstfile,
-                                                                     filePositionToWrite)));
+                                                                     filePositionToWrite,
+                                                                     bufferPool)));
 
             filePositionToWrite += perRequestDownloadSize;
             currentStart = currentEnd + 1;
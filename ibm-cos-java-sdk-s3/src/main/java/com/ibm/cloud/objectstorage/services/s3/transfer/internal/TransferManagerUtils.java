@@ -218,6 +218,33 @@ public class TransferManagerUtils {
         return true;
     }
 
+    /**
+     * Returns true if the specified download request can be split into
+     * parallel byte-range downloads of the given size.
+     *
+     * @param s3
+     *            The Amazon s3 client.
+     * @param getObjectRequest
+     *            The request to check.
+     * @param contentLength
+     *            The length of the object being downloaded.
+     * @param downloadPartSize
+     *            The size of each ranged download request.
+     *
+     * @return True if this request can use parallel ranged downloads.
+     */
+    public static boolean isRangeDownloadParallelizable(final AmazonS3 s3, final GetObjectRequest getObjectRequest,
+            long contentLength, long downloadPartSize) {
+        ValidationUtils.assertNotNull(s3, "S3 client");
+        ValidationUtils.assertNotNull(getObjectRequest, "GetObjectRequest");
+
+        if (s3 instanceof AmazonS3Encryption || s3 instanceof AmazonS3EncryptionV2 || getObjectRequest.getRange() != null
+            || getObjectRequest.getPartNumber() != null || downloadPartSize <= 0) {
+            return false;
+        }
+        return contentLength > downloadPartSize;
+    }
+
     /**
      * Returns the content length of the object if response contains the Content-Range header
      * and is well formed.
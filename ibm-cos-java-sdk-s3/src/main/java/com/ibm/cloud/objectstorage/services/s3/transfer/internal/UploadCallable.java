@@ -15,9 +15,13 @@
 package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
 
 import static com.ibm.cloud.objectstorage.event.SDKProgressPublisher.publishProgress;
+import static com.ibm.cloud.objectstorage.services.s3.internal.Constants.MAXIMUM_UPLOAD_PARTS;
 
+import com.ibm.cloud.objectstorage.AmazonWebServiceClient;
+import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.event.ProgressEventType;
 import com.ibm.cloud.objectstorage.event.ProgressListenerChain;
+import com.ibm.cloud.objectstorage.metrics.RequestMetricCollector;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3Encryption;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3EncryptionV2;
@@ -28,6 +32,7 @@ import com.ibm.cloud.objectstorage.services.s3.model.EncryptedInitiateMultipartU
 import com.ibm.cloud.objectstorage.services.s3.model.EncryptedPutObjectRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.InitiateMultipartUploadRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.ListPartsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
 import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
 import com.ibm.cloud.objectstorage.services.s3.model.PartListing;
 import com.ibm.cloud.objectstorage.services.s3.model.PartSummary;
@@ -44,14 +49,19 @@ import com.ibm.cloud.objectstorage.services.s3.transfer.internal.future.Composit
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.future.DelegatingFuture;
 import com.ibm.cloud.objectstorage.services.s3.transfer.internal.future.FutureImpl;
 import com.ibm.cloud.objectstorage.services.s3.transfer.model.UploadResult;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -95,6 +105,18 @@ public class UploadCallable implements Callable<UploadResult> {
 
     private final AtomicBoolean abortRequestSent = new AtomicBoolean(false);
 
+    /**
+     * True if the input stream, of unknown length, is read into a bounded set
+     * of part buffers instead of relying on its content length.
+     */
+    private boolean streaming;
+
+    /** True once a streamed upload turned out to need a multipart upload. */
+    private volatile boolean streamedInParts;
+
+    /** Tunes the parts in flight and the part size; null unless adaptive tuning is enabled. */
+    private AdaptiveTransferController adaptiveController;
+
     public UploadCallable(TransferManager transferManager,
             ExecutorService threadPool, UploadImpl upload,
             PutObjectRequest origReq,
@@ -115,6 +137,25 @@ public class UploadCallable implements Callable<UploadResult> {
         }
     }
 
+    /**
+     * Uploads the input stream of the request through a bounded set of
+     * reusable in memory part buffers, regardless of its content length.
+     */
+    public UploadCallable withStreaming(boolean streaming) {
+        this.streaming = streaming;
+        return this;
+    }
+
+    /**
+     * Uploads parts under the control of the given adaptive controller, which
+     * limits the parts in flight and suggests the part size. A null controller
+     * disables adaptive tuning.
+     */
+    public UploadCallable withAdaptiveController(AdaptiveTransferController adaptiveController) {
+        this.adaptiveController = adaptiveController;
+        return this;
+    }
+
     Future<List<PartETag>> getFutures() {
         return partsFuture;
     }
@@ -136,13 +177,18 @@ public class UploadCallable implements Callable<UploadResult> {
      * @return True if this UploadCallable is processing a multipart upload.
      */
     public boolean isMultipartUpload() {
+        if (streaming) {
+            return streamedInParts;
+        }
         return TransferManagerUtils.shouldUseMultipartUpload(origReq, configuration);
     }
 
     public UploadResult call() throws Exception {
         try {
             upload.setState(TransferState.InProgress);
-            if (isMultipartUpload()) {
+            if (streaming) {
+                return uploadStream();
+            } else if (isMultipartUpload()) {
                 publishProgress(listener, ProgressEventType.TRANSFER_STARTED_EVENT);
                 return uploadInParts();
             } else {
@@ -179,12 +225,12 @@ public class UploadCallable implements Callable<UploadResult> {
     /**
      * Captures the state of the upload.
      */
-    private void captureUploadStateIfPossible(String multipartUploadId) {
+    private void captureUploadStateIfPossible(String multipartUploadId, long partSize) {
         if (origReq.getSSECustomerKey() == null) {
             persistableUpload = new PersistableUpload(origReq.getBucketName(),
                     origReq.getKey(), origReq.getFile()
                             .getAbsolutePath(), multipartUploadId,
-                    configuration.getMinimumUploadPartSize(),
+                    partSize,
                     configuration.getMultipartUploadThreshold());
             notifyPersistableTransferAvailability();
         }
@@ -209,17 +255,20 @@ public class UploadCallable implements Callable<UploadResult> {
      */
     private UploadResult uploadInParts() throws Exception {
         boolean isUsingEncryption = s3 instanceof AmazonS3Encryption || s3 instanceof AmazonS3EncryptionV2;
-        long optimalPartSize = getOptimalPartSize(isUsingEncryption);
+        // A resumed upload has to keep the part size its existing parts were uploaded with
+        long optimalPartSize = getOptimalPartSize(isUsingEncryption, !multipartUploadId.isDone());
+        UploadPartRequestFactory requestFactory = null;
 
         try {
             // Get a multipart upload ID, either using one we already have (e.g. because of a resume), or creating a new one.
             String uploadId = multipartUploadId.isDone() ? multipartUploadId.get()
                                                          : initiateMultipartUpload(origReq, isUsingEncryption);
 
-            UploadPartRequestFactory requestFactory = new UploadPartRequestFactory(origReq, uploadId, optimalPartSize);
+            requestFactory = new UploadPartRequestFactory(origReq, uploadId, optimalPartSize,
+                    configuration.isMemoryMappedPartReads() && !isUsingEncryption);
 
             if (TransferManagerUtils.isUploadParallelizable(origReq, isUsingEncryption)) {
-                captureUploadStateIfPossible(uploadId);
+                captureUploadStateIfPossible(uploadId, optimalPartSize);
                 uploadPartsInParallel(requestFactory, uploadId);
                 return null;
             } else {
@@ -233,6 +282,9 @@ public class UploadCallable implements Callable<UploadResult> {
             }
             throw e;
         } finally {
+            if (requestFactory != null) {
+                requestFactory.close();
+            }
             if (origReq.getInputStream() != null) {
                 try {origReq.getInputStream().close(); } catch (Exception e) {
                     log.warn("Unable to cleanly close input stream: " + e.getMessage(), e);
@@ -241,6 +293,172 @@ public class UploadCallable implements Callable<UploadResult> {
         }
     }
 
+    /**
+     * Uploads the input stream of the request without knowing its length. The
+     * stream is read into part buffers of the optimal part size; a stream that
+     * fits in one buffer is uploaded in a single request, otherwise each buffer
+     * is uploaded as a part as soon as it is full. At most
+     * {@link TransferManagerConfiguration#getStreamUploadBufferCount()} buffers
+     * are allocated. When every other buffer is held by a part being uploaded,
+     * the part just read is uploaded on this thread rather than in the thread
+     * pool. This thread runs in the same pool as the parts, so it must never
+     * wait for a part queued behind it.
+     */
+    private UploadResult uploadStream() throws Exception {
+        boolean isUsingEncryption = s3 instanceof AmazonS3Encryption || s3 instanceof AmazonS3EncryptionV2;
+        // The part size bounds the memory held by the buffers, so it is not tuned
+        int partSize = (int) Math.min(getOptimalPartSize(isUsingEncryption, false), Integer.MAX_VALUE - 32);
+        PartBufferPool buffers = new PartBufferPool(partSize, configuration.getStreamUploadBufferCount());
+        // One byte of read ahead tells whether a full buffer is the last part
+        PushbackInputStream input = new PushbackInputStream(origReq.getInputStream());
+
+        try {
+            byte[] buffer = buffers.acquire();
+            int length = readPart(input, buffer);
+            if (isEndOfStream(input)) {
+                multipartUploadId.complete(null);
+                return uploadBufferInOneChunk(buffer, length);
+            }
+
+            streamedInParts = true;
+            publishProgress(listener, ProgressEventType.TRANSFER_STARTED_EVENT);
+            String uploadId = initiateMultipartUpload(origReq, isUsingEncryption);
+            // Parts are in memory, so only encryption prevents uploading them concurrently
+            boolean parallel = !isUsingEncryption;
+
+            List<Future<PartETag>> futures = new ArrayList<Future<PartETag>>();
+            List<PartETag> partETags = new ArrayList<PartETag>();
+            try {
+                int partNumber = 1;
+                boolean isLastPart = false;
+                while (true) {
+                    if (threadPool.isShutdown()) throw new CancellationException("TransferManager has been shutdown");
+                    if (buffers.getFailure() != null) {
+                        throw new SdkClientException("Unable to upload stream. Individual part upload failed: "
+                                + buffers.getFailure().getMessage(), buffers.getFailure());
+                    }
+                    if (partNumber > MAXIMUM_UPLOAD_PARTS) {
+                        throw new SdkClientException("Unable to upload stream: it exceeds " + MAXIMUM_UPLOAD_PARTS
+                                + " parts of " + partSize + " bytes. Increase the minimum upload part size.");
+                    }
+                    UploadPartRequest request = newUploadPartRequest(uploadId, partNumber, buffer, length, isLastPart);
+                    byte[] nextBuffer = isLastPart ? null : buffers.acquire();
+                    if (parallel && (isLastPart || nextBuffer != null)) {
+                        futures.add(submitPart(request, new BufferedPartCallable(
+                                new UploadPartCallable(s3, request, shouldCalculatePartMd5()), buffers, buffer)));
+                    } else if (parallel) {
+                        // No buffer is free to read the next part into, so upload this one here. It
+                        // is not counted by the adaptive controller, since this thread must not wait.
+                        reportThrottling(request);
+                        PartETag partETag = new BufferedPartCallable(
+                                new UploadPartCallable(s3, request, shouldCalculatePartMd5()), buffers, buffer).call();
+                        futures.add(new CompletedFuture<PartETag>(partETag));
+                        nextBuffer = buffers.acquire();
+                    } else {
+                        try {
+                            partETags.add(s3.uploadPart(request).getPartETag());
+                        } finally {
+                            buffers.release(buffer);
+                        }
+                        nextBuffer = isLastPart ? null : buffers.acquire();
+                    }
+                    if (isLastPart) {
+                        break;
+                    }
+                    partNumber++;
+                    buffer = nextBuffer;
+                    length = readPart(input, buffer);
+                    isLastPart = isEndOfStream(input);
+                }
+            } finally {
+                if (parallel) {
+                    partsFuture.setDelegate(new CompositeFuture<PartETag>(futures));
+                }
+            }
+
+            return parallel ? null : completeMultipartUpload(uploadId, partETags);
+        } catch (Exception e) {
+            publishProgress(listener, ProgressEventType.TRANSFER_FAILED_EVENT);
+
+            if (multipartUploadId.isDone()) {
+                abortMultipartUpload(multipartUploadId.get());
+            }
+            throw e;
+        } finally {
+            try {
+                input.close();
+            } catch (Exception e) {
+                log.warn("Unable to cleanly close input stream: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Uploads a stream that fit in a single part buffer with one request.
+     */
+    private UploadResult uploadBufferInOneChunk(byte[] buffer, int length) {
+        PutObjectRequest request = origReq.clone();
+        ObjectMetadata metadata = request.getMetadata() == null ? new ObjectMetadata() : request.getMetadata();
+        metadata.setContentLength(length);
+        request.withMetadata(metadata)
+               .withInputStream(new ByteArrayInputStream(buffer, 0, length));
+
+        PutObjectResult putObjectResult = s3.putObject(request);
+
+        UploadResult uploadResult = new UploadResult();
+        uploadResult.setBucketName(origReq.getBucketName());
+        uploadResult.setKey(origReq.getKey());
+        uploadResult.setETag(putObjectResult.getETag());
+        uploadResult.setVersionId(putObjectResult.getVersionId());
+        return uploadResult;
+    }
+
+    private UploadPartRequest newUploadPartRequest(String uploadId, int partNumber, byte[] buffer, int length,
+            boolean isLastPart) {
+        UploadPartRequest req = new UploadPartRequest()
+            .withBucketName(origReq.getBucketName())
+            .withKey(origReq.getKey())
+            .withUploadId(uploadId)
+            .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+            .withPartNumber(partNumber)
+            .withPartSize(length)
+            .withLastPart(isLastPart);
+        req.withRequesterPays(origReq.isRequesterPays());
+        TransferManager.appendMultipartUserAgent(req);
+
+        if (origReq.getSSECustomerKey() != null) req.setSSECustomerKey(origReq.getSSECustomerKey());
+
+        req.withGeneralProgressListener(origReq.getGeneralProgressListener())
+           .withRequestMetricCollector(origReq.getRequestMetricCollector())
+           .withRequestCredentialsProvider(origReq.getRequestCredentialsProvider());
+        // The part is in memory, so it can always be reset for a retry
+        req.getRequestClientOptions().setReadLimit(length + 1);
+        return req;
+    }
+
+    /**
+     * Fills the buffer from the stream, returning fewer bytes than its length
+     * only at the end of the stream.
+     */
+    private static int readPart(InputStream input, byte[] buffer) throws IOException {
+        int length = 0;
+        int bytesRead;
+        while (length < buffer.length
+                && (bytesRead = input.read(buffer, length, buffer.length - length)) > -1) {
+            length += bytesRead;
+        }
+        return length;
+    }
+
+    private static boolean isEndOfStream(PushbackInputStream input) throws IOException {
+        int b = input.read();
+        if (b == -1) {
+            return true;
+        }
+        input.unread(b);
+        return false;
+    }
+
     void safelyAbortMultipartUpload(Future<?> future) {
         if (multipartUploadId.isDone()) {
             state.set(State.ABORTED);
@@ -289,9 +507,17 @@ public class UploadCallable implements Callable<UploadResult> {
 
     /**
      * Computes and returns the optimal part size for the upload.
+     *
+     * @param adaptive
+     *            True to let the adaptive controller, if any, raise the part
+     *            size from the observed throughput.
      */
-    private long getOptimalPartSize(boolean isUsingEncryption) {
+    private long getOptimalPartSize(boolean isUsingEncryption, boolean adaptive) {
         long optimalPartSize = TransferManagerUtils.calculateOptimalPartSize(origReq, configuration);
+        if (adaptive && adaptiveController != null) {
+            optimalPartSize = adaptiveController.getPartSize(optimalPartSize,
+                    TransferManagerUtils.getContentLength(origReq));
+        }
         if (isUsingEncryption && optimalPartSize % 32 > 0) {
             // When using encryption, parts must line up correctly along cipher block boundaries
             optimalPartSize = optimalPartSize - (optimalPartSize % 32) + 32 ;
@@ -323,6 +549,13 @@ public class UploadCallable implements Callable<UploadResult> {
             partETags.add(s3.uploadPart(uploadPartRequest).getPartETag());
         }
 
+        return completeMultipartUpload(multipartUploadId, partETags);
+    }
+
+    /**
+     * Completes a multipart upload whose parts were uploaded in this thread.
+     */
+    private UploadResult completeMultipartUpload(String multipartUploadId, List<PartETag> partETags) {
         CompleteMultipartUploadRequest req =
             new CompleteMultipartUploadRequest(
                 origReq.getBucketName(), origReq.getKey(), multipartUploadId,
@@ -362,7 +595,7 @@ public class UploadCallable implements Callable<UploadResult> {
                     transferProgress.updateProgress(summary.getSize());
                     continue;
                 }
-                futures.add(threadPool.submit(new UploadPartCallable(s3, request, shouldCalculatePartMd5())));
+                futures.add(submitPart(request, new UploadPartCallable(s3, request, shouldCalculatePartMd5())));
             }
         } finally {
             partsFuture.setDelegate(new CompositeFuture<PartETag>(futures));
@@ -462,6 +695,113 @@ public class UploadCallable implements Callable<UploadResult> {
         return false;  // IBM does not support Object Locking
     }
 
+    /**
+     * Bounded set of reusable buffers a streamed upload reads its parts into.
+     * Buffers are allocated on demand up to the maximum count; beyond that,
+     * {@link #acquire()} returns null until a part upload releases its buffer.
+     * It never waits, since the part uploads may be queued behind the reading
+     * thread.
+     */
+    private static final class PartBufferPool {
+        private final int bufferSize;
+        private final int maxBuffers;
+        private final Queue<byte[]> idleBuffers = new ConcurrentLinkedQueue<byte[]>();
+        private int allocated;
+        private volatile Throwable failure;
+
+        private PartBufferPool(int bufferSize, int maxBuffers) {
+            this.bufferSize = bufferSize;
+            this.maxBuffers = maxBuffers;
+        }
+
+        /**
+         * Returns an idle or new buffer, or null if all the buffers are held
+         * by parts being uploaded.
+         */
+        private byte[] acquire() {
+            byte[] buffer = idleBuffers.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+            // Only the reading thread allocates buffers
+            if (allocated < maxBuffers) {
+                allocated++;
+                return new byte[bufferSize];
+            }
+            return null;
+        }
+
+        private void release(byte[] buffer) {
+            idleBuffers.offer(buffer);
+        }
+
+        /** Records the first part upload failure, so reading can stop early. */
+        private void fail(Throwable t) {
+            if (failure == null) {
+                failure = t;
+            }
+        }
+
+        private Throwable getFailure() {
+            return failure;
+        }
+    }
+
+    /**
+     * Uploads a part held in a pooled buffer and releases the buffer once the
+     * part is uploaded or failed.
+     */
+    private static final class BufferedPartCallable implements Callable<PartETag> {
+        private final UploadPartCallable delegate;
+        private final PartBufferPool buffers;
+        private final byte[] buffer;
+
+        private BufferedPartCallable(UploadPartCallable delegate, PartBufferPool buffers, byte[] buffer) {
+            this.delegate = delegate;
+            this.buffers = buffers;
+            this.buffer = buffer;
+        }
+
+        @Override
+        public PartETag call() throws Exception {
+            try {
+                return delegate.call();
+            } catch (Exception e) {
+                buffers.fail(e);
+                throw e;
+            } finally {
+                buffers.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Submits a part upload to the thread pool, once the adaptive controller,
+     * if there is one, allows another part in flight.
+     */
+    private Future<PartETag> submitPart(UploadPartRequest request, Callable<PartETag> part) {
+        if (adaptiveController == null) {
+            return threadPool.submit(part);
+        }
+        reportThrottling(request);
+        return adaptiveController.submit(threadPool, part, request.getPartSize());
+    }
+
+    /**
+     * Lets the adaptive controller, if there is one, see the throttled
+     * attempts of a part request, including those that were retried.
+     */
+    private void reportThrottling(UploadPartRequest request) {
+        if (adaptiveController == null) {
+            return;
+        }
+        RequestMetricCollector collector = request.getRequestMetricCollector();
+        if (collector == null && s3 instanceof AmazonWebServiceClient) {
+            collector = ((AmazonWebServiceClient) s3).getRequestMetricsCollector();
+        }
+        request.setRequestMetricCollector(adaptiveController.newThrottlingCollector(collector));
+    }
+
     private enum State {
         BEFORE_INITIATE,
         INITIATED,
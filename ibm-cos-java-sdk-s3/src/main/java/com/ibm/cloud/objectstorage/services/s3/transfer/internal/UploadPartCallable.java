@@ -22,27 +22,30 @@ import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.Callable;
 
 import com.ibm.cloud.objectstorage.SdkClientException;
-import com.ibm.cloud.objectstorage.internal.SdkThreadLocalsRegistry;
+import com.ibm.cloud.objectstorage.internal.SdkObjectPool;
 import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.internal.ByteBufferInputStream;
 import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
 import com.ibm.cloud.objectstorage.services.s3.model.UploadPartRequest;
 import com.ibm.cloud.objectstorage.util.BinaryUtils;
 
 public class UploadPartCallable implements Callable<PartETag> {
     private static final int MAX_SKIPS = 100;
-    private static final ThreadLocal<MessageDigest> MD5_DIGEST;
-    static {
-        MD5_DIGEST = SdkThreadLocalsRegistry.register(new ThreadLocal<MessageDigest>() {
-            @Override
-            protected MessageDigest initialValue() {
-                try {
-                    return MessageDigest.getInstance("MD5");
-                } catch (NoSuchAlgorithmException e) {
-                    throw new SdkClientException("Unable to get a digest instance for MD5!", e);
-                }
+    private static final SdkObjectPool<MessageDigest> MD5_DIGEST = new SdkObjectPool<MessageDigest>() {
+        @Override
+        protected MessageDigest newInstance() {
+            try {
+                return MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new SdkClientException("Unable to get a digest instance for MD5!", e);
             }
-        });
-    }
+        }
+
+        @Override
+        protected void reset(MessageDigest digest) {
+            digest.reset();
+        }
+    };
     private final AmazonS3 s3;
     private final UploadPartRequest request;
     private final boolean calculateMd5;
@@ -67,6 +70,16 @@ public class UploadPartCallable implements Callable<PartETag> {
 
 
     private String computedMd5() {
+        if (request.getInputStream() instanceof ByteBufferInputStream) {
+            // A mapped part is digested in place
+            MessageDigest digest = MD5_DIGEST.acquire();
+            try {
+                digest.update(((ByteBufferInputStream) request.getInputStream()).getContent());
+                return BinaryUtils.toBase64(digest.digest());
+            } finally {
+                MD5_DIGEST.release(digest);
+            }
+        }
         FileInputStream fileStream = null;
         try {
             fileStream = new FileInputStream(request.getFile());
@@ -86,15 +99,18 @@ public class UploadPartCallable implements Callable<PartETag> {
 
     private static byte[] computeMd5Bytes(InputStream is, long remaining) throws IOException {
         byte readBuff[] = new byte[4096];
-        MessageDigest digest = MD5_DIGEST.get();
-        digest.reset();
-        int read;
-        while (remaining > 0 && (read = is.read(readBuff)) != -1) {
-            int updateLen = (int) Math.min(remaining, read);
-            digest.update(readBuff, 0, updateLen);
-            remaining -= updateLen;
+        MessageDigest digest = MD5_DIGEST.acquire();
+        try {
+            int read;
+            while (remaining > 0 && (read = is.read(readBuff)) != -1) {
+                int updateLen = (int) Math.min(remaining, read);
+                digest.update(readBuff, 0, updateLen);
+                remaining -= updateLen;
+            }
+            return digest.digest();
+        } finally {
+            MD5_DIGEST.release(digest);
         }
-        return digest.digest();
     }
 
     private void skipBytes(FileInputStream fs, long n) throws IOException {
@@ -14,15 +14,22 @@
  */
 package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
 
+import com.ibm.cloud.objectstorage.SdkClientException;
 import com.ibm.cloud.objectstorage.internal.ReleasableInputStream;
+import com.ibm.cloud.objectstorage.services.s3.internal.ByteBufferInputStream;
 import com.ibm.cloud.objectstorage.services.s3.internal.InputSubstream;
 import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
 import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
 import com.ibm.cloud.objectstorage.services.s3.model.SSECustomerKey;
 import com.ibm.cloud.objectstorage.services.s3.model.UploadPartRequest;
 import com.ibm.cloud.objectstorage.services.s3.transfer.TransferManager;
+import com.ibm.cloud.objectstorage.util.IOUtils;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Factory for creating all the individual UploadPartRequest objects for a
@@ -45,6 +52,13 @@ public class UploadPartRequestFactory {
     private long remainingBytes;
     private SSECustomerKey sseCustomerKey;
     private final int totalNumberOfParts;
+    private final boolean memoryMappedParts;
+
+    /**
+     * Opened on the first part mapped from the file. Mappings stay valid once
+     * the channel is closed.
+     */
+    private FileChannel fileChannel;
 
     /**
      * Wrapped to provide necessary mark-and-reset support for the underlying
@@ -56,6 +70,16 @@ public class UploadPartRequestFactory {
     // Note: Do not copy object metadata from PutObjectRequest to the UploadPartRequest
     // as headers "like x-amz-server-side-encryption" are valid in PutObject but not in UploadPart API
     public UploadPartRequestFactory(PutObjectRequest origReq, String uploadId, long optimalPartSize) {
+        this(origReq, uploadId, optimalPartSize, false);
+    }
+
+    /**
+     * @param memoryMappedParts
+     *            True to read the parts of a file upload from read-only
+     *            mappings of the file, which is then opened only once.
+     */
+    public UploadPartRequestFactory(PutObjectRequest origReq, String uploadId, long optimalPartSize,
+            boolean memoryMappedParts) {
         this.origReq = origReq;
         this.uploadId = uploadId;
         this.optimalPartSize = optimalPartSize;
@@ -69,6 +93,7 @@ public class UploadPartRequestFactory {
         if (origReq.getInputStream() != null) {
             wrappedStream = ReleasableInputStream.wrap(origReq.getInputStream());
         }
+        this.memoryMappedParts = memoryMappedParts && wrappedStream == null;
     }
 
     public synchronized boolean hasMoreRequests() {
@@ -88,6 +113,14 @@ public class UploadPartRequestFactory {
                 .withInputStream(new InputSubstream(wrappedStream, 0, partSize, isLastPart))
                 .withPartNumber(partNumber++)
                 .withPartSize(partSize);
+        } else if (memoryMappedParts && partSize <= Integer.MAX_VALUE) {
+            req = new UploadPartRequest()
+                .withBucketName(bucketName)
+                .withKey(key)
+                .withUploadId(uploadId)
+                .withInputStream(new ByteBufferInputStream(mapPart(offset, partSize)))
+                .withPartNumber(partNumber++)
+                .withPartSize(partSize);
         } else {
             req = new UploadPartRequest()
                 .withBucketName(bucketName)
@@ -107,6 +140,9 @@ public class UploadPartRequestFactory {
         remainingBytes -= partSize;
 
         req.setLastPart(isLastPart);
+        if (isLastPart) {
+            close();
+        }
 
         req.withGeneralProgressListener(origReq.getGeneralProgressListener())
            .withRequestMetricCollector(origReq.getRequestMetricCollector())
@@ -122,4 +158,27 @@ public class UploadPartRequestFactory {
         return totalNumberOfParts;
     }
 
+    /**
+     * Closes the file opened to map parts, if any. Parts already created can
+     * still be uploaded.
+     */
+    public synchronized void close() {
+        if (fileChannel != null) {
+            IOUtils.closeQuietly(fileChannel, null);
+            fileChannel = null;
+        }
+    }
+
+    private MappedByteBuffer mapPart(long offset, long partSize) {
+        try {
+            if (fileChannel == null) {
+                fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            }
+            return fileChannel.map(FileChannel.MapMode.READ_ONLY, offset, partSize);
+        } catch (IOException e) {
+            close();
+            throw new SdkClientException("Unable to map part " + partNumber + " of file " + file, e);
+        }
+    }
+
 }
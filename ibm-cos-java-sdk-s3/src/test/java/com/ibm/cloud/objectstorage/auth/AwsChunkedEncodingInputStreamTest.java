@@ -0,0 +1,101 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.auth;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.util.IOUtils;
+import com.ibm.cloud.objectstorage.util.StringUtils;
+
+public class AwsChunkedEncodingInputStreamTest {
+
+	private static final int CHUNK_SIZE = 128 * 1024;
+
+	private final byte[] data = new byte[300 * 1024];
+
+	public AwsChunkedEncodingInputStreamTest() {
+		new Random(1).nextBytes(data);
+	}
+
+	@Test
+	public void testUnmarkableStreamIsEncodedAndReplayedFromBuffer() throws IOException {
+		AwsChunkedEncodingInputStream in = chunkedStream(512 * 1024);
+		in.mark(0);
+		byte[] encoded = IOUtils.toByteArray(in);
+
+		assertEquals(AwsChunkedEncodingInputStream.calculateStreamContentLength(data.length), encoded.length);
+		assertArrayEquals(data, decode(encoded));
+
+		in.reset();
+		assertArrayEquals(encoded, IOUtils.toByteArray(in));
+	}
+
+	@Test
+	public void testStreamLongerThanTheBufferIsNotReplayed() throws IOException {
+		AwsChunkedEncodingInputStream in = chunkedStream(CHUNK_SIZE);
+		in.mark(0);
+		assertArrayEquals(data, decode(IOUtils.toByteArray(in)));
+		try {
+			in.reset();
+			fail("The buffer of the decoded stream was exceeded");
+		} catch (SdkClientException expected) {
+		}
+	}
+
+	private AwsChunkedEncodingInputStream chunkedStream(int maxBufferSize) {
+		InputStream unmarkable = new FilterInputStream(new ByteArrayInputStream(data)) {
+			@Override
+			public boolean markSupported() {
+				return false;
+			}
+		};
+		return new AwsChunkedEncodingInputStream(unmarkable, maxBufferSize, new byte[32], "20260101T000000Z",
+				"20260101/us-east-1/s3/aws4_request", "0123456789abcdef", new AWS4Signer());
+	}
+
+	/**
+	 * Strips the chunk headers and trailers, checking that the stream ends with
+	 * an empty chunk.
+	 */
+	private static byte[] decode(byte[] encoded) {
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		int pos = 0;
+		while (true) {
+			int headerEnd = pos;
+			while (encoded[headerEnd] != '\r') {
+				headerEnd++;
+			}
+			String header = new String(encoded, pos, headerEnd - pos, StringUtils.UTF8);
+			int size = Integer.parseInt(header.substring(0, header.indexOf(';')), 16);
+			assertEquals(64, header.length() - header.indexOf('=') - 1);
+			decoded.write(encoded, headerEnd + 2, size);
+			pos = headerEnd + 2 + size + 2;
+			if (size == 0) {
+				assertEquals(encoded.length, pos);
+				return decoded.toByteArray();
+			}
+		}
+	}
+}
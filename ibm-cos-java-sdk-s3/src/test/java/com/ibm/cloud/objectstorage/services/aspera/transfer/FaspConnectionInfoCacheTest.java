@@ -0,0 +1,246 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.aspera.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.internal.SdkFunction;
+import com.ibm.cloud.objectstorage.services.s3.model.FASPConnectionInfo;
+
+public class FaspConnectionInfoCacheTest {
+
+	/**
+	 * Loader that counts its calls and can be held until released
+	 */
+	private static class CountingLoader implements SdkFunction<String, FASPConnectionInfo> {
+		final AtomicInteger calls = new AtomicInteger();
+		final CountDownLatch release;
+		volatile boolean fail;
+
+		CountingLoader(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public FASPConnectionInfo apply(String bucketName) {
+			calls.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (fail) {
+				throw new SdkClientException("load failed");
+			}
+			FASPConnectionInfo faspConnectionInfo = new FASPConnectionInfo();
+			faspConnectionInfo.setAccessKeyId(bucketName);
+			return faspConnectionInfo;
+		}
+	}
+
+	/**
+	 * Test concurrent lookups of a missing bucket share a single load
+	 * 
+	 */
+	@Test
+	public void testConcurrentMissesLoadOnce() throws Exception {
+		final FaspConnectionInfoCache cache = new FaspConnectionInfoCache(10, 0);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingLoader loader = new CountingLoader(release);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<FASPConnectionInfo>> results = new ArrayList<Future<FASPConnectionInfo>>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(new Callable<FASPConnectionInfo>() {
+					@Override
+					public FASPConnectionInfo call() {
+						return cache.get("bucket", loader);
+					}
+				}));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			FASPConnectionInfo first = results.get(0).get();
+			for (Future<FASPConnectionInfo> result : results) {
+				assertSame(first, result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loader.calls.get());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(7, cache.getHitCount());
+	}
+
+	/**
+	 * Test a failed load is not cached
+	 * 
+	 */
+	@Test
+	public void testFailedLoadIsRetried() {
+		FaspConnectionInfoCache cache = new FaspConnectionInfoCache(10, 0);
+		CountingLoader loader = new CountingLoader(new CountDownLatch(0));
+		loader.fail = true;
+
+		try {
+			cache.get("bucket", loader);
+			fail("Expected the load to fail");
+		} catch (SdkClientException e) {
+			assertEquals("load failed", e.getMessage());
+		}
+		assertNull(cache.getIfPresent("bucket"));
+
+		loader.fail = false;
+		assertEquals("bucket", cache.get("bucket", loader).getAccessKeyId());
+		assertEquals(2, loader.calls.get());
+		assertEquals(1, cache.getLoadFailureCount());
+	}
+
+	/**
+	 * Test entries are loaded again once expired
+	 * 
+	 */
+	@Test
+	public void testExpiredEntryIsReloaded() throws Exception {
+		FaspConnectionInfoCache cache = new FaspConnectionInfoCache(10, 20);
+		CountingLoader loader = new CountingLoader(new CountDownLatch(0));
+
+		FASPConnectionInfo first = cache.get("bucket", loader);
+		assertSame(first, cache.get("bucket", loader));
+		Thread.sleep(50);
+		assertNull(cache.getIfPresent("bucket"));
+		cache.get("bucket", loader);
+
+		assertEquals(2, loader.calls.get());
+	}
+
+	/**
+	 * Test the least recently used bucket is evicted when the cache is full
+	 * 
+	 */
+	@Test
+	public void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+		FaspConnectionInfoCache cache = new FaspConnectionInfoCache(2, 0);
+		CountingLoader loader = new CountingLoader(new CountDownLatch(0));
+
+		cache.get("a", loader);
+		Thread.sleep(2);
+		cache.get("b", loader);
+		Thread.sleep(2);
+		cache.get("a", loader);
+		Thread.sleep(2);
+		cache.get("c", loader);
+
+		assertEquals(2, cache.size());
+		assertNull(cache.getIfPresent("b"));
+		assertEquals("a", cache.getIfPresent("a").getAccessKeyId());
+		assertEquals("c", cache.getIfPresent("c").getAccessKeyId());
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	/**
+	 * Test concurrent lookups share a single load even when the cache has no
+	 * room for loaded entries
+	 * 
+	 */
+	@Test
+	public void testZeroCapacityStillLoadsOnce() throws Exception {
+		final FaspConnectionInfoCache cache = new FaspConnectionInfoCache(0, 0);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingLoader loader = new CountingLoader(release);
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<FASPConnectionInfo>> results = new ArrayList<Future<FASPConnectionInfo>>();
+			results.add(executor.submit(lookup(cache, "a", loader)));
+			awaitCalls(loader, 1);
+			for (int i = 0; i < 3; i++) {
+				results.add(executor.submit(lookup(cache, "a", loader)));
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<FASPConnectionInfo> result : results) {
+				assertSame(results.get(0).get(), result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loader.calls.get());
+	}
+
+	/**
+	 * Test a load in progress is not evicted when the cache is full, so
+	 * lookups of its bucket keep sharing it
+	 * 
+	 */
+	@Test
+	public void testLoadInProgressIsNotEvicted() throws Exception {
+		final FaspConnectionInfoCache cache = new FaspConnectionInfoCache(1, 0);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingLoader loader = new CountingLoader(release);
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Future<FASPConnectionInfo> a = executor.submit(lookup(cache, "a", loader));
+			awaitCalls(loader, 1);
+			Future<FASPConnectionInfo> b = executor.submit(lookup(cache, "b", loader));
+			awaitCalls(loader, 2);
+			Future<FASPConnectionInfo> secondA = executor.submit(lookup(cache, "a", loader));
+			Thread.sleep(100);
+			release.countDown();
+
+			assertSame(a.get(), secondA.get());
+			assertEquals("b", b.get().getAccessKeyId());
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(2, loader.calls.get());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	private static Callable<FASPConnectionInfo> lookup(final FaspConnectionInfoCache cache, final String bucketName,
+			final CountingLoader loader) {
+		return new Callable<FASPConnectionInfo>() {
+			@Override
+			public FASPConnectionInfo call() {
+				return cache.get(bucketName, loader);
+			}
+		};
+	}
+
+	private static void awaitCalls(CountingLoader loader, int calls) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (loader.calls.get() < calls && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(calls, loader.calls.get());
+	}
+}
@@ -1,6 +1,10 @@
 package com.ibm.cloud.objectstorage.services.s3;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
 
 import org.junit.Test;
 
@@ -13,6 +17,11 @@ import com.ibm.cloud.objectstorage.services.s3.AmazonS3Client;
 import com.ibm.cloud.objectstorage.services.s3.Headers;
 import com.ibm.cloud.objectstorage.services.s3.internal.Constants;
 import com.ibm.cloud.objectstorage.services.s3.model.CreateBucketRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectResult;
+import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
+import com.ibm.cloud.objectstorage.util.Md5Utils;
 
 @SuppressWarnings("deprecation")
 public class AmazonS3ClientTest {
@@ -70,6 +79,87 @@ public class AmazonS3ClientTest {
 		assertEquals(defaultRequest.getHeaders().get(Headers.IBM_SERVICE_INSTANCE_ID), null);
 	}
 	
+	/**
+	 * Test the length and MD5 of byte array content are set up front
+	 * 
+	 */	
+	@Test
+	public void testPutObjectWithBytesPrecomputesLengthAndMd5() {
+		
+		final PutObjectRequest[] captured = new PutObjectRequest[1];
+		AmazonS3Client s3Client = new AmazonS3Client(new BasicAWSCredentials("987654321", "123456789")) {
+			@Override
+			public PutObjectResult putObject(PutObjectRequest putObjectRequest) {
+				captured[0] = putObjectRequest;
+				return new PutObjectResult();
+			}
+		};
+		byte[] content = "small object".getBytes();
+		s3Client.putObject("testbucket", "key", content, null);
+		
+		ObjectMetadata metadata = captured[0].getMetadata();
+		assertEquals(content.length, metadata.getContentLength());
+		assertEquals(Md5Utils.md5AsBase64(content), metadata.getContentMD5());
+	}
+	
+	/**
+	 * Test the metadata passed with byte array content is left unchanged, so
+	 * it can be reused for content of another length
+	 * 
+	 */	
+	@Test
+	public void testPutObjectWithBytesLeavesMetadataUnchanged() {
+		
+		final PutObjectRequest[] captured = new PutObjectRequest[1];
+		AmazonS3Client s3Client = new AmazonS3Client(new BasicAWSCredentials("987654321", "123456789")) {
+			@Override
+			public PutObjectResult putObject(PutObjectRequest putObjectRequest) {
+				captured[0] = putObjectRequest;
+				return new PutObjectResult();
+			}
+		};
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentType("text/plain");
+		byte[] first = "small object".getBytes();
+		byte[] second = "another small object".getBytes();
+		
+		s3Client.putObject("testbucket", "first", first, metadata);
+		s3Client.putObject("testbucket", "second", second, metadata);
+		
+		assertNull(metadata.getContentMD5());
+		assertNull(metadata.getRawMetadataValue(Headers.CONTENT_LENGTH));
+		ObjectMetadata sent = captured[0].getMetadata();
+		assertEquals(second.length, sent.getContentLength());
+		assertEquals(Md5Utils.md5AsBase64(second), sent.getContentMD5());
+		assertEquals("text/plain", sent.getContentType());
+	}
+	
+	/**
+	 * Test the content is read completely whether or not it matches the
+	 * Content-Length of the response
+	 * 
+	 */	
+	@Test
+	public void testGetObjectAsBytesReadsTheWholeContent() {
+		
+		final byte[] content = "small object".getBytes();
+		final long[] contentLength = new long[1];
+		AmazonS3Client s3Client = new AmazonS3Client(new BasicAWSCredentials("987654321", "123456789")) {
+			@Override
+			public S3Object getObject(String bucketName, String key) {
+				S3Object object = new S3Object();
+				object.getObjectMetadata().setContentLength(contentLength[0]);
+				object.setObjectContent(new ByteArrayInputStream(content));
+				return object;
+			}
+		};
+		
+		for (long length : new long[] { content.length, 4, content.length + 10 }) {
+			contentLength[0] = length;
+			assertArrayEquals(content, s3Client.getObjectAsBytes("testbucket", "key"));
+		}
+	}
+	
 	/**
 	 * TokenMangerUtilTest Util class to provide a runtime implementation of TokenManger
 	 * for IAM tests
@@ -0,0 +1,135 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.services.s3.model.AmazonS3Exception;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest.KeyVersion;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsResult;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsResult.DeletedObject;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException;
+import com.ibm.cloud.objectstorage.services.s3.model.MultiObjectDeleteException.DeleteError;
+
+public class BulkDeleterTest {
+
+	private AmazonS3 s3;
+	private final Set<String> deletedKeys = ConcurrentHashMap.newKeySet();
+	private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+
+	@Before
+	public void setUp() {
+		s3 = mock(AmazonS3.class);
+	}
+
+	@Test
+	public void testKeysAreDeletedInBatchesAndTransientErrorsRetried() {
+		final AtomicInteger slowDowns = new AtomicInteger();
+		when(s3.deleteObjects(any(DeleteObjectsRequest.class))).thenAnswer(new Answer<DeleteObjectsResult>() {
+			@Override
+			public DeleteObjectsResult answer(InvocationOnMock invocation) {
+				DeleteObjectsRequest request = (DeleteObjectsRequest) invocation.getArguments()[0];
+				batchSizes.add(request.getKeys().size());
+				List<DeleteError> errors = new ArrayList<DeleteError>();
+				for (KeyVersion key : request.getKeys()) {
+					if (key.getKey().equals("key7") && slowDowns.getAndIncrement() < 2) {
+						errors.add(error(key.getKey(), "SlowDown"));
+					} else if (key.getKey().equals("key1500")) {
+						errors.add(error(key.getKey(), "AccessDenied"));
+					} else {
+						deletedKeys.add(key.getKey());
+					}
+				}
+				if (!errors.isEmpty()) {
+					throw new MultiObjectDeleteException(errors, Collections.<DeletedObject> emptyList());
+				}
+				return new DeleteObjectsResult(Collections.<DeletedObject> emptyList());
+			}
+		});
+
+		final List<Long> deletedCounts = Collections.synchronizedList(new ArrayList<Long>());
+		BulkDeleter.Result result = BulkDeleter.forBucket(s3, "bucket")
+				.withConcurrency(2)
+				.withListener(new BulkDeleter.Listener() {
+					@Override
+					public void requestCompleted(BulkDeleter.Progress progress) {
+						deletedCounts.add(progress.getDeletedCount());
+					}
+				})
+				.deleteKeys(keys(2500));
+
+		// The listener saw the deletion progress one request at a time
+		assertEquals(5, deletedCounts.size());
+		assertTrue(Collections.min(deletedCounts) < 2499);
+		assertEquals(2499, (long) Collections.max(deletedCounts));
+		assertEquals(2499, result.getDeletedCount());
+		assertEquals(2499, deletedKeys.size());
+		assertTrue(deletedKeys.contains("key7"));
+		assertEquals(1, result.getErrors().size());
+		assertEquals("key1500", result.getErrors().get(0).getKey());
+		assertEquals(2, result.getRetriedKeyCount());
+		// Three batches, and key7 twice on its own
+		assertEquals(5, result.getRequestCount());
+		assertEquals(1000, (int) Collections.max(batchSizes));
+		assertTrue(batchSizes.contains(500));
+		assertEquals(2, Collections.frequency(batchSizes, 1));
+	}
+
+	@Test
+	public void testFailedRequestStopsTheDeletion() {
+		final AmazonS3Exception accessDenied = new AmazonS3Exception("Access Denied");
+		accessDenied.setStatusCode(403);
+		when(s3.deleteObjects(any(DeleteObjectsRequest.class))).thenThrow(accessDenied);
+
+		try {
+			BulkDeleter.forBucket(s3, "bucket").withBatchSize(10).withConcurrency(4).deleteKeys(keys(100000));
+			fail("Expected an AmazonS3Exception");
+		} catch (AmazonS3Exception expected) {
+			assertEquals(403, expected.getStatusCode());
+		}
+	}
+
+	private static Stream<String> keys(int count) {
+		List<String> keys = new ArrayList<String>(count);
+		for (int i = 0; i < count; i++) {
+			keys.add("key" + i);
+		}
+		return keys.stream();
+	}
+
+	private static DeleteError error(String key, String code) {
+		DeleteError error = new DeleteError();
+		error.setKey(key);
+		error.setCode(code);
+		return error;
+	}
+}
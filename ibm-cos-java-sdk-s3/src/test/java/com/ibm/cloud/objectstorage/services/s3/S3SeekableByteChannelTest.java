@@ -0,0 +1,142 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
+
+public class S3SeekableByteChannelTest {
+
+	private static final int BLOCK_SIZE = 100;
+
+	private final byte[] data = new byte[1050];
+	private AmazonS3 s3;
+	private String eTag = "etag-1";
+
+	@Before
+	public void setUp() {
+		new Random(1).nextBytes(data);
+		s3 = mock(AmazonS3.class);
+		when(s3.getObject(any(GetObjectRequest.class))).thenAnswer(new Answer<S3Object>() {
+			@Override
+			public S3Object answer(InvocationOnMock invocation) {
+				GetObjectRequest request = (GetObjectRequest) invocation.getArguments()[0];
+				List<String> constraints = request.getMatchingETagConstraints();
+				if (!constraints.isEmpty() && !constraints.contains(eTag)) {
+					return null;
+				}
+				long[] range = request.getRange();
+				ObjectMetadata metadata = new ObjectMetadata();
+				metadata.setHeader(Headers.ETAG, eTag);
+				S3Object object = new S3Object();
+				object.setObjectMetadata(metadata);
+				object.setObjectContent(new ByteArrayInputStream(
+						Arrays.copyOfRange(data, (int) range[0], (int) range[1] + 1)));
+				return object;
+			}
+		});
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentLength(data.length);
+		metadata.setHeader(Headers.ETAG, eTag);
+		when(s3.getObjectMetadata(any(GetObjectMetadataRequest.class))).thenReturn(metadata);
+	}
+
+	@Test
+	public void testFooterReadsShareOneRequest() throws IOException {
+		S3SeekableByteChannel channel = newChannel();
+
+		ByteBuffer length = ByteBuffer.allocate(8);
+		channel.position(channel.size() - 8);
+		channel.read(length);
+		ByteBuffer footer = ByteBuffer.allocate(40);
+		channel.position(channel.size() - 48);
+		channel.read(footer);
+
+		assertArrayEquals(Arrays.copyOfRange(data, data.length - 8, data.length), length.array());
+		assertArrayEquals(Arrays.copyOfRange(data, data.length - 48, data.length - 8), footer.array());
+		// One HEAD for the size and one GET for the last block
+		assertEquals(2, channel.getRequestCount());
+	}
+
+	@Test
+	public void testLargeReadIsCoalescedIntoOneRequest() throws IOException {
+		S3SeekableByteChannel channel = newChannel().withObjectSize(data.length);
+
+		ByteBuffer buffer = ByteBuffer.allocate(450);
+		channel.position(120);
+		assertEquals(450, channel.read(buffer));
+
+		assertArrayEquals(Arrays.copyOfRange(data, 120, 570), buffer.array());
+		assertEquals(1, channel.getRequestCount());
+	}
+
+	@Test
+	public void testSequentialReadsUseReadAhead() throws IOException {
+		S3SeekableByteChannel channel = newChannel().withObjectSize(data.length).withMaxReadAheadBlocks(4);
+
+		InputStream in = channel.newInputStream();
+		byte[] read = new byte[data.length];
+		int offset = 0;
+		int n;
+		while ((n = in.read(read, offset, Math.min(30, read.length - offset))) > 0) {
+			offset += n;
+		}
+
+		assertArrayEquals(data, read);
+		assertEquals(-1, in.read());
+		// The first block, then blocks 1 to 5 and 6 to 10 with four blocks of read ahead
+		assertEquals(3, channel.getRequestCount());
+	}
+
+	@Test
+	public void testChangedObjectFailsTheRead() throws IOException {
+		S3SeekableByteChannel channel = newChannel().withObjectSize(data.length);
+		channel.read(ByteBuffer.allocate(10));
+
+		eTag = "etag-2";
+		channel.position(900);
+		try {
+			channel.read(ByteBuffer.allocate(10));
+			fail("Expected an IOException");
+		} catch (IOException expected) {
+		}
+	}
+
+	private S3SeekableByteChannel newChannel() {
+		return S3SeekableByteChannel.forObject(s3, "bucket", "key")
+				.withBlockSize(BLOCK_SIZE)
+				.withCacheBlocks(8);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.auth.AWSStaticCredentialsProvider;
+import com.ibm.cloud.objectstorage.auth.BasicAWSCredentials;
+import com.ibm.cloud.objectstorage.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.ibm.cloud.objectstorage.services.s3.internal.SkipMd5CheckStrategy;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.util.BinaryUtils;
+import com.ibm.cloud.objectstorage.util.Md5Utils;
+
+public class SinglePassMd5Test {
+
+	private final byte[] data = new byte[64 * 1024];
+	private File file;
+	private StubS3Server server;
+	private AmazonS3 s3;
+
+	@Before
+	public void setUp() throws IOException {
+		new Random(1).nextBytes(data);
+		file = File.createTempFile("single-pass", ".bin");
+		Files.write(file.toPath(), data);
+		server = StubS3Server.start();
+		s3 = AmazonS3ClientBuilder.standard()
+				.withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("access", "secret")))
+				.withEndpointConfiguration(new EndpointConfiguration(server.getEndpoint(), "us-standard"))
+				.withPathStyleAccessEnabled(true)
+				.disableChunkedEncoding()
+				.enableSinglePassMd5()
+				.build();
+	}
+
+	@After
+	public void tearDown() {
+		s3.shutdown();
+		server.stop();
+		file.delete();
+	}
+
+	@Test
+	public void testFileIsSentWithoutContentMd5AndCheckedAgainstEtag() {
+		server.setResponseHeader(Headers.ETAG, "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(data)) + "\"");
+
+		s3.putObject(new PutObjectRequest("bucket", "key", file));
+
+		assertNull(server.getLastRequestHeader(Headers.CONTENT_MD5));
+		assertArrayEquals(data, server.getLastRequestBody());
+	}
+
+	@Test
+	public void testEtagMismatchFailsTheUpload() {
+		server.setResponseHeader(Headers.ETAG, "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(new byte[1])) + "\"");
+
+		try {
+			s3.putObject(new PutObjectRequest("bucket", "key", file));
+			fail("The upload should not have been verified");
+		} catch (SdkClientException expected) {
+			assertTrue(expected.getMessage().startsWith("Unable to verify integrity of data upload"));
+		}
+		assertNull(server.getLastRequestHeader(Headers.CONTENT_MD5));
+	}
+
+	@Test
+	public void testUploadAskingForSseKeepsContentMd5() {
+		// The ETag of an encrypted object is not the MD5 of its content
+		server.setResponseHeader(Headers.ETAG, "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(new byte[1])) + "\"");
+		server.setResponseHeader(Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID, "key-id");
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setHeader(Headers.SERVER_SIDE_ENCRYPTION_AWS_KMS_KEYID, "key-id");
+
+		s3.putObject(new PutObjectRequest("bucket", "key", file).withMetadata(metadata));
+
+		assertEquals(Md5Utils.md5AsBase64(data), server.getLastRequestHeader(Headers.CONTENT_MD5));
+	}
+
+	@Test
+	public void testUnverifiedUploadWarningNamesItsCause() {
+		assertTrue(AmazonS3Client.unverifiedUploadWarning("etag", true).contains("Disable single pass MD5"));
+		assertFalse(AmazonS3Client.unverifiedUploadWarning("etag", false).contains("single pass"));
+
+		System.setProperty(SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY, "true");
+		try {
+			String warning = AmazonS3Client.unverifiedUploadWarning("etag", false);
+			assertTrue(warning.contains(SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY));
+			assertFalse(warning.contains("single pass"));
+		} finally {
+			System.clearProperty(SkipMd5CheckStrategy.DISABLE_PUT_OBJECT_MD5_VALIDATION_PROPERTY);
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+
+import com.ibm.cloud.objectstorage.util.IOUtils;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * Local http or https server standing in for the object storage service in
+ * client tests. It answers every request with an empty 200 response carrying
+ * the configured headers, and records the last request it received.
+ */
+class StubS3Server {
+
+	private final HttpServer server;
+	private final String scheme;
+	private final Map<String, String> responseHeaders = new ConcurrentHashMap<String, String>();
+	private final CountDownLatch requestStarted = new CountDownLatch(1);
+	private volatile Headers lastRequestHeaders;
+	private volatile byte[] lastRequestBody;
+
+	private StubS3Server(HttpServer server, String scheme) {
+		this.server = server;
+		this.scheme = scheme;
+	}
+
+	static StubS3Server start() throws IOException {
+		return start(HttpServer.create(new InetSocketAddress("localhost", 0), 0), "http");
+	}
+
+	/**
+	 * Starts an https server presenting the certificate of the given context.
+	 */
+	static StubS3Server startHttps(SSLContext sslContext) throws IOException {
+		HttpsServer server = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+		return start(server, "https");
+	}
+
+	private static StubS3Server start(HttpServer server, String scheme) {
+		final StubS3Server stub = new StubS3Server(server, scheme);
+		server.createContext("/", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				stub.lastRequestHeaders = exchange.getRequestHeaders();
+				stub.requestStarted.countDown();
+				stub.lastRequestBody = IOUtils.toByteArray(exchange.getRequestBody());
+				for (Map.Entry<String, String> header : stub.responseHeaders.entrySet()) {
+					exchange.getResponseHeaders().add(header.getKey(), header.getValue());
+				}
+				exchange.sendResponseHeaders(200, -1);
+				exchange.close();
+			}
+		});
+		server.start();
+		return stub;
+	}
+
+	String getEndpoint() {
+		return scheme + "://localhost:" + server.getAddress().getPort();
+	}
+
+	/**
+	 * Waits until the headers of a request have been received, which may be
+	 * before its body has been sent.
+	 */
+	boolean awaitRequest(long timeout, TimeUnit unit) throws InterruptedException {
+		return requestStarted.await(timeout, unit);
+	}
+
+	void setResponseHeader(String name, String value) {
+		responseHeaders.put(name, value);
+	}
+
+	String getLastRequestHeader(String name) {
+		return lastRequestHeaders.getFirst(name);
+	}
+
+	byte[] getLastRequestBody() {
+		return lastRequestBody;
+	}
+
+	void stop() {
+		server.stop(0);
+	}
+}
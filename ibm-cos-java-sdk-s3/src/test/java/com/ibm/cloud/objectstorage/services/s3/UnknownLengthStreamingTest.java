@@ -0,0 +1,189 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.ClientConfiguration;
+import com.ibm.cloud.objectstorage.auth.AWSStaticCredentialsProvider;
+import com.ibm.cloud.objectstorage.auth.BasicAWSCredentials;
+import com.ibm.cloud.objectstorage.client.builder.AwsClientBuilder.EndpointConfiguration;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.util.BinaryUtils;
+import com.ibm.cloud.objectstorage.util.Md5Utils;
+
+public class UnknownLengthStreamingTest {
+
+	private static final char[] KEY_STORE_PASSWORD = "changeit".toCharArray();
+
+	private final byte[] data = new byte[256 * 1024];
+	private SSLContext sslContext;
+	private StubS3Server server;
+	private AmazonS3 s3;
+
+	@Before
+	public void setUp() throws Exception {
+		new Random(1).nextBytes(data);
+		sslContext = sslContext();
+	}
+
+	@After
+	public void tearDown() {
+		if (s3 != null) {
+			s3.shutdown();
+		}
+		server.stop();
+	}
+
+	@Test
+	public void testUnsignedHttpsContentIsStreamedChunked() throws Exception {
+		server = StubS3Server.startHttps(sslContext);
+		s3 = client(builder());
+		HalfwayWaitingInputStream content = new HalfwayWaitingInputStream(data, server);
+
+		s3.putObject(new PutObjectRequest("bucket", "key", content, new ObjectMetadata()));
+
+		assertTrue("The request was sent only once the content was read in full", content.requestSentHalfway);
+		assertEquals("chunked", server.getLastRequestHeader("Transfer-Encoding"));
+		assertNull(server.getLastRequestHeader(Headers.CONTENT_LENGTH));
+		assertArrayEquals(data, server.getLastRequestBody());
+	}
+
+	@Test
+	public void testHttpContentIsBuffered() throws Exception {
+		server = StubS3Server.start();
+		s3 = client(builder().disableChunkedEncoding());
+
+		s3.putObject(new PutObjectRequest("bucket", "key", new ByteArrayInputStream(data), new ObjectMetadata()));
+
+		assertBuffered();
+	}
+
+	@Test
+	public void testSignedHttpsContentIsBuffered() throws Exception {
+		server = StubS3Server.startHttps(sslContext);
+		s3 = client(builder().enablePayloadSigning().disableChunkedEncoding());
+
+		s3.putObject(new PutObjectRequest("bucket", "key", new ByteArrayInputStream(data), new ObjectMetadata()));
+
+		assertBuffered();
+	}
+
+	private void assertBuffered() {
+		assertNull(server.getLastRequestHeader("Transfer-Encoding"));
+		assertEquals(String.valueOf(data.length), server.getLastRequestHeader(Headers.CONTENT_LENGTH));
+		assertArrayEquals(data, server.getLastRequestBody());
+	}
+
+	private AmazonS3ClientBuilder builder() {
+		ClientConfiguration clientConfiguration = new ClientConfiguration();
+		clientConfiguration.getApacheHttpClientConfig()
+				.setSslSocketFactory(new SSLConnectionSocketFactory(sslContext));
+		return AmazonS3ClientBuilder.standard()
+				.withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("access", "secret")))
+				.withClientConfiguration(clientConfiguration)
+				.withPathStyleAccessEnabled(true)
+				.enableUnknownLengthStreaming();
+	}
+
+	private AmazonS3 client(AmazonS3ClientBuilder builder) {
+		server.setResponseHeader(Headers.ETAG, "\"" + BinaryUtils.toHex(Md5Utils.computeMD5Hash(data)) + "\"");
+		return builder
+				.withEndpointConfiguration(new EndpointConfiguration(server.getEndpoint(), "us-standard"))
+				.build();
+	}
+
+	/**
+	 * Server and client context of the self-signed certificate of the stub
+	 * server, for localhost.
+	 */
+	private static SSLContext sslContext() throws Exception {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		InputStream in = UnknownLengthStreamingTest.class.getResourceAsStream("/stub-server.p12");
+		try {
+			keyStore.load(in, KEY_STORE_PASSWORD);
+		} finally {
+			in.close();
+		}
+		KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagers.init(keyStore, KEY_STORE_PASSWORD);
+		TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+		trustManagers.init(keyStore);
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+		return sslContext;
+	}
+
+	/**
+	 * Content that, halfway through, waits for the server to receive the
+	 * request. A buffered request is only sent once the content was read in
+	 * full, so the wait times out.
+	 */
+	private static class HalfwayWaitingInputStream extends InputStream {
+		private final byte[] data;
+		private final StubS3Server server;
+		private int position;
+		private boolean requestSentHalfway;
+
+		HalfwayWaitingInputStream(byte[] data, StubS3Server server) {
+			this.data = data;
+			this.server = server;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int half = data.length / 2;
+			if (position == half && !requestSentHalfway) {
+				try {
+					requestSentHalfway = server.awaitRequest(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IOException(e);
+				}
+			}
+			if (position == data.length) {
+				return -1;
+			}
+			int n = Math.min(len, (position < half ? half : data.length) - position);
+			System.arraycopy(data, position, b, off, n);
+			position += n;
+			return n;
+		}
+	}
+}
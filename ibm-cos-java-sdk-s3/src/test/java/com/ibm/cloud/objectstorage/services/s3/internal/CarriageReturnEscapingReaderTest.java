@@ -0,0 +1,85 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.services.s3.model.transform.XmlResponsesSaxParser;
+import com.ibm.cloud.objectstorage.services.s3.model.transform.XmlResponsesSaxParser.ListObjectsV2Handler;
+import com.ibm.cloud.objectstorage.util.StringUtils;
+
+public class CarriageReturnEscapingReaderTest {
+
+	@Test
+	public void testCarriageReturnsAreEscaped() throws Exception {
+		String input = "\r<Key>a\rb\r\r</Key>\r";
+		String expected = input.replace("\r", "&#013;");
+
+		assertEquals(expected, readFully(new CarriageReturnEscapingReader(new StringReader(input)), 1024));
+	}
+
+	@Test
+	public void testEscapeSequenceSplitAcrossReads() throws Exception {
+		String input = "ab\rcd\r\ref";
+		String expected = input.replace("\r", "&#013;");
+
+		for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+			for (int readSize = 1; readSize < 8; readSize++) {
+				Reader reader = new CarriageReturnEscapingReader(new StringReader(input), bufferSize);
+				assertEquals(expected, readFully(reader, readSize));
+			}
+		}
+	}
+
+	@Test
+	public void testSingleCharacterReads() throws Exception {
+		Reader reader = new CarriageReturnEscapingReader(new StringReader("a\rb"));
+		StringBuilder result = new StringBuilder();
+		int c;
+		while ((c = reader.read()) != -1) {
+			result.append((char) c);
+		}
+		assertEquals("a&#013;b", result.toString());
+	}
+
+	@Test
+	public void testListingKeyWithCarriageReturnIsPreserved() throws Exception {
+		String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+				+ "<ListBucketResult><Name>bucket</Name><KeyCount>1</KeyCount><MaxKeys>1000</MaxKeys>"
+				+ "<IsTruncated>false</IsTruncated>"
+				+ "<Contents><Key>line1\rline2</Key><Size>1</Size></Contents>"
+				+ "</ListBucketResult>";
+
+		ListObjectsV2Handler handler = new XmlResponsesSaxParser().parseListObjectsV2Response(
+				new ByteArrayInputStream(xml.getBytes(StringUtils.UTF8)), false);
+
+		assertEquals("line1\rline2", handler.getResult().getObjectSummaries().get(0).getKey());
+	}
+
+	private static String readFully(Reader reader, int readSize) throws IOException {
+		StringBuilder result = new StringBuilder();
+		char[] buffer = new char[readSize];
+		int read;
+		while ((read = reader.read(buffer, 0, readSize)) != -1) {
+			result.append(buffer, 0, read);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,122 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class DirectBufferPoolTest {
+
+	@Test
+	public void testCopySpansSeveralBuffers() throws IOException {
+		DirectBufferPool pool = new DirectBufferPool(1000);
+		byte[] data = new byte[3500];
+		new Random(1).nextBytes(data);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final int[] writes = new int[1];
+		final WritableByteChannel target = Channels.newChannel(out);
+		WritableByteChannel channel = new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer src) throws IOException {
+				writes[0]++;
+				return target.write(src);
+			}
+
+			@Override
+			public boolean isOpen() {
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+
+		long count = pool.copy(new ByteArrayInputStream(data), channel);
+
+		assertEquals(data.length, count);
+		assertArrayEquals(data, out.toByteArray());
+		// Three full buffers and the remainder
+		assertEquals(4, writes[0]);
+	}
+
+	@Test
+	public void testReleasedBufferIsReused() {
+		DirectBufferPool pool = new DirectBufferPool(1024);
+		ByteBuffer buffer = pool.acquire();
+		buffer.put((byte) 1);
+		pool.release(buffer);
+
+		ByteBuffer reused = pool.acquire();
+		assertSame(buffer, reused);
+		assertEquals(0, reused.position());
+		assertNotSame(reused, pool.acquire());
+	}
+
+	@Test
+	public void testCopiesReuseTheHeapArray() throws IOException {
+		DirectBufferPool pool = new DirectBufferPool(1024);
+		final Set<byte[]> arrays = Collections.newSetFromMap(new IdentityHashMap<byte[], Boolean>());
+		for (int i = 0; i < 3; i++) {
+			InputStream in = new FilterInputStream(new ByteArrayInputStream(new byte[100])) {
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					arrays.add(b);
+					return super.read(b, off, len);
+				}
+			};
+			pool.copy(in, Channels.newChannel(new ByteArrayOutputStream()));
+		}
+
+		assertEquals(1, arrays.size());
+	}
+
+	@Test
+	public void testSharedPoolsAreCapped() {
+		DirectBufferPool defaultPool = DirectBufferPool.getDefault();
+		for (int size = 1; size <= 2 * DirectBufferPool.MAX_SHARED_POOLS; size++) {
+			DirectBufferPool pool = DirectBufferPool.forBufferSize(size);
+			assertSame(pool, DirectBufferPool.forBufferSize(size));
+		}
+
+		assertTrue(DirectBufferPool.sharedPoolCount() <= DirectBufferPool.MAX_SHARED_POOLS);
+		assertSame(defaultPool, DirectBufferPool.getDefault());
+	}
+
+	@Test
+	public void testForeignBuffersAreNotPooled() {
+		DirectBufferPool pool = new DirectBufferPool(1024);
+		ByteBuffer heap = ByteBuffer.allocate(1024);
+		pool.release(heap);
+
+		assertNotSame(heap, pool.acquire());
+	}
+}
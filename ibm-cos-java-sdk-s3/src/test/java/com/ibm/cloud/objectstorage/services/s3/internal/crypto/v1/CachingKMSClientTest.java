@@ -0,0 +1,145 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.internal.crypto.v1;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.services.kms.AWSKMS;
+import com.ibm.cloud.objectstorage.services.kms.model.DecryptRequest;
+import com.ibm.cloud.objectstorage.services.kms.model.DecryptResult;
+import com.ibm.cloud.objectstorage.services.kms.model.GenerateDataKeyRequest;
+import com.ibm.cloud.objectstorage.services.kms.model.GenerateDataKeyResult;
+import com.ibm.cloud.objectstorage.services.s3.model.DataKeyCacheConfiguration;
+import com.ibm.cloud.objectstorage.util.BinaryUtils;
+
+public class CachingKMSClientTest {
+
+	private AWSKMS kms;
+
+	@Before
+	public void setUp() {
+		kms = mock(AWSKMS.class);
+		final AtomicInteger keys = new AtomicInteger();
+		when(kms.generateDataKey(any(GenerateDataKeyRequest.class))).thenAnswer(new Answer<GenerateDataKeyResult>() {
+			@Override
+			public GenerateDataKeyResult answer(InvocationOnMock invocation) {
+				byte key = (byte) keys.incrementAndGet();
+				return new GenerateDataKeyResult()
+						.withKeyId("cmk")
+						.withPlaintext(ByteBuffer.wrap(new byte[] { key }))
+						.withCiphertextBlob(ByteBuffer.wrap(new byte[] { key, key }));
+			}
+		});
+		when(kms.decrypt(any(DecryptRequest.class))).thenReturn(
+				new DecryptResult().withKeyId("cmk").withPlaintext(ByteBuffer.wrap(new byte[] { 42 })));
+	}
+
+	@Test
+	public void testDataKeyIsReusedUntilObjectLimit() {
+		CachingKMSClient client = new CachingKMSClient(kms,
+				new DataKeyCacheConfiguration().withMaxObjectsPerDataKey(2));
+
+		byte[] first = plaintext(client.generateDataKey(request("a"), 10));
+		byte[] second = plaintext(client.generateDataKey(request("a"), 10));
+		byte[] third = plaintext(client.generateDataKey(request("a"), 10));
+
+		assertArrayEquals(first, second);
+		assertEquals(2, third[0]);
+		verify(kms, times(2)).generateDataKey(any(GenerateDataKeyRequest.class));
+		assertEquals(1, client.getDataKeyHitCount());
+		assertEquals(2, client.getDataKeyMissCount());
+	}
+
+	@Test
+	public void testDataKeyIsNotSharedAcrossEncryptionContexts() {
+		CachingKMSClient client = new CachingKMSClient(kms, new DataKeyCacheConfiguration());
+
+		client.generateDataKey(request("a"), 10);
+		client.generateDataKey(request("b"), 10);
+
+		verify(kms, times(2)).generateDataKey(any(GenerateDataKeyRequest.class));
+	}
+
+	@Test
+	public void testDataKeyIsReplacedWhenByteLimitIsReached() {
+		CachingKMSClient client = new CachingKMSClient(kms,
+				new DataKeyCacheConfiguration().withMaxBytesPerDataKey(100));
+
+		client.generateDataKey(request("a"), 60);
+		client.generateDataKey(request("a"), 40);
+		client.generateDataKey(request("a"), 1);
+		// Unknown lengths cannot be accounted for against the byte limit
+		client.generateDataKey(request("a"), -1);
+
+		assertEquals(1, client.getDataKeyHitCount());
+		verify(kms, times(3)).generateDataKey(any(GenerateDataKeyRequest.class));
+	}
+
+	@Test
+	public void testDecryptedKeysAreCachedByBlobAndContext() {
+		CachingKMSClient client = new CachingKMSClient(kms, new DataKeyCacheConfiguration());
+
+		client.decrypt(decryptRequest(new byte[] { 7 }, "a"));
+		client.decrypt(decryptRequest(new byte[] { 7 }, "a"));
+		client.decrypt(decryptRequest(new byte[] { 7 }, "b"));
+
+		verify(kms, times(2)).decrypt(any(DecryptRequest.class));
+		assertEquals(1, client.getDecryptHitCount());
+		assertEquals(2, client.getDecryptMissCount());
+	}
+
+	@Test
+	public void testGeneratedDataKeyDecryptsWithoutKms() {
+		CachingKMSClient client = new CachingKMSClient(kms, new DataKeyCacheConfiguration());
+
+		GenerateDataKeyResult dataKey = client.generateDataKey(request("a"), 10);
+		DecryptResult decrypted = client.decrypt(decryptRequest(
+				BinaryUtils.copyAllBytesFrom(dataKey.getCiphertextBlob()), "a"));
+
+		assertArrayEquals(plaintext(dataKey), BinaryUtils.copyAllBytesFrom(decrypted.getPlaintext()));
+		verify(kms, never()).decrypt(any(DecryptRequest.class));
+	}
+
+	private static GenerateDataKeyRequest request(String context) {
+		return new GenerateDataKeyRequest()
+				.withKeyId("cmk")
+				.withKeySpec("AES_256")
+				.withEncryptionContext(Collections.singletonMap("ctx", context));
+	}
+
+	private static DecryptRequest decryptRequest(byte[] blob, String context) {
+		return new DecryptRequest()
+				.withCiphertextBlob(ByteBuffer.wrap(blob))
+				.withEncryptionContext(Collections.singletonMap("ctx", context));
+	}
+
+	private static byte[] plaintext(GenerateDataKeyResult result) {
+		return BinaryUtils.copyAllBytesFrom(result.getPlaintext());
+	}
+}
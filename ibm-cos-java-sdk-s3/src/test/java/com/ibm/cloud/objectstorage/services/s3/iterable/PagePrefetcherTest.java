@@ -0,0 +1,148 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.AbortedException;
+
+public class PagePrefetcherTest {
+
+	/**
+	 * Pages are numbered 1 to <code>count</code>; the last page is not truncated.
+	 */
+	private static class CountingSource implements PagePrefetcher.PageSource<Integer> {
+		private final int count;
+		private final int failingPage;
+		private final AtomicInteger fetched = new AtomicInteger();
+
+		CountingSource(int count, int failingPage) {
+			this.count = count;
+			this.failingPage = failingPage;
+		}
+
+		@Override
+		public Integer firstPage() {
+			return fetch(1);
+		}
+
+		@Override
+		public Integer nextPage(Integer previous) {
+			return fetch(previous + 1);
+		}
+
+		@Override
+		public boolean isTruncated(Integer page) {
+			return page < count;
+		}
+
+		private Integer fetch(int page) {
+			fetched.incrementAndGet();
+			if (page == failingPage) {
+				throw new IllegalStateException("page " + page);
+			}
+			return page;
+		}
+	}
+
+	@Test
+	public void testPagesAreReturnedInOrder() {
+		CountingSource source = new CountingSource(10, -1);
+		PagePrefetcher<Integer> prefetcher = new PagePrefetcher<Integer>(source, 3);
+
+		for (int i = 1; i <= 10; i++) {
+			assertEquals(Integer.valueOf(i), prefetcher.nextPage());
+		}
+		assertNull(prefetcher.nextPage());
+		assertEquals(10, source.fetched.get());
+	}
+
+	@Test
+	public void testPrefetchStopsWhenBufferIsFull() throws Exception {
+		CountingSource source = new CountingSource(100, -1);
+		PagePrefetcher<Integer> prefetcher = new PagePrefetcher<Integer>(source, 2);
+
+		assertEquals(Integer.valueOf(1), prefetcher.nextPage());
+		// Page 1 was handed out, pages 2 and 3 fill the buffer.
+		long deadline = System.currentTimeMillis() + 5000;
+		while (source.fetched.get() < 3 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(100);
+		assertEquals(3, source.fetched.get());
+	}
+
+	@Test
+	public void testFailureIsRethrownInOrder() {
+		CountingSource source = new CountingSource(10, 3);
+		PagePrefetcher<Integer> prefetcher = new PagePrefetcher<Integer>(source, 4);
+
+		assertEquals(Integer.valueOf(1), prefetcher.nextPage());
+		assertEquals(Integer.valueOf(2), prefetcher.nextPage());
+		try {
+			prefetcher.nextPage();
+			fail("Expected the failure of page 3");
+		} catch (IllegalStateException e) {
+			assertEquals("page 3", e.getMessage());
+		}
+	}
+
+	@Test
+	public void testCloseStopsFetchingAndDropsBufferedPages() throws Exception {
+		CountingSource source = new CountingSource(100, -1);
+		final BlockingQueue<Runnable> fetches = new LinkedBlockingQueue<Runnable>();
+		final PagePrefetcher<Integer> prefetcher = new PagePrefetcher<Integer>(source, 5, new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				fetches.add(command);
+			}
+		});
+
+		FutureTask<Integer> first = new FutureTask<Integer>(new Callable<Integer>() {
+			@Override
+			public Integer call() {
+				return prefetcher.nextPage();
+			}
+		});
+		new Thread(first).start();
+		fetches.take().run();
+		assertEquals(Integer.valueOf(1), first.get(5, TimeUnit.SECONDS));
+		// Page 2 is buffered and the request for page 3 is in flight
+		fetches.take().run();
+
+		prefetcher.close();
+		fetches.take().run();
+
+		// The page in flight was dropped and no further request was started
+		assertTrue(fetches.isEmpty());
+		assertEquals(3, source.fetched.get());
+		try {
+			prefetcher.nextPage();
+			fail("Expected the closed prefetcher to abort");
+		} catch (AbortedException expected) {
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.iterable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.AmazonServiceException;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Request;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Result;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+
+public class ParallelBucketListerTest {
+
+	@Test
+	public void testOrderedListingOfFlatKeyspace() {
+		List<String> keys = new ArrayList<String>();
+		for (int i = 0; i < 500; i++) {
+			keys.add(String.format("%08x", i * 2654435761L & 0xffffffffL));
+		}
+		AmazonS3 s3 = newBucket(keys, null);
+
+		List<String> listed = listKeys(ParallelBucketLister.inBucket(s3, "bucket").withParallelism(4)
+				.withBatchSize(7));
+
+		assertEquals(sorted(keys), listed);
+	}
+
+	@Test
+	public void testOrderedListingSplitByCommonPrefixes() {
+		List<String> keys = new ArrayList<String>();
+		for (String dir : Arrays.asList("a/", "b/", "c/", "d/", "e/", "f/")) {
+			for (int i = 0; i < 20; i++) {
+				keys.add("logs/" + dir + i);
+			}
+			keys.add("logs/" + dir.substring(0, 1));
+		}
+		keys.add("other/x");
+		AmazonS3 s3 = newBucket(keys, null);
+
+		List<String> listed = listKeys(ParallelBucketLister.withPrefix(s3, "bucket", "logs/")
+				.withParallelism(3).withBatchSize(5));
+
+		List<String> expected = new ArrayList<String>(keys);
+		expected.remove("other/x");
+		assertEquals(sorted(expected), listed);
+	}
+
+	@Test
+	public void testUnorderedListingReturnsEveryKeyOnce() {
+		List<String> keys = new ArrayList<String>();
+		for (int i = 0; i < 300; i++) {
+			keys.add("k" + i);
+		}
+		AmazonS3 s3 = newBucket(keys, null);
+
+		List<String> listed = listKeys(ParallelBucketLister.inBucket(s3, "bucket").withParallelism(5)
+				.withBatchSize(10).withOrdered(false).withMaxBufferedPages(1));
+
+		Collections.sort(listed);
+		assertEquals(sorted(keys), listed);
+	}
+
+	@Test
+	public void testCursorErrorIsRethrown() {
+		List<String> keys = new ArrayList<String>();
+		for (int i = 0; i < 100; i++) {
+			keys.add("k" + i);
+		}
+		AmazonS3 s3 = newBucket(keys, "k5");
+
+		try {
+			listKeys(ParallelBucketLister.inBucket(s3, "bucket").withParallelism(2).withBatchSize(3));
+			fail("Expected the listing to fail");
+		} catch (AmazonServiceException e) {
+			assertEquals("injected", e.getErrorMessage());
+		}
+	}
+
+	@Test
+	public void testKeysCompareInCodePointOrder() {
+		assertTrue(ParallelBucketLister.compareKeys("a", "b") < 0);
+		assertTrue(ParallelBucketLister.compareKeys("ab", "a") > 0);
+		assertEquals(0, ParallelBucketLister.compareKeys("abc", "abc"));
+		// U+FF21 sorts before U+1F600 in UTF-8, although its first UTF-16 unit is larger.
+		assertTrue(ParallelBucketLister.compareKeys("\uFF21", "\uD83D\uDE00") < 0);
+	}
+
+	private static List<String> listKeys(ParallelBucketLister lister) {
+		Stream<S3ObjectSummary> stream = lister.stream();
+		try {
+			List<String> keys = new ArrayList<String>();
+			Iterator<S3ObjectSummary> it = stream.iterator();
+			while (it.hasNext()) {
+				keys.add(it.next().getKey());
+			}
+			return keys;
+		} finally {
+			stream.close();
+		}
+	}
+
+	private static List<String> sorted(List<String> keys) {
+		return new ArrayList<String>(new TreeSet<String>(keys));
+	}
+
+	/**
+	 * Returns a client that lists the given keys, failing any request that
+	 * would return <code>failingKey</code>.
+	 */
+	private static AmazonS3 newBucket(List<String> keys, final String failingKey) {
+		final ConcurrentSkipListSet<String> bucket = new ConcurrentSkipListSet<String>(keys);
+		AmazonS3 s3 = mock(AmazonS3.class);
+		when(s3.listObjectsV2(any(ListObjectsV2Request.class))).thenAnswer(new Answer<ListObjectsV2Result>() {
+			@Override
+			public ListObjectsV2Result answer(InvocationOnMock invocation) {
+				ListObjectsV2Request request = (ListObjectsV2Request) invocation.getArguments()[0];
+				String prefix = request.getPrefix() == null ? "" : request.getPrefix();
+				String after = request.getContinuationToken() != null ? request.getContinuationToken()
+						: request.getStartAfter();
+				int maxKeys = request.getMaxKeys() == null ? 1000 : request.getMaxKeys();
+
+				ListObjectsV2Result result = new ListObjectsV2Result();
+				TreeSet<String> commonPrefixes = new TreeSet<String>();
+				String lastKey = null;
+				for (String key : after == null ? bucket : bucket.tailSet(after, false)) {
+					if (!key.startsWith(prefix)) {
+						continue;
+					}
+					if (result.getObjectSummaries().size() + commonPrefixes.size() == maxKeys) {
+						result.setTruncated(true);
+						result.setNextContinuationToken(lastKey);
+						break;
+					}
+					if (key.equals(failingKey)) {
+						throw new AmazonServiceException("injected");
+					}
+					int delimiterIndex = request.getDelimiter() == null ? -1
+							: key.indexOf(request.getDelimiter(), prefix.length());
+					if (delimiterIndex >= 0) {
+						commonPrefixes.add(key.substring(0, delimiterIndex + 1));
+					} else {
+						S3ObjectSummary summary = new S3ObjectSummary();
+						summary.setKey(key);
+						result.getObjectSummaries().add(summary);
+					}
+					lastKey = key;
+				}
+				result.setCommonPrefixes(new ArrayList<String>(commonPrefixes));
+				return result;
+			}
+		});
+		return s3;
+	}
+}
@@ -0,0 +1,180 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.model.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.services.s3.internal.ServiceUtils;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsV2Result;
+import com.ibm.cloud.objectstorage.services.s3.model.ListingSummaryField;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import com.ibm.cloud.objectstorage.services.s3.model.S3VersionSummary;
+import com.ibm.cloud.objectstorage.services.s3.model.VersionListing;
+import com.ibm.cloud.objectstorage.util.StringUtils;
+
+public class ListingStaxUnmarshallerTest {
+
+	private static final String LIST_OBJECTS_V2 = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+			+ "<Name>bucket</Name><Prefix>dir%2F</Prefix><KeyCount>2</KeyCount><MaxKeys>2</MaxKeys>"
+			+ "<Delimiter></Delimiter><EncodingType>url</EncodingType><IsTruncated>true</IsTruncated>"
+			+ "<Contents><Key>dir%2Fa+b</Key><LastModified>2024-02-29T23:59:58.123Z</LastModified>"
+			+ "<ETag>&quot;abc&quot;</ETag><Size>12345678901</Size>"
+			+ "<Owner><ID>owner-id</ID><DisplayName>owner</DisplayName></Owner>"
+			+ "<StorageClass>STANDARD</StorageClass></Contents>"
+			+ "<Contents><Key>dir%2Fline1\rline2</Key><LastModified>1999-12-31T00:00:00.000Z</LastModified>"
+			+ "<ETag>&quot;def&quot;</ETag><Size>0</Size>"
+			+ "<Owner><ID>owner-id</ID><DisplayName>owner</DisplayName></Owner>"
+			+ "<StorageClass>STANDARD</StorageClass></Contents>"
+			+ "<CommonPrefixes><Prefix>dir%2Fsub%2F</Prefix></CommonPrefixes>"
+			+ "</ListBucketResult>";
+
+	private static final String LIST_VERSIONS = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+			+ "<ListVersionsResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">"
+			+ "<Name>bucket</Name><Prefix></Prefix><KeyMarker>a%20b</KeyMarker><VersionIdMarker></VersionIdMarker>"
+			+ "<MaxKeys>1000</MaxKeys><EncodingType>url</EncodingType><IsTruncated>false</IsTruncated>"
+			+ "<Version><Key>a%20b</Key><VersionId>v2</VersionId><IsLatest>true</IsLatest>"
+			+ "<LastModified>2020-01-01T12:00:00.000Z</LastModified><ETag>&quot;abc&quot;</ETag>"
+			+ "<Size>10</Size><Owner><ID>id</ID><DisplayName>name</DisplayName></Owner>"
+			+ "<StorageClass>STANDARD</StorageClass></Version>"
+			+ "<DeleteMarker><Key>a%20b</Key><VersionId>v1</VersionId><IsLatest>false</IsLatest>"
+			+ "<LastModified>2019-01-01T12:00:00.000Z</LastModified>"
+			+ "<Owner><ID>id</ID><DisplayName>name</DisplayName></Owner></DeleteMarker>"
+			+ "<CommonPrefixes><Prefix>c%2F</Prefix></CommonPrefixes>"
+			+ "</ListVersionsResult>";
+
+	@Test
+	public void testListObjectsV2MatchesSaxParser() throws Exception {
+		for (boolean decode : new boolean[] { true, false }) {
+			ListObjectsV2Result expected = new Unmarshallers.ListObjectsV2Unmarshaller(decode)
+					.unmarshall(toStream(LIST_OBJECTS_V2));
+			ListObjectsV2Result actual = new ListObjectsV2StaxUnmarshaller(decode, null)
+					.unmarshall(toStream(LIST_OBJECTS_V2));
+
+			assertEquals(expected.getBucketName(), actual.getBucketName());
+			assertEquals(expected.getPrefix(), actual.getPrefix());
+			assertEquals(expected.getDelimiter(), actual.getDelimiter());
+			assertEquals(expected.getEncodingType(), actual.getEncodingType());
+			assertEquals(expected.getKeyCount(), actual.getKeyCount());
+			assertEquals(expected.getMaxKeys(), actual.getMaxKeys());
+			assertEquals(expected.isTruncated(), actual.isTruncated());
+			assertEquals(expected.getNextContinuationToken(), actual.getNextContinuationToken());
+			assertEquals(expected.getCommonPrefixes(), actual.getCommonPrefixes());
+
+			List<S3ObjectSummary> expectedSummaries = expected.getObjectSummaries();
+			List<S3ObjectSummary> actualSummaries = actual.getObjectSummaries();
+			assertEquals(expectedSummaries.size(), actualSummaries.size());
+			for (int i = 0; i < expectedSummaries.size(); i++) {
+				S3ObjectSummary e = expectedSummaries.get(i);
+				S3ObjectSummary a = actualSummaries.get(i);
+				assertEquals(e.getBucketName(), a.getBucketName());
+				assertEquals(e.getKey(), a.getKey());
+				assertEquals(e.getETag(), a.getETag());
+				assertEquals(e.getSize(), a.getSize());
+				assertEquals(e.getLastModified(), a.getLastModified());
+				assertEquals(e.getStorageClass(), a.getStorageClass());
+				assertEquals(e.getOwner(), a.getOwner());
+			}
+		}
+	}
+
+	@Test
+	public void testListVersionsMatchesSaxParser() throws Exception {
+		for (boolean decode : new boolean[] { true, false }) {
+			VersionListing expected = new Unmarshallers.VersionListUnmarshaller(decode)
+					.unmarshall(toStream(LIST_VERSIONS));
+			VersionListing actual = new VersionListStaxUnmarshaller(decode, null)
+					.unmarshall(toStream(LIST_VERSIONS));
+
+			assertEquals(expected.getBucketName(), actual.getBucketName());
+			assertEquals(expected.getPrefix(), actual.getPrefix());
+			assertEquals(expected.getKeyMarker(), actual.getKeyMarker());
+			assertEquals(expected.getVersionIdMarker(), actual.getVersionIdMarker());
+			assertEquals(expected.getEncodingType(), actual.getEncodingType());
+			assertEquals(expected.getMaxKeys(), actual.getMaxKeys());
+			assertEquals(expected.isTruncated(), actual.isTruncated());
+			assertEquals(expected.getCommonPrefixes(), actual.getCommonPrefixes());
+
+			List<S3VersionSummary> expectedSummaries = expected.getVersionSummaries();
+			List<S3VersionSummary> actualSummaries = actual.getVersionSummaries();
+			assertEquals(expectedSummaries.size(), actualSummaries.size());
+			for (int i = 0; i < expectedSummaries.size(); i++) {
+				S3VersionSummary e = expectedSummaries.get(i);
+				S3VersionSummary a = actualSummaries.get(i);
+				assertEquals(e.getBucketName(), a.getBucketName());
+				assertEquals(e.getKey(), a.getKey());
+				assertEquals(e.getVersionId(), a.getVersionId());
+				assertEquals(e.isLatest(), a.isLatest());
+				assertEquals(e.isDeleteMarker(), a.isDeleteMarker());
+				assertEquals(e.getETag(), a.getETag());
+				assertEquals(e.getSize(), a.getSize());
+				assertEquals(e.getLastModified(), a.getLastModified());
+				assertEquals(e.getStorageClass(), a.getStorageClass());
+				assertEquals(e.getOwner(), a.getOwner());
+			}
+		}
+	}
+
+	@Test
+	public void testSkippedFieldsAreNotPopulated() throws Exception {
+		ListObjectsV2Result result = new ListObjectsV2StaxUnmarshaller(true,
+				EnumSet.of(ListingSummaryField.OWNER, ListingSummaryField.ETAG, ListingSummaryField.LAST_MODIFIED))
+				.unmarshall(toStream(LIST_OBJECTS_V2));
+
+		S3ObjectSummary summary = result.getObjectSummaries().get(0);
+		assertEquals("dir/a b", summary.getKey());
+		assertEquals(12345678901L, summary.getSize());
+		assertEquals("STANDARD", summary.getStorageClass());
+		assertNull(summary.getOwner());
+		assertNull(summary.getETag());
+		assertNull(summary.getLastModified());
+	}
+
+	@Test
+	public void testRepeatedValuesAreShared() throws Exception {
+		ListObjectsV2Result result = new ListObjectsV2StaxUnmarshaller(true, null)
+				.unmarshall(toStream(LIST_OBJECTS_V2));
+
+		S3ObjectSummary first = result.getObjectSummaries().get(0);
+		S3ObjectSummary second = result.getObjectSummaries().get(1);
+		assertSame(first.getStorageClass(), second.getStorageClass());
+		assertSame(first.getOwner().getId(), second.getOwner().getId());
+		assertEquals("dir/line1\rline2", second.getKey());
+	}
+
+	@Test
+	public void testFixedIso8601Parsing() {
+		String[] dates = { "1970-01-01T00:00:00.000Z", "2024-02-29T23:59:58.123Z", "1600-03-01T01:02:03.9Z",
+				"2100-12-31T23:59:59Z", "1969-07-20T20:17:40.000Z" };
+		for (String date : dates) {
+			assertEquals(date, ServiceUtils.parseIso8601Date(date).getTime(),
+					AbstractListingStaxUnmarshaller.parseFixedIso8601(date.toCharArray(), date.length()));
+		}
+		String unsupported = "2024-02-29T23:59:58+01:00";
+		assertEquals(Long.MIN_VALUE,
+				AbstractListingStaxUnmarshaller.parseFixedIso8601(unsupported.toCharArray(), unsupported.length()));
+	}
+
+	private static InputStream toStream(String xml) {
+		return new ByteArrayInputStream(xml.getBytes(StringUtils.UTF8));
+	}
+}
@@ -0,0 +1,260 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.AbortMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.AmazonS3Exception;
+import com.ibm.cloud.objectstorage.services.s3.model.CompleteMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.CompleteMultipartUploadResult;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyObjectResult;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyPartRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.CopyPartResult;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.DeleteObjectsResult;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.InitiateMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.InitiateMultipartUploadResult;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import com.ibm.cloud.objectstorage.services.s3.transfer.model.CopyResult;
+
+public class BulkCopierTest {
+
+	private static final long MB = 1024 * 1024;
+
+	private AmazonS3 s3;
+	private final Set<String> copiedKeys = ConcurrentHashMap.newKeySet();
+
+	@Before
+	public void setUp() {
+		s3 = mock(AmazonS3.class);
+		when(s3.copyObject(any(CopyObjectRequest.class))).thenAnswer(new Answer<CopyObjectResult>() {
+			@Override
+			public CopyObjectResult answer(InvocationOnMock invocation) {
+				copiedKeys.add(((CopyObjectRequest) invocation.getArguments()[0]).getDestinationKey());
+				return new CopyObjectResult();
+			}
+		});
+		when(s3.getObjectMetadata(any(GetObjectMetadataRequest.class))).thenReturn(new ObjectMetadata());
+		InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+		initiated.setUploadId("upload-id");
+		when(s3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+		when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+				.thenReturn(new CompleteMultipartUploadResult());
+		when(s3.deleteObjects(any(DeleteObjectsRequest.class)))
+				.thenReturn(new DeleteObjectsResult(Collections.<DeleteObjectsResult.DeletedObject> emptyList()));
+	}
+
+	@Test
+	public void testSmallObjectsSkipHeadAndLargeObjectsAreCopiedInParts() {
+		when(s3.copyPart(any(CopyPartRequest.class))).thenAnswer(new Answer<CopyPartResult>() {
+			@Override
+			public CopyPartResult answer(InvocationOnMock invocation) {
+				CopyPartResult result = new CopyPartResult();
+				result.setPartNumber(((CopyPartRequest) invocation.getArguments()[0]).getPartNumber());
+				result.setETag("etag");
+				return result;
+			}
+		});
+		final List<CopyResult> results = Collections.synchronizedList(new ArrayList<CopyResult>());
+
+		BulkCopier.Result result = BulkCopier.forClient(s3)
+				.withConcurrency(3)
+				.withMultipartCopyThreshold(10 * MB)
+				.withMultipartCopyPartSize(5 * MB)
+				.withDeleteSource(true)
+				.withListener(new BulkCopier.Listener() {
+					@Override
+					public void objectCopied(CopyResult result) {
+						results.add(result);
+					}
+
+					@Override
+					public void objectFailed(CopyObjectRequest request, Exception e) {
+					}
+				})
+				.copy(Stream.of(summary("a", MB), summary("big", 22 * MB), summary("b", MB)), toDestination());
+
+		assertEquals(3, result.getCopiedCount());
+		assertEquals(0, result.getFailedCount());
+		assertEquals(24 * MB, result.getBytesCopied());
+		assertEquals(3, results.size());
+		assertTrue(copiedKeys.contains("copy/a"));
+		assertTrue(copiedKeys.contains("copy/b"));
+		// Only the multipart copy needs the metadata of its source
+		verify(s3, times(1)).getObjectMetadata(any(GetObjectMetadataRequest.class));
+		verify(s3, times(5)).copyPart(any(CopyPartRequest.class));
+
+		ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+				ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+		verify(s3).completeMultipartUpload(complete.capture());
+		List<PartETag> parts = complete.getValue().getPartETags();
+		assertEquals(5, parts.size());
+		for (int i = 0; i < parts.size(); i++) {
+			assertEquals(i + 1, parts.get(i).getPartNumber());
+		}
+
+		ArgumentCaptor<DeleteObjectsRequest> delete = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(s3).deleteObjects(delete.capture());
+		assertEquals(3, delete.getValue().getKeys().size());
+	}
+
+	@Test
+	public void testFailedPartAbortsOnlyThatObject() {
+		when(s3.copyPart(any(CopyPartRequest.class))).thenThrow(new AmazonS3Exception("Internal Error"));
+		final List<CopyObjectRequest> failed = Collections.synchronizedList(new ArrayList<CopyObjectRequest>());
+
+		BulkCopier.Result result = BulkCopier.forClient(s3)
+				.withMultipartCopyThreshold(10 * MB)
+				.withMultipartCopyPartSize(5 * MB)
+				.withDeleteSource(true)
+				.withListener(new BulkCopier.Listener() {
+					@Override
+					public void objectCopied(CopyResult result) {
+					}
+
+					@Override
+					public void objectFailed(CopyObjectRequest request, Exception e) {
+						failed.add(request);
+					}
+				})
+				.copy(Stream.of(summary("big", 22 * MB), summary("a", MB)), toDestination());
+
+		assertEquals(1, result.getCopiedCount());
+		assertEquals(1, result.getFailedCount());
+		assertEquals("big", failed.get(0).getSourceKey());
+		verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+		verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+
+		ArgumentCaptor<DeleteObjectsRequest> delete = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(s3).deleteObjects(delete.capture());
+		assertEquals(1, delete.getValue().getKeys().size());
+		assertEquals("a", delete.getValue().getKeys().get(0).getKey());
+	}
+
+	@Test
+	public void testMovingAPrefixOntoItselfIsRejected() {
+		try {
+			BulkCopier.forClient(s3).withDeleteSource(true).copyPrefix("bucket", "p/", "bucket", null);
+			fail("The objects would have been deleted");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			BulkCopier.forClient(s3).withDeleteSource(true).copyPrefix("bucket", "p/", "bucket", "p/");
+			fail("The objects would have been deleted");
+		} catch (IllegalArgumentException expected) {
+		}
+		verifyZeroInteractions(s3);
+	}
+
+	@Test
+	public void testCopyIntoANestedPrefixIsRejected() {
+		for (boolean deleteSource : new boolean[] { false, true }) {
+			try {
+				BulkCopier.forClient(s3).withDeleteSource(deleteSource)
+						.copyPrefix("bucket", "logs/", "bucket", "logs/archive/");
+				fail("The copies would have been listed and copied again");
+			} catch (IllegalArgumentException expected) {
+			}
+			try {
+				BulkCopier.forClient(s3).withDeleteSource(deleteSource).copyPrefix("bucket", null, "bucket", "copy/");
+				fail("The copies would have been listed and copied again");
+			} catch (IllegalArgumentException expected) {
+			}
+		}
+		verifyZeroInteractions(s3);
+	}
+
+	@Test
+	public void testObjectMovedOntoItselfIsNeitherCopiedNorDeleted() {
+		final List<CopyObjectRequest> failed = Collections.synchronizedList(new ArrayList<CopyObjectRequest>());
+
+		BulkCopier.Result result = BulkCopier.forClient(s3)
+				.withDeleteSource(true)
+				.withListener(new BulkCopier.Listener() {
+					@Override
+					public void objectCopied(CopyResult result) {
+					}
+
+					@Override
+					public void objectFailed(CopyObjectRequest request, Exception e) {
+						failed.add(request);
+					}
+				})
+				.copy(Stream.of(summary("a", MB), summary("b", MB)),
+						new Function<S3ObjectSummary, CopyObjectRequest>() {
+							@Override
+							public CopyObjectRequest apply(S3ObjectSummary summary) {
+								String destinationKey = summary.getKey().equals("a") ? "a" : "copy/b";
+								return new CopyObjectRequest(summary.getBucketName(), summary.getKey(),
+										summary.getBucketName(), destinationKey);
+							}
+						});
+
+		assertEquals(1, result.getCopiedCount());
+		assertEquals(1, result.getFailedCount());
+		assertEquals("a", failed.get(0).getSourceKey());
+		assertEquals(Collections.singleton("copy/b"), copiedKeys);
+
+		ArgumentCaptor<DeleteObjectsRequest> delete = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+		verify(s3).deleteObjects(delete.capture());
+		assertEquals(1, delete.getValue().getKeys().size());
+		assertEquals("b", delete.getValue().getKeys().get(0).getKey());
+	}
+
+	private static Function<S3ObjectSummary, CopyObjectRequest> toDestination() {
+		return new Function<S3ObjectSummary, CopyObjectRequest>() {
+			@Override
+			public CopyObjectRequest apply(S3ObjectSummary summary) {
+				return new CopyObjectRequest(summary.getBucketName(), summary.getKey(), "destination",
+						"copy/" + summary.getKey());
+			}
+		};
+	}
+
+	private static S3ObjectSummary summary(String key, long size) {
+		S3ObjectSummary summary = new S3ObjectSummary();
+		summary.setBucketName("source");
+		summary.setKey(key);
+		summary.setSize(size);
+		return summary;
+	}
+}
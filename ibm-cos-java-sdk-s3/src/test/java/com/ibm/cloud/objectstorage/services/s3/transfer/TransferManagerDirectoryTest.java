@@ -0,0 +1,205 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.SdkClientException;
+import com.ibm.cloud.objectstorage.client.builder.ExecutorFactory;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ListObjectsRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectListing;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectResult;
+import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
+import com.ibm.cloud.objectstorage.services.s3.model.S3ObjectSummary;
+import com.ibm.cloud.objectstorage.services.s3.transfer.Transfer.TransferState;
+
+public class TransferManagerDirectoryTest {
+
+	private AmazonS3 s3;
+	private TransferManager transferManager;
+	private File directory;
+
+	@Before
+	public void setUp() throws IOException {
+		s3 = mock(AmazonS3.class);
+		transferManager = TransferManagerBuilder.standard()
+				.withS3Client(s3)
+				.withExecutorFactory(new ExecutorFactory() {
+					@Override
+					public ExecutorService newExecutor() {
+						return Executors.newFixedThreadPool(4);
+					}
+				})
+				.build();
+		directory = Files.createTempDirectory("transfer-manager-directory").toFile();
+	}
+
+	@After
+	public void tearDown() {
+		transferManager.shutdownNow(false);
+		delete(directory);
+	}
+
+	@Test
+	public void testUploadDirectoryStartsBeforeAllFilesAreQueued() throws Exception {
+		int fileCount = MultipleFileTransferPipeline.MAX_PENDING_TRANSFERS + 200;
+		for (int i = 0; i < fileCount; i++) {
+			write(new File(directory, "dir" + (i % 3) + "/file" + i), new byte[] { (byte) i });
+		}
+
+		final CountDownLatch uploadsBlocked = new CountDownLatch(1);
+		final Set<String> uploadedKeys = ConcurrentHashMap.newKeySet();
+		when(s3.putObject(any(PutObjectRequest.class))).thenAnswer(new Answer<PutObjectResult>() {
+			@Override
+			public PutObjectResult answer(InvocationOnMock invocation) throws InterruptedException {
+				uploadsBlocked.await();
+				uploadedKeys.add(((PutObjectRequest) invocation.getArguments()[0]).getKey());
+				return new PutObjectResult();
+			}
+		});
+
+		MultipleFileUpload upload = transferManager.uploadDirectory("bucket", "prefix", directory, true);
+
+		// Discovery pauses while the window of pending uploads is full
+		assertEquals(MultipleFileTransferPipeline.MAX_PENDING_TRANSFERS, upload.getSubTransfers().size());
+
+		uploadsBlocked.countDown();
+		upload.waitForCompletion();
+
+		assertEquals(TransferState.Completed, upload.getState());
+		assertEquals(fileCount, upload.getSubTransfers().size());
+		assertEquals(fileCount, uploadedKeys.size());
+		assertTrue(uploadedKeys.contains("prefix/dir2/file5"));
+		assertEquals(fileCount, upload.getProgress().getTotalBytesToTransfer());
+	}
+
+	@Test
+	public void testDownloadDirectoryFollowsListingPages() throws Exception {
+		ObjectListing root = listing(true, "data/a", "data/b");
+		root.getCommonPrefixes().add("data/sub/");
+		ObjectListing rootNext = listing(false, "data/c");
+		ObjectListing sub = listing(false, "data/sub/d");
+		when(s3.listObjects(any(ListObjectsRequest.class))).thenReturn(root, sub);
+		when(s3.listNextBatchOfObjects(root)).thenReturn(rootNext);
+		when(s3.getObjectMetadata(any(GetObjectMetadataRequest.class))).thenAnswer(new Answer<ObjectMetadata>() {
+			@Override
+			public ObjectMetadata answer(InvocationOnMock invocation) {
+				GetObjectMetadataRequest request = (GetObjectMetadataRequest) invocation.getArguments()[0];
+				return metadata(request.getKey());
+			}
+		});
+		when(s3.getObject(any(GetObjectRequest.class))).thenAnswer(new Answer<S3Object>() {
+			@Override
+			public S3Object answer(InvocationOnMock invocation) {
+				GetObjectRequest request = (GetObjectRequest) invocation.getArguments()[0];
+				S3Object object = new S3Object();
+				object.setKey(request.getKey());
+				object.setBucketName(request.getBucketName());
+				object.setObjectMetadata(metadata(request.getKey()));
+				object.setObjectContent(new ByteArrayInputStream(request.getKey().getBytes()));
+				return object;
+			}
+		});
+
+		MultipleFileDownload download = transferManager.downloadDirectory("bucket", "data/", directory);
+		download.waitForCompletion();
+
+		assertEquals(TransferState.Completed, download.getState());
+		assertEquals("data/a".length() * 3 + "data/sub/d".length(), download.getProgress().getTotalBytesToTransfer());
+		for (String key : new String[] { "data/a", "data/b", "data/c", "data/sub/d" }) {
+			assertArrayEquals(key.getBytes(), Files.readAllBytes(new File(directory, key).toPath()));
+		}
+	}
+
+	@Test
+	public void testFirstBatchFailureIsThrownAsSdkClientException() {
+		when(s3.listObjects(any(ListObjectsRequest.class))).thenReturn(listing(false, "data/../../escape"));
+
+		try {
+			transferManager.downloadDirectory("bucket", "data/", directory);
+			fail("The key resolving outside the directory should have been rejected");
+		} catch (SdkClientException expected) {
+			assertTrue(expected.getCause().getMessage().startsWith("Cannot download key data/../../escape"));
+		}
+	}
+
+	private static ObjectListing listing(boolean truncated, String... keys) {
+		ObjectListing listing = new ObjectListing();
+		listing.setBucketName("bucket");
+		listing.setTruncated(truncated);
+		for (String key : keys) {
+			S3ObjectSummary summary = new S3ObjectSummary();
+			summary.setBucketName("bucket");
+			summary.setKey(key);
+			summary.setSize(key.length());
+			listing.getObjectSummaries().add(summary);
+		}
+		return listing;
+	}
+
+	private static ObjectMetadata metadata(String key) {
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentLength(key.length());
+		metadata.setLastModified(new Date(0));
+		return metadata;
+	}
+
+	private static void write(File file, byte[] content) throws IOException {
+		file.getParentFile().mkdirs();
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(content);
+		} finally {
+			out.close();
+		}
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+}
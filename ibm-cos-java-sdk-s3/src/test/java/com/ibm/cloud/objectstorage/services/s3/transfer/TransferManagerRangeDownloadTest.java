@@ -0,0 +1,163 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.client.builder.ExecutorFactory;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectMetadataRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.GetObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.S3Object;
+import com.ibm.cloud.objectstorage.services.s3.transfer.Transfer.TransferState;
+import com.ibm.cloud.objectstorage.services.s3.transfer.internal.S3SyncProgressListener;
+
+public class TransferManagerRangeDownloadTest {
+
+	private final byte[] data = "0123456789".getBytes();
+	private final List<String> requestedRanges = Collections.synchronizedList(new ArrayList<String>());
+	private final List<TransferManager> transferManagers = new ArrayList<TransferManager>();
+	private AmazonS3 s3;
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		s3 = mock(AmazonS3.class);
+		file = File.createTempFile("range-download", ".bin");
+		when(s3.getObjectMetadata(any(GetObjectMetadataRequest.class))).thenAnswer(new Answer<ObjectMetadata>() {
+			@Override
+			public ObjectMetadata answer(InvocationOnMock invocation) {
+				return metadata();
+			}
+		});
+		when(s3.getObject(any(GetObjectRequest.class))).thenAnswer(new Answer<S3Object>() {
+			@Override
+			public S3Object answer(InvocationOnMock invocation) {
+				long[] range = ((GetObjectRequest) invocation.getArguments()[0]).getRange();
+				requestedRanges.add(range[0] + "-" + range[1]);
+				S3Object object = new S3Object();
+				object.setBucketName("bucket");
+				object.setKey("key");
+				object.setObjectMetadata(metadata());
+				object.setObjectContent(new ByteArrayInputStream(data, (int) range[0], (int) (range[1] - range[0] + 1)));
+				return object;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		for (TransferManager transferManager : transferManagers) {
+			transferManager.shutdownNow(false);
+		}
+		file.delete();
+	}
+
+	@Test
+	public void testObjectIsSplitIntoRangesWithAShorterLastRange() throws Exception {
+		final List<PersistableDownload> persisted = Collections.synchronizedList(new ArrayList<PersistableDownload>());
+		Download download = transferManager(4L).download(new GetObjectRequest("bucket", "key"), file,
+				new S3SyncProgressListener() {
+					@Override
+					public void onPersistableTransfer(PersistableTransfer persistableTransfer) {
+						persisted.add((PersistableDownload) persistableTransfer);
+					}
+				}, 0);
+		download.waitForCompletion();
+
+		assertEquals(TransferState.Completed, download.getState());
+		assertEquals(Arrays.asList("0-3", "4-7", "8-9"), sorted(requestedRanges));
+		assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+
+		PersistableDownload last = persisted.get(persisted.size() - 1);
+		assertEquals(Long.valueOf(4), last.getDownloadPartSize());
+		assertEquals(Integer.valueOf(3), last.getLastFullyDownloadedPartNumber());
+		assertEquals(Long.valueOf(data.length), last.getLastFullyDownloadedFilePosition());
+	}
+
+	@Test
+	public void testObjectOfOneRangeIsDownloadedInOneRequest() throws Exception {
+		Download download = transferManager((long) data.length).download(new GetObjectRequest("bucket", "key"), file);
+		download.waitForCompletion();
+
+		assertEquals(Arrays.asList("0-9"), requestedRanges);
+		assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+	}
+
+	@Test
+	public void testPausedDownloadResumesInItsOwnRanges() throws Exception {
+		// One range of 4 bytes was written before the pause
+		Files.write(file.toPath(), Arrays.copyOf(data, 4));
+		PersistableDownload paused = new PersistableDownload("bucket", "key", null, null, null, false,
+				file.getAbsolutePath(), 1, 0L, 4L, 4L);
+		PersistableDownload restored = PersistableTransfer.deserializeFrom(paused.serialize());
+
+		// Resuming ignores the range size of the transfer manager
+		Download download = transferManager(3L).resumeDownload(restored);
+		download.waitForCompletion();
+
+		assertEquals(Arrays.asList("4-7", "8-9"), sorted(requestedRanges));
+		assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+	}
+
+	private TransferManager transferManager(Long downloadPartSize) {
+		TransferManager transferManager = TransferManagerBuilder.standard()
+				.withS3Client(s3)
+				.withDownloadPartSize(downloadPartSize)
+				.withExecutorFactory(new ExecutorFactory() {
+					@Override
+					public ExecutorService newExecutor() {
+						return Executors.newFixedThreadPool(4);
+					}
+				})
+				.build();
+		transferManagers.add(transferManager);
+		return transferManager;
+	}
+
+	private ObjectMetadata metadata() {
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentLength(data.length);
+		metadata.setLastModified(new Date(0));
+		return metadata;
+	}
+
+	private static List<String> sorted(List<String> ranges) {
+		List<String> sorted = new ArrayList<String>(ranges);
+		Collections.sort(sorted);
+		return sorted;
+	}
+}
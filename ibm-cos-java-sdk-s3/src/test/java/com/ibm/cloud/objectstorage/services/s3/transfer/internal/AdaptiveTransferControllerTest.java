@@ -0,0 +1,125 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.DefaultRequest;
+import com.ibm.cloud.objectstorage.Request;
+import com.ibm.cloud.objectstorage.metrics.RequestMetricCollector;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetrics.Field;
+import com.ibm.cloud.objectstorage.util.AWSRequestMetricsFullSupport;
+
+public class AdaptiveTransferControllerTest {
+
+	private static final long MB = 1024 * 1024;
+
+	@Test
+	public void testThrottledRequestHalvesTheLimit() {
+		AdaptiveTransferController controller = new AdaptiveTransferController(8, 16);
+		RequestMetricCollector delegate = mock(RequestMetricCollector.class);
+		when(delegate.isEnabled()).thenReturn(true);
+		RequestMetricCollector collector = controller.newThrottlingCollector(delegate);
+
+		Request<?> throttled = requestWithThrottledAttempts(1);
+		collector.collectMetrics(throttled, null);
+		assertEquals(4, controller.getConcurrencyLimit());
+		verify(delegate).collectMetrics(throttled, null);
+
+		collector.collectMetrics(requestWithThrottledAttempts(0), null);
+		assertEquals(4, controller.getConcurrencyLimit());
+
+		for (int i = 0; i < 3; i++) {
+			collector.collectMetrics(requestWithThrottledAttempts(2), null);
+		}
+		assertEquals(1, controller.getConcurrencyLimit());
+	}
+
+	@Test
+	public void testPartsBeyondTheLimitWaitWithoutHoldingAThread() throws Exception {
+		AdaptiveTransferController controller = new AdaptiveTransferController(1, 1);
+		final List<Runnable> executed = new ArrayList<Runnable>();
+		Executor executor = new Executor() {
+			@Override
+			public void execute(Runnable command) {
+				executed.add(command);
+			}
+		};
+
+		Future<String> first = controller.submit(executor, part("first"), MB);
+		Future<String> second = controller.submit(executor, part("second"), MB);
+		assertEquals(1, executed.size());
+		assertFalse(second.isDone());
+
+		executed.get(0).run();
+		assertEquals("first", first.get());
+		assertEquals(2, executed.size());
+
+		executed.get(1).run();
+		assertEquals("second", second.get());
+	}
+
+	@Test
+	public void testPartSizeFollowsObservedThroughput() {
+		AdaptiveTransferController controller = new AdaptiveTransferController(2, 2);
+		assertEquals(5 * MB, controller.getPartSize(5 * MB, 1024 * MB));
+
+		// 25 MB/s per part, so a part of about four seconds is 100 MB
+		controller.partCompleted(25 * MB, TimeUnit.SECONDS.toNanos(1));
+		assertEquals(100 * MB, controller.getPartSize(5 * MB, 1024 * MB));
+		// Keep at least as many parts as are allowed in flight
+		assertEquals(64 * MB, controller.getPartSize(5 * MB, 128 * MB));
+		assertEquals(5 * MB, controller.getPartSize(5 * MB, 6 * MB));
+	}
+
+	@Test
+	public void testPartSizeIsCapped() {
+		AdaptiveTransferController controller = new AdaptiveTransferController(1, 1);
+		controller.partCompleted(1024 * MB, TimeUnit.MILLISECONDS.toNanos(100));
+
+		assertEquals(AdaptiveTransferController.MAXIMUM_PART_SIZE, controller.getPartSize(5 * MB, -1));
+	}
+
+	private static Request<?> requestWithThrottledAttempts(int attempts) {
+		Request<Void> request = new DefaultRequest<Void>("s3");
+		AWSRequestMetrics metrics = new AWSRequestMetricsFullSupport();
+		for (int i = 0; i < attempts; i++) {
+			metrics.incrementCounter(Field.ThrottleException);
+		}
+		request.setAWSRequestMetrics(metrics);
+		return request;
+	}
+
+	private static Callable<String> part(final String result) {
+		return new Callable<String>() {
+			@Override
+			public String call() {
+				return result;
+			}
+		};
+	}
+}
@@ -0,0 +1,184 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.ibm.cloud.objectstorage.event.ProgressListenerChain;
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.model.InitiateMultipartUploadRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.InitiateMultipartUploadResult;
+import com.ibm.cloud.objectstorage.services.s3.model.ObjectMetadata;
+import com.ibm.cloud.objectstorage.services.s3.model.PartETag;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectResult;
+import com.ibm.cloud.objectstorage.services.s3.model.UploadPartRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.UploadPartResult;
+import com.ibm.cloud.objectstorage.services.s3.transfer.TransferManager;
+import com.ibm.cloud.objectstorage.services.s3.transfer.TransferManagerConfiguration;
+import com.ibm.cloud.objectstorage.services.s3.transfer.TransferProgress;
+import com.ibm.cloud.objectstorage.util.IOUtils;
+
+public class UploadCallableStreamingTest {
+
+	private static final int PART_SIZE = 100;
+
+	private AmazonS3 s3;
+	private TransferManager transferManager;
+	private ExecutorService threadPool;
+	private final Map<Integer, byte[]> uploadedParts = new ConcurrentHashMap<Integer, byte[]>();
+
+	@Before
+	public void setUp() {
+		s3 = mock(AmazonS3.class);
+		TransferManagerConfiguration configuration = new TransferManagerConfiguration();
+		configuration.setMinimumUploadPartSize(PART_SIZE);
+		configuration.setStreamUploadBufferCount(2);
+		transferManager = mock(TransferManager.class);
+		when(transferManager.getAmazonS3Client()).thenReturn(s3);
+		when(transferManager.getConfiguration()).thenReturn(configuration);
+		threadPool = Executors.newFixedThreadPool(2);
+
+		InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+		initiateResult.setUploadId("upload-id");
+		when(s3.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiateResult);
+		when(s3.uploadPart(any(UploadPartRequest.class))).thenAnswer(new Answer<UploadPartResult>() {
+			@Override
+			public UploadPartResult answer(InvocationOnMock invocation) throws Throwable {
+				UploadPartRequest request = (UploadPartRequest) invocation.getArguments()[0];
+				byte[] part = IOUtils.toByteArray(request.getInputStream());
+				assertEquals(request.getPartSize(), part.length);
+				uploadedParts.put(request.getPartNumber(), part);
+				UploadPartResult result = new UploadPartResult();
+				result.setPartNumber(request.getPartNumber());
+				result.setETag("etag-" + request.getPartNumber());
+				return result;
+			}
+		});
+		when(s3.putObject(any(PutObjectRequest.class))).thenReturn(new PutObjectResult());
+	}
+
+	@After
+	public void tearDown() {
+		threadPool.shutdownNow();
+	}
+
+	@Test
+	public void testStreamIsUploadedInParts() throws Exception {
+		byte[] data = randomBytes(PART_SIZE * 5 / 2);
+		UploadCallable callable = newCallable(data);
+
+		assertNull(callable.call());
+		List<PartETag> partETags = callable.getFutures().get();
+
+		assertEquals(3, partETags.size());
+		assertTrue(callable.isMultipartUpload());
+		assertEquals("upload-id", callable.getMultipartUploadId());
+		ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+		for (PartETag partETag : partETags) {
+			uploaded.write(uploadedParts.get(partETag.getPartNumber()));
+		}
+		assertArrayEquals(data, uploaded.toByteArray());
+		verify(s3, never()).putObject(any(PutObjectRequest.class));
+	}
+
+	@Test
+	public void testLastPartIsFlaggedWhenStreamEndsOnPartBoundary() throws Exception {
+		ArgumentCaptor<UploadPartRequest> requests = ArgumentCaptor.forClass(UploadPartRequest.class);
+		UploadCallable callable = newCallable(randomBytes(PART_SIZE * 2));
+
+		callable.call();
+		callable.getFutures().get();
+
+		verify(s3, times(2)).uploadPart(requests.capture());
+		for (UploadPartRequest request : requests.getAllValues()) {
+			assertEquals(request.getPartNumber() == 2, request.isLastPart());
+		}
+	}
+
+	@Test
+	public void testShortStreamIsUploadedInOneRequest() throws Exception {
+		ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+		byte[] data = randomBytes(PART_SIZE - 1);
+		UploadCallable callable = newCallable(data);
+
+		callable.call();
+
+		verify(s3).putObject(request.capture());
+		assertFalse(callable.isMultipartUpload());
+		assertEquals(data.length, request.getValue().getMetadata().getContentLength());
+		assertArrayEquals(data, IOUtils.toByteArray(request.getValue().getInputStream()));
+		verify(s3, never()).initiateMultipartUpload(any(InitiateMultipartUploadRequest.class));
+	}
+
+	@Test
+	public void testConcurrentStreamsDoNotStarveTheThreadPool() throws Exception {
+		// As many uploads as pool threads, so every thread is reading a stream
+		// and no thread is free to upload the parts queued behind them
+		List<UploadCallable> callables = new ArrayList<UploadCallable>();
+		List<Future<?>> uploads = new ArrayList<Future<?>>();
+		for (int i = 0; i < 2; i++) {
+			UploadCallable callable = newCallable(randomBytes(PART_SIZE * 5));
+			callables.add(callable);
+			uploads.add(threadPool.submit(callable));
+		}
+
+		for (int i = 0; i < 2; i++) {
+			uploads.get(i).get(30, TimeUnit.SECONDS);
+			assertEquals(5, callables.get(i).getFutures().get(30, TimeUnit.SECONDS).size());
+		}
+		verify(s3, times(10)).uploadPart(any(UploadPartRequest.class));
+	}
+
+	private UploadCallable newCallable(byte[] data) {
+		PutObjectRequest request = new PutObjectRequest("bucket", "key", new ByteArrayInputStream(data),
+				new ObjectMetadata());
+		return new UploadCallable(transferManager, threadPool, mock(UploadImpl.class), request,
+				new ProgressListenerChain(), null, new TransferProgress()).withStreaming(true);
+	}
+
+	private static byte[] randomBytes(int length) {
+		byte[] data = new byte[length];
+		new Random(length).nextBytes(data);
+		return data;
+	}
+}
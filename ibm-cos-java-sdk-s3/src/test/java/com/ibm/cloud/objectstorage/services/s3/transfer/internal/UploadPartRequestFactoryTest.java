@@ -0,0 +1,107 @@
+/*
+* Copyright 2026 IBM Corp. All Rights Reserved.
+*
+* Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+* the License. You may obtain a copy of the License at
+*
+* http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+* an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+* specific language governing permissions and limitations under the License.
+*/
+package com.ibm.cloud.objectstorage.services.s3.transfer.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.ibm.cloud.objectstorage.services.s3.AmazonS3;
+import com.ibm.cloud.objectstorage.services.s3.internal.ByteBufferInputStream;
+import com.ibm.cloud.objectstorage.services.s3.model.PutObjectRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.UploadPartRequest;
+import com.ibm.cloud.objectstorage.services.s3.model.UploadPartResult;
+import com.ibm.cloud.objectstorage.util.IOUtils;
+import com.ibm.cloud.objectstorage.util.Md5Utils;
+
+public class UploadPartRequestFactoryTest {
+
+	private final byte[] data = new byte[250 * 1024];
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		new Random(1).nextBytes(data);
+		file = File.createTempFile("upload-part", ".bin");
+		Files.write(file.toPath(), data);
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	@Test
+	public void testMappedPartsReadTheirRangeRepeatably() throws Exception {
+		UploadPartRequestFactory factory = new UploadPartRequestFactory(
+				new PutObjectRequest("bucket", "key", file), "upload-id", 100 * 1024, true);
+		List<UploadPartRequest> parts = new ArrayList<UploadPartRequest>();
+		while (factory.hasMoreRequests()) {
+			parts.add(factory.getNextUploadPartRequest());
+		}
+		assertEquals(3, parts.size());
+		assertTrue(parts.get(2).isLastPart());
+
+		int offset = 0;
+		for (UploadPartRequest part : parts) {
+			assertNull(part.getFile());
+			InputStream in = part.getInputStream();
+			assertTrue(in instanceof ByteBufferInputStream);
+			byte[] expected = Arrays.copyOfRange(data, offset, offset + (int) part.getPartSize());
+
+			in.mark(0);
+			assertEquals(expected[0] & 0xFF, in.read());
+			in.reset();
+			assertArrayEquals(expected, IOUtils.toByteArray(in));
+			assertEquals(-1, in.read());
+			in.reset();
+			assertArrayEquals(expected, IOUtils.toByteArray(in));
+			offset += part.getPartSize();
+		}
+		assertEquals(data.length, offset);
+	}
+
+	@Test
+	public void testMappedPartIsDigestedInPlace() throws Exception {
+		AmazonS3 s3 = mock(AmazonS3.class);
+		when(s3.uploadPart(any(UploadPartRequest.class))).thenReturn(new UploadPartResult());
+		UploadPartRequestFactory factory = new UploadPartRequestFactory(
+				new PutObjectRequest("bucket", "key", file), "upload-id", 100 * 1024, true);
+		factory.getNextUploadPartRequest();
+		UploadPartRequest part = factory.getNextUploadPartRequest();
+
+		new UploadPartCallable(s3, part, true).call();
+
+		assertEquals(Md5Utils.md5AsBase64(Arrays.copyOfRange(data, 100 * 1024, 200 * 1024)), part.getMd5Digest());
+		// Digesting does not consume the stream
+		assertArrayEquals(Arrays.copyOfRange(data, 100 * 1024, 200 * 1024), IOUtils.toByteArray(part.getInputStream()));
+		factory.close();
+	}
+}